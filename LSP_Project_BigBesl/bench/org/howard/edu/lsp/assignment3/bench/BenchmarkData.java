@@ -0,0 +1,75 @@
+/**
+ * Name: Bryce Ly
+ * BenchmarkData - Shared JMH state holding a generated products file
+ */
+package org.howard.edu.lsp.assignment3.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.howard.edu.lsp.assignment3.CSVDataExtractor;
+import org.howard.edu.lsp.assignment3.Product;
+import org.howard.edu.lsp.assignment3.ProductDataTransformer;
+import org.howard.edu.lsp.assignment3.ProductsFileGenerator;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Generates one synthetic input file per parameter combination and keeps
+ * pre-extracted and pre-transformed rows for the transform and load benchmarks
+ * Console output of the pipeline is silenced so it does not skew timings.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkData {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int rows;
+    
+    @Param({"0.1", "0.5"})
+    public double electronicsRatio;
+    
+    @Param({"comma", "tab"})
+    public String delimiter;
+    
+    public File directory;
+    public String inputPath;
+    public String outputPath;
+    public List<Product> extracted;
+    public List<Product> transformed;
+    
+    private PrintStream originalOut;
+    private PrintStream originalErr;
+    
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        originalOut = System.out;
+        originalErr = System.err;
+        PrintStream silent = new PrintStream(OutputStream.nullOutputStream());
+        System.setOut(silent);
+        System.setErr(silent);
+        
+        directory = Files.createTempDirectory("etl-bench").toFile();
+        inputPath = new File(directory, "products.csv").getPath();
+        outputPath = new File(directory, "transformed_products.csv").getPath();
+        
+        new ProductsFileGenerator(electronicsRatio, "tab".equals(delimiter), 42L).generate(rows, inputPath);
+        extracted = new CSVDataExtractor().extract(inputPath);
+        transformed = new ProductDataTransformer().transform(extracted);
+    }
+    
+    @TearDown(Level.Trial)
+    public void cleanUp() {
+        new File(inputPath).delete();
+        new File(outputPath).delete();
+        directory.delete();
+        System.setOut(originalOut);
+        System.setErr(originalErr);
+    }
+}
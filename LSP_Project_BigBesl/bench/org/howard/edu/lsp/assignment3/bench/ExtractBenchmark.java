@@ -0,0 +1,53 @@
+/**
+ * Name: Bryce Ly
+ * ExtractBenchmark - JMH benchmarks for the extract stage
+ */
+package org.howard.edu.lsp.assignment3.bench;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.howard.edu.lsp.assignment3.CSVDataExtractor;
+import org.howard.edu.lsp.assignment3.MappedCSVDataExtractor;
+import org.howard.edu.lsp.assignment3.ParallelCSVDataExtractor;
+import org.howard.edu.lsp.assignment3.ProductBatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures each extractor reading the generated file
+ * Rows are consumed by a Blackhole so no benchmark pays for collecting a list
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx8g"})
+public class ExtractBenchmark {
+    
+    @Benchmark
+    public void csvExtractor(BenchmarkData data, Blackhole blackhole) throws IOException {
+        new CSVDataExtractor().extract(data.inputPath, blackhole::consume);
+    }
+    
+    @Benchmark
+    public void mappedExtractor(BenchmarkData data, Blackhole blackhole) throws IOException {
+        new MappedCSVDataExtractor().extract(data.inputPath, blackhole::consume);
+    }
+    
+    @Benchmark
+    public void parallelExtractor(BenchmarkData data, Blackhole blackhole) throws IOException {
+        new ParallelCSVDataExtractor().extract(data.inputPath, blackhole::consume);
+    }
+    
+    @Benchmark
+    public ProductBatch mappedExtractorIntoBatch(BenchmarkData data) throws IOException {
+        return new MappedCSVDataExtractor().extractBatch(data.inputPath);
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * Name: Bryce Ly
+ * LoadBenchmark - JMH benchmarks for the load stage
+ */
+package org.howard.edu.lsp.assignment3.bench;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.howard.edu.lsp.assignment3.BinaryDataLoader;
+import org.howard.edu.lsp.assignment3.BufferedCSVDataLoader;
+import org.howard.edu.lsp.assignment3.CSVDataLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures each loader writing the pre-transformed rows
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx8g"})
+public class LoadBenchmark {
+    
+    @Benchmark
+    public void csvLoader(BenchmarkData data) throws IOException {
+        new CSVDataLoader().load(data.transformed, data.outputPath);
+    }
+    
+    @Benchmark
+    public void bufferedLoader(BenchmarkData data) throws IOException {
+        new BufferedCSVDataLoader().load(data.transformed, data.outputPath);
+    }
+    
+    @Benchmark
+    public void binaryLoader(BenchmarkData data) throws IOException {
+        new BinaryDataLoader().load(data.transformed, data.outputPath);
+    }
+}
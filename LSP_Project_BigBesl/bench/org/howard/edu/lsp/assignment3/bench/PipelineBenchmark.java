@@ -0,0 +1,53 @@
+/**
+ * Name: Bryce Ly
+ * PipelineBenchmark - End-to-end JMH benchmarks for ETLPipeline
+ */
+package org.howard.edu.lsp.assignment3.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.howard.edu.lsp.assignment3.ETLPipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a full extract-transform-load run in each execution mode
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx8g"})
+public class PipelineBenchmark {
+    
+    @Benchmark
+    public void batch(BenchmarkData data) {
+        new ETLPipeline().run(data.inputPath, data.outputPath);
+    }
+    
+    @Benchmark
+    public void streaming(BenchmarkData data) {
+        new ETLPipeline().runStreaming(data.inputPath, data.outputPath);
+    }
+    
+    @Benchmark
+    public void pipelined(BenchmarkData data) {
+        new ETLPipeline().runPipelined(data.inputPath, data.outputPath, 1024, 16);
+    }
+    
+    @Benchmark
+    public void parallel(BenchmarkData data) {
+        ETLPipeline.createParallel(Runtime.getRuntime().availableProcessors())
+                .run(data.inputPath, data.outputPath);
+    }
+    
+    @Benchmark
+    public void columnar(BenchmarkData data) {
+        ETLPipeline.createColumnar().runColumnar(data.inputPath, data.outputPath);
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Name: Bryce Ly
+ * TransformBenchmark - JMH benchmarks for the transform stage
+ */
+package org.howard.edu.lsp.assignment3.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.howard.edu.lsp.assignment3.Product;
+import org.howard.edu.lsp.assignment3.ProductBatch;
+import org.howard.edu.lsp.assignment3.ProductDataTransformer;
+import org.howard.edu.lsp.assignment3.StandardCategoryManager;
+import org.howard.edu.lsp.assignment3.StandardPricingStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the transformer on rows that are already in memory
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx8g"})
+@State(Scope.Benchmark)
+public class TransformBenchmark {
+    private ProductDataTransformer sequential;
+    private ProductDataTransformer parallel;
+    private ProductBatch batch;
+    
+    @Setup(Level.Trial)
+    public void createTransformers() {
+        sequential = new ProductDataTransformer();
+        parallel = new ProductDataTransformer(new StandardPricingStrategy(), new StandardCategoryManager(),
+                Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * The batch is transformed in place, so each invocation gets a fresh copy
+     */
+    @Setup(Level.Invocation)
+    public void createBatch(BenchmarkData data) {
+        batch = new ProductBatch(data.extracted.size());
+        for (Product product : data.extracted) {
+            batch.add(product);
+        }
+    }
+    
+    @Benchmark
+    public List<Product> sequentialTransform(BenchmarkData data) {
+        return sequential.transform(data.extracted);
+    }
+    
+    @Benchmark
+    public List<Product> parallelTransform(BenchmarkData data) {
+        return parallel.transform(data.extracted);
+    }
+    
+    @Benchmark
+    public ProductBatch batchTransform() {
+        sequential.transformBatch(batch);
+        return batch;
+    }
+}
@@ -9,11 +9,11 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.howard.edu.lsp.assignment3.Money;
+
 /**
  * ETL Pipeline for processing product CSV data
  * This program extracts data from data/products.csv, transforms it, and loads to data/transformed_products.csv
@@ -214,7 +214,7 @@ public class ETLPipeline {
         // 2. Apply discount for Electronics
         if ("Electronics".equalsIgnoreCase(transformed.category)) {
             double discountedPrice = transformed.price * 0.9;
-            transformed.price = roundPrice(discountedPrice);
+            transformed.price = Money.roundToCents(discountedPrice);
         }
         
         // 3. Recategorize Premium Electronics
@@ -228,15 +228,6 @@ public class ETLPipeline {
         return transformed;
     }
     
-    /**
-     * Rounds price to two decimal places using half-up rounding
-     */
-    private double roundPrice(double price) {
-        BigDecimal bd = new BigDecimal(price);
-        bd = bd.setScale(2, RoundingMode.HALF_UP);
-        return bd.doubleValue();
-    }
-    
     /**
      * Determines the price range category based on the price
      */
@@ -0,0 +1,20 @@
+/**
+ * Name: Bryce Ly
+ * BatchDataExtractor interface - Columnar counterpart of DataExtractor
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.io.IOException;
+
+/**
+ * Interface for extractors that can fill a columnar ProductBatch directly
+ */
+public interface BatchDataExtractor {
+    /**
+     * Extracts all product data from the specified source into one batch
+     * @param filePath Path to the data source
+     * @return Batch holding every valid row, in source order
+     * @throws IOException if there are issues reading from the source
+     */
+    ProductBatch extractBatch(String filePath) throws IOException;
+}
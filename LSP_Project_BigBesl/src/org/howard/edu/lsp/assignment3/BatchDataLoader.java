@@ -0,0 +1,20 @@
+/**
+ * Name: Bryce Ly
+ * BatchDataLoader interface - Columnar counterpart of DataLoader
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.io.IOException;
+
+/**
+ * Interface for loaders that can write a columnar ProductBatch directly
+ */
+public interface BatchDataLoader {
+    /**
+     * Loads every row of the batch to the specified destination
+     * @param batch The rows to write
+     * @param outputPath Path to the output destination
+     * @throws IOException if there are issues writing to the destination
+     */
+    void loadBatch(ProductBatch batch, String outputPath) throws IOException;
+}
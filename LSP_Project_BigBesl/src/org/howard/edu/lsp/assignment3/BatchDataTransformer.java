@@ -0,0 +1,16 @@
+/**
+ * Name: Bryce Ly
+ * BatchDataTransformer interface - Columnar counterpart of DataTransformer
+ */
+package org.howard.edu.lsp.assignment3;
+
+/**
+ * Interface for transformers that can work on a columnar ProductBatch in place
+ */
+public interface BatchDataTransformer {
+    /**
+     * Transforms every row of the batch in place according to business rules
+     * @param batch The rows to transform
+     */
+    void transformBatch(ProductBatch batch);
+}
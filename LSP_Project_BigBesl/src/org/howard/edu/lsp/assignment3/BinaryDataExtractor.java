@@ -0,0 +1,232 @@
+/**
+ * Name: Bryce Ly
+ * BinaryDataExtractor - Reads files written by BinaryDataLoader
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Extractor for the binary columnar format of BinaryDataLoader
+ * Each block is read with one bulk read and decoded from the byte buffer, so
+ * ids and prices are never parsed from text and each dictionary value becomes
+ * one String shared by all rows of its block. An optional ProductID range
+ * skips blocks whose stats show they hold no matching row without reading
+ * them, and drops non-matching rows from the other blocks.
+ */
+public class BinaryDataExtractor implements StreamingDataExtractor, BatchDataExtractor {
+    private static final int INPUT_BUFFER_SIZE = 1024 * 1024;
+    
+    private final CategoryDictionary categoryDictionary = CategoryDictionary.getInstance();
+    private final int minProductID;
+    private final int maxProductID;
+    private long blocksSkipped;
+    
+    /**
+     * Creates an extractor returning every row
+     */
+    public BinaryDataExtractor() {
+        this(Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Creates an extractor returning only rows with a ProductID in [minProductID, maxProductID]
+     */
+    public BinaryDataExtractor(int minProductID, int maxProductID) {
+        this.minProductID = minProductID;
+        this.maxProductID = maxProductID;
+    }
+    
+    @Override
+    public void extract(String filePath, ProductSink sink) throws IOException {
+        read(filePath, block -> {
+            for (int row = 0; row < block.rows; row++) {
+                if (block.matches(row)) {
+                    Product product = new Product(block.ids[row], block.name(row), block.prices[row],
+                            block.categories[block.categoryCodes[row]]);
+                    product.setPriceRange(block.priceRanges[block.priceRangeCodes[row]]);
+                    sink.accept(product);
+                }
+            }
+        });
+    }
+    
+    /**
+     * Fills the batch column by column, without creating Products
+     */
+    @Override
+    public ProductBatch extractBatch(String filePath) throws IOException {
+        ProductBatch batch = new ProductBatch();
+        read(filePath, block -> {
+            for (int row = 0; row < block.rows; row++) {
+                if (block.matches(row)) {
+                    int index = batch.add(block.ids[row], block.name(row), block.prices[row],
+                            block.categories[block.categoryCodes[row]]);
+                    batch.setPriceRange(index, block.priceRanges[block.priceRangeCodes[row]]);
+                }
+            }
+        });
+        return batch;
+    }
+    
+    /**
+     * Returns the number of blocks the last extraction skipped using their stats
+     */
+    public long getBlocksSkipped() {
+        return blocksSkipped;
+    }
+    
+    /**
+     * Reads the file header and hands every block that may hold matching rows to the consumer
+     */
+    private void read(String filePath, BlockConsumer consumer) throws IOException {
+        File file = new File(filePath);
+        CSVDataExtractor.validateFile(file);
+        System.out.println("Reading data from: " + file.getAbsolutePath());
+        
+        blocksSkipped = 0;
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Compression.openInput(file), INPUT_BUFFER_SIZE))) {
+            byte[] magic = new byte[BinaryDataLoader.MAGIC.length];
+            in.readFully(magic);
+            if (!Arrays.equals(magic, BinaryDataLoader.MAGIC)) {
+                throw new IOException("Input file '" + file.getPath() + "' is not a binary products file.");
+            }
+            int version = in.readInt();
+            if (version != BinaryDataLoader.VERSION) {
+                throw new IOException("Input file '" + file.getPath() + "' has unsupported version " + version + ".");
+            }
+            boolean hasStats = (in.readByte() & BinaryDataLoader.FLAG_STATS) != 0;
+            
+            Block block = new Block();
+            int rows;
+            while ((rows = in.readInt()) != 0) {
+                int payloadLength = in.readInt();
+                if (rows < 0 || payloadLength < 4L * rows) {
+                    throw new IOException("Input file '" + file.getPath() + "' is corrupt.");
+                }
+                if (hasStats) {
+                    int minID = in.readInt();
+                    int maxID = in.readInt();
+                    in.readDouble();
+                    in.readDouble();
+                    if (maxID < minProductID || minID > maxProductID) {
+                        in.skipNBytes(payloadLength);
+                        blocksSkipped++;
+                        continue;
+                    }
+                }
+                try {
+                    block.read(in, rows, payloadLength);
+                } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+                    throw new IOException("Input file '" + file.getPath() + "' is corrupt.", e);
+                }
+                consumer.accept(block);
+            }
+        } catch (EOFException e) {
+            throw new IOException("Input file '" + file.getPath() + "' is truncated.", e);
+        }
+    }
+    
+    /**
+     * Receiver for each decoded block
+     */
+    private interface BlockConsumer {
+        void accept(Block block) throws IOException;
+    }
+    
+    /**
+     * Decoded columns of one block, reused from block to block
+     */
+    private class Block {
+        private byte[] payload = new byte[0];
+        private int rows;
+        private int[] ids = new int[0];
+        private double[] prices = new double[0];
+        private String[] categories;
+        private int[] categoryCodes = new int[0];
+        private String[] priceRanges;
+        private int[] priceRangeCodes = new int[0];
+        private int[] nameOffsets = new int[0];
+        private int[] nameLengths = new int[0];
+        
+        void read(DataInputStream in, int rows, int payloadLength) throws IOException {
+            if (payload.length < payloadLength) {
+                payload = new byte[payloadLength];
+            }
+            in.readFully(payload, 0, payloadLength);
+            if (ids.length < rows) {
+                ids = new int[rows];
+                prices = new double[rows];
+                categoryCodes = new int[rows];
+                priceRangeCodes = new int[rows];
+                nameOffsets = new int[rows];
+                nameLengths = new int[rows];
+            }
+            this.rows = rows;
+            
+            ByteBuffer buffer = ByteBuffer.wrap(payload, 0, payloadLength);
+            for (int row = 0; row < rows; row++) {
+                ids[row] = buffer.getInt();
+            }
+            if (buffer.get() == BinaryDataLoader.PRICES_IN_CENTS) {
+                for (int row = 0; row < rows; row++) {
+                    prices[row] = buffer.getLong() / 100.0;
+                }
+            } else {
+                for (int row = 0; row < rows; row++) {
+                    prices[row] = buffer.getDouble();
+                }
+            }
+            categories = readDictionary(buffer, categoryCodes, true);
+            priceRanges = readDictionary(buffer, priceRangeCodes, false);
+            
+            for (int row = 0; row < rows; row++) {
+                nameLengths[row] = buffer.getInt();
+            }
+            int offset = buffer.position();
+            for (int row = 0; row < rows; row++) {
+                nameOffsets[row] = offset;
+                offset += nameLengths[row];
+            }
+            if (offset > payloadLength) {
+                throw new IOException("Block names overrun the block.");
+            }
+        }
+        
+        boolean matches(int row) {
+            return ids[row] >= minProductID && ids[row] <= maxProductID;
+        }
+        
+        String name(int row) {
+            return new String(payload, nameOffsets[row], nameLengths[row], StandardCharsets.UTF_8);
+        }
+        
+        private String[] readDictionary(ByteBuffer buffer, int[] codes, boolean intern) throws IOException {
+            String[] values = new String[buffer.getInt()];
+            for (int i = 0; i < values.length; i++) {
+                int length = buffer.getInt();
+                String value = new String(payload, buffer.position(), length, StandardCharsets.UTF_8);
+                values[i] = intern ? categoryDictionary.intern(value) : value;
+                buffer.position(buffer.position() + length);
+            }
+            boolean narrow = values.length <= 256;
+            for (int row = 0; row < rows; row++) {
+                int code = narrow ? buffer.get() & 0xFF : buffer.getInt();
+                if (code >= values.length) {
+                    throw new IOException("Block dictionary code " + code + " out of range.");
+                }
+                codes[row] = code;
+            }
+            return values;
+        }
+    }
+}
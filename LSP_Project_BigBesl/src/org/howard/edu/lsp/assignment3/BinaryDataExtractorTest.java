@@ -0,0 +1,101 @@
+package org.howard.edu.lsp.assignment3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit test suite for the binary columnar format.
+ * Writes products with BinaryDataLoader and reads them back with BinaryDataExtractor.
+ */
+public class BinaryDataExtractorTest extends SilentConsoleTest {
+    
+    private static List<Product> sampleProducts() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Product product = new Product(i, "Item " + i, i * 1.25, "Category " + (i % 300));
+            product.setPriceRange(i % 2 == 0 ? "Low" : "");
+            products.add(product);
+        }
+        Product unusual = new Product(-7, "Caf\u00e9 \u00fcber", 33.333, "Electronics");
+        unusual.setPriceRange("Premium");
+        products.add(unusual);
+        products.add(new Product(Integer.MAX_VALUE, "", -19.99, ""));
+        return products;
+    }
+    
+    private static void assertSameProducts(List<Product> expected, List<Product> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getProductID(), actual.get(i).getProductID());
+            assertEquals(expected.get(i).getName(), actual.get(i).getName());
+            assertEquals(expected.get(i).getPrice(), actual.get(i).getPrice());
+            assertEquals(expected.get(i).getCategory(), actual.get(i).getCategory());
+            assertEquals(expected.get(i).getPriceRange(), actual.get(i).getPriceRange());
+        }
+    }
+    
+    /**
+     * Verifies rows written from products or from a batch read back unchanged.
+     */
+    @Test
+    public void roundTripPreservesEveryField() throws IOException {
+        List<Product> products = sampleProducts();
+        String fromList = directory.resolve("list.bin").toString();
+        String fromBatch = directory.resolve("batch.bin").toString();
+        
+        BinaryDataLoader loader = new BinaryDataLoader(128, true);
+        loader.load(products, fromList);
+        ProductBatch batch = new ProductBatch();
+        for (Product product : products) {
+            batch.add(product);
+        }
+        loader.loadBatch(batch, fromBatch);
+        
+        assertArrayEquals(Files.readAllBytes(new File(fromList).toPath()),
+                Files.readAllBytes(new File(fromBatch).toPath()));
+        assertSameProducts(products, new BinaryDataExtractor().extract(fromList));
+        assertSameProducts(products, new BinaryDataExtractor().extractBatch(fromBatch).toProducts());
+    }
+    
+    /**
+     * Verifies a ProductID range skips the blocks that cannot match and filters the rest.
+     */
+    @Test
+    public void idRangeSkipsBlocksUsingStats() throws IOException {
+        List<Product> products = sampleProducts().subList(0, 1000);
+        String output = directory.resolve("products.bin").toString();
+        new BinaryDataLoader(100, true).load(products, output);
+        
+        BinaryDataExtractor extractor = new BinaryDataExtractor(250, 349);
+        List<Product> extracted = extractor.extract(output);
+        
+        assertSameProducts(products.subList(250, 350), extracted);
+        assertEquals(8, extractor.getBlocksSkipped());
+    }
+    
+    /**
+     * Verifies files that are not complete binary product files are rejected.
+     */
+    @Test
+    public void rejectsForeignAndTruncatedFiles() throws IOException {
+        Path csv = directory.resolve("products.csv");
+        Files.write(csv, "ProductID,Name,Price,Category\n1,Laptop,1000.00,Electronics\n".getBytes());
+        assertThrows(IOException.class, () -> new BinaryDataExtractor().extract(csv.toString()));
+        
+        String output = directory.resolve("products.bin").toString();
+        new BinaryDataLoader().load(sampleProducts(), output);
+        byte[] bytes = Files.readAllBytes(new File(output).toPath());
+        Path truncated = directory.resolve("truncated.bin");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 4));
+        assertThrows(IOException.class, () -> new BinaryDataExtractor().extract(truncated.toString()));
+    }
+}
@@ -0,0 +1,321 @@
+/**
+ * Name: Bryce Ly
+ * BinaryDataLoader - Binary columnar implementation of DataLoader
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loader that writes transformed products as a compact binary columnar file
+ * The file is read back by BinaryDataExtractor without any text parsing.
+ * Layout (all numbers big-endian):
+ * <pre>
+ * file    := MAGIC, version:int, flags:byte, block*, 0:int
+ * block   := rows:int, payloadLength:int, [stats], payload
+ * stats   := minID:int, maxID:int, minPrice:double, maxPrice:double
+ * payload := ids:int[rows],
+ *            priceEncoding:byte, prices:long[rows] (cents) or double[rows],
+ *            categories:dictionary, priceRanges:dictionary,
+ *            nameLengths:int[rows], names:UTF-8 bytes
+ * dictionary := count:int, (length:int, UTF-8 bytes)[count], codes[rows]
+ * </pre>
+ * Dictionaries are local to their block; codes take one byte when the block
+ * has at most 256 distinct values and four bytes otherwise. Prices are stored
+ * as whole cents whenever every price of the block is an exact two-decimal
+ * value, so they decode to the same doubles. The stats let a reader skip
+ * whole blocks, and the trailing zero marks a complete file.
+ */
+public class BinaryDataLoader implements StreamingDataLoader, BatchDataLoader {
+    static final byte[] MAGIC = { 'P', 'R', 'D', 'B' };
+    static final int VERSION = 1;
+    static final int FLAG_STATS = 1;
+    static final int PRICES_IN_CENTS = 0;
+    static final int PRICES_AS_DOUBLES = 1;
+    
+    private static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+    private static final int OUTPUT_BUFFER_SIZE = 1024 * 1024;
+    
+    private final int blockSize;
+    private final boolean writeStats;
+    
+    public BinaryDataLoader() {
+        this(DEFAULT_BLOCK_SIZE, true);
+    }
+    
+    /**
+     * Constructor with a custom block layout
+     * @param blockSize Maximum number of rows per block
+     * @param writeStats Whether each block records the min/max ProductID and price of its rows
+     */
+    public BinaryDataLoader(int blockSize, boolean writeStats) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be at least 1 row");
+        }
+        this.blockSize = blockSize;
+        this.writeStats = writeStats;
+    }
+    
+    @Override
+    public ProductSink open(String outputPath) throws IOException {
+        File outputFile = new File(outputPath);
+        outputFile.getParentFile().mkdirs();
+        
+        BlockWriter writer = new BlockWriter(new DataOutputStream(
+                new BufferedOutputStream(Compression.openOutput(outputFile), OUTPUT_BUFFER_SIZE)), outputFile);
+        try {
+            writer.writeFileHeader();
+        } catch (IOException e) {
+            writer.out.close();
+            throw e;
+        }
+        return writer;
+    }
+    
+    /**
+     * Writes the batch without materializing Products
+     */
+    @Override
+    public void loadBatch(ProductBatch batch, String outputPath) throws IOException {
+        try (BlockWriter writer = (BlockWriter) open(outputPath)) {
+            for (int row = 0; row < batch.size(); row++) {
+                writer.accept(batch, row);
+            }
+        }
+    }
+    
+    /**
+     * Sink that buffers one block of rows column by column and encodes it when full
+     */
+    private class BlockWriter implements ProductSink {
+        private final DataOutputStream out;
+        private final File outputFile;
+        private final ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream();
+        private final DataOutputStream payload = new DataOutputStream(payloadBytes);
+        private final BlockDictionary categories = new BlockDictionary(blockSize);
+        private final BlockDictionary priceRanges = new BlockDictionary(blockSize);
+        private final int[] ids;
+        private final double[] prices;
+        private final int[] nameLengths;
+        private byte[] names = new byte[4096];
+        private int namesUsed;
+        private int rows;
+        
+        BlockWriter(DataOutputStream out, File outputFile) {
+            this.out = out;
+            this.outputFile = outputFile;
+            this.ids = new int[blockSize];
+            this.prices = new double[blockSize];
+            this.nameLengths = new int[blockSize];
+        }
+        
+        void writeFileHeader() throws IOException {
+            out.write(MAGIC);
+            out.writeInt(VERSION);
+            out.writeByte(writeStats ? FLAG_STATS : 0);
+        }
+        
+        @Override
+        public void accept(Product product) throws IOException {
+            String name = product.getName();
+            int start = namesUsed;
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (c >= 0x80) {
+                    namesUsed = start;
+                    appendNameBytes(name.getBytes(StandardCharsets.UTF_8));
+                    break;
+                }
+                appendNameByte(c);
+            }
+            addRow(product.getProductID(), product.getPrice(), product.getCategory(),
+                    product.getPriceRange(), namesUsed - start);
+        }
+        
+        /**
+         * Buffers one row of a batch, encoding the name straight from the batch's name buffer
+         */
+        void accept(ProductBatch batch, int row) throws IOException {
+            char[] chars = batch.nameBuffer();
+            int offset = batch.nameOffset(row);
+            int end = offset + batch.nameLength(row);
+            int start = namesUsed;
+            for (int i = offset; i < end; i++) {
+                if (chars[i] >= 0x80) {
+                    namesUsed = start;
+                    appendNameBytes(new String(chars, offset, end - offset).getBytes(StandardCharsets.UTF_8));
+                    break;
+                }
+                appendNameByte(chars[i]);
+            }
+            addRow(batch.getProductID(row), batch.getPrice(row), batch.getCategory(row),
+                    batch.getPriceRange(row), namesUsed - start);
+        }
+        
+        @Override
+        public void close() throws IOException {
+            try {
+                writeBlock();
+                out.writeInt(0);
+            } finally {
+                out.close();
+            }
+            System.out.println("Transformed data written to: " + outputFile.getAbsolutePath());
+        }
+        
+        private void addRow(int id, double price, String category, String priceRange, int nameLength)
+                throws IOException {
+            ids[rows] = id;
+            prices[rows] = price;
+            nameLengths[rows] = nameLength;
+            categories.add(category);
+            priceRanges.add(priceRange);
+            if (++rows == blockSize) {
+                writeBlock();
+            }
+        }
+        
+        private void appendNameByte(char c) {
+            if (namesUsed == names.length) {
+                names = Arrays.copyOf(names, names.length * 2);
+            }
+            names[namesUsed++] = (byte) c;
+        }
+        
+        private void appendNameBytes(byte[] bytes) {
+            if (names.length - namesUsed < bytes.length) {
+                names = Arrays.copyOf(names, Math.max(names.length * 2, namesUsed + bytes.length));
+            }
+            System.arraycopy(bytes, 0, names, namesUsed, bytes.length);
+            namesUsed += bytes.length;
+        }
+        
+        /**
+         * Encodes the buffered rows as one block and starts the next
+         */
+        private void writeBlock() throws IOException {
+            if (rows == 0) {
+                return;
+            }
+            
+            payloadBytes.reset();
+            for (int row = 0; row < rows; row++) {
+                payload.writeInt(ids[row]);
+            }
+            writePrices();
+            categories.writeTo(payload);
+            priceRanges.writeTo(payload);
+            for (int row = 0; row < rows; row++) {
+                payload.writeInt(nameLengths[row]);
+            }
+            payload.write(names, 0, namesUsed);
+            
+            out.writeInt(rows);
+            out.writeInt(payloadBytes.size());
+            if (writeStats) {
+                writeStats();
+            }
+            payloadBytes.writeTo(out);
+            
+            rows = 0;
+            namesUsed = 0;
+            categories.clear();
+            priceRanges.clear();
+        }
+        
+        /**
+         * Writes the prices as cents, or as raw doubles if any price is not a whole number of cents
+         */
+        private void writePrices() throws IOException {
+            for (int row = 0; row < rows; row++) {
+                if (PriceFormatter.exactCents(prices[row]) < 0) {
+                    payload.writeByte(PRICES_AS_DOUBLES);
+                    for (int i = 0; i < rows; i++) {
+                        payload.writeDouble(prices[i]);
+                    }
+                    return;
+                }
+            }
+            payload.writeByte(PRICES_IN_CENTS);
+            for (int row = 0; row < rows; row++) {
+                long cents = PriceFormatter.exactCents(prices[row]);
+                payload.writeLong(prices[row] < 0 ? -cents : cents);
+            }
+        }
+        
+        private void writeStats() throws IOException {
+            int minID = ids[0];
+            int maxID = ids[0];
+            double minPrice = prices[0];
+            double maxPrice = prices[0];
+            for (int row = 1; row < rows; row++) {
+                minID = Math.min(minID, ids[row]);
+                maxID = Math.max(maxID, ids[row]);
+                minPrice = Math.min(minPrice, prices[row]);
+                maxPrice = Math.max(maxPrice, prices[row]);
+            }
+            out.writeInt(minID);
+            out.writeInt(maxID);
+            out.writeDouble(minPrice);
+            out.writeDouble(maxPrice);
+        }
+    }
+    
+    /**
+     * Dictionary encoding of one string column within a block
+     */
+    private static class BlockDictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private final int[] rowCodes;
+        private int rows;
+        
+        BlockDictionary(int capacity) {
+            rowCodes = new int[capacity];
+        }
+        
+        void add(String value) {
+            String text = String.valueOf(value);
+            Integer code = codes.get(text);
+            if (code == null) {
+                code = values.size();
+                codes.put(text, code);
+                values.add(text);
+            }
+            rowCodes[rows++] = code;
+        }
+        
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeInt(values.size());
+            for (String value : values) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            boolean narrow = values.size() <= 256;
+            for (int row = 0; row < rows; row++) {
+                if (narrow) {
+                    out.writeByte(rowCodes[row]);
+                } else {
+                    out.writeInt(rowCodes[row]);
+                }
+            }
+        }
+        
+        void clear() {
+            codes.clear();
+            values.clear();
+            rows = 0;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/**
+ * Name: Bryce Ly
+ * BufferedCSVDataLoader - High-throughput implementation of DataLoader
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * CSV loader that encodes rows straight into one large reusable byte buffer
+ * Produces byte-identical output to CSVDataLoader (same default charset, same
+ * %.2f prices) without building a String per row or going through Formatter.
+ */
+public class BufferedCSVDataLoader implements StreamingDataLoader, BatchDataLoader {
+    private static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+    private static final int MAX_NUMBER_LENGTH = 24;
+    private static final byte[] HEADER =
+            "ProductID,Name,Price,Category,PriceRange\n".getBytes(StandardCharsets.US_ASCII);
+    
+    private final int bufferSize;
+    
+    public BufferedCSVDataLoader() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+    
+    /**
+     * Constructor with a custom buffer size
+     * @param bufferSize Number of bytes buffered before each write to the file
+     */
+    public BufferedCSVDataLoader(int bufferSize) {
+        if (bufferSize < 64) {
+            throw new IllegalArgumentException("Buffer size must be at least 64 bytes");
+        }
+        this.bufferSize = bufferSize;
+    }
+    
+    @Override
+    public ProductSink open(String outputPath) throws IOException {
+        File outputFile = new File(outputPath);
+        outputFile.getParentFile().mkdirs();
+        
+        RowWriter writer = new RowWriter(Compression.openOutput(outputFile), bufferSize, outputFile);
+        try {
+            writer.writeBytes(HEADER);
+        } catch (IOException e) {
+            writer.close();
+            throw e;
+        }
+        return writer;
+    }
+    
+    /**
+     * Writes the batch column by column, without materializing Products
+     */
+    @Override
+    public void loadBatch(ProductBatch batch, String outputPath) throws IOException {
+        try (RowWriter writer = (RowWriter) open(outputPath)) {
+            for (int row = 0; row < batch.size(); row++) {
+                writer.accept(batch, row);
+            }
+        }
+    }
+    
+    /**
+     * Sink that encodes each product into the buffer and flushes it when full
+     */
+    private static class RowWriter implements ProductSink {
+        private final OutputStream out;
+        private final File outputFile;
+        private final byte[] buffer;
+        private final Charset charset = Charset.defaultCharset();
+        private final boolean asciiCompatible;
+        private final boolean fastPrices = PriceFormatter.isFastPathLocale();
+        private int position;
+        
+        RowWriter(OutputStream out, int bufferSize, File outputFile) {
+            this.out = out;
+            this.outputFile = outputFile;
+            this.buffer = new byte[bufferSize];
+            this.asciiCompatible = charset.equals(StandardCharsets.UTF_8)
+                    || charset.equals(StandardCharsets.US_ASCII)
+                    || charset.equals(StandardCharsets.ISO_8859_1);
+        }
+        
+        @Override
+        public void accept(Product product) throws IOException {
+            ensureCapacity(MAX_NUMBER_LENGTH);
+            int id = product.getProductID();
+            if (id < 0) {
+                buffer[position++] = '-';
+            }
+            position = PriceFormatter.writeLong(Math.abs((long) id), buffer, position);
+            writeByte(',');
+            writeString(product.getName());
+            writeByte(',');
+            writePrice(product.getPrice());
+            writeByte(',');
+            writeString(product.getCategory());
+            writeByte(',');
+            writeString(product.getPriceRange());
+            writeByte('\n');
+        }
+        
+        /**
+         * Writes one row of a batch, copying the name straight from the batch's name buffer
+         */
+        void accept(ProductBatch batch, int row) throws IOException {
+            ensureCapacity(MAX_NUMBER_LENGTH);
+            int id = batch.getProductID(row);
+            if (id < 0) {
+                buffer[position++] = '-';
+            }
+            position = PriceFormatter.writeLong(Math.abs((long) id), buffer, position);
+            writeByte(',');
+            writeChars(batch.nameBuffer(), batch.nameOffset(row), batch.nameLength(row));
+            writeByte(',');
+            writePrice(batch.getPrice(row));
+            writeByte(',');
+            writeString(batch.getCategory(row));
+            writeByte(',');
+            writeString(batch.getPriceRange(row));
+            writeByte('\n');
+        }
+        
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                out.close();
+            }
+            System.out.println("Transformed data written to: " + outputFile.getAbsolutePath());
+        }
+        
+        private void writePrice(double price) throws IOException {
+            ensureCapacity(MAX_NUMBER_LENGTH);
+            int end = fastPrices ? PriceFormatter.format(price, buffer, position) : -1;
+            if (end >= 0) {
+                position = end;
+            } else {
+                writeBytes(String.format("%.2f", price).getBytes(charset));
+            }
+        }
+        
+        /**
+         * Encodes a string; pure ASCII strings in an ASCII-compatible charset are copied char by char
+         */
+        private void writeString(String value) throws IOException {
+            String text = String.valueOf(value);
+            int length = text.length();
+            if (asciiCompatible) {
+                int i = 0;
+                while (i < length) {
+                    if (position == buffer.length) {
+                        flush();
+                    }
+                    char c = text.charAt(i);
+                    if (c >= 0x80) {
+                        break;
+                    }
+                    buffer[position++] = (byte) c;
+                    i++;
+                }
+                if (i == length) {
+                    return;
+                }
+                text = text.substring(i);
+            }
+            writeBytes(text.getBytes(charset));
+        }
+        
+        private void writeChars(char[] chars, int offset, int length) throws IOException {
+            if (asciiCompatible) {
+                int end = offset + length;
+                int i = offset;
+                while (i < end && chars[i] < 0x80) {
+                    if (position == buffer.length) {
+                        flush();
+                    }
+                    buffer[position++] = (byte) chars[i++];
+                }
+                if (i == end) {
+                    return;
+                }
+                length = end - i;
+                offset = i;
+            }
+            writeBytes(new String(chars, offset, length).getBytes(charset));
+        }
+        
+        private void writeByte(char c) throws IOException {
+            if (position == buffer.length) {
+                flush();
+            }
+            buffer[position++] = (byte) c;
+        }
+        
+        private void writeBytes(byte[] bytes) throws IOException {
+            if (bytes.length > buffer.length - position) {
+                flush();
+                if (bytes.length > buffer.length) {
+                    out.write(bytes);
+                    return;
+                }
+            }
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+        
+        private void ensureCapacity(int bytes) throws IOException {
+            if (buffer.length - position < bytes) {
+                flush();
+            }
+        }
+        
+        private void flush() throws IOException {
+            if (position > 0) {
+                out.write(buffer, 0, position);
+                position = 0;
+            }
+        }
+    }
+}
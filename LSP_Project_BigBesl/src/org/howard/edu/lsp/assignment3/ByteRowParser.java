@@ -0,0 +1,353 @@
+/**
+ * Name: Bryce Ly
+ * ByteRowParser - Parses CSV product rows directly from encoded bytes
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Byte-level row parser shared by the NIO-based extractors
+ * Locates delimiters directly in the buffer and parses ProductID and Price
+ * without creating intermediate Strings; Name and Category are only decoded
+ * once both numeric fields are known to be valid. Accepts exactly the rows
+ * that String.split + Integer.parseInt + Double.parseDouble would accept.
+ * Not thread-safe: use one instance per thread.
+ */
+final class ByteRowParser {
+    private static final int MAX_FAST_DIGITS = 15;
+    private static final int CATEGORY_CACHE_SIZE = 64;
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    
+    private final byte delimiter;
+    private final CategoryDictionary categories = CategoryDictionary.getInstance();
+    private final byte[][] cachedCategoryBytes = new byte[CATEGORY_CACHE_SIZE][];
+    private final String[] cachedCategories = new String[CATEGORY_CACHE_SIZE];
+    private byte[] scratch = new byte[256];
+    private InvalidRowReason error;
+    private int firstDelimiter;
+    private int secondDelimiter;
+    private int thirdDelimiter;
+    private int categoryEnd;
+    
+    ByteRowParser(boolean usesTabs) {
+        this.delimiter = usesTabs ? (byte) '\t' : (byte) ',';
+    }
+    
+    /**
+     * Parses the row stored in buffer[start, end), excluding the line terminator
+     * @return The parsed product, or null if the row is invalid (see lastError)
+     */
+    Product parse(ByteBuffer buffer, int start, int end) {
+        if (!splitFields(buffer, start, end)) {
+            return null;
+        }
+        
+        try {
+            int productID = parseInt(buffer, start, firstDelimiter);
+            double price = parseDouble(buffer, secondDelimiter + 1, thirdDelimiter);
+            String name = decodeTrimmed(buffer, firstDelimiter + 1, secondDelimiter);
+            String category = decodeCategory(buffer, thirdDelimiter + 1, categoryEnd);
+            
+            return new Product(productID, name, price, category);
+        } catch (NumberFormatException e) {
+            error = InvalidRowReason.NUMBER_FORMAT_ERROR;
+            return null;
+        }
+    }
+    
+    /**
+     * Parses the row stored in buffer[start, end) and appends it to the batch
+     * ASCII names are copied straight into the batch's name buffer
+     * @return true if the row was valid and appended (see lastError otherwise)
+     */
+    boolean parseInto(ByteBuffer buffer, int start, int end, ProductBatch batch) {
+        if (!splitFields(buffer, start, end)) {
+            return false;
+        }
+        
+        int productID;
+        double price;
+        try {
+            productID = parseInt(buffer, start, firstDelimiter);
+            price = parseDouble(buffer, secondDelimiter + 1, thirdDelimiter);
+        } catch (NumberFormatException e) {
+            error = InvalidRowReason.NUMBER_FORMAT_ERROR;
+            return false;
+        }
+        
+        int row = batch.addRow(productID, price, decodeCategory(buffer, thirdDelimiter + 1, categoryEnd));
+        int nameStart = trimStart(buffer, firstDelimiter + 1, secondDelimiter);
+        int nameEnd = trimEnd(buffer, nameStart, secondDelimiter);
+        if (isAscii(buffer, nameStart, nameEnd)) {
+            batch.setAsciiName(row, buffer, nameStart, nameEnd);
+        } else {
+            batch.setName(row, decode(buffer, nameStart, nameEnd));
+        }
+        return true;
+    }
+    
+    /**
+     * Locates the first four fields, applying the String.split column rules
+     * @return false (with lastError set) if the row has fewer than four columns
+     */
+    private boolean splitFields(ByteBuffer buffer, int start, int end) {
+        firstDelimiter = indexOf(buffer, start, end);
+        secondDelimiter = firstDelimiter < 0 ? -1 : indexOf(buffer, firstDelimiter + 1, end);
+        thirdDelimiter = secondDelimiter < 0 ? -1 : indexOf(buffer, secondDelimiter + 1, end);
+        if (thirdDelimiter < 0 || !hasNonDelimiter(buffer, thirdDelimiter + 1, end)) {
+            error = InvalidRowReason.INSUFFICIENT_COLUMNS;
+            return false;
+        }
+        int fourthDelimiter = indexOf(buffer, thirdDelimiter + 1, end);
+        categoryEnd = fourthDelimiter < 0 ? end : fourthDelimiter;
+        return true;
+    }
+    
+    /**
+     * Returns the reason the most recent call to parse rejected its row
+     */
+    InvalidRowReason lastError() {
+        return error;
+    }
+    
+    /**
+     * Returns the index of the '\n' or '\r' ending the line that starts at start, or limit
+     */
+    static int lineEnd(ByteBuffer buffer, int start, int limit) {
+        int end = start;
+        while (end < limit && buffer.get(end) != '\n' && buffer.get(end) != '\r') {
+            end++;
+        }
+        return end;
+    }
+    
+    /**
+     * Returns the start of the line following a line that ends at end,
+     * treating \r\n as a single terminator like BufferedReader
+     */
+    static int nextLineStart(ByteBuffer buffer, int end, int limit) {
+        if (end >= limit) {
+            return limit;
+        }
+        if (buffer.get(end) == '\r' && end + 1 < limit && buffer.get(end + 1) == '\n') {
+            return end + 2;
+        }
+        return end + 1;
+    }
+    
+    /**
+     * Returns true if buffer[start, end) holds only whitespace, like String.trim().isEmpty()
+     */
+    static boolean isBlank(ByteBuffer buffer, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if ((buffer.get(i) & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Decodes buffer[start, end) as UTF-8
+     */
+    static String decode(ByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    private int indexOf(ByteBuffer buffer, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (buffer.get(i) == delimiter) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * String.split drops trailing empty fields, so a fourth column only
+     * exists if something other than a delimiter follows the third one
+     */
+    private boolean hasNonDelimiter(ByteBuffer buffer, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (buffer.get(i) != delimiter) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static boolean isAscii(ByteBuffer buffer, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static int trimStart(ByteBuffer buffer, int start, int end) {
+        while (start < end && (buffer.get(start) & 0xFF) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+    
+    private static int trimEnd(ByteBuffer buffer, int start, int end) {
+        while (end > start && (buffer.get(end - 1) & 0xFF) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+    
+    private String decodeTrimmed(ByteBuffer buffer, int start, int end) {
+        start = trimStart(buffer, start, end);
+        end = trimEnd(buffer, start, end);
+        int length = end - start;
+        if (length > scratch.length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(start, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Returns the interned category for the trimmed bytes in buffer[start, end)
+     * A small cache keyed on the raw bytes means a repeated category costs a
+     * byte comparison instead of a decode and a dictionary lookup
+     */
+    private String decodeCategory(ByteBuffer buffer, int start, int end) {
+        start = trimStart(buffer, start, end);
+        end = trimEnd(buffer, start, end);
+        int length = end - start;
+        
+        int hash = length;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + buffer.get(i);
+        }
+        int slot = (hash ^ (hash >>> 16)) & (CATEGORY_CACHE_SIZE - 1);
+        
+        byte[] cached = cachedCategoryBytes[slot];
+        if (cached != null && cached.length == length && matches(buffer, start, cached)) {
+            return cachedCategories[slot];
+        }
+        
+        byte[] bytes = new byte[length];
+        buffer.get(start, bytes);
+        String category = categories.intern(new String(bytes, StandardCharsets.UTF_8));
+        cachedCategoryBytes[slot] = bytes;
+        cachedCategories[slot] = category;
+        return category;
+    }
+    
+    private static boolean matches(ByteBuffer buffer, int start, byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (buffer.get(start + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Parses a trimmed decimal int; non-ASCII input falls back to Integer.parseInt
+     */
+    private int parseInt(ByteBuffer buffer, int start, int end) {
+        start = trimStart(buffer, start, end);
+        end = trimEnd(buffer, start, end);
+        if (start == end) {
+            throw new NumberFormatException();
+        }
+        
+        int i = start;
+        boolean negative = false;
+        byte first = buffer.get(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+            if (i == end) {
+                throw new NumberFormatException();
+            }
+        }
+        
+        long value = 0;
+        for (; i < end; i++) {
+            int b = buffer.get(i);
+            if (b < 0) {
+                return Integer.parseInt(decode(buffer, start, end));
+            }
+            if (b < '0' || b > '9') {
+                throw new NumberFormatException();
+            }
+            value = value * 10 + (b - '0');
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw new NumberFormatException();
+            }
+        }
+        
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw new NumberFormatException();
+        }
+        return (int) value;
+    }
+    
+    /**
+     * Parses a trimmed plain decimal ([+-]digits[.digits]) with up to 15
+     * significant digits as mantissa / 10^scale, which is exact and therefore
+     * identical to Double.parseDouble. Anything else (exponents, long
+     * mantissas, NaN, hex) is handed to Double.parseDouble.
+     */
+    private double parseDouble(ByteBuffer buffer, int start, int end) {
+        start = trimStart(buffer, start, end);
+        end = trimEnd(buffer, start, end);
+        
+        int i = start;
+        boolean negative = false;
+        if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            negative = buffer.get(i) == '-';
+            i++;
+        }
+        
+        long mantissa = 0;
+        int digits = 0;
+        int significant = 0;
+        int scale = -1;
+        for (; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b >= '0' && b <= '9') {
+                digits++;
+                if (mantissa != 0 || b != '0') {
+                    significant++;
+                }
+                mantissa = mantissa * 10 + (b - '0');
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (b == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                return Double.parseDouble(decode(buffer, start, end));
+            }
+            if (significant > MAX_FAST_DIGITS) {
+                return Double.parseDouble(decode(buffer, start, end));
+            }
+        }
+        
+        if (digits == 0) {
+            throw new NumberFormatException();
+        }
+        if (scale >= POWERS_OF_TEN.length) {
+            return Double.parseDouble(decode(buffer, start, end));
+        }
+        
+        double value = scale > 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa;
+        return negative ? -value : value;
+    }
+}
@@ -0,0 +1,194 @@
+package org.howard.edu.lsp.assignment3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit differential test suite for ByteRowParser and the byte-level extractors.
+ * Fuzzes rows with the inputs split, parseInt and parseDouble treat specially and
+ * checks the byte parser, and every extractor on whole files, agree with CSVDataExtractor.
+ */
+public class ByteRowParserTest extends SilentConsoleTest {
+    
+    private static final int ROWS = 200_000;
+    private static final String[] NUMBERS = {
+        "0", "7", "-12", "+12", "2147483647", "2147483648", "-2147483648", "00042", "1_000",
+        "12.5", ".5", "5.", "-0.0", "1e3", "1E-2", "1e400", "0x1p3", "0x1.8P-1", "0X10", "3d", "3f", "2.5D", "2.5F",
+        "NaN", "Infinity", "-Infinity", "+Infinity", "nan", "١٢", "１", "1 2", "1.2.3", "", " ", "-",
+        "99999999999999999999", "123456789012345678", "0.1000000000000000055511151231257827",
+    };
+    private static final String[] TEXTS = {
+        "Laptop", "", " Pen ", "Straße", "café", "日本", "Electronics", "electronics",
+        "Premium Electronics", "a\"b", " spaced ", " em",
+    };
+    private static final String[] PADDING = { "", "", "", " ", "\t", "\u000b", "\f", "\u001f", " " };
+    
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+    
+    private static String padded(Random random, String value) {
+        return pick(random, PADDING) + value + pick(random, PADDING);
+    }
+    
+    /**
+     * Builds a row of four fields, sometimes with fields missing, extra or empty
+     */
+    private static String randomRow(Random random, char delimiter) {
+        List<String> fields = new ArrayList<>();
+        fields.add(padded(random, pick(random, NUMBERS)));
+        fields.add(padded(random, pick(random, TEXTS)));
+        fields.add(padded(random, pick(random, NUMBERS)));
+        fields.add(padded(random, pick(random, TEXTS)));
+        int shape = random.nextInt(10);
+        if (shape == 0) {
+            fields.remove(random.nextInt(fields.size()));
+        } else if (shape == 1) {
+            fields.add(pick(random, TEXTS));
+        } else if (shape == 2) {
+            fields.add("");
+        }
+        return String.join(String.valueOf(delimiter), fields);
+    }
+    
+    /**
+     * The rule CSVDataExtractor applies: split, then trim and parse each field
+     * @return The product, or the name of the reason the row is rejected
+     */
+    private static Object reference(String row, char delimiter) {
+        String[] fields = row.split(delimiter == '\t' ? "\t" : ",");
+        if (fields.length < 4) {
+            return InvalidRowReason.INSUFFICIENT_COLUMNS;
+        }
+        try {
+            return new Product(Integer.parseInt(fields[0].trim()), fields[1].trim(),
+                    Double.parseDouble(fields[2].trim()), fields[3].trim());
+        } catch (NumberFormatException e) {
+            return InvalidRowReason.NUMBER_FORMAT_ERROR;
+        }
+    }
+    
+    private static void assertSameResult(Object expected, Product actual, InvalidRowReason error, String row) {
+        if (expected instanceof InvalidRowReason) {
+            assertNull(actual, row);
+            assertEquals(expected, error, row);
+            return;
+        }
+        Product product = (Product) expected;
+        assertNotNull(actual, row);
+        assertEquals(product.getProductID(), actual.getProductID(), row);
+        assertEquals(product.getName(), actual.getName(), row);
+        assertEquals(Double.doubleToLongBits(product.getPrice()), Double.doubleToLongBits(actual.getPrice()), row);
+        assertEquals(product.getCategory(), actual.getCategory(), row);
+    }
+    
+    /**
+     * Verifies the byte parser accepts and rejects exactly the rows split, parseInt and parseDouble do.
+     */
+    @Test
+    public void parserMatchesSplitAndParse() {
+        Random random = new Random(17);
+        for (char delimiter : new char[] { ',', '\t' }) {
+            ByteRowParser parser = new ByteRowParser(delimiter == '\t');
+            for (int i = 0; i < ROWS; i++) {
+                String row = randomRow(random, delimiter);
+                byte[] bytes = ("#" + row + "#").getBytes(StandardCharsets.UTF_8);
+                Product actual = parser.parse(ByteBuffer.wrap(bytes), 1, bytes.length - 1);
+                assertSameResult(reference(row, delimiter), actual, parser.lastError(), row);
+            }
+        }
+    }
+    
+    /**
+     * Verifies every extractor reads the same products and rejects the same lines, at the same
+     * line numbers, from files with CRLF and lone CR line ends and blank lines, whatever the
+     * parallel chunk size or mapping window.
+     */
+    @Test
+    public void extractorsMatchOnWholeFiles() throws IOException {
+        Random random = new Random(23);
+        String[] terminators = { "\n", "\n", "\r\n", "\r" };
+        StringBuilder content = new StringBuilder("ProductID,Name,Price,Category\r\n");
+        for (int i = 0; i < 5000; i++) {
+            int kind = random.nextInt(20);
+            if (kind == 0) {
+                content.append(pick(random, PADDING));
+            } else if (kind < 10) {
+                content.append(i).append(',').append(pick(random, TEXTS)).append(',')
+                       .append(random.nextInt(100_000) / 100.0).append(',').append(pick(random, TEXTS));
+            } else {
+                content.append(randomRow(random, ','));
+            }
+            content.append(pick(random, terminators));
+        }
+        Path input = directory.resolve("fuzz.csv");
+        Files.write(input, content.toString().getBytes(StandardCharsets.UTF_8));
+        
+        List<String> expectedRows = new ArrayList<>();
+        List<String> expectedRejects = extract(new CSVDataExtractor(), input, expectedRows);
+        assertFalse(expectedRejects.isEmpty());
+        StreamingDataExtractor[] extractors = {
+            new MappedCSVDataExtractor(), new MappedCSVDataExtractor(509),
+            new ParallelCSVDataExtractor(1, 1), new ParallelCSVDataExtractor(3, 61),
+            new ParallelCSVDataExtractor(4, 4096), new ParallelCSVDataExtractor(2, 1 << 20),
+        };
+        for (StreamingDataExtractor extractor : extractors) {
+            List<String> rows = new ArrayList<>();
+            List<String> rejects = extract(extractor, input, rows);
+            assertEquals(expectedRows, rows, extractor.getClass().getSimpleName());
+            assertEquals(expectedRejects, rejects, extractor.getClass().getSimpleName());
+        }
+    }
+    
+    /**
+     * Verifies repeated parallel extracts parse on one shared pool instead of starting
+     * new worker threads every time
+     */
+    @Test
+    public void repeatedParallelExtractsShareThreads() throws IOException {
+        Path input = directory.resolve("products.csv");
+        new ProductsFileGenerator(0, false, 1).generate(20_000, input.toString());
+        List<String> rows = new ArrayList<>();
+        extract(new ParallelCSVDataExtractor(5, 4096), input, rows);
+        long workers = forkJoinWorkers();
+        for (int i = 0; i < 20; i++) {
+            List<String> again = new ArrayList<>();
+            extract(new ParallelCSVDataExtractor(5, 4096), input, again);
+            assertEquals(rows, again);
+        }
+        // the first pool may not have started all its workers yet, but twenty pools would add up to a hundred
+        assertTrue(forkJoinWorkers() <= workers + 5, forkJoinWorkers() + " workers, " + workers + " before");
+    }
+    
+    private static long forkJoinWorkers() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread instanceof ForkJoinWorkerThread)
+                .count();
+    }
+    
+    /**
+     * Extracts a file into rows, returning the lines of its reject file
+     */
+    private List<String> extract(StreamingDataExtractor extractor, Path input, List<String> rows)
+            throws IOException {
+        Path rejectPath = directory.resolve("rejects.csv");
+        try (RejectedRowSink rejects = new RejectedRowSink(rejectPath.toString())) {
+            ((RejectedRowAware) extractor).setRejectedRowSink(rejects);
+            extractor.extract(input.toString(), product -> rows.add(product.getProductID() + "|"
+                    + product.getName() + "|" + Double.doubleToLongBits(product.getPrice()) + "|"
+                    + product.getCategory()));
+        }
+        return Files.readAllLines(rejectPath);
+    }
+}
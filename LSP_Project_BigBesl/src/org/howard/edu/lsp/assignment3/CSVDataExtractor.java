@@ -6,30 +6,52 @@ package org.howard.edu.lsp.assignment3;
 
 import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 
 /**
  * CSV-specific data extractor implementation
  * Handles reading and parsing CSV files with product data
+ * Gzip and LZ_BLOCK compressed files are decompressed on the fly
+ * The input is read as UTF-8 like in every other extractor, so the output
+ * does not depend on the mode or on the platform's default charset
  */
-public class CSVDataExtractor implements DataExtractor {
+public class CSVDataExtractor implements StreamingDataExtractor, MetricsAware, RejectedRowAware {
+    private final CategoryDictionary categories = CategoryDictionary.getInstance();
+    private PipelineMetrics metrics;
+    private RejectedRowSink rejects;
     
     @Override
-    public List<Product> extract(String filePath) throws IOException {
+    public void setMetrics(PipelineMetrics metrics) {
+        this.metrics = metrics;
+    }
+    
+    @Override
+    public void setRejectedRowSink(RejectedRowSink rejects) {
+        this.rejects = rejects;
+    }
+    
+    @Override
+    public void extract(String filePath, ProductSink sink) throws IOException {
         File file = new File(filePath);
         validateFile(file);
         
         System.out.println("Reading data from: " + file.getAbsolutePath());
-        return readFromFile(file);
+        RejectedRowSink rejects = this.rejects != null ? this.rejects : new RejectedRowSink();
+        try {
+            readFromFile(file, sink, rejects);
+        } finally {
+            if (rejects != this.rejects) {
+                rejects.close();
+            }
+        }
     }
     
     /**
      * Validates that the file exists and is not empty
      */
-    private void validateFile(File file) throws IOException {
+    static void validateFile(File file) throws IOException {
         if (!file.exists()) {
             throw new IOException("Input file '" + file.getPath() + "' not found.");
         }
@@ -40,13 +62,14 @@ public class CSVDataExtractor implements DataExtractor {
     }
     
     /**
-     * Reads product data from the CSV file
+     * Reads product data from the CSV file, pushing each valid row to the sink
+     * and each invalid one to rejects
      */
-    private List<Product> readFromFile(File file) throws IOException {
-        List<Product> products = new ArrayList<>();
+    private void readFromFile(File file, ProductSink sink, RejectedRowSink rejects) throws IOException {
         int invalidRows = 0;
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Compression.openInput(file), StandardCharsets.UTF_8))) {
             String header = reader.readLine();
             if (header == null) {
                 throw new IOException("Input file is empty.");
@@ -60,13 +83,13 @@ public class CSVDataExtractor implements DataExtractor {
             while ((line = reader.readLine()) != null) {
                 lineNumber++;
                 if (line.trim().isEmpty()) {
-                    System.err.println("Warning: Skipping empty line " + lineNumber);
+                    recordSkippedRow(rejects, file, InvalidRowReason.EMPTY_LINE, lineNumber, null);
                     continue;
                 }
                 
-                Product product = parseLine(line, lineNumber, usesTabs);
+                Product product = parseLine(line, lineNumber, usesTabs, rejects, file);
                 if (product != null) {
-                    products.add(product);
+                    sink.accept(product);
                 } else {
                     invalidRows++;
                 }
@@ -76,14 +99,12 @@ public class CSVDataExtractor implements DataExtractor {
                 System.out.println("Skipped " + invalidRows + " invalid rows during extraction.");
             }
         }
-        
-        return products;
     }
     
     /**
      * Validates the header format
      */
-    private void validateHeader(String header) {
+    static void validateHeader(String header) {
         if (!header.trim().equalsIgnoreCase("ProductID,Name,Price,Category") && 
             !header.trim().equalsIgnoreCase("ProductID\tName\tPrice\tCategory")) {
             System.err.println("Warning: Unexpected header format. Expected: ProductID,Name,Price,Category");
@@ -93,11 +114,12 @@ public class CSVDataExtractor implements DataExtractor {
     /**
      * Parses a single line of CSV data into a Product object
      */
-    private Product parseLine(String line, int lineNumber, boolean usesTabs) {
+    private Product parseLine(String line, int lineNumber, boolean usesTabs, RejectedRowSink rejects, File file)
+            throws IOException {
         String[] fields = usesTabs ? line.split("\t") : line.split(",");
         
         if (fields.length < 4) {
-            System.err.println("Warning: Skipping invalid row (insufficient columns) at line " + lineNumber + ": " + line);
+            recordSkippedRow(rejects, file, InvalidRowReason.INSUFFICIENT_COLUMNS, lineNumber, line);
             return null;
         }
         
@@ -105,12 +127,20 @@ public class CSVDataExtractor implements DataExtractor {
             int productID = Integer.parseInt(fields[0].trim());
             String name = fields[1].trim();
             double price = Double.parseDouble(fields[2].trim());
-            String category = fields[3].trim();
+            String category = categories.intern(fields[3].trim());
             
             return new Product(productID, name, price, category);
         } catch (NumberFormatException e) {
-            System.err.println("Warning: Skipping invalid row (number format error) at line " + lineNumber + ": " + line);
+            recordSkippedRow(rejects, file, InvalidRowReason.NUMBER_FORMAT_ERROR, lineNumber, line);
             return null;
         }
     }
+    
+    private void recordSkippedRow(RejectedRowSink rejects, File file, InvalidRowReason reason, int lineNumber,
+                                  String line) throws IOException {
+        rejects.reject(file.getPath(), reason, lineNumber, line);
+        if (metrics != null) {
+            metrics.recordSkippedRow(reason);
+        }
+    }
 }
\ No newline at end of file
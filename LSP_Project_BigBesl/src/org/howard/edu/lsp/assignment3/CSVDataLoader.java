@@ -4,43 +4,64 @@
  */
 package org.howard.edu.lsp.assignment3;
 
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.List;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
 
 /**
  * CSV-specific data loader implementation
  * Handles writing product data to CSV files
+ * Output paths ending in .gz or .lzb are compressed on the fly
  */
-public class CSVDataLoader implements DataLoader {
+public class CSVDataLoader implements StreamingDataLoader {
     
     @Override
-    public void load(List<Product> products, String outputPath) throws IOException {
+    public ProductSink open(String outputPath) throws IOException {
         File outputFile = new File(outputPath);
         outputFile.getParentFile().mkdirs();
         
-        try (FileWriter writer = new FileWriter(outputFile)) {
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(Compression.openOutput(outputFile), Charset.defaultCharset()));
+        try {
             writeHeader(writer);
-            writeData(writer, products);
+        } catch (IOException e) {
+            writer.close();
+            throw e;
         }
-        
-        System.out.println("Transformed data written to: " + outputFile.getAbsolutePath());
+        return new CSVSink(writer, outputFile);
     }
     
     /**
      * Writes the CSV header row
      */
-    private void writeHeader(FileWriter writer) throws IOException {
+    private void writeHeader(Writer writer) throws IOException {
         writer.write("ProductID,Name,Price,Category,PriceRange\n");
     }
     
     /**
-     * Writes the product data rows
+     * Sink that writes one CSV data row per accepted product
      */
-    private void writeData(FileWriter writer, List<Product> products) throws IOException {
-        for (Product product : products) {
+    private static class CSVSink implements ProductSink {
+        private final Writer writer;
+        private final File outputFile;
+        
+        CSVSink(Writer writer, File outputFile) {
+            this.writer = writer;
+            this.outputFile = outputFile;
+        }
+        
+        @Override
+        public void accept(Product product) throws IOException {
             writer.write(product.toString() + "\n");
         }
+        
+        @Override
+        public void close() throws IOException {
+            writer.close();
+            System.out.println("Transformed data written to: " + outputFile.getAbsolutePath());
+        }
     }
 }
@@ -0,0 +1,122 @@
+/**
+ * Name: Bryce Ly
+ * CategoryDictionary - Bounded intern table for category strings
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared, bounded dictionary that maps each distinct category to one canonical
+ * String instance and a stable ordinal
+ * Product files hold only a handful of distinct categories, so interning them
+ * at extraction time lets every row share one instance and lets rules compare
+ * categories by identity. Once the dictionary is full, new categories are
+ * returned unchanged, so memory stays bounded even for unexpected inputs.
+ * Thread-safe.
+ */
+public final class CategoryDictionary {
+    public static final String ELECTRONICS = "Electronics";
+    public static final String PREMIUM_ELECTRONICS = "Premium Electronics";
+    
+    private static final int DEFAULT_MAX_ENTRIES = 4096;
+    private static final CategoryDictionary INSTANCE = new CategoryDictionary(DEFAULT_MAX_ENTRIES);
+    
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile String[] electronicsAliases = new String[0];
+    
+    /**
+     * Creates a dictionary holding at most maxEntries categories
+     */
+    CategoryDictionary(int maxEntries) {
+        this.maxEntries = maxEntries;
+        intern(ELECTRONICS);
+        intern(PREMIUM_ELECTRONICS);
+    }
+    
+    /**
+     * Returns the dictionary shared by the extractors and the standard rules
+     */
+    public static CategoryDictionary getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Returns the canonical instance of a category
+     * @param category The category text (may be null)
+     * @return The shared instance equal to category, or category itself if the dictionary is full
+     */
+    public String intern(String category) {
+        if (category == null) {
+            return null;
+        }
+        Entry entry = entries.get(category);
+        if (entry != null) {
+            return entry.value;
+        }
+        return add(category);
+    }
+    
+    /**
+     * Returns the ordinal assigned to a category, or -1 if it was never interned
+     */
+    public int ordinal(String category) {
+        Entry entry = category != null ? entries.get(category) : null;
+        return entry != null ? entry.ordinal : -1;
+    }
+    
+    /**
+     * Returns true if the category equals "Electronics" ignoring case
+     * Interned spellings are recognized by identity; other strings fall back
+     * to equalsIgnoreCase, which rejects different lengths immediately
+     */
+    public boolean isElectronics(String category) {
+        for (String alias : electronicsAliases) {
+            if (alias == category) {
+                return true;
+            }
+        }
+        return ELECTRONICS.equalsIgnoreCase(category);
+    }
+    
+    /**
+     * Returns the number of interned categories
+     */
+    public int size() {
+        return entries.size();
+    }
+    
+    private synchronized String add(String category) {
+        Entry entry = entries.get(category);
+        if (entry != null) {
+            return entry.value;
+        }
+        if (entries.size() >= maxEntries) {
+            return category;
+        }
+        
+        entries.put(category, new Entry(category, entries.size()));
+        if (ELECTRONICS.equalsIgnoreCase(category)) {
+            String[] aliases = new String[electronicsAliases.length + 1];
+            System.arraycopy(electronicsAliases, 0, aliases, 0, electronicsAliases.length);
+            aliases[aliases.length - 1] = category;
+            electronicsAliases = aliases;
+        }
+        return category;
+    }
+    
+    /**
+     * Canonical instance and ordinal of one category
+     */
+    private static class Entry {
+        final String value;
+        final int ordinal;
+        
+        Entry(String value, int ordinal) {
+            this.value = value;
+            this.ordinal = ordinal;
+        }
+    }
+}
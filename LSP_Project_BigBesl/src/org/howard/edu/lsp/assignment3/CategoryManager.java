@@ -14,4 +14,36 @@ public interface CategoryManager {
      * @param product The product to categorize
      */
     void categorize(Product product);
+    
+    /**
+     * Applies categorization rules to one row of a columnar batch
+     * The default materializes the row as a Product; implementations should
+     * override it to work on the columns directly
+     * @param batch The batch holding the row
+     * @param row Index of the row to categorize
+     */
+    default void categorize(ProductBatch batch, int row) {
+        Product product = batch.toProduct(row);
+        categorize(product);
+        batch.set(row, product);
+    }
+    
+    /**
+     * Declares whether categorize may be called concurrently from several threads
+     * Managers that keep mutable state must leave this false
+     * @return true if the manager is safe for parallel transformation
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
+    
+    /**
+     * Describes everything that decides how the manager categorizes a row
+     * Output written by an earlier run is only reused when the description is
+     * the same, so managers with parameters must include them
+     * @return The class name by default
+     */
+    default String getConfiguration() {
+        return getClass().getName();
+    }
 }
\ No newline at end of file
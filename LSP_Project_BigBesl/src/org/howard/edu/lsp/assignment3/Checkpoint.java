@@ -0,0 +1,188 @@
+/**
+ * Name: Bryce Ly
+ * Checkpoint - Progress of a checkpointed ETL run, saved so it can be resumed
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Snapshot of how far a checkpointed run got
+ * Records the input position to resume from, the rows read and written so
+ * far, the skipped-row counters, how many output parts are complete and how
+ * much of the reject file, if there is one, belongs to them. It
+ * is stored as a properties file together with the input's length and
+ * modification time and the pipeline configuration, so a checkpoint taken on
+ * a different input or with different transformation rules is ignored.
+ */
+final class Checkpoint {
+    private final long inputLength;
+    private final long inputModified;
+    private final String configuration;
+    private final Map<InvalidRowReason, Long> skippedRows = new EnumMap<>(InvalidRowReason.class);
+    private long nextOffset;
+    private int nextLine = 1;
+    private long rowsRead;
+    private long rowsWritten;
+    private int parts;
+    private String rejectPath;
+    private long rejectLength = -1;
+    
+    /**
+     * Creates the checkpoint of a run that has not processed anything yet
+     * @param configuration Description of the stages producing the output
+     */
+    Checkpoint(File input, String configuration) {
+        this(input.length(), input.lastModified(), configuration);
+    }
+    
+    private Checkpoint(long inputLength, long inputModified, String configuration) {
+        this.inputLength = inputLength;
+        this.inputModified = inputModified;
+        this.configuration = configuration;
+        for (InvalidRowReason reason : InvalidRowReason.values()) {
+            skippedRows.put(reason, 0L);
+        }
+    }
+    
+    /**
+     * Loads a checkpoint written by save
+     * @param configuration Description of the stages producing the output
+     * @return The checkpoint, or null if there is none or it was taken on a
+     *         different input or with a different configuration
+     * @throws IOException if the file exists but cannot be read or parsed
+     */
+    static Checkpoint load(File file, File input, String configuration) throws IOException {
+        if (!file.exists()) {
+            return null;
+        }
+        
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            properties.load(in);
+        }
+        
+        try {
+            Checkpoint checkpoint = new Checkpoint(Long.parseLong(properties.getProperty("input.length")),
+                    Long.parseLong(properties.getProperty("input.modified")),
+                    properties.getProperty("configuration"));
+            if (checkpoint.inputLength != input.length() || checkpoint.inputModified != input.lastModified()
+                    || !configuration.equals(checkpoint.configuration)) {
+                return null;
+            }
+            checkpoint.nextOffset = Long.parseLong(properties.getProperty("next.offset"));
+            checkpoint.nextLine = Integer.parseInt(properties.getProperty("next.line"));
+            checkpoint.rowsRead = Long.parseLong(properties.getProperty("rows.read"));
+            checkpoint.rowsWritten = Long.parseLong(properties.getProperty("rows.written"));
+            checkpoint.parts = Integer.parseInt(properties.getProperty("parts"));
+            checkpoint.rejectPath = properties.getProperty("rejects.path");
+            checkpoint.rejectLength = Long.parseLong(properties.getProperty("rejects.length", "-1"));
+            for (InvalidRowReason reason : InvalidRowReason.values()) {
+                checkpoint.skippedRows.put(reason,
+                        Long.parseLong(properties.getProperty("skipped." + reason.name(), "0")));
+            }
+            return checkpoint;
+        } catch (NumberFormatException e) {
+            throw new IOException("Checkpoint '" + file.getPath() + "' is corrupt.", e);
+        }
+    }
+    
+    /**
+     * Writes the checkpoint to a temporary file, flushes it to disk and moves it into place
+     */
+    void save(File file) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("input.length", Long.toString(inputLength));
+        properties.setProperty("input.modified", Long.toString(inputModified));
+        properties.setProperty("configuration", configuration);
+        properties.setProperty("next.offset", Long.toString(nextOffset));
+        properties.setProperty("next.line", Integer.toString(nextLine));
+        properties.setProperty("rows.read", Long.toString(rowsRead));
+        properties.setProperty("rows.written", Long.toString(rowsWritten));
+        properties.setProperty("parts", Integer.toString(parts));
+        if (rejectPath != null) {
+            properties.setProperty("rejects.path", rejectPath);
+            properties.setProperty("rejects.length", Long.toString(rejectLength));
+        }
+        for (Map.Entry<InvalidRowReason, Long> entry : skippedRows.entrySet()) {
+            properties.setProperty("skipped." + entry.getKey().name(), Long.toString(entry.getValue()));
+        }
+        
+        File temp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            properties.store(out, "ETL checkpoint");
+            out.getFD().sync();
+        }
+        OutputFiles.replace(temp, file);
+    }
+    
+    /**
+     * Returns the byte offset of the first input line not yet committed
+     */
+    long getNextOffset() {
+        return nextOffset;
+    }
+    
+    /**
+     * Returns the line number of the line at getNextOffset
+     */
+    int getNextLine() {
+        return nextLine;
+    }
+    
+    long getRowsRead() {
+        return rowsRead;
+    }
+    
+    long getRowsWritten() {
+        return rowsWritten;
+    }
+    
+    /**
+     * Returns the number of output parts that are complete and flushed
+     */
+    int getParts() {
+        return parts;
+    }
+    
+    long getSkippedRows(InvalidRowReason reason) {
+        return skippedRows.get(reason);
+    }
+    
+    /**
+     * Returns the length of the given reject file that the committed parts account for
+     * @return The length, or -1 if the parts were committed with another reject file or none
+     */
+    long getRejectLength(String rejectPath) {
+        return rejectPath.equals(this.rejectPath) ? rejectLength : -1;
+    }
+    
+    /**
+     * Records the reject file written alongside the parts and its length at the next commit
+     * @param rejectLength Length of the reject file, or -1 if it cannot be resumed
+     */
+    void setRejects(String rejectPath, long rejectLength) {
+        this.rejectPath = rejectPath;
+        this.rejectLength = rejectLength;
+    }
+    
+    /**
+     * Records one more committed output part and the progress it covers
+     */
+    void commit(long nextOffset, int nextLine, long rowsRead, long rowsWritten,
+                Map<InvalidRowReason, Long> skippedRows) {
+        this.nextOffset = nextOffset;
+        this.nextLine = nextLine;
+        this.rowsRead = rowsRead;
+        this.rowsWritten = rowsWritten;
+        this.skippedRows.putAll(skippedRows);
+        this.parts++;
+    }
+}
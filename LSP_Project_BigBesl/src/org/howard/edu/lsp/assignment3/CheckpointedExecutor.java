@@ -0,0 +1,282 @@
+/**
+ * Name: Bryce Ly
+ * CheckpointedExecutor - Runs the ETL process with periodic checkpoints so it can resume
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Executes a resumable ETL run
+ * Output is written by the loader in parts of checkpointInterval rows. Each
+ * completed part is flushed to disk and then recorded, together with the
+ * input offset reached and the running counters, in a checkpoint file next
+ * to the output. If the process dies, the next run with the same input and
+ * configuration discards the unfinished part and continues extracting at the
+ * recorded offset. The reject file, if any, is flushed with each part and its
+ * length recorded, so a resumed run with a RejectedRowSink.resumable() sink
+ * keeps the rejects of the committed parts and drops the rest. When the input
+ * is exhausted the parts are joined into a temporary file that is moved over
+ * the output in one step, so the output is either the previous complete file
+ * or the new complete file.
+ */
+final class CheckpointedExecutor implements RejectedRowAware {
+    private final ResumableDataExtractor extractor;
+    private final StreamingDataTransformer transformer;
+    private final StreamingDataLoader loader;
+    private final long checkpointInterval;
+    private final String configuration;
+    private RejectedRowSink rejects;
+    
+    private Checkpoint checkpoint;
+    private boolean resumed;
+    private long rowsRead;
+    private long rowsWritten;
+    private long invalidRows;
+    
+    /**
+     * @param checkpointInterval Number of output rows per part, i.e. between two checkpoints
+     */
+    CheckpointedExecutor(ResumableDataExtractor extractor, StreamingDataTransformer transformer,
+                         StreamingDataLoader loader, long checkpointInterval) {
+        if (checkpointInterval < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be at least 1");
+        }
+        this.extractor = extractor;
+        this.transformer = transformer;
+        this.loader = loader;
+        this.checkpointInterval = checkpointInterval;
+        this.configuration = transformer.getConfiguration() + "|" + loader.getConfiguration();
+    }
+    
+    @Override
+    public void setRejectedRowSink(RejectedRowSink rejects) {
+        this.rejects = rejects;
+    }
+    
+    /**
+     * Returns the checkpoint file kept for the given output
+     */
+    static File checkpointFile(String outputPath) {
+        return new File(outputPath + ".checkpoint");
+    }
+    
+    /**
+     * Returns the file holding the given part of the output
+     */
+    static File partFile(String outputPath, int part) {
+        return new File(outputPath + ".part" + part);
+    }
+    
+    /**
+     * Runs (or resumes) the pipeline to completion
+     */
+    void execute(String inputPath, String outputPath) throws IOException {
+        File input = new File(inputPath);
+        File checkpointFile = checkpointFile(outputPath);
+        
+        checkpoint = null;
+        try {
+            checkpoint = Checkpoint.load(checkpointFile, input, configuration);
+        } catch (IOException e) {
+            System.err.println("Warning: Ignoring unreadable checkpoint: " + e.getMessage());
+        }
+        resumed = checkpoint != null;
+        if (checkpoint == null) {
+            checkpoint = new Checkpoint(input, configuration);
+        } else {
+            System.out.println("Resuming from checkpoint: " + checkpoint.getRowsWritten()
+                    + " rows already written, continuing at line " + checkpoint.getNextLine());
+        }
+        deleteParts(outputPath, checkpoint.getParts());
+        if (resumed && rejects != null && rejects.getRejectPath() != null
+                && !rejects.resume(checkpoint.getRejectLength(rejects.getRejectPath()))) {
+            System.out.println("Note: Reject file restarts at the checkpoint; earlier rejected rows are only counted.");
+        }
+        
+        PartSink sink = new PartSink(outputPath, checkpointFile);
+        try {
+            extractor.extract(inputPath, checkpoint.getNextOffset(), checkpoint.getNextLine(), sink);
+        } catch (IOException | RuntimeException e) {
+            sink.abandon(e);
+            throw e;
+        }
+        sink.finish();
+        rowsRead = sink.rowsRead;
+        rowsWritten = sink.rowsWritten;
+        invalidRows = sink.getInvalidRows();
+        
+        if (checkpoint.getParts() == 0) {
+            Files.deleteIfExists(checkpointFile.toPath());
+            return;
+        }
+        
+        File temp = new File(outputPath + ".tmp");
+        joinParts(outputPath, checkpoint.getParts(), temp);
+        Files.deleteIfExists(checkpointFile.toPath());
+        OutputFiles.replace(temp, new File(outputPath));
+        deleteParts(outputPath, 0);
+    }
+    
+    /**
+     * Returns true if the last run continued from a checkpoint
+     */
+    boolean isResumed() {
+        return resumed;
+    }
+    
+    long getRowsRead() {
+        return rowsRead;
+    }
+    
+    long getRowsWritten() {
+        return rowsWritten;
+    }
+    
+    /**
+     * Rows skipped as invalid over the whole run, including before a resume
+     */
+    long getInvalidRows() {
+        return invalidRows;
+    }
+    
+    /**
+     * Deletes every part numbered first or higher
+     */
+    private static void deleteParts(String outputPath, int first) throws IOException {
+        int part = first;
+        while (Files.deleteIfExists(partFile(outputPath, part).toPath())) {
+            part++;
+        }
+    }
+    
+    /**
+     * Concatenates the parts into target, keeping only the first part's header
+     */
+    private static void joinParts(String outputPath, int parts, File target) throws IOException {
+        try (FileChannel out = FileChannel.open(target.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (int part = 0; part < parts; part++) {
+                File partFile = partFile(outputPath, part);
+                long start = 0;
+                if (part > 0) {
+                    long[] headerEnd = new long[1];
+                    if (FingerprintIndex.scanLineEnds(partFile, headerEnd) != 1) {
+                        throw new IOException("Output part '" + partFile.getPath() + "' has no header.");
+                    }
+                    start = headerEnd[0];
+                }
+                try (FileChannel in = FileChannel.open(partFile.toPath(), StandardOpenOption.READ)) {
+                    OutputFiles.copy(in, start, in.size(), out);
+                }
+            }
+            out.force(true);
+        }
+    }
+    
+    /**
+     * Sink that transforms rows into the current part and commits a
+     * checkpoint at the first line boundary after every checkpointInterval rows
+     */
+    private class PartSink implements PositionedProductSink {
+        private final String outputPath;
+        private final File checkpointFile;
+        private final Map<InvalidRowReason, Long> skippedRows = new EnumMap<>(InvalidRowReason.class);
+        private ProductSink part;
+        private long rowsRead;
+        private long rowsWritten;
+        private long rowsInPart;
+        private long nextOffset;
+        private int nextLine;
+        
+        PartSink(String outputPath, File checkpointFile) {
+            this.outputPath = outputPath;
+            this.checkpointFile = checkpointFile;
+            this.rowsRead = checkpoint.getRowsRead();
+            this.rowsWritten = checkpoint.getRowsWritten();
+            this.nextOffset = checkpoint.getNextOffset();
+            this.nextLine = checkpoint.getNextLine();
+            for (InvalidRowReason reason : InvalidRowReason.values()) {
+                skippedRows.put(reason, checkpoint.getSkippedRows(reason));
+            }
+        }
+        
+        @Override
+        public void accept(Product product) throws IOException {
+            rowsRead++;
+            if (part == null) {
+                part = loader.open(partFile(outputPath, checkpoint.getParts()).getPath());
+            }
+            part.accept(transformer.transformProduct(product));
+            rowsWritten++;
+            rowsInPart++;
+        }
+        
+        @Override
+        public void rowSkipped(InvalidRowReason reason) {
+            skippedRows.merge(reason, 1L, Long::sum);
+        }
+        
+        @Override
+        public void lineCompleted(long nextOffset, int lineNumber) throws IOException {
+            this.nextOffset = nextOffset;
+            this.nextLine = lineNumber + 1;
+            if (rowsInPart >= checkpointInterval) {
+                commit();
+            }
+        }
+        
+        long getInvalidRows() {
+            long invalid = 0;
+            for (Map.Entry<InvalidRowReason, Long> entry : skippedRows.entrySet()) {
+                if (entry.getKey() != InvalidRowReason.EMPTY_LINE) {
+                    invalid += entry.getValue();
+                }
+            }
+            return invalid;
+        }
+        
+        /**
+         * Commits the rows written since the last checkpoint
+         */
+        void finish() throws IOException {
+            if (part != null) {
+                commit();
+            }
+        }
+        
+        /**
+         * Closes the unfinished part after a failure; it is discarded on resume
+         */
+        void abandon(Exception failure) {
+            if (part != null) {
+                try {
+                    part.close();
+                } catch (IOException e) {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        
+        /**
+         * Closes and flushes the current part, then records it in the checkpoint
+         */
+        private void commit() throws IOException {
+            part.close();
+            part = null;
+            OutputFiles.force(partFile(outputPath, checkpoint.getParts()));
+            rowsInPart = 0;
+            if (rejects != null && rejects.getRejectPath() != null) {
+                checkpoint.setRejects(rejects.getRejectPath(), rejects.commit());
+            }
+            checkpoint.commit(nextOffset, nextLine, rowsRead, rowsWritten, skippedRows);
+            checkpoint.save(checkpointFile);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package org.howard.edu.lsp.assignment3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit test suite for checkpointed runs.
+ * Interrupts a run part-way through and checks the resumed run finishes the same output.
+ */
+public class CheckpointedExecutorTest extends SilentConsoleTest {
+    
+    /**
+     * Transformer that fails once a given number of rows has been transformed
+     */
+    private static class FailingTransformer extends ProductDataTransformer {
+        private final int limit;
+        private int transformed;
+        
+        FailingTransformer(int limit) {
+            this.limit = limit;
+        }
+        
+        @Override
+        public Product transformProduct(Product product) {
+            if (++transformed > limit) {
+                throw new IllegalStateException("Simulated crash");
+            }
+            return super.transformProduct(product);
+        }
+        
+        /**
+         * Transforms rows exactly like the standard transformer, so its checkpoints may be resumed by one
+         */
+        @Override
+        public String getConfiguration() {
+            return new ProductDataTransformer().getConfiguration();
+        }
+    }
+    
+    private String writeInput(int rows) throws IOException {
+        StringBuilder content = new StringBuilder("ProductID,Name,Price,Category\n");
+        for (int i = 1; i <= rows; i++) {
+            content.append(i % 10 == 0 ? "bad row" : i + ",Item " + i + "," + (i * 3.25) + ",Electronics")
+                   .append('\n');
+        }
+        Path input = directory.resolve("products.csv");
+        Files.write(input, content.toString().getBytes());
+        return input.toString();
+    }
+    
+    /**
+     * Verifies a run that dies after a checkpoint resumes and produces the batch output.
+     */
+    @Test
+    public void resumedRunMatchesBatchRun() throws IOException {
+        String input = writeInput(100);
+        String output = directory.resolve("transformed.csv").toString();
+        String expected = directory.resolve("expected.csv").toString();
+        new ETLPipeline(new MappedCSVDataExtractor(), new ProductDataTransformer(), new BufferedCSVDataLoader())
+                .run(input, expected);
+        
+        CheckpointedExecutor crashing = new CheckpointedExecutor(new MappedCSVDataExtractor(),
+                new FailingTransformer(45), new BufferedCSVDataLoader(), 20);
+        assertThrows(IllegalStateException.class, () -> crashing.execute(input, output));
+        assertTrue(CheckpointedExecutor.checkpointFile(output).exists());
+        assertFalse(new File(output).exists());
+        
+        CheckpointedExecutor resumed = new CheckpointedExecutor(new MappedCSVDataExtractor(),
+                new ProductDataTransformer(), new BufferedCSVDataLoader(), 20);
+        resumed.execute(input, output);
+        
+        assertTrue(resumed.isResumed());
+        assertEquals(90, resumed.getRowsRead());
+        assertEquals(10, resumed.getInvalidRows());
+        assertArrayEquals(Files.readAllBytes(new File(expected).toPath()),
+                Files.readAllBytes(new File(output).toPath()));
+        assertFalse(CheckpointedExecutor.checkpointFile(output).exists());
+        assertFalse(CheckpointedExecutor.partFile(output, 0).exists());
+    }
+    
+    /**
+     * Verifies a checkpoint taken with other rules is not resumed, so old and new rows are never mixed.
+     */
+    @Test
+    public void changedRulesStartOver() throws IOException {
+        String input = writeInput(100);
+        String output = directory.resolve("transformed.csv").toString();
+        String expected = directory.resolve("expected.csv").toString();
+        RuleTable rules = RuleTable.parse(new StringReader("discount,Electronics,*,50\n"), "test");
+        new ETLPipeline(new MappedCSVDataExtractor(),
+                new ProductDataTransformer(rules.createPricingStrategy(), rules.createCategoryManager()),
+                new BufferedCSVDataLoader()).run(input, expected);
+        
+        CheckpointedExecutor crashing = new CheckpointedExecutor(new MappedCSVDataExtractor(),
+                new FailingTransformer(45), new BufferedCSVDataLoader(), 20);
+        assertThrows(IllegalStateException.class, () -> crashing.execute(input, output));
+        assertTrue(CheckpointedExecutor.checkpointFile(output).exists());
+        
+        CheckpointedExecutor restarted = new CheckpointedExecutor(new MappedCSVDataExtractor(),
+                new ProductDataTransformer(rules.createPricingStrategy(), rules.createCategoryManager()),
+                new BufferedCSVDataLoader(), 20);
+        restarted.execute(input, output);
+        
+        assertFalse(restarted.isResumed());
+        assertEquals(90, restarted.getRowsRead());
+        assertArrayEquals(Files.readAllBytes(new File(expected).toPath()),
+                Files.readAllBytes(new File(output).toPath()));
+    }
+    
+    /**
+     * Verifies a resumed run keeps the rejects committed before the checkpoint and drops those after it.
+     */
+    @Test
+    public void resumedRunContinuesRejectFile() throws IOException {
+        String input = writeInput(100);
+        String output = directory.resolve("transformed.csv").toString();
+        Path expected = directory.resolve("expected-rejects.csv");
+        Path rejectPath = directory.resolve("rejects.csv");
+        try (RejectedRowSink rejects = new RejectedRowSink(expected.toString())) {
+            ETLPipeline pipeline = ETLPipeline.createCheckpointed();
+            pipeline.setRejectedRowSink(rejects);
+            pipeline.run(input, directory.resolve("expected.csv").toString());
+        }
+        
+        // the crash comes after the reject of line 51, which is past the last checkpoint
+        try (RejectedRowSink rejects = RejectedRowSink.resumable(rejectPath.toString())) {
+            MappedCSVDataExtractor extractor = new MappedCSVDataExtractor();
+            extractor.setRejectedRowSink(rejects);
+            CheckpointedExecutor crashing = new CheckpointedExecutor(extractor, new FailingTransformer(45),
+                    new BufferedCSVDataLoader(), 20);
+            crashing.setRejectedRowSink(rejects);
+            assertThrows(IllegalStateException.class, () -> crashing.execute(input, output));
+        }
+        assertTrue(Files.readAllLines(rejectPath).stream().anyMatch(line -> line.contains(",51,")));
+        
+        try (RejectedRowSink rejects = RejectedRowSink.resumable(rejectPath.toString())) {
+            MappedCSVDataExtractor extractor = new MappedCSVDataExtractor();
+            extractor.setRejectedRowSink(rejects);
+            CheckpointedExecutor resumed = new CheckpointedExecutor(extractor, new ProductDataTransformer(),
+                    new BufferedCSVDataLoader(), 20);
+            resumed.setRejectedRowSink(rejects);
+            resumed.execute(input, output);
+            assertTrue(resumed.isResumed());
+        }
+        assertEquals(Files.readAllLines(expected), Files.readAllLines(rejectPath));
+    }
+}
@@ -0,0 +1,207 @@
+/**
+ * Name: Bryce Ly
+ * Compression enum - Compression formats the pipeline reads and writes transparently
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compression formats for input and output files
+ * Inputs are recognized by their first bytes, so a compressed feed is read
+ * whatever its name; outputs are compressed according to their extension
+ * (.gz or .lzb). Compressed outputs are written through a
+ * ParallelCompressionOutputStream, which compresses blocks on all cores.
+ */
+public enum Compression {
+    /** Plain, uncompressed file */
+    NONE(new byte[0], "") {
+        @Override
+        InputStream newInputStream(InputStream in) {
+            return in;
+        }
+        
+        @Override
+        byte[] encodeBlock(byte[] data, int length) {
+            return Arrays.copyOf(data, length);
+        }
+    },
+    
+    /** gzip, written as one gzip member per block */
+    GZIP(new byte[] { 0x1f, (byte) 0x8b }, ".gz") {
+        @Override
+        InputStream newInputStream(InputStream in) throws IOException {
+            return new GZIPInputStream(in, BUFFER_SIZE);
+        }
+        
+        @Override
+        byte[] encodeBlock(byte[] data, int length) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(bytes, BUFFER_SIZE)) {
+                gzip.write(data, 0, length);
+            }
+            return bytes.toByteArray();
+        }
+    },
+    
+    /** LZBlockCodec, much faster than gzip at a lower compression ratio */
+    LZ_BLOCK(LZBlockCodec.MAGIC, ".lzb") {
+        @Override
+        InputStream newInputStream(InputStream in) throws IOException {
+            return new LZBlockInputStream(in);
+        }
+        
+        @Override
+        void writeHeader(OutputStream out) throws IOException {
+            out.write(LZBlockCodec.MAGIC);
+        }
+        
+        @Override
+        byte[] encodeBlock(byte[] data, int length) throws IOException {
+            if (length == 0) {
+                return new byte[0];
+            }
+            byte[] compressed = new byte[LZBlockCodec.maxCompressedLength(length)];
+            int compressedLength = LZBlockCodec.compress(data, length, compressed);
+            ByteBuffer block;
+            if (compressedLength < length) {
+                block = ByteBuffer.allocate(8 + compressedLength).putInt(length).putInt(compressedLength)
+                        .put(compressed, 0, compressedLength);
+            } else {
+                block = ByteBuffer.allocate(8 + length).putInt(length)
+                        .putInt(length | LZBlockInputStream.STORED_RAW).put(data, 0, length);
+            }
+            return block.array();
+        }
+        
+        @Override
+        void writeTrailer(OutputStream out) throws IOException {
+            new DataOutputStream(out).writeInt(0);
+        }
+    };
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int BLOCK_SIZE = 1024 * 1024;
+    
+    private final byte[] magic;
+    private final String extension;
+    
+    Compression(byte[] magic, String extension) {
+        this.magic = magic;
+        this.extension = extension;
+    }
+    
+    /**
+     * Returns the file name extension of this format, or "" for NONE
+     */
+    public String getExtension() {
+        return extension;
+    }
+    
+    /**
+     * Returns the format of an existing file from its first bytes
+     */
+    public static Compression detect(File file) throws IOException {
+        byte[] head = new byte[4];
+        int read;
+        try (InputStream in = new FileInputStream(file)) {
+            read = in.readNBytes(head, 0, head.length);
+        }
+        for (Compression compression : values()) {
+            int length = compression.magic.length;
+            if (compression != NONE && read >= length
+                    && Arrays.equals(head, 0, length, compression.magic, 0, length)) {
+                return compression;
+            }
+        }
+        return NONE;
+    }
+    
+    /**
+     * Returns the format an output file is written in, from its extension
+     */
+    public static Compression forOutput(File file) {
+        String name = file.getName();
+        for (Compression compression : values()) {
+            if (compression != NONE && name.endsWith(compression.extension)) {
+                return compression;
+            }
+        }
+        return NONE;
+    }
+    
+    /**
+     * Opens a file for reading, decompressing it if it starts with a known format's magic bytes
+     */
+    public static InputStream openInput(File file) throws IOException {
+        Compression compression = detect(file);
+        InputStream in = new FileInputStream(file);
+        if (compression == NONE) {
+            return in;
+        }
+        try {
+            return compression.newInputStream(new BufferedInputStream(in, BUFFER_SIZE));
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Opens a file for writing, compressing on every available core if its extension asks for it
+     */
+    public static OutputStream openOutput(File file) throws IOException {
+        return openOutput(file, Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Opens a file for writing, compressing on the given number of threads if its extension asks for it
+     */
+    public static OutputStream openOutput(File file, int threads) throws IOException {
+        Compression compression = forOutput(file);
+        OutputStream out = new FileOutputStream(file);
+        if (compression == NONE) {
+            return out;
+        }
+        try {
+            return new ParallelCompressionOutputStream(out, compression, BLOCK_SIZE, threads);
+        } catch (IOException e) {
+            out.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Wraps a stream positioned at the start of data in this format
+     */
+    abstract InputStream newInputStream(InputStream in) throws IOException;
+    
+    /**
+     * Compresses data[0, length) into one self-contained block; called concurrently
+     */
+    abstract byte[] encodeBlock(byte[] data, int length) throws IOException;
+    
+    /**
+     * Writes whatever precedes the first block
+     */
+    void writeHeader(OutputStream out) throws IOException {
+    }
+    
+    /**
+     * Writes whatever follows the last block
+     */
+    void writeTrailer(OutputStream out) throws IOException {
+    }
+}
@@ -0,0 +1,108 @@
+package org.howard.edu.lsp.assignment3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit test suite for compressed input and output.
+ * Round-trips data through both codecs and runs the pipeline on compressed files.
+ */
+public class CompressionTest extends SilentConsoleTest {
+    
+    private static byte[] sampleData() {
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            text.append(i).append(",Item ").append(random.nextInt(50)).append(',')
+                .append(random.nextInt(100000) / 100.0).append(",Electronics\n");
+        }
+        byte[] noise = new byte[5000];
+        random.nextBytes(noise);
+        byte[] runs = new byte[3000];
+        byte[] data = new byte[text.length() + noise.length + runs.length];
+        byte[] textBytes = text.toString().getBytes();
+        System.arraycopy(textBytes, 0, data, 0, textBytes.length);
+        System.arraycopy(noise, 0, data, textBytes.length, noise.length);
+        return data;
+    }
+    
+    private byte[] roundTrip(Compression compression, byte[] data) throws IOException {
+        File file = directory.resolve("data" + compression.getExtension()).toFile();
+        try (OutputStream out = new ParallelCompressionOutputStream(new FileOutputStream(file), compression, 1000, 3)) {
+            out.write(data, 0, data.length / 2);
+            for (int i = data.length / 2; i < data.length; i++) {
+                out.write(data[i]);
+            }
+        }
+        assertEquals(compression, Compression.detect(file));
+        try (InputStream in = Compression.openInput(file)) {
+            return in.readAllBytes();
+        }
+    }
+    
+    private static byte[] decompress(String path) throws IOException {
+        try (InputStream in = Compression.openInput(new File(path))) {
+            return in.readAllBytes();
+        }
+    }
+    
+    /**
+     * Verifies text, random bytes, runs and empty data survive both codecs in many blocks.
+     */
+    @Test
+    public void blockCompressionRoundTrips() throws IOException {
+        byte[] data = sampleData();
+        assertArrayEquals(data, roundTrip(Compression.GZIP, data));
+        assertArrayEquals(data, roundTrip(Compression.LZ_BLOCK, data));
+        assertArrayEquals(new byte[0], roundTrip(Compression.GZIP, new byte[0]));
+        assertArrayEquals(new byte[0], roundTrip(Compression.LZ_BLOCK, new byte[0]));
+        
+        byte[] compressed = new byte[LZBlockCodec.maxCompressedLength(data.length)];
+        int length = LZBlockCodec.compress(data, data.length, compressed);
+        assertTrue(length < data.length);
+        byte[] decoded = new byte[data.length];
+        LZBlockCodec.decompress(compressed, 0, length, decoded, data.length);
+        assertArrayEquals(data, decoded);
+        assertThrows(IOException.class, () -> LZBlockCodec.decompress(compressed, 0, length - 3, decoded, data.length));
+    }
+    
+    /**
+     * Verifies every extractor reads a gzip feed and the loaders write compressed output with the plain content.
+     */
+    @Test
+    public void pipelineReadsAndWritesCompressedFiles() throws IOException {
+        String plainInput = directory.resolve("products.csv").toString();
+        String gzipInput = directory.resolve("products.csv.gz").toString();
+        new ProductsFileGenerator(0.3, false, 7).generate(3000, plainInput);
+        new ProductsFileGenerator(0.3, false, 7).generate(3000, gzipInput);
+        assertEquals(Compression.GZIP, Compression.detect(new File(gzipInput)));
+        
+        String expected = directory.resolve("expected.csv").toString();
+        new ETLPipeline().run(plainInput, expected);
+        byte[] expectedBytes = Files.readAllBytes(new File(expected).toPath());
+        
+        String output = directory.resolve("transformed.csv.lzb").toString();
+        new ETLPipeline().run(gzipInput, output);
+        assertEquals(Compression.LZ_BLOCK, Compression.detect(new File(output)));
+        assertArrayEquals(expectedBytes, decompress(output));
+        
+        output = directory.resolve("mapped.csv.gz").toString();
+        new ETLPipeline(new MappedCSVDataExtractor(4096), new ProductDataTransformer(), new BufferedCSVDataLoader())
+                .runStreaming(gzipInput, output);
+        assertArrayEquals(expectedBytes, decompress(output));
+        
+        output = directory.resolve("parallel.csv").toString();
+        new ETLPipeline(new ParallelCSVDataExtractor(3, 4096), new ProductDataTransformer(), new CSVDataLoader())
+                .run(gzipInput, output);
+        assertArrayEquals(expectedBytes, Files.readAllBytes(new File(output).toPath()));
+    }
+}
@@ -4,17 +4,34 @@
  */
 package org.howard.edu.lsp.assignment3;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.List;
 
+import javax.management.JMException;
+
 /**
  * Main ETL Pipeline orchestrator using dependency injection
  * Coordinates the Extract, Transform, and Load operations
  */
 public class ETLPipeline {
+    private static final String INPUT_PATH = "data/products.csv";
+    private static final String OUTPUT_PATH = "data/transformed_products.csv";
+    private static final String BINARY_OUTPUT_PATH = "data/transformed_products.bin";
+    private static final String MULTI_FILE_OUTPUT_DIRECTORY = "data/transformed";
+    private static final int PIPELINE_BATCH_SIZE = 1024;
+    private static final int PIPELINE_QUEUE_CAPACITY = 16;
+    private static final long CHECKPOINT_INTERVAL = 1_000_000;
+    private static final int WATCH_QUEUE_CAPACITY = 1024;
+    private static final long WATCH_SETTLE_MILLIS = 2000;
+    
     private final DataExtractor extractor;
     private final DataTransformer transformer;
     private final DataLoader loader;
+    private PipelineMetrics metrics;
+    private RejectedRowSink rejects;
+    private boolean failed;
     
     /**
      * Default constructor using standard implementations
@@ -37,41 +54,291 @@ public class ETLPipeline {
         this.loader = loader;
     }
     
+    /**
+     * Enables metrics collection for subsequent runs
+     * The registry is also handed to every stage implementing MetricsAware
+     * @param metrics The registry to fill in, or null to disable collection
+     */
+    public void setMetrics(PipelineMetrics metrics) {
+        this.metrics = metrics;
+        for (Object stage : new Object[] { extractor, transformer, loader }) {
+            if (stage instanceof MetricsAware) {
+                ((MetricsAware) stage).setMetrics(metrics);
+            }
+        }
+    }
+    
+    public PipelineMetrics getMetrics() {
+        return metrics;
+    }
+    
+    /**
+     * Returns true if a run of this pipeline failed with an error
+     * The run methods report errors instead of exiting, so main can finish
+     * the reject file before it exits with status 1
+     */
+    public boolean hasFailed() {
+        return failed;
+    }
+    
+    /**
+     * Sends the input rows skipped in subsequent runs to a sink
+     * The sink is handed to every stage implementing RejectedRowAware; the
+     * caller closes it once the runs are done
+     * @param rejects The sink to report into, or null for console-only warnings per extraction
+     */
+    public void setRejectedRowSink(RejectedRowSink rejects) {
+        this.rejects = rejects;
+        for (Object stage : new Object[] { extractor, transformer, loader }) {
+            if (stage instanceof RejectedRowAware) {
+                ((RejectedRowAware) stage).setRejectedRowSink(rejects);
+            }
+        }
+    }
+    
     /**
      * Main method to run the ETL pipeline
+     * Pass --stream to process the file row by row in constant memory,
+     * --parallel to extract and transform on all available cores,
+     * --pipelined to run the three stages concurrently, or --columnar
+     * to hold the data in a compact column-oriented batch, or --incremental
+     * to reprocess only the rows changed since the previous incremental run,
+     * or --checkpointed to save progress regularly and resume after a crash,
+     * or --binary to write a binary columnar file for downstream pipelines.
+     * Adding --metrics prints a metrics report and publishes it over JMX,
+     * --rules=<file> replaces the standard discount and Premium Electronics
+     * rules with the rules of a RuleTable file, and --gzip or --lzb
+     * compresses the output. --files=<directory or glob> processes many input
+     * files at once, writing one file per input to data/transformed, or all
+     * rows to data/transformed_products.csv when --merge is also given.
+     * --watch=<directory> keeps running and processes every file created or
+     * modified in the directory into data/transformed until the JVM stops.
+     * --rejects=<file> writes every skipped input row with its reason to a
+     * reject file, which a resumed --checkpointed run continues. A
+     * compressed input is detected automatically; when data/products.csv is
+     * missing, data/products.csv.gz or data/products.csv.lzb is read instead.
      */
     public static void main(String[] args) {
-        ETLPipeline pipeline = new ETLPipeline();
-        pipeline.run();
+        String mode = "--batch";
+        boolean metricsEnabled = false;
+        String extension = "";
+        String rulesPath = null;
+        String rejectsPath = null;
+        String files = null;
+        String watch = null;
+        boolean merge = false;
+        for (String arg : args) {
+            if (arg.equals("--metrics")) {
+                metricsEnabled = true;
+            } else if (arg.startsWith("--rules=")) {
+                rulesPath = arg.substring("--rules=".length());
+            } else if (arg.startsWith("--rejects=")) {
+                rejectsPath = arg.substring("--rejects=".length());
+            } else if (arg.startsWith("--files=")) {
+                files = arg.substring("--files=".length());
+            } else if (arg.startsWith("--watch=")) {
+                watch = arg.substring("--watch=".length());
+            } else if (arg.equals("--merge")) {
+                merge = true;
+            } else if (arg.equals("--gzip")) {
+                extension = Compression.GZIP.getExtension();
+            } else if (arg.equals("--lzb")) {
+                extension = Compression.LZ_BLOCK.getExtension();
+            } else {
+                mode = arg;
+            }
+        }
+        RuleTable rules = null;
+        if (rulesPath != null) {
+            try {
+                rules = RuleTable.load(rulesPath);
+            } catch (IOException e) {
+                System.err.println("ERROR: Could not load rules: " + e.getMessage());
+                System.exit(1);
+            }
+        }
+        RejectedRowSink rejects = null;
+        if (rejectsPath != null) {
+            try {
+                rejects = mode.equals("--checkpointed") ? RejectedRowSink.resumable(rejectsPath)
+                        : new RejectedRowSink(rejectsPath);
+            } catch (IOException e) {
+                System.err.println("ERROR: Could not create reject file: " + e.getMessage());
+                System.exit(1);
+            }
+        }
+        
+        ETLPipeline pipeline;
+        try {
+            if (watch != null) {
+                pipeline = configure(new ETLPipeline(), rules, rejects, metricsEnabled);
+                pipeline.runWatch(watch, MULTI_FILE_OUTPUT_DIRECTORY, Runtime.getRuntime().availableProcessors());
+            } else if (files != null) {
+                pipeline = configure(new ETLPipeline(), rules, rejects, metricsEnabled);
+                pipeline.runMultiFile(files, merge ? OUTPUT_PATH + extension : MULTI_FILE_OUTPUT_DIRECTORY, merge,
+                        Runtime.getRuntime().availableProcessors());
+            } else {
+                pipeline = runMode(mode, defaultInputPath(), OUTPUT_PATH + extension, extension, rules, rejects,
+                        metricsEnabled);
+            }
+        } finally {
+            if (rejects != null) {
+                try {
+                    rejects.close();
+                } catch (IOException e) {
+                    System.err.println("Warning: Could not finish reject file: " + e.getMessage());
+                }
+            }
+        }
+        if (pipeline.hasFailed()) {
+            System.exit(1);
+        }
+    }
+    
+    /**
+     * Builds the pipeline for a single-file mode, applies the options and runs it
+     * @return The pipeline that ran, to check for failure
+     */
+    private static ETLPipeline runMode(String mode, String input, String output, String extension, RuleTable rules,
+                                       RejectedRowSink rejects, boolean metricsEnabled) {
+        ETLPipeline pipeline;
+        switch (mode) {
+            case "--stream":
+                pipeline = configure(new ETLPipeline(), rules, rejects, metricsEnabled);
+                pipeline.runStreaming(input, output);
+                break;
+            case "--parallel":
+                pipeline = configure(createParallel(Runtime.getRuntime().availableProcessors()), rules, rejects,
+                        metricsEnabled);
+                pipeline.run(input, output);
+                break;
+            case "--pipelined":
+                pipeline = configure(new ETLPipeline(), rules, rejects, metricsEnabled);
+                pipeline.runPipelined(input, output, PIPELINE_BATCH_SIZE, PIPELINE_QUEUE_CAPACITY);
+                break;
+            case "--columnar":
+                pipeline = configure(createColumnar(), rules, rejects, metricsEnabled);
+                pipeline.runColumnar(input, output);
+                break;
+            case "--incremental":
+                pipeline = configure(new ETLPipeline(), rules, rejects, metricsEnabled);
+                pipeline.runIncremental(input, output);
+                break;
+            case "--checkpointed":
+                pipeline = configure(createCheckpointed(), rules, rejects, metricsEnabled);
+                pipeline.runCheckpointed(input, output, CHECKPOINT_INTERVAL);
+                break;
+            case "--binary":
+                pipeline = configure(createBinary(), rules, rejects, metricsEnabled);
+                pipeline.runColumnar(input, BINARY_OUTPUT_PATH + extension);
+                break;
+            default:
+                pipeline = configure(new ETLPipeline(), rules, rejects, metricsEnabled);
+                pipeline.run(input, output);
+                break;
+        }
+        return pipeline;
+    }
+    
+    /**
+     * Returns data/products.csv, or its compressed variant if only that exists
+     */
+    private static String defaultInputPath() {
+        if (!new File(INPUT_PATH).exists()) {
+            for (Compression compression : Compression.values()) {
+                String path = INPUT_PATH + compression.getExtension();
+                if (compression != Compression.NONE && new File(path).exists()) {
+                    return path;
+                }
+            }
+        }
+        return INPUT_PATH;
+    }
+    
+    /**
+     * Applies the command line options to a pipeline built for a mode
+     * Rules replace the transformer with one using the rule table at the same
+     * parallelism, skipped rows go to the reject sink, and metrics attach a
+     * registry published on the platform MBean server
+     */
+    private static ETLPipeline configure(ETLPipeline pipeline, RuleTable rules, RejectedRowSink rejects,
+                                         boolean metricsEnabled) {
+        if (rules != null && pipeline.transformer instanceof ProductDataTransformer) {
+            int parallelism = ((ProductDataTransformer) pipeline.transformer).getParallelism();
+            pipeline = new ETLPipeline(pipeline.extractor,
+                    new ProductDataTransformer(rules.createPricingStrategy(), rules.createCategoryManager(),
+                            parallelism),
+                    pipeline.loader);
+        }
+        if (rejects != null) {
+            pipeline.setRejectedRowSink(rejects);
+        }
+        if (metricsEnabled) {
+            PipelineMetrics metrics = new PipelineMetrics();
+            try {
+                metrics.register();
+            } catch (JMException e) {
+                System.err.println("Warning: Could not register metrics MBean: " + e.getMessage());
+            }
+            pipeline.setMetrics(metrics);
+        }
+        return pipeline;
+    }
+    
+    /**
+     * Creates a pipeline whose extract and transform stages use several threads
+     * @param parallelism Number of worker threads per stage
+     */
+    public static ETLPipeline createParallel(int parallelism) {
+        return new ETLPipeline(
+                new ParallelCSVDataExtractor(parallelism, 16 * 1024 * 1024),
+                new ProductDataTransformer(new StandardPricingStrategy(), new StandardCategoryManager(),
+                        parallelism),
+                new BufferedCSVDataLoader());
     }
     
     /**
      * Executes the complete ETL process
      */
     public void run() {
-        String inputPath = "data/products.csv";
-        String outputPath = "data/transformed_products.csv";
-        
-        System.out.println("Starting ETL Pipeline...");
-        System.out.println("Input file: " + inputPath);
-        System.out.println("Output file: " + outputPath);
+        run(INPUT_PATH, OUTPUT_PATH);
+    }
+    
+    /**
+     * Executes the complete ETL process on the given files
+     * @param inputPath Path of the products file to read
+     * @param outputPath Path of the transformed file to write
+     */
+    public void run(String inputPath, String outputPath) {
+        printBanner(inputPath, outputPath);
+        beginMetrics();
         
         try {
             // Extract data
+            long start = startTimer();
             List<Product> products = extractor.extract(inputPath);
+            stopTimer(PipelineMetrics.Stage.EXTRACT, start);
             
             // Check if file was empty (only header)
             if (products.isEmpty()) {
+                endMetrics(inputPath, null, 0, 0);
                 System.out.println("Warning: Input file exists but contains no data rows (only header)");
                 System.out.println("ETL process completed with 0 rows processed.");
                 return;
             }
             
-            // Transform data
-            List<Product> transformedProducts = transformer.transform(products);
+            // Transform data; the extracted list is not needed afterwards, so rows may be overwritten
+            start = startTimer();
+            List<Product> transformedProducts = transformer instanceof InPlaceDataTransformer
+                    ? ((InPlaceDataTransformer) transformer).transformInPlace(products)
+                    : transformer.transform(products);
+            stopTimer(PipelineMetrics.Stage.TRANSFORM, start);
             
             // Load data
+            start = startTimer();
             loader.load(transformedProducts, outputPath);
+            stopTimer(PipelineMetrics.Stage.LOAD, start);
+            endMetrics(inputPath, outputPath, products.size(), transformedProducts.size());
             
             // Print summary
             printSummary(products.size(), transformedProducts.size(), outputPath);
@@ -81,10 +348,410 @@ public class ETLPipeline {
         }
     }
     
+    /**
+     * Executes the ETL process one row at a time: each row is extracted,
+     * transformed and written before the next one is read, so memory use
+     * does not grow with the input size. Rows are written to a temporary
+     * file that only replaces the output once the whole input is processed,
+     * so a failure part-way keeps the previous output. Falls back to run()
+     * when any of the configured stages has no streaming counterpart.
+     */
+    public void runStreaming() {
+        runStreaming(INPUT_PATH, OUTPUT_PATH);
+    }
+    
+    /**
+     * Executes the streaming ETL process on the given files
+     * @param inputPath Path of the products file to read
+     * @param outputPath Path of the transformed file to write
+     */
+    public void runStreaming(String inputPath, String outputPath) {
+        if (!(extractor instanceof StreamingDataExtractor)
+                || !(transformer instanceof StreamingDataTransformer)
+                || !(loader instanceof StreamingDataLoader)) {
+            System.out.println("Note: Configured stages do not support streaming, running in batch mode.");
+            run(inputPath, outputPath);
+            return;
+        }
+        
+        printBanner(inputPath, outputPath);
+        beginMetrics();
+        
+        File temp = OutputFiles.tempFor(new File(outputPath));
+        StreamingSink sink = new StreamingSink((StreamingDataTransformer) transformer,
+                (StreamingDataLoader) loader, temp.getPath(), metrics != null);
+        try {
+            long start = startTimer();
+            try {
+                try {
+                    ((StreamingDataExtractor) extractor).extract(inputPath, sink);
+                } finally {
+                    sink.close();
+                }
+                if (sink.rowsTransformed > 0) {
+                    OutputFiles.replace(temp, new File(outputPath));
+                }
+            } finally {
+                Files.deleteIfExists(temp.toPath());
+            }
+            if (metrics != null) {
+                // Transform and load run inside the extract loop; attribute the rest to extract
+                long elapsed = System.nanoTime() - start;
+                metrics.recordStageTime(PipelineMetrics.Stage.TRANSFORM, sink.transformNanos);
+                metrics.recordStageTime(PipelineMetrics.Stage.LOAD, sink.loadNanos);
+                metrics.recordStageTime(PipelineMetrics.Stage.EXTRACT, elapsed - sink.transformNanos - sink.loadNanos);
+            }
+            endMetrics(inputPath, sink.rowsTransformed > 0 ? outputPath : null, sink.rowsRead, sink.rowsTransformed);
+            
+            if (sink.rowsRead == 0) {
+                System.out.println("Warning: Input file exists but contains no data rows (only header)");
+                System.out.println("ETL process completed with 0 rows processed.");
+                return;
+            }
+            
+            printSummary(sink.rowsRead, sink.rowsTransformed, outputPath);
+            
+        } catch (IOException e) {
+            handleError(e);
+        }
+    }
+    
+    /**
+     * Creates a pipeline whose stages all support columnar batches
+     */
+    public static ETLPipeline createColumnar() {
+        return new ETLPipeline(new MappedCSVDataExtractor(), new ProductDataTransformer(),
+                new BufferedCSVDataLoader());
+    }
+    
+    /**
+     * Creates a columnar pipeline writing the binary format of BinaryDataLoader
+     * The output can be read back with BinaryDataExtractor without any text parsing
+     */
+    public static ETLPipeline createBinary() {
+        return new ETLPipeline(new MappedCSVDataExtractor(), new ProductDataTransformer(),
+                new BinaryDataLoader());
+    }
+    
+    /**
+     * Executes the ETL process on a columnar ProductBatch instead of a list
+     * of Product objects; the batch is transformed in place. Falls back to
+     * run() when any of the configured stages has no batch counterpart.
+     */
+    public void runColumnar() {
+        runColumnar(INPUT_PATH, OUTPUT_PATH);
+    }
+    
+    /**
+     * Executes the columnar ETL process on the given files
+     * @param inputPath Path of the products file to read
+     * @param outputPath Path of the transformed file to write
+     */
+    public void runColumnar(String inputPath, String outputPath) {
+        if (!(extractor instanceof BatchDataExtractor)
+                || !(transformer instanceof BatchDataTransformer)
+                || !(loader instanceof BatchDataLoader)) {
+            System.out.println("Note: Configured stages do not support columnar batches, running in batch mode.");
+            run(inputPath, outputPath);
+            return;
+        }
+        
+        printBanner(inputPath, outputPath);
+        beginMetrics();
+        
+        try {
+            long start = startTimer();
+            ProductBatch batch = ((BatchDataExtractor) extractor).extractBatch(inputPath);
+            stopTimer(PipelineMetrics.Stage.EXTRACT, start);
+            
+            if (batch.isEmpty()) {
+                endMetrics(inputPath, null, 0, 0);
+                System.out.println("Warning: Input file exists but contains no data rows (only header)");
+                System.out.println("ETL process completed with 0 rows processed.");
+                return;
+            }
+            
+            int rowsRead = batch.size();
+            start = startTimer();
+            ((BatchDataTransformer) transformer).transformBatch(batch);
+            stopTimer(PipelineMetrics.Stage.TRANSFORM, start);
+            
+            start = startTimer();
+            ((BatchDataLoader) loader).loadBatch(batch, outputPath);
+            stopTimer(PipelineMetrics.Stage.LOAD, start);
+            endMetrics(inputPath, outputPath, rowsRead, batch.size());
+            
+            printSummary(rowsRead, batch.size(), outputPath);
+            
+        } catch (IOException e) {
+            handleError(e);
+        }
+    }
+    
+    /**
+     * Executes the ETL process with extract, transform and load running
+     * concurrently on their own threads, handing batches of rows between
+     * them through bounded queues. The first I/O failure in any stage
+     * cancels the others and is reported through handleError.
+     * @param batchSize Number of rows handed between stages at a time
+     * @param queueCapacity Maximum number of batches queued between two stages
+     */
+    public void runPipelined(int batchSize, int queueCapacity) {
+        runPipelined(INPUT_PATH, OUTPUT_PATH, batchSize, queueCapacity);
+    }
+    
+    /**
+     * Executes the pipelined ETL process on the given files
+     * @param inputPath Path of the products file to read
+     * @param outputPath Path of the transformed file to write
+     * @param batchSize Number of rows handed between stages at a time
+     * @param queueCapacity Maximum number of batches queued between two stages
+     */
+    public void runPipelined(String inputPath, String outputPath, int batchSize, int queueCapacity) {
+        if (!(extractor instanceof StreamingDataExtractor) || !(loader instanceof StreamingDataLoader)) {
+            System.out.println("Note: Configured stages do not support streaming, running in batch mode.");
+            run(inputPath, outputPath);
+            return;
+        }
+        
+        printBanner(inputPath, outputPath);
+        beginMetrics();
+        
+        PipelinedExecutor executor = new PipelinedExecutor((StreamingDataExtractor) extractor, transformer,
+                (StreamingDataLoader) loader, batchSize, queueCapacity, metrics);
+        try {
+            executor.execute(inputPath, outputPath);
+            endMetrics(inputPath, executor.getRowsTransformed() > 0 ? outputPath : null,
+                    executor.getRowsRead(), executor.getRowsTransformed());
+            
+            if (executor.getRowsRead() == 0) {
+                System.out.println("Warning: Input file exists but contains no data rows (only header)");
+                System.out.println("ETL process completed with 0 rows processed.");
+                return;
+            }
+            
+            printSummary(executor.getRowsRead(), executor.getRowsTransformed(), outputPath);
+            
+        } catch (IOException e) {
+            handleError(e);
+        }
+    }
+    
+    /**
+     * Executes the ETL process incrementally: rows whose fingerprint matches
+     * the index kept from the previous incremental run are copied from the
+     * previous output instead of being transformed again, and an unchanged
+     * input leaves the output untouched. Falls back to run() when any of the
+     * configured stages has no streaming counterpart or the output is binary
+     * or compressed.
+     */
+    public void runIncremental() {
+        runIncremental(INPUT_PATH, OUTPUT_PATH);
+    }
+    
+    /**
+     * Executes the incremental ETL process on the given files
+     * @param inputPath Path of the products file to read
+     * @param outputPath Path of the transformed file to maintain
+     */
+    public void runIncremental(String inputPath, String outputPath) {
+        if (!(extractor instanceof StreamingDataExtractor)
+                || !(transformer instanceof StreamingDataTransformer)
+                || !(loader instanceof StreamingDataLoader)) {
+            System.out.println("Note: Configured stages do not support streaming, running in batch mode.");
+            run(inputPath, outputPath);
+            return;
+        }
+        if (loader instanceof BinaryDataLoader || Compression.forOutput(new File(outputPath)) != Compression.NONE) {
+            System.out.println("Note: Binary or compressed output cannot be patched row by row, running in batch mode.");
+            run(inputPath, outputPath);
+            return;
+        }
+        
+        printBanner(inputPath, outputPath);
+        beginMetrics();
+        
+        IncrementalExecutor executor = new IncrementalExecutor((StreamingDataExtractor) extractor,
+                (StreamingDataTransformer) transformer, (StreamingDataLoader) loader);
+        try {
+            executor.execute(inputPath, outputPath);
+            endMetrics(inputPath, executor.isOutputWritten() ? outputPath : null,
+                    executor.getRowsRead(), executor.getRowsWritten());
+            
+            if (executor.getRowsRead() == 0) {
+                System.out.println("Warning: Input file exists but contains no data rows (only header)");
+                System.out.println("ETL process completed with 0 rows processed.");
+                return;
+            }
+            
+            System.out.println("Changes since previous run: " + executor.getInserted() + " inserted, "
+                    + executor.getUpdated() + " updated, " + executor.getDeleted() + " deleted");
+            if (!executor.isOutputWritten()) {
+                System.out.println("Output is up to date, nothing written.");
+            }
+            printSummary(executor.getRowsRead(), executor.getRowsWritten(), outputPath);
+            
+        } catch (IOException e) {
+            handleError(e);
+        }
+    }
+    
+    /**
+     * Creates a pipeline whose extractor can resume part-way through its input
+     */
+    public static ETLPipeline createCheckpointed() {
+        return new ETLPipeline(new MappedCSVDataExtractor(), new ProductDataTransformer(),
+                new BufferedCSVDataLoader());
+    }
+    
+    /**
+     * Executes the ETL process with a checkpoint every million output rows
+     * If an earlier checkpointed run on the same input did not finish, this run
+     * continues where it stopped. The output is only replaced once the run is
+     * complete. A reject sink created with RejectedRowSink.resumable() keeps
+     * the rows rejected before the checkpoint. Falls back to run() when the
+     * extractor cannot resume or the other stages have no streaming
+     * counterpart, and for binary or compressed output.
+     */
+    public void runCheckpointed() {
+        runCheckpointed(INPUT_PATH, OUTPUT_PATH, CHECKPOINT_INTERVAL);
+    }
+    
+    /**
+     * Executes the checkpointed ETL process on the given files
+     * @param inputPath Path of the products file to read
+     * @param outputPath Path of the transformed file to write
+     * @param checkpointInterval Number of output rows between two checkpoints
+     */
+    public void runCheckpointed(String inputPath, String outputPath, long checkpointInterval) {
+        if (!(extractor instanceof ResumableDataExtractor)
+                || !(transformer instanceof StreamingDataTransformer)
+                || !(loader instanceof StreamingDataLoader)) {
+            System.out.println("Note: Configured stages do not support checkpoints, running in batch mode.");
+            run(inputPath, outputPath);
+            return;
+        }
+        if (loader instanceof BinaryDataLoader || Compression.forOutput(new File(outputPath)) != Compression.NONE) {
+            System.out.println("Note: Binary or compressed output cannot be written in parts, running in batch mode.");
+            run(inputPath, outputPath);
+            return;
+        }
+        
+        printBanner(inputPath, outputPath);
+        beginMetrics();
+        
+        CheckpointedExecutor executor = new CheckpointedExecutor((ResumableDataExtractor) extractor,
+                (StreamingDataTransformer) transformer, (StreamingDataLoader) loader, checkpointInterval);
+        executor.setRejectedRowSink(rejects);
+        try {
+            executor.execute(inputPath, outputPath);
+            endMetrics(inputPath, executor.getRowsWritten() > 0 ? outputPath : null,
+                    executor.getRowsRead(), executor.getRowsWritten());
+            
+            if (executor.getRowsRead() == 0) {
+                System.out.println("Warning: Input file exists but contains no data rows (only header)");
+                System.out.println("ETL process completed with 0 rows processed.");
+                return;
+            }
+            
+            if (executor.isResumed() && executor.getInvalidRows() > 0) {
+                System.out.println("Skipped " + executor.getInvalidRows()
+                        + " invalid rows in total, including before the resume.");
+            }
+            printSummary(executor.getRowsRead(), executor.getRowsWritten(), outputPath);
+            
+        } catch (IOException e) {
+            handleError(e);
+        }
+    }
+    
+    /**
+     * Executes the ETL process on many input files, several at a time
+     * @param input A directory, a glob on file names such as data/shards/*.csv, or a single file
+     * @param output The merged output file, or the directory receiving one
+     *               transformed_&lt;input name&gt; file per input
+     * @param merge Whether all rows go to one output, in input file name order
+     * @param workers Number of files processed concurrently
+     */
+    public void runMultiFile(String input, String output, boolean merge, int workers) {
+        printBanner(input, output);
+        beginMetrics();
+        
+        MultiFileExecutor executor = new MultiFileExecutor(extractor, transformer, loader, workers, metrics);
+        try {
+            List<File> inputs = MultiFileExecutor.resolveInputs(input, new File(output), merge);
+            System.out.println("Processing " + inputs.size() + " input files on " + workers + " workers");
+            if (merge) {
+                executor.executeMerged(inputs, output);
+            } else {
+                executor.executePerFile(inputs, new File(output));
+            }
+            if (metrics != null) {
+                metrics.recordRowsRead(executor.getRowsRead());
+                metrics.recordRowsWritten(executor.getRowsWritten());
+                metrics.recordBytesRead(executor.getBytesRead());
+                metrics.recordBytesWritten(executor.getBytesWritten());
+                metrics.end();
+            }
+            
+            System.out.println("\nFiles processed: " + executor.getFilesProcessed() + " of " + inputs.size());
+            for (String failure : executor.getFailures()) {
+                System.err.println("Failed: " + failure);
+            }
+            printSummary(executor.getRowsRead(), executor.getRowsWritten(), output);
+            if (executor.getFilesFailed() > 0) {
+                handleError(new IOException(executor.getFilesFailed() + " of " + inputs.size()
+                        + " input files could not be processed."));
+            }
+            
+        } catch (IOException e) {
+            handleError(e);
+        }
+    }
+    
+    /**
+     * Processes the files in a directory, then every file created or modified
+     * in it, until the JVM shuts down
+     * Each file is written to outputDirectory as in per-file runMultiFile, and
+     * a burst of events for one file results in a single run.
+     * @param inputDirectory The directory to watch
+     * @param outputDirectory The directory receiving one transformed_&lt;input name&gt; file per input
+     * @param workers Number of files processed concurrently
+     */
+    public void runWatch(String inputDirectory, String outputDirectory, int workers) {
+        printBanner(inputDirectory, outputDirectory);
+        beginMetrics();
+        
+        WatchExecutor executor = new WatchExecutor(extractor, transformer, loader, workers,
+                WATCH_QUEUE_CAPACITY, WATCH_SETTLE_MILLIS, metrics);
+        Thread shutdownHook = new Thread(executor::stop, "watch-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+        System.out.println("Watching " + inputDirectory + " for new files, stop with Ctrl+C");
+        try {
+            executor.execute(new File(inputDirectory), new File(outputDirectory));
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IOException e) {
+            handleError(e);
+        } catch (IllegalStateException e) {
+            // the JVM is already shutting down, so the hook cannot be removed
+        }
+        System.out.println("Stopped watching after " + executor.getFilesProcessed() + " files, "
+                + executor.getRowsWritten() + " rows written, " + executor.getFilesFailed() + " failed");
+    }
+    
+    /**
+     * Prints the startup banner
+     */
+    private void printBanner(String inputPath, String outputPath) {
+        System.out.println("Starting ETL Pipeline...");
+        System.out.println("Input file: " + inputPath);
+        System.out.println("Output file: " + outputPath);
+    }
+    
     /**
      * Prints a summary of the ETL process
      */
-    private void printSummary(int rowsRead, int rowsTransformed, String outputPath) {
+    private void printSummary(long rowsRead, long rowsTransformed, String outputPath) {
         System.out.println("\nETL Process Summary:");
         System.out.println("Rows read: " + rowsRead);
         System.out.println("Rows transformed: " + rowsTransformed);
@@ -93,18 +760,124 @@ public class ETLPipeline {
         if (rowsRead == 0) {
             System.out.println("Note: Input file contained only a header row or all rows were invalid.");
         }
+        
+        if (metrics != null) {
+            System.out.println("\n" + metrics.formatReport());
+        }
+    }
+    
+    private void beginMetrics() {
+        if (metrics != null) {
+            metrics.begin();
+        }
+    }
+    
+    private long startTimer() {
+        return metrics != null ? System.nanoTime() : 0;
+    }
+    
+    private void stopTimer(PipelineMetrics.Stage stage, long start) {
+        if (metrics != null) {
+            metrics.recordStageTime(stage, System.nanoTime() - start);
+        }
+    }
+    
+    /**
+     * Records the row and byte counts of a finished run
+     * @param outputPath The file that was written, or null if nothing was written
+     */
+    private void endMetrics(String inputPath, String outputPath, long rowsRead, long rowsWritten) {
+        if (metrics == null) {
+            return;
+        }
+        metrics.recordRowsRead(rowsRead);
+        metrics.recordRowsWritten(rowsWritten);
+        metrics.recordBytesRead(new File(inputPath).length());
+        if (outputPath != null) {
+            metrics.recordBytesWritten(new File(outputPath).length());
+        }
+        metrics.end();
     }
     
     /**
      * Handles errors and provides helpful guidance
+     * The pipeline is marked as failed rather than exiting here, so callers
+     * can still close what the run wrote to
      */
     private void handleError(IOException e) {
+        failed = true;
         System.err.println("\nERROR: " + e.getMessage());
         System.err.println("\nPlease ensure:");
         System.err.println("1. The 'data' directory exists");
         System.err.println("2. The 'data/products.csv' file exists with proper content");
         System.err.println("3. The file has the correct format: ProductID,Name,Price,Category");
         System.err.println("\nYou can create the data file by running DataFileCreator.java");
-        System.exit(1);
+    }
+    
+    /**
+     * Sink that transforms each extracted row and forwards it to the loader
+     * The output is opened on the first row so an input with no data rows
+     * leaves the output untouched, matching batch mode
+     */
+    private static class StreamingSink implements ProductSink {
+        private final StreamingDataTransformer transformer;
+        private final InPlaceDataTransformer inPlaceTransformer;
+        private final StreamingDataLoader loader;
+        private final String outputPath;
+        private final boolean timed;
+        private ProductSink output;
+        private long rowsRead;
+        private long rowsTransformed;
+        private long transformNanos;
+        private long loadNanos;
+        
+        StreamingSink(StreamingDataTransformer transformer, StreamingDataLoader loader, String outputPath,
+                      boolean timed) {
+            this.transformer = transformer;
+            this.inPlaceTransformer = transformer instanceof InPlaceDataTransformer
+                    ? (InPlaceDataTransformer) transformer : null;
+            this.loader = loader;
+            this.outputPath = outputPath;
+            this.timed = timed;
+        }
+        
+        @Override
+        public void accept(Product product) throws IOException {
+            rowsRead++;
+            if (output == null) {
+                output = loader.open(outputPath);
+            }
+            if (timed) {
+                long start = System.nanoTime();
+                Product transformed = transform(product);
+                long transformedAt = System.nanoTime();
+                output.accept(transformed);
+                transformNanos += transformedAt - start;
+                loadNanos += System.nanoTime() - transformedAt;
+            } else {
+                output.accept(transform(product));
+            }
+            rowsTransformed++;
+        }
+        
+        /**
+         * Transforms a row; each extracted row is handed over only once, so it can be overwritten
+         */
+        private Product transform(Product product) {
+            if (inPlaceTransformer != null) {
+                inPlaceTransformer.transformInPlace(product);
+                return product;
+            }
+            return transformer.transformProduct(product);
+        }
+        
+        @Override
+        public void close() throws IOException {
+            if (output != null) {
+                long start = System.nanoTime();
+                output.close();
+                loadNanos += System.nanoTime() - start;
+            }
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package org.howard.edu.lsp.assignment3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit test suite for streaming runs of ETLPipeline.
+ * Checks a run that fails part-way through keeps the previous output.
+ */
+public class ETLPipelineTest extends SilentConsoleTest {
+    
+    /**
+     * Extractor that fails after passing on a given number of rows
+     */
+    private static class FailingExtractor implements StreamingDataExtractor {
+        private final int limit;
+        
+        FailingExtractor(int limit) {
+            this.limit = limit;
+        }
+        
+        @Override
+        public void extract(String filePath, ProductSink sink) throws IOException {
+            int[] rows = new int[1];
+            new CSVDataExtractor().extract(filePath, product -> {
+                if (++rows[0] > limit) {
+                    throw new IOException("Simulated truncated input");
+                }
+                sink.accept(product);
+            });
+        }
+    }
+    
+    /**
+     * Verifies a streaming run that fails part-way leaves the previous output, plain or compressed, in place.
+     */
+    @Test
+    public void failedStreamingRunKeepsPreviousOutput() throws IOException {
+        Path input = directory.resolve("products.csv");
+        new ProductsFileGenerator(0, false, 1).generate(5000, input.toString());
+        for (String name : new String[] { "transformed.csv", "transformed.csv.gz" }) {
+            Path output = directory.resolve(name);
+            ETLPipeline good = new ETLPipeline();
+            good.runStreaming(input.toString(), output.toString());
+            assertFalse(good.hasFailed());
+            byte[] previous = Files.readAllBytes(output);
+            
+            ETLPipeline failing = new ETLPipeline(new FailingExtractor(2000), new ProductDataTransformer(),
+                    new CSVDataLoader());
+            failing.runStreaming(input.toString(), output.toString());
+            assertTrue(failing.hasFailed());
+            assertArrayEquals(previous, Files.readAllBytes(output), name);
+            assertFalse(Files.exists(OutputFiles.tempFor(output.toFile()).toPath()), name);
+        }
+    }
+}
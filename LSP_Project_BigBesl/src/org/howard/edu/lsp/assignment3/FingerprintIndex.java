@@ -0,0 +1,263 @@
+/**
+ * Name: Bryce Ly
+ * FingerprintIndex - Per-row fingerprints and output locations of a previous run
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Compact index describing the rows written by the previous incremental run
+ * For every output row, in output order, it keeps the ProductID, a 64-bit
+ * fingerprint of the input row and the byte offset where the row ends in the
+ * output file. Rows are looked up by ProductID through a sorted key array, so
+ * the index costs 20 bytes per row in memory and no per-row objects.
+ */
+final class FingerprintIndex {
+    private static final int MAGIC = 0x45544C49;
+    private static final int VERSION = 1;
+    private static final long FNV_PRIME = 0x100000001B3L;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+    
+    private final String configuration;
+    private int[] ids;
+    private long[] fingerprints;
+    private long[] rowEnds;
+    private int size;
+    private long headerEnd;
+    private long[] sortedKeys;
+    
+    /**
+     * @param configuration Description of the stages that produced the output;
+     *        an index is only reused by a pipeline with the same configuration
+     */
+    FingerprintIndex(String configuration) {
+        this(configuration, INITIAL_CAPACITY);
+    }
+    
+    private FingerprintIndex(String configuration, int capacity) {
+        this.configuration = configuration;
+        this.ids = new int[capacity];
+        this.fingerprints = new long[capacity];
+        this.rowEnds = new long[capacity];
+    }
+    
+    /**
+     * Computes the fingerprint of an input row from its parsed fields
+     */
+    static long fingerprint(Product product) {
+        long hash = mix(product.getProductID());
+        hash = mix(hash ^ Double.doubleToLongBits(product.getPrice()));
+        hash = hashString(hash, product.getName());
+        return hashString(hash, product.getCategory());
+    }
+    
+    private static long hashString(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return mix(hash ^ value.length());
+    }
+    
+    /**
+     * SplitMix64 finalizer
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+    
+    /**
+     * Appends a row; its output location is set later with setRowEnd or locateRows
+     */
+    void add(int productID, long fingerprint) {
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            fingerprints = Arrays.copyOf(fingerprints, capacity);
+            rowEnds = Arrays.copyOf(rowEnds, capacity);
+        }
+        ids[size] = productID;
+        fingerprints[size] = fingerprint;
+        size++;
+        sortedKeys = null;
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    String getConfiguration() {
+        return configuration;
+    }
+    
+    long getFingerprint(int row) {
+        return fingerprints[row];
+    }
+    
+    /**
+     * Returns the offset just past the output header line
+     */
+    long getHeaderEnd() {
+        return headerEnd;
+    }
+    
+    void setHeaderEnd(long headerEnd) {
+        this.headerEnd = headerEnd;
+    }
+    
+    long getRowStart(int row) {
+        return row == 0 ? headerEnd : rowEnds[row - 1];
+    }
+    
+    long getRowEnd(int row) {
+        return rowEnds[row];
+    }
+    
+    void setRowEnd(int row, long end) {
+        rowEnds[row] = end;
+    }
+    
+    /**
+     * Finds the first row with the given ProductID that is not yet claimed and claims it
+     * Duplicate ProductIDs are therefore matched in output order.
+     * @return The row's position, or -1 if every row with that ID is claimed or there is none
+     */
+    int claim(int productID, BitSet claimed) {
+        if (sortedKeys == null) {
+            sortedKeys = new long[size];
+            for (int i = 0; i < size; i++) {
+                sortedKeys[i] = ((long) ids[i] << 32) | i;
+            }
+            Arrays.sort(sortedKeys);
+        }
+        
+        int low = 0;
+        int high = size;
+        long first = (long) productID << 32;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedKeys[middle] < first) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        
+        for (int i = low; i < size && (int) (sortedKeys[i] >> 32) == productID; i++) {
+            int row = (int) sortedKeys[i];
+            if (!claimed.get(row)) {
+                claimed.set(row);
+                return row;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Sets the header end and every row end by scanning the output for line feeds
+     * @throws IOException if the output does not hold exactly one line per indexed row
+     */
+    void locateRows(File output) throws IOException {
+        long[] ends = new long[size + 1];
+        int found = scanLineEnds(output, ends);
+        if (found != ends.length || ends[size] != output.length()) {
+            throw new IOException("Output '" + output.getPath() + "' does not hold one line per indexed row.");
+        }
+        headerEnd = ends[0];
+        System.arraycopy(ends, 1, rowEnds, 0, size);
+    }
+    
+    /**
+     * Fills ends with the offsets just past each '\n' of the file, stopping when it is full
+     * @return Number of line ends found
+     */
+    static int scanLineEnds(File file, long[] ends) throws IOException {
+        int found = 0;
+        long position = 0;
+        byte[] buffer = new byte[SCAN_BUFFER_SIZE];
+        try (InputStream in = new FileInputStream(file)) {
+            int read;
+            while (found < ends.length && (read = in.read(buffer)) > 0) {
+                for (int i = 0; i < read && found < ends.length; i++) {
+                    if (buffer[i] == '\n') {
+                        ends[found++] = position + i + 1;
+                    }
+                }
+                position += read;
+            }
+        }
+        return found;
+    }
+    
+    /**
+     * Reads an index written by write
+     * @param output The output the index describes
+     * @return The index, or null if the file does not exist or the output changed since it was written
+     * @throws IOException if the file is unreadable or not an index
+     */
+    static FingerprintIndex read(File file, File output) throws IOException {
+        if (!file.exists()) {
+            return null;
+        }
+        
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("'" + file.getPath() + "' is not a fingerprint index.");
+            }
+            String configuration = in.readUTF();
+            long outputLength = in.readLong();
+            long outputModified = in.readLong();
+            if (output.length() != outputLength || output.lastModified() != outputModified) {
+                return null;
+            }
+            
+            int size = in.readInt();
+            FingerprintIndex index = new FingerprintIndex(configuration, Math.max(size, 1));
+            index.headerEnd = in.readLong();
+            for (int i = 0; i < size; i++) {
+                index.ids[i] = in.readInt();
+                index.fingerprints[i] = in.readLong();
+                index.rowEnds[i] = in.readLong();
+            }
+            index.size = size;
+            return index;
+        }
+    }
+    
+    /**
+     * Writes the index next to its output, stamped with the output's current
+     * length and modification time so a later edit of the output invalidates it
+     * The file is replaced atomically where the file system allows it.
+     */
+    void write(File file, File output) throws IOException {
+        File temp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(configuration);
+            out.writeLong(output.length());
+            out.writeLong(output.lastModified());
+            out.writeInt(size);
+            out.writeLong(headerEnd);
+            for (int i = 0; i < size; i++) {
+                out.writeInt(ids[i]);
+                out.writeLong(fingerprints[i]);
+                out.writeLong(rowEnds[i]);
+            }
+        }
+        OutputFiles.replace(temp, file);
+    }
+}
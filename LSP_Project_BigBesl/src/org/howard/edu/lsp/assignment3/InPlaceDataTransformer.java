@@ -0,0 +1,32 @@
+/**
+ * Name: Bryce Ly
+ * InPlaceDataTransformer interface - Transforms products without copying them
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.util.List;
+
+/**
+ * Interface for transformers that can overwrite the products they are given
+ * Callers that own the extracted products and do not need the original values
+ * afterwards use it to skip the copy transform makes of every row
+ */
+public interface InPlaceDataTransformer extends DataTransformer {
+    /**
+     * Transforms a product according to business rules, replacing its values
+     * @param product The product to transform
+     */
+    void transformInPlace(Product product);
+    
+    /**
+     * Transforms every product of the list in place
+     * @param products List of products to transform
+     * @return The same list, now holding the transformed values
+     */
+    default List<Product> transformInPlace(List<Product> products) {
+        for (Product product : products) {
+            transformInPlace(product);
+        }
+        return products;
+    }
+}
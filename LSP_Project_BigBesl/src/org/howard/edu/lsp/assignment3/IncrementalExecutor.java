@@ -0,0 +1,314 @@
+/**
+ * Name: Bryce Ly
+ * IncrementalExecutor - Reprocesses only the rows that changed since the previous run
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Executes an incremental ETL run against the output of a previous run
+ * Every input row is fingerprinted and matched by ProductID against the
+ * FingerprintIndex saved next to the output. Only inserted and updated rows
+ * are transformed; the loader writes them to a delta file, and the new output
+ * is spliced together from byte ranges of the previous output and the delta
+ * rows, then moved over the old output. When no row changed the output is not
+ * touched at all. Without a usable index (first run, a different pipeline
+ * configuration, or an output modified since) every row is processed and a
+ * fresh index is written.
+ */
+final class IncrementalExecutor {
+    private static final int NEW_ROW = -1;
+    
+    private final StreamingDataExtractor extractor;
+    private final StreamingDataTransformer transformer;
+    private final StreamingDataLoader loader;
+    private final String configuration;
+    
+    private long rowsRead;
+    private long rowsWritten;
+    private long inserted;
+    private long updated;
+    private long deleted;
+    private boolean outputWritten;
+    
+    IncrementalExecutor(StreamingDataExtractor extractor, StreamingDataTransformer transformer,
+                        StreamingDataLoader loader) {
+        this.extractor = extractor;
+        this.transformer = transformer;
+        this.loader = loader;
+        this.configuration = transformer.getConfiguration() + "|" + loader.getConfiguration();
+    }
+    
+    /**
+     * Returns the index file kept for the given output
+     */
+    static File indexFile(String outputPath) {
+        return new File(outputPath + ".idx");
+    }
+    
+    /**
+     * Returns the delta file holding the transformed inserted and updated rows of the last run
+     */
+    static File deltaFile(String outputPath) {
+        return new File(outputPath + ".delta");
+    }
+    
+    /**
+     * Runs the incremental pipeline to completion
+     */
+    void execute(String inputPath, String outputPath) throws IOException {
+        File output = new File(outputPath);
+        File indexFile = indexFile(outputPath);
+        
+        FingerprintIndex previous = null;
+        if (output.exists()) {
+            try {
+                previous = FingerprintIndex.read(indexFile, output);
+            } catch (IOException e) {
+                System.err.println("Warning: Ignoring unreadable index: " + e.getMessage());
+            }
+        }
+        if (previous != null && !previous.getConfiguration().equals(configuration)) {
+            previous = null;
+        }
+        
+        if (previous == null) {
+            System.out.println("No usable index from a previous run, processing every row.");
+            fullRun(inputPath, output, indexFile);
+        } else {
+            incrementalRun(inputPath, output, indexFile, previous);
+        }
+    }
+    
+    long getRowsRead() {
+        return rowsRead;
+    }
+    
+    long getRowsWritten() {
+        return rowsWritten;
+    }
+    
+    long getInserted() {
+        return inserted;
+    }
+    
+    long getUpdated() {
+        return updated;
+    }
+    
+    long getDeleted() {
+        return deleted;
+    }
+    
+    /**
+     * Returns true if the output file was rewritten by the last run
+     */
+    boolean isOutputWritten() {
+        return outputWritten;
+    }
+    
+    /**
+     * Transforms and writes every row, then indexes the new output
+     */
+    private void fullRun(String inputPath, File output, File indexFile) throws IOException {
+        Files.deleteIfExists(deltaFile(output.getPath()).toPath());
+        FullRunSink sink = new FullRunSink(output.getPath());
+        try {
+            extractor.extract(inputPath, sink);
+        } finally {
+            sink.close();
+        }
+        
+        if (rowsRead > 0) {
+            inserted = rowsRead;
+            outputWritten = true;
+            sink.index.locateRows(output);
+            sink.index.write(indexFile, output);
+        }
+    }
+    
+    /**
+     * Transforms only new and changed rows and splices them into the previous output
+     */
+    private void incrementalRun(String inputPath, File output, File indexFile, FingerprintIndex previous)
+            throws IOException {
+        File deltaFile = deltaFile(output.getPath());
+        Files.deleteIfExists(deltaFile.toPath());
+        ChangeSink sink = new ChangeSink(previous, deltaFile.getPath());
+        try {
+            extractor.extract(inputPath, sink);
+        } finally {
+            sink.close();
+        }
+        
+        if (rowsRead == 0) {
+            return;
+        }
+        
+        deleted = previous.size() - sink.claimed.cardinality();
+        rowsWritten = rowsRead;
+        if (inserted == 0 && updated == 0 && deleted == 0 && isInOrder(sink.plan, (int) rowsRead)) {
+            return;
+        }
+        
+        long[] deltaEnds = null;
+        if (sink.delta != null) {
+            deltaEnds = new long[(int) (inserted + updated) + 1];
+            if (FingerprintIndex.scanLineEnds(deltaFile, deltaEnds) != deltaEnds.length) {
+                throw new IOException("Delta file '" + deltaFile.getPath() + "' is incomplete.");
+            }
+        }
+        
+        File temp = new File(output.getPath() + ".tmp");
+        splice(output, previous, deltaFile, deltaEnds, sink.plan, sink.index, temp);
+        OutputFiles.replace(temp, output);
+        outputWritten = true;
+        sink.index.write(indexFile, output);
+    }
+    
+    private static boolean isInOrder(int[] plan, int rows) {
+        for (int i = 0; i < rows; i++) {
+            if (plan[i] != i) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Writes the new output to temp: the previous header, then for each row
+     * either its bytes in the previous output or its line in the delta file
+     * Consecutive rows from the same source are copied with a single transfer,
+     * and the row ends of the new output are recorded in next.
+     */
+    private void splice(File output, FingerprintIndex previous, File deltaFile, long[] deltaEnds,
+                        int[] plan, FingerprintIndex next, File temp) throws IOException {
+        try (FileChannel source = FileChannel.open(output.toPath(), StandardOpenOption.READ);
+             FileChannel changes = deltaEnds == null ? null
+                     : FileChannel.open(deltaFile.toPath(), StandardOpenOption.READ);
+             FileChannel target = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = OutputFiles.copy(source, 0, previous.getHeaderEnd(), target);
+            next.setHeaderEnd(position);
+            
+            int rows = (int) rowsRead;
+            int deltaRow = 0;
+            int i = 0;
+            while (i < rows) {
+                int runEnd = i + 1;
+                if (plan[i] == NEW_ROW) {
+                    while (runEnd < rows && plan[runEnd] == NEW_ROW) {
+                        runEnd++;
+                    }
+                    int count = runEnd - i;
+                    OutputFiles.copy(changes, deltaEnds[deltaRow], deltaEnds[deltaRow + count], target);
+                    for (int row = i; row < runEnd; row++) {
+                        deltaRow++;
+                        position += deltaEnds[deltaRow] - deltaEnds[deltaRow - 1];
+                        next.setRowEnd(row, position);
+                    }
+                } else {
+                    while (runEnd < rows && plan[runEnd] == plan[runEnd - 1] + 1) {
+                        runEnd++;
+                    }
+                    OutputFiles.copy(source, previous.getRowStart(plan[i]), previous.getRowEnd(plan[runEnd - 1]), target);
+                    for (int row = i; row < runEnd; row++) {
+                        position += previous.getRowEnd(plan[row]) - previous.getRowStart(plan[row]);
+                        next.setRowEnd(row, position);
+                    }
+                }
+                i = runEnd;
+            }
+        }
+    }
+    
+    /**
+     * Sink for a full run: fingerprints, transforms and writes every row
+     * The output is opened on the first row, matching the other execution modes
+     */
+    private class FullRunSink implements ProductSink {
+        private final FingerprintIndex index = new FingerprintIndex(configuration);
+        private final String outputPath;
+        private ProductSink output;
+        
+        FullRunSink(String outputPath) {
+            this.outputPath = outputPath;
+        }
+        
+        @Override
+        public void accept(Product product) throws IOException {
+            rowsRead++;
+            index.add(product.getProductID(), FingerprintIndex.fingerprint(product));
+            if (output == null) {
+                output = loader.open(outputPath);
+            }
+            output.accept(transformer.transformProduct(product));
+            rowsWritten++;
+        }
+        
+        @Override
+        public void close() throws IOException {
+            if (output != null) {
+                output.close();
+            }
+        }
+    }
+    
+    /**
+     * Sink for an incremental run: matches each row against the previous index,
+     * sends new and changed rows to the delta file and records where every row
+     * of the new output comes from
+     */
+    private class ChangeSink implements ProductSink {
+        private final FingerprintIndex previous;
+        private final FingerprintIndex index = new FingerprintIndex(configuration);
+        private final BitSet claimed;
+        private final String deltaPath;
+        private int[] plan = new int[1024];
+        private ProductSink delta;
+        
+        ChangeSink(FingerprintIndex previous, String deltaPath) {
+            this.previous = previous;
+            this.claimed = new BitSet(previous.size());
+            this.deltaPath = deltaPath;
+        }
+        
+        @Override
+        public void accept(Product product) throws IOException {
+            long fingerprint = FingerprintIndex.fingerprint(product);
+            int row = previous.claim(product.getProductID(), claimed);
+            if (row < 0 || previous.getFingerprint(row) != fingerprint) {
+                if (row < 0) {
+                    inserted++;
+                } else {
+                    updated++;
+                }
+                if (delta == null) {
+                    delta = loader.open(deltaPath);
+                }
+                delta.accept(transformer.transformProduct(product));
+                row = NEW_ROW;
+            }
+            
+            if (rowsRead == plan.length) {
+                plan = Arrays.copyOf(plan, plan.length * 2);
+            }
+            plan[(int) rowsRead++] = row;
+            index.add(product.getProductID(), fingerprint);
+        }
+        
+        @Override
+        public void close() throws IOException {
+            if (delta != null) {
+                delta.close();
+            }
+        }
+    }
+}
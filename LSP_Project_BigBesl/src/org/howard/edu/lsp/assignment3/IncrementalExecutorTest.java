@@ -0,0 +1,155 @@
+package org.howard.edu.lsp.assignment3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit test suite for incremental runs.
+ * Checks that patching the previous output gives the same file as a full run.
+ */
+public class IncrementalExecutorTest extends SilentConsoleTest {
+    
+    private static final String HEADER = "ProductID,Name,Price,Category\n";
+    
+    private IncrementalExecutor runIncremental(String input, String output) throws IOException {
+        return runIncremental(input, output, new ProductDataTransformer());
+    }
+    
+    private IncrementalExecutor runIncremental(String input, String output, StreamingDataTransformer transformer)
+            throws IOException {
+        IncrementalExecutor executor = new IncrementalExecutor(new CSVDataExtractor(), transformer,
+                new CSVDataLoader());
+        executor.execute(input, output);
+        return executor;
+    }
+    
+    private byte[] runFull(String input) throws IOException {
+        String output = directory.resolve("full.csv").toString();
+        new ETLPipeline().run(input, output);
+        return Files.readAllBytes(new File(output).toPath());
+    }
+    
+    /**
+     * Verifies inserts, updates, deletes and duplicates are patched into the output.
+     */
+    @Test
+    public void patchedOutputMatchesFullRun() throws IOException {
+        Path input = directory.resolve("products.csv");
+        String output = directory.resolve("transformed.csv").toString();
+        
+        Files.write(input, (HEADER
+            + "1,Laptop,1000.00,Electronics\n"
+            + "2,Pen,1.50,Stationary\n"
+            + "3,Book,20.00,Education\n"
+            + "4,Mouse,25.00,Electronics\n").getBytes());
+        IncrementalExecutor first = runIncremental(input.toString(), output);
+        assertEquals(4, first.getInserted());
+        
+        Files.write(input, (HEADER
+            + "1,Laptop,1000.00,Electronics\n"
+            + "3,Book,25.00,Education\n"
+            + "5,Desk,300.00,Home\n"
+            + "4,Mouse,25.00,Electronics\n"
+            + "4,Mouse,25.00,Electronics\n").getBytes());
+        IncrementalExecutor second = runIncremental(input.toString(), output);
+        
+        assertEquals(2, second.getInserted());
+        assertEquals(1, second.getUpdated());
+        assertEquals(1, second.getDeleted());
+        assertTrue(second.isOutputWritten());
+        assertArrayEquals(runFull(input.toString()), Files.readAllBytes(new File(output).toPath()));
+    }
+    
+    /**
+     * Verifies an unchanged input leaves the output untouched, and an edited output forces a full run.
+     */
+    @Test
+    public void unchangedInputSkipsWriting() throws IOException {
+        Path input = directory.resolve("products.csv");
+        String output = directory.resolve("transformed.csv").toString();
+        Files.write(input, (HEADER + "1,Laptop,1000.00,Electronics\n2,Pen,1.50,Stationary\n").getBytes());
+        
+        runIncremental(input.toString(), output);
+        IncrementalExecutor unchanged = runIncremental(input.toString(), output);
+        assertFalse(unchanged.isOutputWritten());
+        assertEquals(0, unchanged.getInserted() + unchanged.getUpdated() + unchanged.getDeleted());
+        
+        Files.write(new File(output).toPath(), "edited\n".getBytes());
+        IncrementalExecutor rebuilt = runIncremental(input.toString(), output);
+        assertEquals(2, rebuilt.getInserted());
+        assertArrayEquals(runFull(input.toString()), Files.readAllBytes(new File(output).toPath()));
+    }
+    
+    /**
+     * Verifies a different pricing strategy, or the same strategy with other parameters,
+     * rewrites every row instead of reporting the old output as up to date.
+     */
+    @Test
+    public void changedStrategyRewritesRows() throws IOException {
+        Path input = directory.resolve("products.csv");
+        String output = directory.resolve("transformed.csv").toString();
+        Files.write(input, (HEADER + "1,Laptop,1000.00,Electronics\n2,Pen,1.50,Stationary\n").getBytes());
+        runIncremental(input.toString(), output);
+        
+        IncrementalExecutor halfPrice = runIncremental(input.toString(), output,
+                new ProductDataTransformer(new FlatDiscount(50), new StandardCategoryManager()));
+        assertTrue(halfPrice.isOutputWritten());
+        assertEquals(2, halfPrice.getInserted());
+        assertTrue(Files.readString(new File(output).toPath()).contains("1,LAPTOP,500.00,Electronics"));
+        
+        IncrementalExecutor quarterOff = runIncremental(input.toString(), output,
+                new ProductDataTransformer(new FlatDiscount(25), new StandardCategoryManager()));
+        assertTrue(quarterOff.isOutputWritten());
+        assertTrue(Files.readString(new File(output).toPath()).contains("1,LAPTOP,750.00,Premium Electronics"));
+        
+        IncrementalExecutor unchanged = runIncremental(input.toString(), output,
+                new ProductDataTransformer(new FlatDiscount(25), new StandardCategoryManager()));
+        assertFalse(unchanged.isOutputWritten());
+    }
+    
+    /**
+     * Verifies a run with a different rule table rewrites the rows priced by the previous rules.
+     */
+    @Test
+    public void changedRulesRewriteRows() throws IOException {
+        Path input = directory.resolve("products.csv");
+        String output = directory.resolve("transformed.csv").toString();
+        Files.write(input, (HEADER + "1,Laptop,999.99,Electronics\n").getBytes());
+        runIncremental(input.toString(), output);
+        assertTrue(Files.readString(new File(output).toPath()).contains("1,LAPTOP,899.99,Premium Electronics"));
+        
+        RuleTable rules = RuleTable.parse(new StringReader("discount,Electronics,*,50\n"), "test");
+        IncrementalExecutor halfPrice = runIncremental(input.toString(), output,
+                new ProductDataTransformer(rules.createPricingStrategy(), rules.createCategoryManager()));
+        assertTrue(halfPrice.isOutputWritten());
+        assertTrue(Files.readString(new File(output).toPath()).contains("1,LAPTOP,500.00,Electronics"));
+    }
+    
+    /**
+     * Pricing strategy taking the same percentage off every product
+     */
+    private static class FlatDiscount implements PricingStrategy {
+        private final int percent;
+        
+        FlatDiscount(int percent) {
+            this.percent = percent;
+        }
+        
+        @Override
+        public void applyPricing(Product product) {
+            product.setPrice(Money.roundToCents(product.getPrice() * (100 - percent) / 100.0));
+        }
+        
+        @Override
+        public String getConfiguration() {
+            return getClass().getName() + "(" + percent + ")";
+        }
+    }
+}
@@ -0,0 +1,25 @@
+/**
+ * Name: Bryce Ly
+ * InvalidRowReason - Reasons an extractor skips an input row
+ */
+package org.howard.edu.lsp.assignment3;
+
+/**
+ * Why an extractor rejected a row
+ * The description is the text printed in the "Skipping" warnings
+ */
+public enum InvalidRowReason {
+    EMPTY_LINE("empty line"),
+    INSUFFICIENT_COLUMNS("insufficient columns"),
+    NUMBER_FORMAT_ERROR("number format error");
+    
+    private final String description;
+    
+    InvalidRowReason(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,180 @@
+/**
+ * Name: Bryce Ly
+ * LZBlockCodec - Fast LZ77 block compressor written in plain Java
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Byte-oriented LZ77 codec in the style of LZ4, tuned for speed over ratio
+ * A compressed block is a series of sequences. Each sequence is a token byte
+ * (literal count in the high nibble, match length minus four in the low
+ * nibble, 15 meaning more length bytes follow), the literal bytes, and a
+ * two-byte little-endian offset back to the match. The last sequence has
+ * literals only. Matches are found through a single hash table of four-byte
+ * prefixes, so compression is a single forward pass over the block.
+ */
+final class LZBlockCodec {
+    /** First bytes of a file framed by ParallelCompressionOutputStream with this codec */
+    static final byte[] MAGIC = { (byte) 0x89, 'L', 'Z', 'B' };
+    
+    private static final int MIN_MATCH = 4;
+    private static final int MAX_OFFSET = 65535;
+    private static final int LAST_LITERALS = 5;
+    private static final int HASH_LOG = 14;
+    private static final int SKIP_TRIGGER = 6;
+    private static final VarHandle INT_VIEW =
+            MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    
+    private LZBlockCodec() {
+    }
+    
+    /**
+     * Returns the largest compressed size of a block of the given length
+     */
+    static int maxCompressedLength(int length) {
+        return length + length / 255 + 16;
+    }
+    
+    /**
+     * Compresses src[0, length) into dst
+     * @param dst Destination with at least maxCompressedLength(length) bytes
+     * @return Number of bytes written to dst
+     */
+    static int compress(byte[] src, int length, byte[] dst) {
+        int[] table = new int[1 << HASH_LOG];
+        int matchLimit = length - LAST_LITERALS;
+        int anchor = 0;
+        int ip = 0;
+        int op = 0;
+        
+        while (ip + MIN_MATCH <= matchLimit) {
+            int sequence = (int) INT_VIEW.get(src, ip);
+            int hash = (sequence * -1640531535) >>> (32 - HASH_LOG);
+            int ref = table[hash] - 1;
+            table[hash] = ip + 1;
+            
+            if (ref < 0 || ip - ref > MAX_OFFSET || (int) INT_VIEW.get(src, ref) != sequence) {
+                ip += 1 + ((ip - anchor) >>> SKIP_TRIGGER);
+                continue;
+            }
+            
+            int matchLength = MIN_MATCH;
+            while (ip + matchLength < matchLimit && src[ref + matchLength] == src[ip + matchLength]) {
+                matchLength++;
+            }
+            op = writeSequence(src, anchor, ip - anchor, dst, op, ip - ref, matchLength);
+            ip += matchLength;
+            anchor = ip;
+        }
+        
+        return writeSequence(src, anchor, length - anchor, dst, op, 0, 0);
+    }
+    
+    /**
+     * Decompresses src[offset, offset + length) into dst[0, expectedLength)
+     * @throws IOException if the block is corrupt or does not decode to exactly expectedLength bytes
+     */
+    static void decompress(byte[] src, int offset, int length, byte[] dst, int expectedLength) throws IOException {
+        int ip = offset;
+        int end = offset + length;
+        int op = 0;
+        try {
+            while (true) {
+                int token = src[ip++] & 0xFF;
+                int literals = token >>> 4;
+                if (literals == 15) {
+                    int extra;
+                    do {
+                        extra = src[ip++] & 0xFF;
+                        literals += extra;
+                    } while (extra == 255);
+                }
+                if (literals > end - ip || literals > expectedLength - op) {
+                    throw new IOException("Corrupt compressed block: literals overrun the block.");
+                }
+                System.arraycopy(src, ip, dst, op, literals);
+                ip += literals;
+                op += literals;
+                if (ip == end) {
+                    break;
+                }
+                
+                int distance = (src[ip] & 0xFF) | (src[ip + 1] & 0xFF) << 8;
+                ip += 2;
+                int matchLength = token & 0x0F;
+                if (matchLength == 15) {
+                    int extra;
+                    do {
+                        extra = src[ip++] & 0xFF;
+                        matchLength += extra;
+                    } while (extra == 255);
+                }
+                matchLength += MIN_MATCH;
+                int ref = op - distance;
+                if (distance == 0 || ref < 0 || matchLength > expectedLength - op) {
+                    throw new IOException("Corrupt compressed block: match outside the block.");
+                }
+                if (distance >= matchLength) {
+                    System.arraycopy(dst, ref, dst, op, matchLength);
+                    op += matchLength;
+                } else {
+                    for (int i = 0; i < matchLength; i++) {
+                        dst[op++] = dst[ref++];
+                    }
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Corrupt compressed block: truncated sequence.", e);
+        }
+        if (op != expectedLength) {
+            throw new IOException("Corrupt compressed block: expected " + expectedLength
+                    + " bytes but decoded " + op + ".");
+        }
+    }
+    
+    /**
+     * Writes one sequence; a matchLength of 0 writes the final literal-only sequence
+     * @return The offset in dst after the sequence
+     */
+    private static int writeSequence(byte[] src, int literalStart, int literals, byte[] dst, int op,
+                                     int distance, int matchLength) {
+        int tokenPosition = op++;
+        int token;
+        if (literals >= 15) {
+            token = 15 << 4;
+            op = writeLength(dst, op, literals - 15);
+        } else {
+            token = literals << 4;
+        }
+        System.arraycopy(src, literalStart, dst, op, literals);
+        op += literals;
+        
+        if (matchLength > 0) {
+            dst[op++] = (byte) distance;
+            dst[op++] = (byte) (distance >>> 8);
+            int length = matchLength - MIN_MATCH;
+            if (length >= 15) {
+                token |= 15;
+                op = writeLength(dst, op, length - 15);
+            } else {
+                token |= length;
+            }
+        }
+        dst[tokenPosition] = (byte) token;
+        return op;
+    }
+    
+    private static int writeLength(byte[] dst, int op, int length) {
+        while (length >= 255) {
+            dst[op++] = (byte) 255;
+            length -= 255;
+        }
+        dst[op++] = (byte) length;
+        return op;
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * Name: Bryce Ly
+ * LZBlockInputStream - Decompresses files written in the LZ_BLOCK format
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Input stream over an LZ_BLOCK file
+ * Layout: MAGIC, then per block rawLength:int and storedLength:int (high bit
+ * set when the block is stored uncompressed) followed by the stored bytes,
+ * and a rawLength of 0 after the last block.
+ */
+final class LZBlockInputStream extends InputStream {
+    static final int STORED_RAW = 0x80000000;
+    
+    private final DataInputStream in;
+    private byte[] compressed = new byte[0];
+    private byte[] block = new byte[0];
+    private int position;
+    private int limit;
+    private boolean finished;
+    
+    /**
+     * @param in Stream positioned at the start of the file; closed with this stream
+     * @throws IOException if the stream does not start with the LZ_BLOCK magic bytes
+     */
+    LZBlockInputStream(InputStream in) throws IOException {
+        this.in = new DataInputStream(in);
+        byte[] magic = new byte[LZBlockCodec.MAGIC.length];
+        try {
+            this.in.readFully(magic);
+        } catch (EOFException e) {
+            throw new IOException("Compressed stream is truncated.", e);
+        }
+        if (!Arrays.equals(magic, LZBlockCodec.MAGIC)) {
+            throw new IOException("Not an LZ_BLOCK compressed stream.");
+        }
+    }
+    
+    @Override
+    public int read() throws IOException {
+        if (position == limit && !nextBlock()) {
+            return -1;
+        }
+        return block[position++] & 0xFF;
+    }
+    
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (position == limit && !nextBlock()) {
+            return -1;
+        }
+        int count = Math.min(length, limit - position);
+        System.arraycopy(block, position, bytes, offset, count);
+        position += count;
+        return count;
+    }
+    
+    @Override
+    public int available() {
+        return limit - position;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+    
+    /**
+     * Reads and decodes the next block
+     * @return false at the end of the stream
+     */
+    private boolean nextBlock() throws IOException {
+        if (finished) {
+            return false;
+        }
+        try {
+            int rawLength = in.readInt();
+            if (rawLength == 0) {
+                finished = true;
+                return false;
+            }
+            int stored = in.readInt();
+            boolean raw = (stored & STORED_RAW) != 0;
+            int storedLength = stored & ~STORED_RAW;
+            if (rawLength < 0 || (raw && storedLength != rawLength)
+                    || storedLength > LZBlockCodec.maxCompressedLength(rawLength)) {
+                throw new IOException("Compressed stream has a corrupt block header.");
+            }
+            
+            if (block.length < rawLength) {
+                block = new byte[rawLength];
+            }
+            if (raw) {
+                in.readFully(block, 0, rawLength);
+            } else {
+                if (compressed.length < storedLength) {
+                    compressed = new byte[storedLength];
+                }
+                in.readFully(compressed, 0, storedLength);
+                LZBlockCodec.decompress(compressed, 0, storedLength, block, rawLength);
+            }
+            position = 0;
+            limit = rawLength;
+            return true;
+        } catch (EOFException e) {
+            throw new IOException("Compressed stream is truncated.", e);
+        }
+    }
+}
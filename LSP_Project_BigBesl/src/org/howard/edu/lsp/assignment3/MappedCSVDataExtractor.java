@@ -0,0 +1,314 @@
+/**
+ * Name: Bryce Ly
+ * MappedCSVDataExtractor - Memory-mapped, zero-copy implementation of DataExtractor
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * CSV extractor that maps the input file into memory and scans it as bytes
+ * Avoids the per-line String and per-row split array of CSVDataExtractor so
+ * large files are bound by disk bandwidth rather than garbage collection.
+ * Accepts the same rows and reports the same warnings as CSVDataExtractor;
+ * the input must be UTF-8 (or plain ASCII). A compressed input cannot be
+ * mapped, so it is decompressed into a reused heap window instead and
+ * scanned the same way; resume offsets then count decompressed bytes.
+ */
+public class MappedCSVDataExtractor implements ResumableDataExtractor, BatchDataExtractor, MetricsAware,
+        RejectedRowAware {
+    private static final long MAX_WINDOW_SIZE = 1L << 30;
+    private static final int STREAM_WINDOW_SIZE = 4 * 1024 * 1024;
+    
+    private final long windowSize;
+    private PipelineMetrics metrics;
+    private RejectedRowSink rejects;
+    
+    public MappedCSVDataExtractor() {
+        this(MAX_WINDOW_SIZE);
+    }
+    
+    /**
+     * Constructor with a custom mapping window (files larger than this are mapped piecewise)
+     * @param windowSize Maximum number of bytes mapped at once
+     */
+    public MappedCSVDataExtractor(long windowSize) {
+        if (windowSize <= 0 || windowSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Window size must be between 1 and " + Integer.MAX_VALUE);
+        }
+        this.windowSize = windowSize;
+    }
+    
+    @Override
+    public void setMetrics(PipelineMetrics metrics) {
+        this.metrics = metrics;
+    }
+    
+    @Override
+    public void setRejectedRowSink(RejectedRowSink rejects) {
+        this.rejects = rejects;
+    }
+    
+    @Override
+    public void extract(String filePath, ProductSink sink) throws IOException {
+        File file = new File(filePath);
+        CSVDataExtractor.validateFile(file);
+        
+        System.out.println("Reading data from: " + file.getAbsolutePath());
+        scan(file, sink, null, 0, 1);
+    }
+    
+    @Override
+    public void extract(String filePath, long startOffset, int startLine, PositionedProductSink sink)
+            throws IOException {
+        File file = new File(filePath);
+        CSVDataExtractor.validateFile(file);
+        if (startOffset < 0 || (startOffset > file.length() && Compression.detect(file) == Compression.NONE)) {
+            throw new IOException("Resume offset " + startOffset + " is outside '" + file.getPath() + "'.");
+        }
+        
+        System.out.println("Reading data from: " + file.getAbsolutePath()
+                + (startOffset > 0 ? " (resuming at line " + startLine + ")" : ""));
+        scan(file, sink, null, startOffset, startLine);
+    }
+    
+    /**
+     * Extracts every row straight into a columnar batch, without creating Product objects
+     */
+    @Override
+    public ProductBatch extractBatch(String filePath) throws IOException {
+        File file = new File(filePath);
+        CSVDataExtractor.validateFile(file);
+        
+        System.out.println("Reading data from: " + file.getAbsolutePath());
+        ProductBatch batch = new ProductBatch();
+        scan(file, null, batch, 0, 1);
+        return batch;
+    }
+    
+    /**
+     * Reads the file into the sink or the batch, reporting skipped rows to the configured
+     * reject sink or, if there is none, to a console-only one for this file
+     */
+    private void scan(File file, ProductSink sink, ProductBatch batch, long startOffset, int startLine)
+            throws IOException {
+        RejectedRowSink rejects = this.rejects != null ? this.rejects : new RejectedRowSink();
+        try {
+            readFromFile(file, new LineScanner(sink, batch, metrics, rejects, file.getPath()), startOffset, startLine);
+        } finally {
+            if (rejects != this.rejects) {
+                rejects.close();
+            }
+        }
+    }
+    
+    /**
+     * Maps the file window by window, cutting each window after its last
+     * line feed so that no row ever straddles two windows
+     * When starting past the header, the header is still read first so the
+     * delimiter is known, then scanning continues at startOffset.
+     */
+    private void readFromFile(File file, LineScanner scanner, long startOffset, int startLine) throws IOException {
+        if (Compression.detect(file) != Compression.NONE) {
+            readFromStream(file, scanner, startOffset, startLine);
+            return;
+        }
+        
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            
+            if (startOffset > 0) {
+                MappedByteBuffer headerWindow = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                        Math.min(size, windowSize));
+                scanner.scanHeader(headerWindow, ByteRowParser.lineEnd(headerWindow, 0, headerWindow.limit()));
+                scanner.lineNumber = startLine - 1;
+                position = startOffset;
+            }
+            
+            while (position < size) {
+                int length = (int) Math.min(size - position, windowSize);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                
+                int limit = length;
+                if (position + length < size) {
+                    limit = lastLineEnd(window, length);
+                    if (limit == 0) {
+                        throw new IOException("Line starting at byte " + position + " is longer than the "
+                                + windowSize + " byte mapping window.");
+                    }
+                }
+                
+                scanner.scan(window, limit, position);
+                position += limit;
+            }
+            
+            if (scanner.invalidRows > 0) {
+                System.out.println("Skipped " + scanner.invalidRows + " invalid rows during extraction.");
+            }
+        }
+    }
+    
+    /**
+     * Decompresses the file into a heap window, scanning the complete lines
+     * of each fill and carrying the partial last line over to the next one
+     */
+    private void readFromStream(File file, LineScanner scanner, long startOffset, int startLine) throws IOException {
+        try (InputStream in = Compression.openInput(file)) {
+            byte[] data = new byte[(int) Math.min(windowSize, STREAM_WINDOW_SIZE)];
+            ByteBuffer window = ByteBuffer.wrap(data);
+            int filled = in.readNBytes(data, 0, data.length);
+            long position = 0;
+            
+            if (startOffset > 0) {
+                scanner.scanHeader(window, ByteRowParser.lineEnd(window, 0, filled));
+                scanner.lineNumber = startLine - 1;
+                while (position + filled < startOffset) {
+                    if (filled == 0) {
+                        throw new IOException("Resume offset " + startOffset + " is outside '" + file.getPath() + "'.");
+                    }
+                    position += filled;
+                    filled = in.readNBytes(data, 0, data.length);
+                }
+                int skipped = (int) (startOffset - position);
+                System.arraycopy(data, skipped, data, 0, filled - skipped);
+                filled -= skipped;
+                position = startOffset;
+                filled += in.readNBytes(data, filled, data.length - filled);
+            }
+            
+            while (filled > 0) {
+                boolean endOfInput = filled < data.length;
+                int limit = endOfInput ? filled : lastLineEnd(window, filled);
+                if (limit == 0) {
+                    throw new IOException("Line starting at byte " + position + " is longer than the "
+                            + data.length + " byte window.");
+                }
+                
+                scanner.scan(window, limit, position);
+                position += limit;
+                if (endOfInput) {
+                    break;
+                }
+                System.arraycopy(data, limit, data, 0, filled - limit);
+                filled -= limit;
+                filled += in.readNBytes(data, filled, data.length - filled);
+            }
+            
+            if (scanner.invalidRows > 0) {
+                System.out.println("Skipped " + scanner.invalidRows + " invalid rows during extraction.");
+            }
+        }
+    }
+    
+    /**
+     * Returns the offset just past the last '\n' in window[0, length), or 0 if there is none
+     */
+    private static int lastLineEnd(ByteBuffer window, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (window.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+    
+    /**
+     * Splits mapped windows into lines (\n, \r or \r\n, like BufferedReader)
+     * and feeds them to the row parser, carrying line numbers across windows
+     * Rows go to the sink, or into the batch when one is given; a positioned
+     * sink is also told the input offset after every line
+     */
+    private static class LineScanner {
+        private final ProductSink sink;
+        private final PositionedProductSink positioned;
+        private final ProductBatch batch;
+        private final PipelineMetrics metrics;
+        private final RejectedRowSink rejects;
+        private final String source;
+        private ByteRowParser parser;
+        private int lineNumber;
+        private int invalidRows;
+        
+        LineScanner(ProductSink sink, ProductBatch batch, PipelineMetrics metrics, RejectedRowSink rejects,
+                    String source) {
+            this.sink = sink;
+            this.positioned = sink instanceof PositionedProductSink ? (PositionedProductSink) sink : null;
+            this.batch = batch;
+            this.metrics = metrics;
+            this.rejects = rejects;
+            this.source = source;
+        }
+        
+        /**
+         * Scans window[0, limit), which starts at byte windowStart of the file
+         */
+        void scan(ByteBuffer window, int limit, long windowStart) throws IOException {
+            int start = 0;
+            while (start < limit) {
+                int end = ByteRowParser.lineEnd(window, start, limit);
+                processLine(window, start, end);
+                start = ByteRowParser.nextLineStart(window, end, limit);
+                if (positioned != null) {
+                    positioned.lineCompleted(windowStart + start, lineNumber);
+                }
+            }
+        }
+        
+        /**
+         * Reads the header line window[0, end) without reporting a position
+         */
+        void scanHeader(ByteBuffer window, int end) throws IOException {
+            processLine(window, 0, end);
+        }
+        
+        private void processLine(ByteBuffer window, int start, int end) throws IOException {
+            lineNumber++;
+            if (parser == null) {
+                String header = ByteRowParser.decode(window, start, end);
+                boolean usesTabs = header.contains("\t") && !header.contains(",");
+                CSVDataExtractor.validateHeader(header);
+                parser = new ByteRowParser(usesTabs);
+                return;
+            }
+            
+            if (ByteRowParser.isBlank(window, start, end)) {
+                rejects.reject(source, InvalidRowReason.EMPTY_LINE, lineNumber, null);
+                recordSkippedRow(InvalidRowReason.EMPTY_LINE);
+                return;
+            }
+            
+            boolean valid;
+            if (batch != null) {
+                valid = parser.parseInto(window, start, end, batch);
+            } else {
+                Product product = parser.parse(window, start, end);
+                valid = product != null;
+                if (valid) {
+                    sink.accept(product);
+                }
+            }
+            
+            if (!valid) {
+                invalidRows++;
+                rejects.reject(source, parser.lastError(), lineNumber, window, start, end);
+                recordSkippedRow(parser.lastError());
+            }
+        }
+        
+        private void recordSkippedRow(InvalidRowReason reason) {
+            if (metrics != null) {
+                metrics.recordSkippedRow(reason);
+            }
+            if (positioned != null) {
+                positioned.rowSkipped(reason);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+/**
+ * Name: Bryce Ly
+ * MetricsAware interface - Stages that report into a PipelineMetrics registry
+ */
+package org.howard.edu.lsp.assignment3;
+
+/**
+ * Interface for pipeline stages that can record their own metrics
+ * ETLPipeline hands its registry to every configured stage implementing it
+ */
+public interface MetricsAware {
+    /**
+     * Sets the registry this stage reports into
+     * @param metrics The registry to update, or null to stop reporting
+     */
+    void setMetrics(PipelineMetrics metrics);
+}
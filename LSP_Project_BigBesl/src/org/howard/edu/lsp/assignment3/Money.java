@@ -0,0 +1,76 @@
+/**
+ * Name: Bryce Ly
+ * Money - Cent-based money arithmetic with half-up rounding
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Helpers for representing amounts as whole cents in a long
+ * Rounds exactly like new BigDecimal(amount).setScale(2, RoundingMode.HALF_UP)
+ * (i.e. on the exact binary value of the double) without allocating. The
+ * product amount * 100 is rounded once, which decides every case except
+ * those within one ulp of a half cent; those are settled exactly with a
+ * fused multiply-add. Amounts of 1e13 or more, NaN and infinities take
+ * the BigDecimal path, so they also fail the same way.
+ */
+public final class Money {
+    /** Below this magnitude amount * 100 and every candidate half cent are exact doubles */
+    private static final double MAX_FAST_AMOUNT = 1e13;
+    
+    private Money() {
+    }
+    
+    /**
+     * Converts an amount to whole cents, rounding half-up (away from zero)
+     * @param amount The amount in currency units
+     * @return The amount in cents
+     * @throws NumberFormatException if amount is NaN or infinite
+     * @throws ArithmeticException if the amount in cents does not fit in a long
+     */
+    public static long toCents(double amount) {
+        double magnitude = Math.abs(amount);
+        if (!(magnitude < MAX_FAST_AMOUNT)) {
+            return new BigDecimal(amount).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        }
+        
+        double scaled = magnitude * 100;
+        double whole = Math.floor(scaled);
+        double fraction = scaled - whole;
+        long cents = (long) whole;
+        
+        if (Math.abs(fraction - 0.5) > Math.ulp(scaled)) {
+            if (fraction > 0.5) {
+                cents++;
+            }
+        } else if (Math.fma(magnitude, 100, -(whole + 0.5)) >= 0) {
+            cents++;
+        }
+        return amount < 0 ? -cents : cents;
+    }
+    
+    /**
+     * Converts whole cents back to an amount in currency units
+     * @param cents The amount in cents
+     * @return The nearest double to cents / 100
+     */
+    public static double fromCents(long cents) {
+        return cents == 0 ? 0.0 : cents / 100.0;
+    }
+    
+    /**
+     * Rounds an amount to two decimal places using half-up rounding
+     * Returns exactly what new BigDecimal(amount).setScale(2, HALF_UP).doubleValue() returns
+     * @param amount The amount to round
+     * @return The rounded amount
+     * @throws NumberFormatException if amount is NaN or infinite
+     */
+    public static double roundToCents(double amount) {
+        if (!(Math.abs(amount) < MAX_FAST_AMOUNT)) {
+            return new BigDecimal(amount).setScale(2, RoundingMode.HALF_UP).doubleValue();
+        }
+        return fromCents(toCents(amount));
+    }
+}
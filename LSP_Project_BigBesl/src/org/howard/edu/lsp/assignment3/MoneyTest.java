@@ -0,0 +1,130 @@
+package org.howard.edu.lsp.assignment3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit test suite for Money.
+ * Compares the cent-based rounding against the BigDecimal HALF_UP path it replaces
+ * over millions of random prices, plus the tie and edge cases that matter most.
+ */
+public class MoneyTest {
+    
+    private static final int SAMPLES = 1_000_000;
+    
+    private static double reference(double amount) {
+        return new BigDecimal(amount).setScale(2, RoundingMode.HALF_UP).doubleValue();
+    }
+    
+    private static long referenceCents(double amount) {
+        return new BigDecimal(amount).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+    
+    private static void assertMatchesReference(double amount) {
+        double expected = reference(amount);
+        double actual = Money.roundToCents(amount);
+        assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual),
+            "roundToCents(" + amount + ") should be " + expected + " but was " + actual);
+        assertEquals(referenceCents(amount), Money.toCents(amount), "toCents(" + amount + ")");
+    }
+    
+    /**
+     * Verifies uniformly distributed prices across several magnitudes.
+     */
+    @Test
+    public void randomPricesMatchBigDecimal() {
+        Random random = new Random(20240501L);
+        for (int i = 0; i < SAMPLES; i++) {
+            double scale = Math.pow(10, random.nextInt(12));
+            assertMatchesReference(random.nextDouble() * scale);
+        }
+    }
+    
+    /**
+     * Verifies discounted two-decimal prices, the values StandardPricingStrategy actually rounds.
+     * Roughly one in ten of these lands on (or next to) a half cent.
+     */
+    @Test
+    public void discountedPricesMatchBigDecimal() {
+        Random random = new Random(7L);
+        for (int i = 0; i < SAMPLES; i++) {
+            double price = random.nextInt(100_000_000) / 100.0;
+            assertMatchesReference(price * (1.0 - 0.1));
+        }
+    }
+    
+    /**
+     * Verifies values whose decimal form ends exactly in a half cent, and their neighbours.
+     */
+    @Test
+    public void halfCentValuesMatchBigDecimal() {
+        Random random = new Random(11L);
+        for (int i = 0; i < SAMPLES; i++) {
+            double tie = (random.nextInt(10_000_000) * 10 + 5) / 1000.0;
+            assertMatchesReference(tie);
+            assertMatchesReference(Math.nextUp(tie));
+            assertMatchesReference(Math.nextDown(tie));
+        }
+    }
+    
+    /**
+     * Verifies arbitrary bit patterns, including negative, tiny and huge values.
+     */
+    @Test
+    public void randomBitPatternsMatchBigDecimal() {
+        Random random = new Random(3L);
+        for (int i = 0; i < SAMPLES; i++) {
+            double amount = Double.longBitsToDouble(random.nextLong());
+            if (Double.isFinite(amount) && Math.abs(amount) < 1e16) {
+                assertMatchesReference(amount);
+            }
+        }
+    }
+    
+    /**
+     * Verifies well-known ties where the binary value sits just below or exactly on the half cent.
+     */
+    @Test
+    public void knownTiesRoundOnExactBinaryValue() {
+        assertEquals(0.13, Money.roundToCents(0.125));
+        assertEquals(2.67, Money.roundToCents(2.675));
+        assertEquals(1.0, Money.roundToCents(1.005));
+        assertEquals(-0.13, Money.roundToCents(-0.125));
+        assertEquals(899.99, Money.roundToCents(999.99 * 0.9));
+        assertEquals(179.99, Money.roundToCents(199.99 * 0.9));
+    }
+    
+    /**
+     * Verifies amounts that round to zero come back as positive zero, like BigDecimal.
+     */
+    @Test
+    public void roundingToZeroGivesPositiveZero() {
+        assertMatchesReference(-0.0);
+        assertMatchesReference(-0.001);
+        assertEquals(0L, Double.doubleToRawLongBits(Money.roundToCents(-0.004)));
+    }
+    
+    /**
+     * Verifies NaN and infinities are rejected exactly as the BigDecimal path rejects them.
+     */
+    @Test
+    public void nonFiniteAmountsThrow() {
+        assertThrows(NumberFormatException.class, () -> Money.roundToCents(Double.NaN));
+        assertThrows(NumberFormatException.class, () -> Money.toCents(Double.POSITIVE_INFINITY));
+    }
+    
+    /**
+     * Verifies cents convert back to the nearest double.
+     */
+    @Test
+    public void fromCentsRoundTrips() {
+        assertEquals(12.99, Money.fromCents(1299));
+        assertEquals(-0.05, Money.fromCents(-5));
+        assertEquals(1299L, Money.toCents(Money.fromCents(1299)));
+    }
+}
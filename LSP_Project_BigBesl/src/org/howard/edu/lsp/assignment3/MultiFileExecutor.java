@@ -0,0 +1,427 @@
+/**
+ * Name: Bryce Ly
+ * MultiFileExecutor - Runs the ETL process over many input files on a bounded worker pool
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Executes the ETL process on a set of input files, several files at a time
+ * Each worker extracts, transforms and (in per-file mode) loads a whole file,
+ * so files never share a worker's state. In merged mode the workers hand
+ * their transformed rows back and this thread writes them to one output in
+ * input order, so the merged file does not depend on which worker finished
+ * first. At most two files per worker are in flight, which bounds memory.
+ * A file that cannot be read is reported and skipped; the others still run.
+ */
+final class MultiFileExecutor {
+    /** Prefix of per-file outputs, matching data/transformed_products.csv */
+    static final String OUTPUT_PREFIX = "transformed_";
+    
+    private final DataExtractor extractor;
+    private final DataTransformer transformer;
+    private final DataLoader loader;
+    private final PipelineMetrics metrics;
+    private final int workers;
+    private final boolean transformerThreadSafe;
+    
+    private int filesProcessed;
+    private long rowsRead;
+    private long rowsWritten;
+    private long bytesRead;
+    private long bytesWritten;
+    private final List<String> failures = new ArrayList<>();
+    
+    /**
+     * @param workers Number of files processed concurrently
+     * @param metrics Registry receiving per-stage timings summed over all workers, or null
+     */
+    MultiFileExecutor(DataExtractor extractor, DataTransformer transformer, DataLoader loader,
+                      int workers, PipelineMetrics metrics) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Workers must be at least 1");
+        }
+        this.extractor = extractor;
+        this.transformer = transformer;
+        this.loader = loader;
+        this.workers = workers;
+        this.metrics = metrics;
+        this.transformerThreadSafe = transformer instanceof ProductDataTransformer
+                && ((ProductDataTransformer) transformer).isThreadSafe();
+    }
+    
+    /**
+     * Returns the files an input specification names, sorted by name
+     * The input is a directory (all its visible files), a glob on file names
+     * such as data/shards/products-*.csv, or a single file
+     * @throws IOException if nothing matches
+     */
+    static List<File> resolveInputs(String input) throws IOException {
+        File file = new File(input);
+        File[] matches;
+        if (file.isDirectory()) {
+            matches = file.listFiles(candidate -> candidate.isFile() && !candidate.isHidden()
+                    && !candidate.getName().startsWith("."));
+        } else if (input.chars().anyMatch(c -> "*?[{".indexOf(c) >= 0)) {
+            File parent = file.getParentFile() != null ? file.getParentFile() : new File(".");
+            PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + file.getName());
+            matches = parent.listFiles(candidate -> candidate.isFile()
+                    && matcher.matches(Paths.get(candidate.getName())));
+        } else {
+            matches = file.isFile() ? new File[] { file } : null;
+        }
+        
+        if (matches == null || matches.length == 0) {
+            throw new IOException("No input files match '" + input + "'.");
+        }
+        Arrays.sort(matches, Comparator.comparing(File::getName));
+        return Arrays.asList(matches);
+    }
+    
+    /**
+     * Returns the files an input specification names, leaving out the files the run writes
+     * These are the output itself and, in the output directory, every OUTPUT_PREFIX
+     * file left by an earlier merged or per-file run, which would otherwise be read
+     * back as input while being rewritten
+     * @param output The merged output file, or the per-file output directory
+     * @throws IOException if nothing but outputs matches
+     */
+    static List<File> resolveInputs(String input, File output, boolean merged) throws IOException {
+        Path outputPath = normalize(output);
+        Path outputDirectory = merged ? outputPath.getParent() : outputPath;
+        List<File> inputs = new ArrayList<>();
+        for (File candidate : resolveInputs(input)) {
+            Path path = normalize(candidate);
+            if (path.equals(outputPath) || (path.getParent().equals(outputDirectory)
+                    && candidate.getName().startsWith(OUTPUT_PREFIX))) {
+                System.out.println("Skipping '" + candidate.getPath() + "': it is an output of this run.");
+            } else {
+                inputs.add(candidate);
+            }
+        }
+        if (inputs.isEmpty()) {
+            throw new IOException("No input files match '" + input + "' besides the outputs of this run.");
+        }
+        return inputs;
+    }
+    
+    private static Path normalize(File file) {
+        return file.toPath().toAbsolutePath().normalize();
+    }
+    
+    /**
+     * Returns the output written for an input in per-file mode
+     */
+    static File outputFor(File input, File outputDirectory) {
+        return new File(outputDirectory, OUTPUT_PREFIX + input.getName());
+    }
+    
+    /**
+     * Transforms every input into its own file in outputDirectory
+     */
+    void executePerFile(List<File> inputs, File outputDirectory) throws IOException {
+        List<File> outputs = new ArrayList<>();
+        for (File input : inputs) {
+            outputs.add(outputFor(input, outputDirectory));
+        }
+        rejectOutputs(inputs, outputs);
+        if (!outputDirectory.isDirectory() && !outputDirectory.mkdirs()) {
+            throw new IOException("Could not create output directory '" + outputDirectory.getPath() + "'.");
+        }
+        execute(inputs, input -> process(input, outputFor(input, outputDirectory)), null);
+    }
+    
+    /**
+     * Transforms every input into one output, rows in input file order
+     * The output is opened on the first row, so it is left untouched when no file has any
+     */
+    void executeMerged(List<File> inputs, String outputPath) throws IOException {
+        rejectOutputs(inputs, List.of(new File(outputPath)));
+        MergedOutput output = new MergedOutput(outputPath);
+        try {
+            execute(inputs, input -> process(input, null), output);
+        } catch (IOException | RuntimeException e) {
+            output.abort();
+            throw e;
+        }
+        output.finish();
+        if (output.isWritten()) {
+            bytesWritten += new File(outputPath).length();
+        }
+    }
+    
+    /**
+     * Fails when one of the outputs is also an input, as it would be read while being written
+     */
+    private static void rejectOutputs(List<File> inputs, List<File> outputs) throws IOException {
+        Set<Path> inputPaths = new HashSet<>();
+        for (File input : inputs) {
+            inputPaths.add(normalize(input));
+        }
+        for (File output : outputs) {
+            if (inputPaths.contains(normalize(output))) {
+                throw new IOException("Output '" + output.getPath() + "' is also an input file.");
+            }
+        }
+    }
+    
+    int getFilesProcessed() {
+        return filesProcessed;
+    }
+    
+    int getFilesFailed() {
+        return failures.size();
+    }
+    
+    /**
+     * Returns one "file: reason" line per input that could not be processed
+     */
+    List<String> getFailures() {
+        return failures;
+    }
+    
+    long getRowsRead() {
+        return rowsRead;
+    }
+    
+    long getRowsWritten() {
+        return rowsWritten;
+    }
+    
+    long getBytesRead() {
+        return bytesRead;
+    }
+    
+    long getBytesWritten() {
+        return bytesWritten;
+    }
+    
+    /**
+     * Runs the task of every input on the pool and collects the results in input order
+     */
+    private void execute(List<File> inputs, FileTask task, MergedOutput output) throws IOException {
+        ExecutorService pool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "file-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Deque<Future<FileResult>> inFlight = new ArrayDeque<>();
+        try {
+            for (File input : inputs) {
+                if (inFlight.size() == workers * 2) {
+                    collect(await(inFlight.poll()), output);
+                }
+                inFlight.add(pool.submit(() -> task.process(input)));
+            }
+            while (!inFlight.isEmpty()) {
+                collect(await(inFlight.poll()), output);
+            }
+        } finally {
+            for (Future<FileResult> pending : inFlight) {
+                pending.cancel(true);
+            }
+            pool.shutdownNow();
+        }
+    }
+    
+    /**
+     * Adds a finished file to the totals and, in merged mode, writes its rows
+     */
+    private void collect(FileResult result, MergedOutput output) throws IOException {
+        if (result.error != null) {
+            failures.add(result.input.getPath() + ": " + result.error.getMessage());
+            return;
+        }
+        filesProcessed++;
+        rowsRead += result.rowsRead;
+        bytesRead += result.input.length();
+        if (output != null) {
+            long start = System.nanoTime();
+            output.write(result.rows);
+            record(PipelineMetrics.Stage.LOAD, start);
+            rowsWritten += result.rows.size();
+        } else {
+            rowsWritten += result.rowsWritten;
+            if (result.rowsWritten > 0) {
+                bytesWritten += result.output.length();
+            }
+        }
+    }
+    
+    /**
+     * Extracts and transforms one file, loading it to output unless output is null
+     * A file that cannot be read or written is returned as a failed result
+     */
+    private FileResult process(File input, File output) {
+        FileResult result = new FileResult(input, output);
+        try {
+            long start = System.nanoTime();
+            List<Product> products = extractor.extract(input.getPath());
+            record(PipelineMetrics.Stage.EXTRACT, start);
+            result.rowsRead = products.size();
+            
+            start = System.nanoTime();
+            List<Product> transformed = transform(products);
+            record(PipelineMetrics.Stage.TRANSFORM, start);
+            
+            if (output == null) {
+                result.rows = transformed;
+            } else if (!transformed.isEmpty()) {
+                start = System.nanoTime();
+                loader.load(transformed, output.getPath());
+                record(PipelineMetrics.Stage.LOAD, start);
+                result.rowsWritten = transformed.size();
+            }
+        } catch (IOException e) {
+            result.error = e;
+        }
+        return result;
+    }
+    
+    /**
+     * Transforms a file's rows in place when possible; a transformer that is not
+     * known to be thread-safe is used by one worker at a time
+     */
+    private List<Product> transform(List<Product> products) {
+        if (transformerThreadSafe) {
+            return ((InPlaceDataTransformer) transformer).transformInPlace(products);
+        }
+        synchronized (transformer) {
+            return transformer instanceof InPlaceDataTransformer
+                    ? ((InPlaceDataTransformer) transformer).transformInPlace(products)
+                    : transformer.transform(products);
+        }
+    }
+    
+    private void record(PipelineMetrics.Stage stage, long start) {
+        if (metrics != null) {
+            metrics.recordStageTime(stage, System.nanoTime() - start);
+        }
+    }
+    
+    /**
+     * Waits for a file, rethrowing any unexpected failure from the worker
+     */
+    private static FileResult await(Future<FileResult> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a file to be processed.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException("File processing failed.", cause);
+        }
+    }
+    
+    /**
+     * Work done by a worker for one input file
+     */
+    private interface FileTask {
+        FileResult process(File input);
+    }
+    
+    /**
+     * Outcome of one input file
+     */
+    private static class FileResult {
+        final File input;
+        final File output;
+        List<Product> rows;
+        long rowsRead;
+        long rowsWritten;
+        IOException error;
+        
+        FileResult(File input, File output) {
+            this.input = input;
+            this.output = output;
+        }
+    }
+    
+    /**
+     * The single output of merged mode
+     * Streaming loaders receive each file's rows as it completes; other loaders
+     * get all rows in one load call when the output is closed
+     */
+    private class MergedOutput {
+        private final String outputPath;
+        private final List<Product> pending = new ArrayList<>();
+        private ProductSink sink;
+        private boolean written;
+        
+        MergedOutput(String outputPath) {
+            this.outputPath = outputPath;
+        }
+        
+        void write(List<Product> rows) throws IOException {
+            if (rows.isEmpty()) {
+                return;
+            }
+            if (!(loader instanceof StreamingDataLoader)) {
+                pending.addAll(rows);
+                return;
+            }
+            if (sink == null) {
+                sink = ((StreamingDataLoader) loader).open(outputPath);
+            }
+            for (Product product : rows) {
+                sink.accept(product);
+            }
+        }
+        
+        boolean isWritten() {
+            return written;
+        }
+        
+        /**
+         * Completes the output once every file has been written
+         */
+        void finish() throws IOException {
+            if (sink != null) {
+                sink.close();
+                written = true;
+            } else if (!pending.isEmpty()) {
+                loader.load(pending, outputPath);
+                written = true;
+            }
+        }
+        
+        /**
+         * Releases the output after a failure, leaving whatever was written so far
+         */
+        void abort() {
+            if (sink != null) {
+                try {
+                    sink.close();
+                } catch (IOException e) {
+                    System.err.println("Warning: Could not close merged output: " + e.getMessage());
+                }
+            }
+        }
+    }
+}
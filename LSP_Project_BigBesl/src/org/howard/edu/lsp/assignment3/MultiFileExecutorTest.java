@@ -0,0 +1,136 @@
+package org.howard.edu.lsp.assignment3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit test suite for multi-file runs.
+ * Runs a directory of shards per file and merged, and compares with single-file runs.
+ */
+public class MultiFileExecutorTest extends SilentConsoleTest {
+    
+    private static final int SHARDS = 7;
+    
+    private Path writeShards() throws IOException {
+        Path shards = directory.resolve("shards");
+        Files.createDirectories(shards);
+        for (int i = 0; i < SHARDS; i++) {
+            new ProductsFileGenerator(0.2, false, i).generate(500 + i * 100,
+                    shards.resolve("products-" + i + ".csv").toString());
+        }
+        Files.write(shards.resolve("notes.txt"), "not a shard".getBytes());
+        return shards;
+    }
+    
+    private List<String> singleFileOutput(Path input) throws IOException {
+        String output = directory.resolve("single.csv").toString();
+        new ETLPipeline().run(input.toString(), output);
+        return Files.readAllLines(new File(output).toPath());
+    }
+    
+    /**
+     * Returns the single-file outputs of all shards concatenated under one header
+     */
+    private List<String> mergedSingleFileOutputs(Path shards) throws IOException {
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            List<String> lines = singleFileOutput(shards.resolve("products-" + i + ".csv"));
+            expected.addAll(i == 0 ? lines : lines.subList(1, lines.size()));
+        }
+        return expected;
+    }
+    
+    /**
+     * Verifies every shard of a directory gets the output of a single-file run, and a bad file is reported.
+     */
+    @Test
+    public void perFileOutputsMatchSingleFileRuns() throws IOException {
+        Path shards = writeShards();
+        Files.write(shards.resolve("products-empty.csv"), new byte[0]);
+        
+        MultiFileExecutor executor = new MultiFileExecutor(new CSVDataExtractor(), new ProductDataTransformer(),
+                new CSVDataLoader(), 3, null);
+        List<File> inputs = MultiFileExecutor.resolveInputs(shards.resolve("products-*.csv").toString());
+        assertEquals(SHARDS + 1, inputs.size());
+        File outputDirectory = directory.resolve("out").toFile();
+        executor.executePerFile(inputs, outputDirectory);
+        
+        assertEquals(SHARDS, executor.getFilesProcessed());
+        assertEquals(1, executor.getFilesFailed());
+        assertTrue(executor.getFailures().get(0).contains("products-empty.csv"));
+        long rows = 0;
+        for (int i = 0; i < SHARDS; i++) {
+            Path input = shards.resolve("products-" + i + ".csv");
+            File output = MultiFileExecutor.outputFor(input.toFile(), outputDirectory);
+            List<String> lines = Files.readAllLines(output.toPath());
+            assertEquals(singleFileOutput(input), lines);
+            rows += lines.size() - 1;
+        }
+        assertEquals(rows, executor.getRowsWritten());
+        assertEquals(rows, executor.getRowsRead());
+    }
+    
+    /**
+     * Verifies a merged run writes every shard's rows in file name order, whatever the number of workers.
+     */
+    @Test
+    public void mergedOutputKeepsInputOrder() throws IOException {
+        Path shards = writeShards();
+        List<File> inputs = MultiFileExecutor.resolveInputs(shards.resolve("*.csv").toString());
+        assertEquals(SHARDS, inputs.size());
+        assertEquals(SHARDS + 1, MultiFileExecutor.resolveInputs(shards.toString()).size());
+        assertThrows(IOException.class, () -> MultiFileExecutor.resolveInputs(shards.resolve("*.json").toString()));
+        
+        List<String> expected = mergedSingleFileOutputs(shards);
+        
+        for (int workers : new int[] { 1, 4 }) {
+            String output = directory.resolve("merged-" + workers + ".csv").toString();
+            MultiFileExecutor executor = new MultiFileExecutor(new CSVDataExtractor(), new ProductDataTransformer(),
+                    new BufferedCSVDataLoader(), workers, null);
+            executor.executeMerged(inputs, output);
+            assertEquals(SHARDS, executor.getFilesProcessed());
+            assertEquals(expected.size() - 1, executor.getRowsWritten());
+            assertEquals(expected, Files.readAllLines(new File(output).toPath()));
+        }
+    }
+    
+    /**
+     * Verifies rerunning with the outputs inside the input directory never reads them back as inputs.
+     */
+    @Test
+    public void outputsInsideTheInputDirectoryAreNotInputs() throws IOException {
+        Path shards = writeShards();
+        List<String> expected = mergedSingleFileOutputs(shards);
+        String inputs = shards.resolve("*.csv").toString();
+        File merged = shards.resolve(MultiFileExecutor.OUTPUT_PREFIX + "products.csv").toFile();
+        for (int run = 0; run < 2; run++) {
+            ETLPipeline pipeline = new ETLPipeline();
+            pipeline.runMultiFile(inputs, merged.getPath(), true, 3);
+            assertFalse(pipeline.hasFailed());
+            assertEquals(expected, Files.readAllLines(merged.toPath()));
+            
+            pipeline = new ETLPipeline();
+            pipeline.runMultiFile(inputs, shards.toString(), false, 3);
+            assertFalse(pipeline.hasFailed());
+        }
+        assertEquals(SHARDS, MultiFileExecutor.resolveInputs(inputs, merged, true).size());
+        assertEquals(SHARDS, MultiFileExecutor.resolveInputs(inputs, shards.toFile(), false).size());
+        assertEquals(2 * SHARDS + 1,
+                MultiFileExecutor.resolveInputs(inputs, directory.resolve("out.csv").toFile(), true).size());
+        
+        List<File> withOutput = MultiFileExecutor.resolveInputs(inputs);
+        MultiFileExecutor executor = new MultiFileExecutor(new CSVDataExtractor(), new ProductDataTransformer(),
+                new CSVDataLoader(), 3, null);
+        assertThrows(IOException.class, () -> executor.executeMerged(withOutput, merged.getPath()));
+        assertThrows(IOException.class, () -> executor.executePerFile(withOutput, shards.toFile()));
+        assertEquals(expected, Files.readAllLines(merged.toPath()));
+    }
+}
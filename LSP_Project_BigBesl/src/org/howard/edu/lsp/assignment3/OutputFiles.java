@@ -0,0 +1,71 @@
+/**
+ * Name: Bryce Ly
+ * OutputFiles - Helpers for writing output files aside and swapping them in
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * File helpers for outputs that are assembled in a temporary file and then
+ * moved over the real output, so readers never see a partial file
+ */
+final class OutputFiles {
+    
+    private OutputFiles() {
+    }
+    
+    /**
+     * Returns the temporary file an output is assembled in before replacing it
+     * It sits next to the output, so the final move stays on one file system,
+     * and keeps the output's compression extension, so it is written in the same format
+     */
+    static File tempFor(File output) {
+        String path = output.getPath();
+        String extension = Compression.forOutput(output).getExtension();
+        return new File(path.substring(0, path.length() - extension.length()) + ".tmp" + extension);
+    }
+    
+    /**
+     * Moves source over target, atomically when the file system supports it
+     */
+    static void replace(File source, File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
+    /**
+     * Flushes the file's content to the storage device
+     */
+    static void force(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+    
+    /**
+     * Appends source[start, end) to target at its current position
+     * @return Number of bytes copied
+     */
+    static long copy(FileChannel source, long start, long end, FileChannel target) throws IOException {
+        long position = start;
+        while (position < end) {
+            long transferred = source.transferTo(position, end - position, target);
+            if (transferred <= 0) {
+                throw new IOException("Unexpected end of file while copying.");
+            }
+            position += transferred;
+        }
+        return end - start;
+    }
+}
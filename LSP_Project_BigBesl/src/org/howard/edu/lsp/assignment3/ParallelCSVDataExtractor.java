@@ -0,0 +1,408 @@
+/**
+ * Name: Bryce Ly
+ * ParallelCSVDataExtractor - Multi-core, chunked implementation of DataExtractor
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * CSV extractor that parses independent byte ranges of the file in parallel
+ * The data rows are split into chunks aligned to line boundaries and parsed
+ * on a ForkJoinPool. Results are emitted strictly in file order, and the
+ * warnings for skipped rows carry the same line numbers as CSVDataExtractor.
+ * At most two chunks per worker are held in memory at any time. A compressed
+ * input is decompressed on the calling thread into line-aligned heap chunks,
+ * so decompression overlaps with parsing on the workers.
+ */
+public class ParallelCSVDataExtractor implements StreamingDataExtractor, MetricsAware, RejectedRowAware {
+    private static final int DEFAULT_CHUNK_SIZE = 16 * 1024 * 1024;
+    private static final int HEADER_WINDOW_SIZE = 1024 * 1024;
+    private static final int BOUNDARY_PROBE_SIZE = 8 * 1024;
+    
+    private final int parallelism;
+    private final int chunkSize;
+    private PipelineMetrics metrics;
+    private RejectedRowSink rejects;
+    
+    public ParallelCSVDataExtractor() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+    }
+    
+    /**
+     * Constructor with explicit tuning
+     * @param parallelism Number of worker threads parsing chunks
+     * @param chunkSize Target size in bytes of each chunk (rounded up to the next line end)
+     */
+    public ParallelCSVDataExtractor(int parallelism, int chunkSize) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1");
+        }
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+    }
+    
+    @Override
+    public void setMetrics(PipelineMetrics metrics) {
+        this.metrics = metrics;
+    }
+    
+    @Override
+    public void setRejectedRowSink(RejectedRowSink rejects) {
+        this.rejects = rejects;
+    }
+    
+    @Override
+    public void extract(String filePath, ProductSink sink) throws IOException {
+        File file = new File(filePath);
+        CSVDataExtractor.validateFile(file);
+        
+        System.out.println("Reading data from: " + file.getAbsolutePath());
+        Rejects rejects = new Rejects(this.rejects != null ? this.rejects : new RejectedRowSink(), file.getPath());
+        try {
+            if (Compression.detect(file) != Compression.NONE) {
+                try (InputStream in = Compression.openInput(file)) {
+                    readFromStream(in, sink, rejects);
+                }
+                return;
+            }
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                readFromChannel(channel, sink, rejects);
+            }
+        } finally {
+            if (rejects.sink != this.rejects) {
+                rejects.sink.close();
+            }
+        }
+    }
+    
+    /**
+     * Reads the header, splits the data rows into chunks and emits the parsed chunks in order
+     */
+    private void readFromChannel(FileChannel channel, ProductSink sink, Rejects rejects) throws IOException {
+        long size = channel.size();
+        MappedByteBuffer headerWindow = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                Math.min(size, HEADER_WINDOW_SIZE));
+        int headerLimit = headerWindow.limit();
+        int headerEnd = ByteRowParser.lineEnd(headerWindow, 0, headerLimit);
+        if (headerEnd == headerLimit && headerLimit < size) {
+            throw new IOException("Header line is longer than " + HEADER_WINDOW_SIZE + " bytes.");
+        }
+        
+        String header = ByteRowParser.decode(headerWindow, 0, headerEnd);
+        boolean usesTabs = header.contains("\t") && !header.contains(",");
+        CSVDataExtractor.validateHeader(header);
+        
+        long dataStart = ByteRowParser.nextLineStart(headerWindow, headerEnd, headerLimit);
+        Iterator<long[]> chunks = splitIntoChunks(channel, dataStart, size).iterator();
+        parseInOrder(() -> {
+            if (!chunks.hasNext()) {
+                return null;
+            }
+            long[] range = chunks.next();
+            return channel.map(FileChannel.MapMode.READ_ONLY, range[0], range[1] - range[0]);
+        }, usesTabs, sink, rejects);
+    }
+    
+    /**
+     * Reads the header from the first decompressed chunk, then parses the rest of the stream chunk by chunk
+     */
+    private void readFromStream(InputStream in, ProductSink sink, Rejects rejects) throws IOException {
+        StreamChunker chunker = new StreamChunker(in, chunkSize);
+        ByteBuffer first = chunker.next();
+        if (first == null) {
+            throw new IOException("Input file is empty.");
+        }
+        
+        int headerLimit = first.limit();
+        int headerEnd = ByteRowParser.lineEnd(first, 0, headerLimit);
+        String header = ByteRowParser.decode(first, 0, headerEnd);
+        boolean usesTabs = header.contains("\t") && !header.contains(",");
+        CSVDataExtractor.validateHeader(header);
+        
+        ByteBuffer firstData = first.position(ByteRowParser.nextLineStart(first, headerEnd, headerLimit)).slice();
+        parseInOrder(new ChunkSource() {
+            private boolean firstReturned;
+            
+            @Override
+            public ByteBuffer next() throws IOException {
+                if (!firstReturned) {
+                    firstReturned = true;
+                    return firstData;
+                }
+                return chunker.next();
+            }
+        }, usesTabs, sink, rejects);
+    }
+    
+    /**
+     * Parses the chunks of source on the pool and emits the results in order
+     */
+    private void parseInOrder(ChunkSource source, boolean usesTabs, ProductSink sink, Rejects rejects)
+            throws IOException {
+        ForkJoinPool pool = WorkerPools.get(parallelism);
+        Deque<Future<ChunkResult>> inFlight = new ArrayDeque<>();
+        try {
+            int lineNumber = 1;
+            int invalidRows = 0;
+            boolean exhausted = false;
+            
+            while (!exhausted || !inFlight.isEmpty()) {
+                while (!exhausted && inFlight.size() < parallelism * 2) {
+                    ByteBuffer chunk = source.next();
+                    if (chunk == null) {
+                        exhausted = true;
+                    } else {
+                        inFlight.add(pool.submit(() -> parseChunk(chunk, usesTabs)));
+                    }
+                }
+                if (inFlight.isEmpty()) {
+                    break;
+                }
+                
+                ChunkResult result = await(inFlight.poll());
+                invalidRows += result.emit(sink, lineNumber, metrics, rejects);
+                lineNumber += result.lines;
+            }
+            
+            if (invalidRows > 0) {
+                System.out.println("Skipped " + invalidRows + " invalid rows during extraction.");
+            }
+        } finally {
+            for (Future<ChunkResult> pending : inFlight) {
+                pending.cancel(true);
+            }
+        }
+    }
+    
+    /**
+     * Splits [dataStart, size) into ranges of roughly chunkSize bytes, each
+     * ending just after a '\n' (or at end of file) so no line is ever split
+     */
+    private List<long[]> splitIntoChunks(FileChannel channel, long dataStart, long size) throws IOException {
+        List<long[]> chunks = new ArrayList<>();
+        ByteBuffer probe = ByteBuffer.allocate(BOUNDARY_PROBE_SIZE);
+        long start = dataStart;
+        
+        while (start < size) {
+            long end = start + chunkSize >= size ? size : nextLineStart(channel, start + chunkSize, size, probe);
+            if (end - start > Integer.MAX_VALUE) {
+                throw new IOException("Line starting near byte " + start + " is too long to map.");
+            }
+            chunks.add(new long[] { start, end });
+            start = end;
+        }
+        return chunks;
+    }
+    
+    /**
+     * Returns the offset just past the first '\n' at or after position, or size if there is none
+     */
+    private static long nextLineStart(FileChannel channel, long position, long size, ByteBuffer probe)
+            throws IOException {
+        while (position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+    
+    /**
+     * Parses one line-aligned chunk on a worker thread, numbering its lines from 1
+     */
+    private static ChunkResult parseChunk(ByteBuffer chunk, boolean usesTabs) {
+        ByteRowParser parser = new ByteRowParser(usesTabs);
+        ChunkResult result = new ChunkResult();
+        int limit = chunk.limit();
+        int start = 0;
+        
+        while (start < limit) {
+            int lineEnd = ByteRowParser.lineEnd(chunk, start, limit);
+            result.lines++;
+            
+            if (ByteRowParser.isBlank(chunk, start, lineEnd)) {
+                result.skipped.add(new SkippedRow(result.lines, InvalidRowReason.EMPTY_LINE, null));
+            } else {
+                Product product = parser.parse(chunk, start, lineEnd);
+                if (product != null) {
+                    result.products.add(product);
+                } else {
+                    result.skipped.add(new SkippedRow(result.lines, parser.lastError(),
+                            ByteRowParser.decode(chunk, start, lineEnd)));
+                }
+            }
+            start = ByteRowParser.nextLineStart(chunk, lineEnd, limit);
+        }
+        return result;
+    }
+    
+    /**
+     * Waits for a chunk, rethrowing any I/O failure from the worker
+     */
+    private static ChunkResult await(Future<ChunkResult> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a chunk to be parsed.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("Chunk parsing failed.", cause);
+        }
+    }
+    
+    /**
+     * Supplier of the line-aligned chunks to parse, in input order
+     */
+    private interface ChunkSource {
+        /**
+         * Returns the next chunk, or null once the input is exhausted
+         */
+        ByteBuffer next() throws IOException;
+    }
+    
+    /**
+     * Cuts a decompressed stream into heap chunks of about chunkSize bytes,
+     * each ending just after a '\n' (or at end of input)
+     */
+    private static class StreamChunker {
+        private final InputStream in;
+        private byte[] buffer;
+        private int filled;
+        private boolean endOfInput;
+        
+        StreamChunker(InputStream in, int chunkSize) {
+            this.in = in;
+            this.buffer = new byte[chunkSize];
+        }
+        
+        ByteBuffer next() throws IOException {
+            int searchFrom = 0;
+            while (true) {
+                if (!endOfInput) {
+                    int read = in.readNBytes(buffer, filled, buffer.length - filled);
+                    filled += read;
+                    endOfInput = filled < buffer.length;
+                }
+                if (filled == 0) {
+                    return null;
+                }
+                
+                int cut = filled;
+                if (!endOfInput) {
+                    cut = 0;
+                    for (int i = filled - 1; i >= searchFrom; i--) {
+                        if (buffer[i] == '\n') {
+                            cut = i + 1;
+                            break;
+                        }
+                    }
+                    if (cut == 0) {
+                        searchFrom = filled;
+                        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                        continue;
+                    }
+                }
+                
+                byte[] chunk = Arrays.copyOf(buffer, cut);
+                System.arraycopy(buffer, cut, buffer, 0, filled - cut);
+                filled -= cut;
+                return ByteBuffer.wrap(chunk);
+            }
+        }
+    }
+    
+    /**
+     * The sink receiving one extraction's skipped rows and the input they come from
+     */
+    private static class Rejects {
+        final RejectedRowSink sink;
+        final String source;
+        
+        Rejects(RejectedRowSink sink, String source) {
+            this.sink = sink;
+            this.source = source;
+        }
+    }
+    
+    /**
+     * Rows skipped within a chunk, numbered relative to the chunk's first line
+     */
+    private static class SkippedRow {
+        final int line;
+        final InvalidRowReason reason;
+        final String text;
+        
+        SkippedRow(int line, InvalidRowReason reason, String text) {
+            this.line = line;
+            this.reason = reason;
+            this.text = text;
+        }
+    }
+    
+    /**
+     * Parsed products and skipped rows of a single chunk
+     */
+    private static class ChunkResult {
+        final List<Product> products = new ArrayList<>();
+        final List<SkippedRow> skipped = new ArrayList<>();
+        int lines;
+        
+        /**
+         * Reports this chunk's skipped rows and pushes its products to the sink
+         * @param lineBefore Absolute line number of the line preceding the chunk
+         * @param metrics Registry counting the skipped rows, or null
+         * @return Number of invalid (non-empty) rows in the chunk
+         */
+        int emit(ProductSink sink, int lineBefore, PipelineMetrics metrics, Rejects rejects) throws IOException {
+            int invalidRows = 0;
+            for (SkippedRow row : skipped) {
+                if (row.reason != InvalidRowReason.EMPTY_LINE) {
+                    invalidRows++;
+                }
+                rejects.sink.reject(rejects.source, row.reason, lineBefore + row.line, row.text);
+                if (metrics != null) {
+                    metrics.recordSkippedRow(row.reason);
+                }
+            }
+            for (Product product : products) {
+                sink.accept(product);
+            }
+            return invalidRows;
+        }
+    }
+}
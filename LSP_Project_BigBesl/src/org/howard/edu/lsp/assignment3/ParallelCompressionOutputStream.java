@@ -0,0 +1,175 @@
+/**
+ * Name: Bryce Ly
+ * ParallelCompressionOutputStream - Compresses output blocks on several threads
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Output stream that cuts the data into fixed-size blocks and compresses them
+ * independently on a thread pool
+ * Compressed blocks are written in order, so the file is the same whatever the
+ * number of threads. At most two blocks per thread are in flight, which bounds
+ * memory, and the writer only waits when the oldest block is not done yet.
+ * The compression format supplies the framing: gzip writes every block as its
+ * own gzip member (readers decode concatenated members as one stream), and
+ * LZ_BLOCK writes a length-prefixed block per chunk.
+ */
+final class ParallelCompressionOutputStream extends OutputStream {
+    private final OutputStream out;
+    private final Compression compression;
+    private final int blockSize;
+    private final int maxInFlight;
+    private final ExecutorService pool;
+    private final Deque<Future<byte[]>> inFlight = new ArrayDeque<>();
+    private final Deque<byte[]> freeBuffers = new ArrayDeque<>();
+    private byte[] buffer;
+    private int position;
+    private boolean blockWritten;
+    private boolean closed;
+    
+    /**
+     * @param out Destination of the compressed stream; closed with this stream
+     * @param compression Format of each compressed block
+     * @param blockSize Number of uncompressed bytes per block
+     * @param threads Number of compression threads
+     */
+    ParallelCompressionOutputStream(OutputStream out, Compression compression, int blockSize, int threads)
+            throws IOException {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be at least 1 byte");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads must be at least 1");
+        }
+        this.out = out;
+        this.compression = compression;
+        this.blockSize = blockSize;
+        this.maxInFlight = threads * 2;
+        this.pool = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "compression-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.buffer = new byte[blockSize];
+        compression.writeHeader(out);
+    }
+    
+    @Override
+    public void write(int b) throws IOException {
+        if (position == blockSize) {
+            submitBlock();
+        }
+        buffer[position++] = (byte) b;
+    }
+    
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (position == blockSize) {
+                submitBlock();
+            }
+            int count = Math.min(length, blockSize - position);
+            System.arraycopy(bytes, offset, buffer, position, count);
+            position += count;
+            offset += count;
+            length -= count;
+        }
+    }
+    
+    /**
+     * Compresses and writes everything written so far, leaving the stream open
+     * The partial block is compressed as a short block.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (position > 0) {
+            submitBlock();
+        }
+        while (!inFlight.isEmpty()) {
+            writeOldest();
+        }
+        out.flush();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (position > 0 || !blockWritten) {
+                submitBlock();
+            }
+            while (!inFlight.isEmpty()) {
+                writeOldest();
+            }
+            compression.writeTrailer(out);
+        } finally {
+            for (Future<byte[]> pending : inFlight) {
+                pending.cancel(true);
+            }
+            pool.shutdownNow();
+            out.close();
+        }
+    }
+    
+    /**
+     * Hands the current buffer to the pool, first writing the oldest block if too many are pending
+     */
+    private void submitBlock() throws IOException {
+        if (inFlight.size() == maxInFlight) {
+            writeOldest();
+        }
+        byte[] block = buffer;
+        int length = position;
+        inFlight.add(pool.submit(() -> {
+            byte[] compressed = compression.encodeBlock(block, length);
+            synchronized (freeBuffers) {
+                freeBuffers.add(block);
+            }
+            return compressed;
+        }));
+        blockWritten = true;
+        
+        synchronized (freeBuffers) {
+            buffer = freeBuffers.isEmpty() ? new byte[blockSize] : freeBuffers.poll();
+        }
+        position = 0;
+    }
+    
+    private void writeOldest() throws IOException {
+        out.write(await(inFlight.poll()));
+    }
+    
+    /**
+     * Waits for a block, rethrowing any I/O failure from the worker
+     */
+    private static byte[] await(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a block to be compressed.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("Block compression failed.", cause);
+        }
+    }
+}
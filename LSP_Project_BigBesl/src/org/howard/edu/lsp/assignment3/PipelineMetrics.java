@@ -0,0 +1,335 @@
+/**
+ * Name: Bryce Ly
+ * PipelineMetrics - Registry of timing, throughput and error counters for a pipeline run
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Thread-safe registry filled in by ETLPipeline and its stages
+ * Records per-stage wall time, rows and bytes in and out, skipped rows by
+ * reason, and the garbage collections and allocation that happened during
+ * the run. Allocation only covers the threads that ran a stage (fork/join
+ * helper threads of the parallel stages are not included). The counters can
+ * be read as a structured snapshot, printed as a report, or published over
+ * JMX with register().
+ */
+public final class PipelineMetrics implements PipelineMetricsMXBean {
+    /**
+     * Default JMX name used by register()
+     */
+    public static final String OBJECT_NAME = "org.howard.edu.lsp.assignment3:type=PipelineMetrics";
+    
+    /**
+     * The timed stages of a pipeline run
+     */
+    public enum Stage {
+        EXTRACT, TRANSFORM, LOAD
+    }
+    
+    private final Map<Stage, LongAdder> stageNanos = new EnumMap<>(Stage.class);
+    private final Map<InvalidRowReason, LongAdder> skippedRows = new EnumMap<>(InvalidRowReason.class);
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    
+    private volatile long elapsedNanos;
+    private volatile long gcCount;
+    private volatile long gcMillis;
+    private long startNanos;
+    private long startGcCount;
+    private long startGcMillis;
+    private long startAllocatedBytes;
+    
+    public PipelineMetrics() {
+        for (Stage stage : Stage.values()) {
+            stageNanos.put(stage, new LongAdder());
+        }
+        for (InvalidRowReason reason : InvalidRowReason.values()) {
+            skippedRows.put(reason, new LongAdder());
+        }
+    }
+    
+    /**
+     * Marks the start of a run on the calling thread and clears the previous run's counters
+     */
+    public synchronized void begin() {
+        reset();
+        startGcCount = totalGcCount();
+        startGcMillis = totalGcMillis();
+        startAllocatedBytes = currentThreadAllocatedBytes();
+        startNanos = System.nanoTime();
+    }
+    
+    /**
+     * Marks the end of the run started by begin(); must be called on the same thread
+     */
+    public synchronized void end() {
+        elapsedNanos = System.nanoTime() - startNanos;
+        gcCount = totalGcCount() - startGcCount;
+        gcMillis = totalGcMillis() - startGcMillis;
+        long allocated = currentThreadAllocatedBytes();
+        if (allocated >= 0 && startAllocatedBytes >= 0) {
+            allocatedBytes.addAndGet(allocated - startAllocatedBytes);
+        }
+    }
+    
+    /**
+     * Adds wall time spent in a stage
+     */
+    public void recordStageTime(Stage stage, long nanos) {
+        stageNanos.get(stage).add(nanos);
+    }
+    
+    public void recordRowsRead(long rows) {
+        rowsRead.addAndGet(rows);
+    }
+    
+    public void recordRowsWritten(long rows) {
+        rowsWritten.addAndGet(rows);
+    }
+    
+    public void recordBytesRead(long bytes) {
+        bytesRead.addAndGet(bytes);
+    }
+    
+    public void recordBytesWritten(long bytes) {
+        bytesWritten.addAndGet(bytes);
+    }
+    
+    /**
+     * Counts one row skipped by an extractor
+     */
+    public void recordSkippedRow(InvalidRowReason reason) {
+        skippedRows.get(reason).increment();
+    }
+    
+    /**
+     * Adds memory allocated by a stage running on a thread other than the one that called begin()
+     */
+    public void recordAllocatedBytes(long bytes) {
+        if (bytes > 0) {
+            allocatedBytes.addAndGet(bytes);
+        }
+    }
+    
+    /**
+     * Returns the bytes allocated so far by the calling thread, or -1 if the JVM cannot tell
+     */
+    public static long currentThreadAllocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+            if (hotspot.isThreadAllocatedMemorySupported() && hotspot.isThreadAllocatedMemoryEnabled()) {
+                return hotspot.getCurrentThreadAllocatedBytes();
+            }
+        }
+        return -1;
+    }
+    
+    @Override
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+    
+    @Override
+    public long getExtractMillis() {
+        return getStageMillis(Stage.EXTRACT);
+    }
+    
+    @Override
+    public long getTransformMillis() {
+        return getStageMillis(Stage.TRANSFORM);
+    }
+    
+    @Override
+    public long getLoadMillis() {
+        return getStageMillis(Stage.LOAD);
+    }
+    
+    public long getStageMillis(Stage stage) {
+        return TimeUnit.NANOSECONDS.toMillis(stageNanos.get(stage).sum());
+    }
+    
+    @Override
+    public long getRowsRead() {
+        return rowsRead.get();
+    }
+    
+    @Override
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+    
+    /**
+     * Rows read per second of elapsed run time, or 0 before the run has ended
+     */
+    @Override
+    public double getRowsPerSecond() {
+        long elapsed = elapsedNanos;
+        return elapsed == 0 ? 0 : rowsRead.get() * 1e9 / elapsed;
+    }
+    
+    @Override
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+    
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+    
+    /**
+     * Rows skipped for any reason other than being empty
+     */
+    @Override
+    public long getInvalidRows() {
+        long invalid = 0;
+        for (Map.Entry<InvalidRowReason, LongAdder> entry : skippedRows.entrySet()) {
+            if (entry.getKey() != InvalidRowReason.EMPTY_LINE) {
+                invalid += entry.getValue().sum();
+            }
+        }
+        return invalid;
+    }
+    
+    public long getSkippedRows(InvalidRowReason reason) {
+        return skippedRows.get(reason).sum();
+    }
+    
+    /**
+     * Skipped rows keyed by reason description, empty lines included; reasons never seen are omitted
+     */
+    @Override
+    public Map<String, Long> getInvalidRowsByReason() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Map.Entry<InvalidRowReason, LongAdder> entry : skippedRows.entrySet()) {
+            long count = entry.getValue().sum();
+            if (count > 0) {
+                counts.put(entry.getKey().getDescription(), count);
+            }
+        }
+        return counts;
+    }
+    
+    @Override
+    public long getGcCount() {
+        return gcCount;
+    }
+    
+    @Override
+    public long getGcMillis() {
+        return gcMillis;
+    }
+    
+    /**
+     * Bytes allocated by the threads that ran the pipeline, or 0 if the JVM cannot measure it
+     */
+    @Override
+    public long getAllocatedBytes() {
+        return allocatedBytes.get();
+    }
+    
+    @Override
+    public synchronized void reset() {
+        for (LongAdder adder : stageNanos.values()) {
+            adder.reset();
+        }
+        for (LongAdder adder : skippedRows.values()) {
+            adder.reset();
+        }
+        rowsRead.set(0);
+        rowsWritten.set(0);
+        bytesRead.set(0);
+        bytesWritten.set(0);
+        allocatedBytes.set(0);
+        elapsedNanos = 0;
+        gcCount = 0;
+        gcMillis = 0;
+    }
+    
+    /**
+     * Returns every metric as an ordered name-to-value map
+     * Skipped rows appear as "skipped.<reason>" entries
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("elapsed.millis", getElapsedMillis());
+        values.put("extract.millis", getExtractMillis());
+        values.put("transform.millis", getTransformMillis());
+        values.put("load.millis", getLoadMillis());
+        values.put("rows.read", getRowsRead());
+        values.put("rows.written", getRowsWritten());
+        values.put("rows.per.second", Math.round(getRowsPerSecond()));
+        values.put("bytes.read", getBytesRead());
+        values.put("bytes.written", getBytesWritten());
+        values.put("rows.invalid", getInvalidRows());
+        for (Map.Entry<String, Long> entry : getInvalidRowsByReason().entrySet()) {
+            values.put("skipped." + entry.getKey().replace(' ', '.'), entry.getValue());
+        }
+        values.put("gc.count", getGcCount());
+        values.put("gc.millis", getGcMillis());
+        values.put("allocated.bytes", getAllocatedBytes());
+        return values;
+    }
+    
+    /**
+     * Formats the snapshot as one "name: value" line per metric
+     */
+    public String formatReport() {
+        StringBuilder report = new StringBuilder("Pipeline Metrics:");
+        for (Map.Entry<String, Object> entry : snapshot().entrySet()) {
+            report.append(System.lineSeparator()).append(entry.getKey()).append(": ").append(entry.getValue());
+        }
+        return report.toString();
+    }
+    
+    /**
+     * Publishes this registry on the platform MBean server under OBJECT_NAME
+     * @return The name the registry was registered under
+     * @throws JMException if the name is already taken or registration fails
+     */
+    public ObjectName register() throws JMException {
+        return register(ManagementFactory.getPlatformMBeanServer(), new ObjectName(OBJECT_NAME));
+    }
+    
+    /**
+     * Publishes this registry on the given MBean server
+     * @throws JMException if the name is already taken or registration fails
+     */
+    public ObjectName register(MBeanServer server, ObjectName name) throws JMException {
+        return server.registerMBean(this, name).getObjectName();
+    }
+    
+    private static long totalGcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, collector.getCollectionCount());
+        }
+        return total;
+    }
+    
+    private static long totalGcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, collector.getCollectionTime());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * Name: Bryce Ly
+ * PipelineMetricsMXBean interface - JMX view of PipelineMetrics
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.util.Map;
+
+/**
+ * Management interface exposing the metrics of the most recent pipeline run
+ * Times are in milliseconds and sizes in bytes
+ */
+public interface PipelineMetricsMXBean {
+    long getElapsedMillis();
+    
+    long getExtractMillis();
+    
+    long getTransformMillis();
+    
+    long getLoadMillis();
+    
+    long getRowsRead();
+    
+    long getRowsWritten();
+    
+    double getRowsPerSecond();
+    
+    long getBytesRead();
+    
+    long getBytesWritten();
+    
+    long getInvalidRows();
+    
+    Map<String, Long> getInvalidRowsByReason();
+    
+    long getGcCount();
+    
+    long getGcMillis();
+    
+    long getAllocatedBytes();
+    
+    /**
+     * Clears every counter
+     */
+    void reset();
+}
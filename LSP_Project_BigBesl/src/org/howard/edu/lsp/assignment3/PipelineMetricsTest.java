@@ -0,0 +1,123 @@
+package org.howard.edu.lsp.assignment3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit test suite for PipelineMetrics.
+ * Runs small pipelines with metrics enabled and checks the recorded counters.
+ */
+public class PipelineMetricsTest extends SilentConsoleTest {
+    
+    private static final String INPUT =
+        "ProductID,Name,Price,Category\n"
+        + "1,Laptop,1000.00,Electronics\n"
+        + "\n"
+        + "2,Pen,abc,Stationary\n"
+        + "3,Mouse\n"
+        + "4,Book,20.00,Education\n";
+    
+    private String writeInput() throws IOException {
+        Path input = directory.resolve("products.csv");
+        Files.write(input, INPUT.getBytes());
+        return input.toString();
+    }
+    
+    private PipelineMetrics runWithMetrics(ETLPipeline pipeline, String mode) throws IOException {
+        PipelineMetrics metrics = new PipelineMetrics();
+        pipeline.setMetrics(metrics);
+        String input = writeInput();
+        String output = directory.resolve("out" + mode + ".csv").toString();
+        
+        switch (mode) {
+            case "stream":
+                pipeline.runStreaming(input, output);
+                break;
+            case "pipelined":
+                pipeline.runPipelined(input, output, 2, 2);
+                break;
+            case "columnar":
+                pipeline.runColumnar(input, output);
+                break;
+            default:
+                pipeline.run(input, output);
+                break;
+        }
+        
+        assertEquals(new File(input).length(), metrics.getBytesRead());
+        assertEquals(new File(output).length(), metrics.getBytesWritten());
+        return metrics;
+    }
+    
+    /**
+     * Verifies every execution mode records the same rows and skipped-row reasons.
+     */
+    @Test
+    public void countsRowsAndSkippedRowsByReasonInEveryMode() throws IOException {
+        PipelineMetrics[] runs = {
+            runWithMetrics(new ETLPipeline(), "batch"),
+            runWithMetrics(new ETLPipeline(), "stream"),
+            runWithMetrics(new ETLPipeline(), "pipelined"),
+            runWithMetrics(ETLPipeline.createParallel(2), "batch"),
+            runWithMetrics(ETLPipeline.createColumnar(), "columnar")
+        };
+        
+        for (PipelineMetrics metrics : runs) {
+            assertEquals(2, metrics.getRowsRead());
+            assertEquals(2, metrics.getRowsWritten());
+            assertEquals(2, metrics.getInvalidRows());
+            assertEquals(1, metrics.getSkippedRows(InvalidRowReason.EMPTY_LINE));
+            assertEquals(1, metrics.getSkippedRows(InvalidRowReason.INSUFFICIENT_COLUMNS));
+            assertEquals(1, metrics.getSkippedRows(InvalidRowReason.NUMBER_FORMAT_ERROR));
+            assertTrue(metrics.getElapsedMillis() >= 0);
+        }
+    }
+    
+    /**
+     * Verifies the snapshot lists skipped reasons and that begin() clears the previous run.
+     */
+    @Test
+    public void snapshotReportsReasonsAndBeginResets() throws IOException {
+        PipelineMetrics metrics = runWithMetrics(new ETLPipeline(), "batch");
+        
+        Map<String, Object> snapshot = metrics.snapshot();
+        assertEquals(2L, snapshot.get("rows.read"));
+        assertEquals(1L, snapshot.get("skipped.number.format.error"));
+        assertTrue(metrics.formatReport().contains("rows.invalid: 2"));
+        
+        metrics.begin();
+        assertEquals(0, metrics.getRowsRead());
+        assertTrue(metrics.getInvalidRowsByReason().isEmpty());
+    }
+    
+    /**
+     * Verifies the registry can be read back through the platform MBean server.
+     */
+    @Test
+    public void exposesMetricsOverJmx() throws Exception {
+        PipelineMetrics metrics = runWithMetrics(new ETLPipeline(), "batch");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(PipelineMetrics.OBJECT_NAME + ",name=test");
+        
+        metrics.register(server, name);
+        try {
+            assertEquals(2L, server.getAttribute(name, "RowsRead"));
+            assertEquals(2L, server.getAttribute(name, "InvalidRows"));
+            server.invoke(name, "reset", null, null);
+            assertEquals(0L, metrics.getRowsRead());
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/**
+ * Name: Bryce Ly
+ * PipelinedExecutor - Runs extract, transform and load concurrently
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes the three ETL stages on separate threads connected by bounded queues
+ * Rows travel between stages in batches; a full queue blocks the upstream stage
+ * (backpressure), so memory is bounded by the queue capacity times the batch size.
+ * The first stage to fail cancels the other two and its exception is rethrown.
+ * The output is written to a temporary file and only replaces the previous
+ * output once all three stages have succeeded.
+ * When a metrics registry is given, each stage's wall time (including time
+ * blocked on its queues) and allocation are recorded into it.
+ */
+final class PipelinedExecutor {
+    private static final List<Product> END_OF_STREAM = new ArrayList<>();
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 60;
+    
+    private final StreamingDataExtractor extractor;
+    private final DataTransformer transformer;
+    private final StreamingDataLoader loader;
+    private final PipelineMetrics metrics;
+    private final int batchSize;
+    private final BlockingQueue<List<Product>> extracted;
+    private final BlockingQueue<List<Product>> transformed;
+    
+    private long rowsRead;
+    private long rowsTransformed;
+    
+    /**
+     * @param batchSize Number of rows handed from one stage to the next at a time
+     * @param queueCapacity Maximum number of batches waiting between two stages
+     * @param metrics Registry receiving per-stage timings, or null
+     */
+    PipelinedExecutor(StreamingDataExtractor extractor, DataTransformer transformer,
+                      StreamingDataLoader loader, int batchSize, int queueCapacity, PipelineMetrics metrics) {
+        if (batchSize < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Batch size and queue capacity must be at least 1");
+        }
+        this.extractor = extractor;
+        this.transformer = transformer;
+        this.loader = loader;
+        this.metrics = metrics;
+        this.batchSize = batchSize;
+        this.extracted = new ArrayBlockingQueue<>(queueCapacity);
+        this.transformed = new ArrayBlockingQueue<>(queueCapacity);
+    }
+    
+    /**
+     * Runs the pipeline to completion
+     * @throws IOException the first I/O failure raised by any stage
+     */
+    void execute(String inputPath, String outputPath) throws IOException {
+        File temp = OutputFiles.tempFor(new File(outputPath));
+        ExecutorService threads = Executors.newFixedThreadPool(3);
+        CompletionService<Void> stages = new ExecutorCompletionService<>(threads);
+        List<Future<Void>> futures = new ArrayList<>();
+        futures.add(stages.submit(() -> timed(PipelineMetrics.Stage.EXTRACT, () -> extractStage(inputPath))));
+        futures.add(stages.submit(() -> timed(PipelineMetrics.Stage.TRANSFORM, this::transformStage)));
+        futures.add(stages.submit(() -> timed(PipelineMetrics.Stage.LOAD, () -> loadStage(temp.getPath()))));
+        
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                stages.take().get();
+            }
+            if (rowsTransformed > 0) {
+                OutputFiles.replace(temp, new File(outputPath));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the pipeline to finish.");
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } finally {
+            for (Future<Void> future : futures) {
+                future.cancel(true);
+            }
+            threads.shutdownNow();
+            awaitStages(threads);
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+    
+    /**
+     * Waits for cancelled stages to stop, so none of them still writes the temporary file
+     */
+    private static void awaitStages(ExecutorService threads) {
+        try {
+            if (!threads.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.err.println("Warning: Pipeline stages did not stop after cancellation.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    long getRowsRead() {
+        return rowsRead;
+    }
+    
+    long getRowsTransformed() {
+        return rowsTransformed;
+    }
+    
+    /**
+     * Runs a stage on the current thread, recording its wall time and allocation when metrics are enabled
+     */
+    private Void timed(PipelineMetrics.Stage stage, Callable<Void> body) throws Exception {
+        if (metrics == null) {
+            return body.call();
+        }
+        
+        long allocatedBefore = PipelineMetrics.currentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        try {
+            return body.call();
+        } finally {
+            metrics.recordStageTime(stage, System.nanoTime() - start);
+            if (allocatedBefore >= 0) {
+                metrics.recordAllocatedBytes(PipelineMetrics.currentThreadAllocatedBytes() - allocatedBefore);
+            }
+        }
+    }
+    
+    /**
+     * Extract stage: collects rows into batches and queues each full batch
+     */
+    private Void extractStage(String inputPath) throws IOException, InterruptedException {
+        try (BatchingSink sink = new BatchingSink()) {
+            extractor.extract(inputPath, sink);
+        }
+        extracted.put(END_OF_STREAM);
+        return null;
+    }
+    
+    /**
+     * Transform stage: transforms batch by batch, preserving batch order
+     * Each batch is owned by this executor, so it is transformed in place when possible
+     */
+    private Void transformStage() throws InterruptedException {
+        List<Product> batch;
+        while ((batch = extracted.take()) != END_OF_STREAM) {
+            transformed.put(transformer instanceof InPlaceDataTransformer
+                    ? ((InPlaceDataTransformer) transformer).transformInPlace(batch)
+                    : transformer.transform(batch));
+        }
+        transformed.put(END_OF_STREAM);
+        return null;
+    }
+    
+    /**
+     * Load stage: opens the output on the first batch and writes every row
+     */
+    private Void loadStage(String outputPath) throws IOException, InterruptedException {
+        ProductSink output = null;
+        try {
+            List<Product> batch;
+            while ((batch = transformed.take()) != END_OF_STREAM) {
+                if (output == null) {
+                    output = loader.open(outputPath);
+                }
+                for (Product product : batch) {
+                    output.accept(product);
+                }
+                rowsTransformed += batch.size();
+            }
+        } finally {
+            if (output != null) {
+                output.close();
+            }
+        }
+        return null;
+    }
+    
+    private static IOException unwrap(Throwable cause) {
+        if (cause instanceof IOException) {
+            return (IOException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IOException("Pipeline stage failed.", cause);
+    }
+    
+    /**
+     * Sink on the extract thread that queues rows in batches of batchSize
+     */
+    private class BatchingSink implements ProductSink {
+        private List<Product> batch = new ArrayList<>(batchSize);
+        
+        @Override
+        public void accept(Product product) throws IOException {
+            batch.add(product);
+            rowsRead++;
+            if (batch.size() == batchSize) {
+                hand();
+            }
+        }
+        
+        @Override
+        public void close() throws IOException {
+            if (!batch.isEmpty()) {
+                hand();
+            }
+        }
+        
+        /**
+         * Queues the current batch, blocking while the transform stage is behind
+         */
+        private void hand() throws IOException {
+            try {
+                extracted.put(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Extraction cancelled.");
+            }
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+}
\ No newline at end of file
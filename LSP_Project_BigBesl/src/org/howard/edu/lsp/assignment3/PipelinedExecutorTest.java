@@ -0,0 +1,146 @@
+package org.howard.edu.lsp.assignment3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit test suite for PipelinedExecutor.
+ * Checks rows keep their order across the stages and a failure in any stage
+ * is rethrown and leaves the previous output in place.
+ */
+public class PipelinedExecutorTest extends SilentConsoleTest {
+    
+    private static final int ROWS = 5000;
+    private static final int FAIL_AFTER = 2000;
+    
+    private Path input;
+    
+    /**
+     * Extractor that fails after passing on a given number of rows
+     */
+    private static class FailingExtractor implements StreamingDataExtractor {
+        @Override
+        public void extract(String filePath, ProductSink sink) throws IOException {
+            int[] rows = new int[1];
+            new CSVDataExtractor().extract(filePath, product -> {
+                if (++rows[0] > FAIL_AFTER) {
+                    throw new IOException("Simulated extract failure");
+                }
+                sink.accept(product);
+            });
+        }
+    }
+    
+    /**
+     * Transformer that fails once it has seen a given number of rows
+     */
+    private static class FailingTransformer implements DataTransformer {
+        private final ProductDataTransformer transformer = new ProductDataTransformer();
+        private int rows;
+        
+        @Override
+        public List<Product> transform(List<Product> products) {
+            rows += products.size();
+            if (rows > FAIL_AFTER) {
+                throw new IllegalStateException("Simulated transform failure");
+            }
+            return transformer.transform(products);
+        }
+    }
+    
+    /**
+     * Loader whose sink fails after writing a given number of rows
+     */
+    private static class FailingLoader implements StreamingDataLoader {
+        @Override
+        public ProductSink open(String outputPath) throws IOException {
+            ProductSink output = new CSVDataLoader().open(outputPath);
+            return new ProductSink() {
+                private int rows;
+                
+                @Override
+                public void accept(Product product) throws IOException {
+                    if (++rows > FAIL_AFTER) {
+                        throw new IOException("Simulated load failure");
+                    }
+                    output.accept(product);
+                }
+                
+                @Override
+                public void close() throws IOException {
+                    output.close();
+                }
+            };
+        }
+    }
+    
+    @BeforeEach
+    public void writeInput() throws IOException {
+        input = directory.resolve("products.csv");
+        new ProductsFileGenerator(0.05, false, 3).generate(ROWS, input.toString());
+    }
+    
+    private static PipelinedExecutor executor(StreamingDataExtractor extractor, DataTransformer transformer,
+                                              StreamingDataLoader loader) {
+        return new PipelinedExecutor(extractor, transformer, loader, 7, 2, null);
+    }
+    
+    /**
+     * Verifies small batches through short queues come out in input order, matching a streaming run.
+     */
+    @Test
+    public void keepsRowOrder() throws IOException {
+        Path expected = directory.resolve("expected.csv");
+        new ETLPipeline().runStreaming(input.toString(), expected.toString());
+        
+        Path output = directory.resolve("transformed.csv");
+        PipelinedExecutor executor = executor(new CSVDataExtractor(),
+                new ProductDataTransformer(new StandardPricingStrategy(), new StandardCategoryManager(), 3),
+                new CSVDataLoader());
+        executor.execute(input.toString(), output.toString());
+        
+        assertEquals(executor.getRowsRead(), executor.getRowsTransformed());
+        assertTrue(executor.getRowsRead() > FAIL_AFTER);
+        assertArrayEquals(Files.readAllBytes(expected), Files.readAllBytes(output));
+        assertFalse(Files.exists(OutputFiles.tempFor(output.toFile()).toPath()));
+    }
+    
+    /**
+     * Verifies a failure in the extract, transform or load stage is rethrown, keeps the
+     * previous output, plain or compressed, and leaves no temporary file behind.
+     */
+    @Test
+    public void failedStageKeepsPreviousOutput() throws IOException {
+        for (String name : new String[] { "transformed.csv", "transformed.csv.lzb" }) {
+            Path output = directory.resolve(name);
+            executor(new CSVDataExtractor(), new ProductDataTransformer(), new CSVDataLoader())
+                    .execute(input.toString(), output.toString());
+            byte[] previous = Files.readAllBytes(output);
+            
+            IOException extract = assertThrows(IOException.class, () -> executor(new FailingExtractor(),
+                    new ProductDataTransformer(), new CSVDataLoader()).execute(input.toString(), output.toString()));
+            assertEquals("Simulated extract failure", extract.getMessage());
+            assertArrayEquals(previous, Files.readAllBytes(output), name);
+            
+            IllegalStateException transform = assertThrows(IllegalStateException.class, () -> executor(
+                    new CSVDataExtractor(), new FailingTransformer(), new CSVDataLoader())
+                    .execute(input.toString(), output.toString()));
+            assertEquals("Simulated transform failure", transform.getMessage());
+            assertArrayEquals(previous, Files.readAllBytes(output), name);
+            
+            IOException load = assertThrows(IOException.class, () -> executor(new CSVDataExtractor(),
+                    new ProductDataTransformer(), new FailingLoader()).execute(input.toString(), output.toString()));
+            assertEquals("Simulated load failure", load.getMessage());
+            assertArrayEquals(previous, Files.readAllBytes(output), name);
+            
+            assertFalse(Files.exists(OutputFiles.tempFor(output.toFile()).toPath()), name);
+        }
+    }
+}
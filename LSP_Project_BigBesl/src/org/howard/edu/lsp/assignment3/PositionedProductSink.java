@@ -0,0 +1,29 @@
+/**
+ * Name: Bryce Ly
+ * PositionedProductSink interface - Product sink that is told where the extractor is in its input
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.io.IOException;
+
+/**
+ * Receiver for rows from a ResumableDataExtractor
+ * Besides the rows themselves it learns the byte offset reached after every
+ * input line, which is a safe point to resume extraction from.
+ */
+public interface PositionedProductSink extends ProductSink {
+    /**
+     * Called after each input line (header, valid, invalid or empty) has been handled
+     * @param nextOffset Byte offset in the input where the next line starts
+     * @param lineNumber Number of the line just handled (the header is line 1)
+     * @throws IOException if the sink fails to process the position
+     */
+    void lineCompleted(long nextOffset, int lineNumber) throws IOException;
+    
+    /**
+     * Called for each line the extractor skips (no-op by default)
+     * @param reason Why the line was skipped
+     */
+    default void rowSkipped(InvalidRowReason reason) {
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Name: Bryce Ly
+ * PriceFormatter - Allocation-free equivalent of String.format("%.2f", price)
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Fixed-point formatter for two-decimal prices
+ * Formats prices that are exactly representable as whole cents straight
+ * into a byte buffer. For those values String.format("%.2f") prints exactly
+ * the same digits, so the output is byte-identical; every other value (more
+ * than two decimals, huge, negative zero, NaN) is reported as not handled
+ * and the caller falls back to String.format.
+ */
+final class PriceFormatter {
+    /** Below this magnitude one ulp is far smaller than half a cent */
+    private static final double MAX_FAST_PRICE = 1e13;
+    
+    private PriceFormatter() {
+    }
+    
+    /**
+     * Returns true if the default format locale prints %.2f with '.' and ASCII digits
+     */
+    static boolean isFastPathLocale() {
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT));
+        return symbols.getDecimalSeparator() == '.' && symbols.getZeroDigit() == '0';
+    }
+    
+    /**
+     * Returns the price in whole cents if it is exactly a two-decimal value, or -1 otherwise
+     */
+    static long exactCents(double price) {
+        double magnitude = Math.abs(price);
+        if (!(magnitude < MAX_FAST_PRICE)) {
+            return -1;
+        }
+        long cents = Math.round(magnitude * 100);
+        if (cents / 100.0 != magnitude || (cents == 0 && Double.doubleToRawLongBits(price) != 0)) {
+            return -1;
+        }
+        return cents;
+    }
+    
+    /**
+     * Writes the price as [-]digits.dd into buffer at offset
+     * @param buffer Destination, with at least 18 bytes free after offset
+     * @return The offset after the last written byte, or -1 if the price needs the String.format fallback
+     */
+    static int format(double price, byte[] buffer, int offset) {
+        long cents = exactCents(price);
+        if (cents < 0) {
+            return -1;
+        }
+        if (price < 0) {
+            buffer[offset++] = '-';
+        }
+        
+        offset = writeLong(cents / 100, buffer, offset);
+        long fraction = cents % 100;
+        buffer[offset++] = '.';
+        buffer[offset++] = (byte) ('0' + fraction / 10);
+        buffer[offset++] = (byte) ('0' + fraction % 10);
+        return offset;
+    }
+    
+    /**
+     * Writes a non-negative long in decimal
+     */
+    static int writeLong(long value, byte[] buffer, int offset) {
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        int position = offset + digits;
+        do {
+            buffer[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        return offset + digits;
+    }
+}
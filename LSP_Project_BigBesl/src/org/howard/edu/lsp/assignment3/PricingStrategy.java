@@ -14,4 +14,36 @@ public interface PricingStrategy {
      * @param product The product to apply pricing to
      */
     void applyPricing(Product product);
+    
+    /**
+     * Applies pricing rules to one row of a columnar batch
+     * The default materializes the row as a Product; implementations should
+     * override it to work on the columns directly
+     * @param batch The batch holding the row
+     * @param row Index of the row to price
+     */
+    default void applyPricing(ProductBatch batch, int row) {
+        Product product = batch.toProduct(row);
+        applyPricing(product);
+        batch.set(row, product);
+    }
+    
+    /**
+     * Declares whether applyPricing may be called concurrently from several threads
+     * Strategies that keep mutable state must leave this false
+     * @return true if the strategy is safe for parallel transformation
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
+    
+    /**
+     * Describes everything that decides how the strategy prices a row
+     * Output written by an earlier run is only reused when the description is
+     * the same, so strategies with parameters must include them
+     * @return The class name by default
+     */
+    default String getConfiguration() {
+        return getClass().getName();
+    }
 }
\ No newline at end of file
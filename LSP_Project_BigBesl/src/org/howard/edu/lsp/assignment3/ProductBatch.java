@@ -0,0 +1,318 @@
+/**
+ * Name: Bryce Ly
+ * ProductBatch - Columnar, primitive-array representation of many products
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Stores product rows column by column instead of one Product object per row
+ * IDs and prices live in primitive arrays, categories and price ranges are
+ * dictionary-encoded as small integer codes, and names are slices of one
+ * shared char buffer. A row costs about 25 bytes plus two bytes per name
+ * character, compared to well over 100 bytes for a Product with its Strings.
+ * Setters apply the same validation as the Product setters.
+ */
+public class ProductBatch {
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final boolean ASCII_UPPER_CASE_SAFE = isAsciiUpperCaseSafe();
+    
+    private int size;
+    private int[] ids;
+    private double[] prices;
+    private int[] categoryCodes;
+    private int[] priceRangeCodes;
+    private int[] nameOffsets;
+    private int[] nameLengths;
+    private char[] nameChars;
+    private int nameCharsUsed;
+    
+    private final Dictionary categories = new Dictionary();
+    private final Dictionary priceRanges = new Dictionary();
+    
+    public ProductBatch() {
+        this(DEFAULT_CAPACITY);
+    }
+    
+    /**
+     * @param capacity Number of rows to allocate room for up front
+     */
+    public ProductBatch(int capacity) {
+        capacity = Math.max(capacity, 1);
+        ids = new int[capacity];
+        prices = new double[capacity];
+        categoryCodes = new int[capacity];
+        priceRangeCodes = new int[capacity];
+        nameOffsets = new int[capacity];
+        nameLengths = new int[capacity];
+        nameChars = new char[capacity * 16];
+    }
+    
+    /**
+     * Appends a row
+     * @return The index of the new row
+     */
+    public int add(int productID, String name, double price, String category) {
+        int row = addRow(productID, price, category);
+        setName(row, name);
+        return row;
+    }
+    
+    /**
+     * Appends a copy of a product, including its price range
+     * @return The index of the new row
+     */
+    public int add(Product product) {
+        int row = add(product.getProductID(), product.getName(), product.getPrice(), product.getCategory());
+        setPriceRange(row, product.getPriceRange());
+        return row;
+    }
+    
+    /**
+     * Appends a row with an empty name, to be filled in with setName or setAsciiName
+     */
+    int addRow(int productID, double price, String category) {
+        if (size == ids.length) {
+            grow();
+        }
+        int row = size++;
+        ids[row] = productID;
+        prices[row] = price;
+        categoryCodes[row] = categories.code(category);
+        priceRangeCodes[row] = priceRanges.code("");
+        nameOffsets[row] = nameCharsUsed;
+        nameLengths[row] = 0;
+        return row;
+    }
+    
+    /**
+     * Removes all rows but keeps the allocated arrays and dictionaries for reuse
+     */
+    public void clear() {
+        size = 0;
+        nameCharsUsed = 0;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    // Column accessors
+    public int getProductID(int row) {
+        checkRow(row);
+        return ids[row];
+    }
+    
+    public double getPrice(int row) {
+        checkRow(row);
+        return prices[row];
+    }
+    
+    public String getName(int row) {
+        checkRow(row);
+        return new String(nameChars, nameOffsets[row], nameLengths[row]);
+    }
+    
+    public String getCategory(int row) {
+        checkRow(row);
+        return categories.value(categoryCodes[row]);
+    }
+    
+    public int getCategoryCode(int row) {
+        checkRow(row);
+        return categoryCodes[row];
+    }
+    
+    public String getPriceRange(int row) {
+        checkRow(row);
+        return priceRanges.value(priceRangeCodes[row]);
+    }
+    
+    /**
+     * Returns the code this batch uses for a category, or -1 if no row has used it yet
+     */
+    public int findCategoryCode(String category) {
+        return categories.find(category);
+    }
+    
+    // Setters with the same validation as Product
+    public void setPrice(int row, double price) {
+        checkRow(row);
+        prices[row] = Math.max(0, price);
+    }
+    
+    public void setCategory(int row, String category) {
+        checkRow(row);
+        categoryCodes[row] = categories.code(category != null ? category : "");
+    }
+    
+    public void setPriceRange(int row, String priceRange) {
+        checkRow(row);
+        priceRangeCodes[row] = priceRanges.code(priceRange != null ? priceRange : "");
+    }
+    
+    /**
+     * Replaces a row's name; shorter names are written in place, longer ones are appended to the buffer
+     */
+    public void setName(int row, String name) {
+        checkRow(row);
+        String value = name != null ? name : "";
+        int length = value.length();
+        int offset = length <= nameLengths[row] ? nameOffsets[row] : reserveNameChars(length);
+        value.getChars(0, length, nameChars, offset);
+        nameOffsets[row] = offset;
+        nameLengths[row] = length;
+    }
+    
+    /**
+     * Sets a row's name from ASCII bytes without creating a String
+     */
+    void setAsciiName(int row, ByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        int offset = reserveNameChars(length);
+        for (int i = 0; i < length; i++) {
+            nameChars[offset + i] = (char) buffer.get(start + i);
+        }
+        nameOffsets[row] = offset;
+        nameLengths[row] = length;
+    }
+    
+    /**
+     * Upper-cases a row's name like String.toUpperCase(), in place when the
+     * name is ASCII and the default locale has no special casing rules
+     */
+    public void toUpperCaseName(int row) {
+        checkRow(row);
+        int offset = nameOffsets[row];
+        int end = offset + nameLengths[row];
+        if (ASCII_UPPER_CASE_SAFE) {
+            int i = offset;
+            while (i < end && nameChars[i] < 0x80) {
+                i++;
+            }
+            if (i == end) {
+                for (int j = offset; j < end; j++) {
+                    char c = nameChars[j];
+                    if (c >= 'a' && c <= 'z') {
+                        nameChars[j] = (char) (c - ('a' - 'A'));
+                    }
+                }
+                return;
+            }
+        }
+        setName(row, getName(row).toUpperCase());
+    }
+    
+    /**
+     * Materializes one row as a Product
+     */
+    public Product toProduct(int row) {
+        Product product = new Product(getProductID(row), getName(row), getPrice(row), getCategory(row));
+        product.setPriceRange(getPriceRange(row));
+        return product;
+    }
+    
+    /**
+     * Overwrites one row with the values of a product
+     */
+    public void set(int row, Product product) {
+        checkRow(row);
+        ids[row] = product.getProductID();
+        prices[row] = product.getPrice();
+        setName(row, product.getName());
+        setCategory(row, product.getCategory());
+        setPriceRange(row, product.getPriceRange());
+    }
+    
+    /**
+     * Materializes all rows as Products
+     */
+    public List<Product> toProducts() {
+        List<Product> products = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            products.add(toProduct(row));
+        }
+        return products;
+    }
+    
+    // Raw name access for loaders that write the characters directly
+    char[] nameBuffer() {
+        return nameChars;
+    }
+    
+    int nameOffset(int row) {
+        return nameOffsets[row];
+    }
+    
+    int nameLength(int row) {
+        return nameLengths[row];
+    }
+    
+    private int reserveNameChars(int length) {
+        if (nameChars.length - nameCharsUsed < length) {
+            nameChars = Arrays.copyOf(nameChars, Math.max(nameChars.length * 2, nameCharsUsed + length));
+        }
+        int offset = nameCharsUsed;
+        nameCharsUsed += length;
+        return offset;
+    }
+    
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        categoryCodes = Arrays.copyOf(categoryCodes, capacity);
+        priceRangeCodes = Arrays.copyOf(priceRangeCodes, capacity);
+        nameOffsets = Arrays.copyOf(nameOffsets, capacity);
+        nameLengths = Arrays.copyOf(nameLengths, capacity);
+    }
+    
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range for batch of size " + size);
+        }
+    }
+    
+    private static boolean isAsciiUpperCaseSafe() {
+        String language = Locale.getDefault().getLanguage();
+        return !language.equals("tr") && !language.equals("az") && !language.equals("lt");
+    }
+    
+    /**
+     * Assigns a dense integer code to each distinct string
+     */
+    private static class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        
+        int code(String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+        
+        int find(String value) {
+            Integer code = codes.get(value);
+            return code != null ? code : -1;
+        }
+        
+        String value(int code) {
+            return values.get(code);
+        }
+    }
+}
@@ -5,31 +5,91 @@
 package org.howard.edu.lsp.assignment3;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Product-specific data transformer implementing business rules
  * Coordinates name transformation, pricing, categorization, and price range assignment
  */
-public class ProductDataTransformer implements DataTransformer {
+public class ProductDataTransformer implements StreamingDataTransformer, BatchDataTransformer,
+        InPlaceDataTransformer {
+    private static final int SEQUENTIAL_THRESHOLD = 4096;
+    
     private final PricingStrategy pricingStrategy;
     private final CategoryManager categoryManager;
+    private final ForkJoinPool pool;
+    private final boolean standardRules;
+    private final CategoryDictionary categories = CategoryDictionary.getInstance();
     
     public ProductDataTransformer() {
-        this.pricingStrategy = new StandardPricingStrategy();
-        this.categoryManager = new StandardCategoryManager();
+        this(new StandardPricingStrategy(), new StandardCategoryManager());
     }
     
     /**
      * Constructor for dependency injection (useful for testing different strategies)
      */
     public ProductDataTransformer(PricingStrategy pricingStrategy, CategoryManager categoryManager) {
+        this(pricingStrategy, categoryManager, 1);
+    }
+    
+    /**
+     * Constructor for parallel transformation
+     * Rows are transformed on the given number of threads when both strategies
+     * declare themselves thread-safe; otherwise the transformer runs sequentially.
+     * Output order always matches input order.
+     * @param parallelism Number of threads to use (1 for sequential)
+     */
+    public ProductDataTransformer(PricingStrategy pricingStrategy, CategoryManager categoryManager,
+                                  int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
         this.pricingStrategy = pricingStrategy;
         this.categoryManager = categoryManager;
+        
+        boolean threadSafe = pricingStrategy.isThreadSafe() && categoryManager.isThreadSafe();
+        if (parallelism > 1 && !threadSafe) {
+            System.out.println("Note: Pricing strategy or category manager is not thread-safe, "
+                    + "transforming sequentially.");
+        }
+        this.pool = parallelism > 1 && threadSafe ? WorkerPools.get(parallelism) : null;
+        this.standardRules = pricingStrategy.getClass() == StandardPricingStrategy.class
+                && categoryManager.getClass() == StandardCategoryManager.class;
+    }
+    
+    /**
+     * Returns true if both strategies may be used from several threads at once
+     */
+    boolean isThreadSafe() {
+        return pricingStrategy.isThreadSafe() && categoryManager.isThreadSafe();
+    }
+    
+    /**
+     * Names both strategies with their parameters; parallelism is left out
+     * because it does not change the rows
+     */
+    @Override
+    public String getConfiguration() {
+        return getClass().getName() + "(" + pricingStrategy.getConfiguration() + ", "
+                + categoryManager.getConfiguration() + ")";
+    }
+    
+    /**
+     * Returns the number of threads rows are transformed on
+     */
+    int getParallelism() {
+        return pool != null ? pool.getParallelism() : 1;
     }
     
     @Override
     public List<Product> transform(List<Product> products) {
+        if (pool != null && products.size() > SEQUENTIAL_THRESHOLD) {
+            return transformInParallel(products);
+        }
+        
         List<Product> transformed = new ArrayList<>();
         
         for (Product product : products) {
@@ -40,21 +100,88 @@ public class ProductDataTransformer implements DataTransformer {
         return transformed;
     }
     
+    /**
+     * Transforms the products in the list itself, without copying them
+     * The list and its products are returned with the transformed values, so
+     * the original values are lost; use transform to keep them.
+     */
+    @Override
+    public List<Product> transformInPlace(List<Product> products) {
+        if (pool != null && products.size() > SEQUENTIAL_THRESHOLD) {
+            Product[] rows = products.toArray(new Product[0]);
+            pool.invoke(new TransformTask(this, rows, null, 0, rows.length));
+            return products;
+        }
+        for (Product product : products) {
+            transformInPlace(product);
+        }
+        return products;
+    }
+    
+    /**
+     * Transforms the products on the pool, writing each result to its input index
+     */
+    private List<Product> transformInParallel(List<Product> products) {
+        Product[] input = products.toArray(new Product[0]);
+        Product[] output = new Product[input.length];
+        pool.invoke(new TransformTask(this, input, output, 0, input.length));
+        return new ArrayList<>(Arrays.asList(output));
+    }
+    
     /**
      * Applies all transformations to a single product
      */
-    private Product transformProduct(Product product) {
+    @Override
+    public Product transformProduct(Product product) {
         Product transformed = product.copy();
-        
-        // Apply transformations in sequence
-        transformed.setName(transformed.getName().toUpperCase());
-        pricingStrategy.applyPricing(transformed);
-        categoryManager.categorize(transformed);
-        transformed.setPriceRange(determinePriceRange(transformed.getPrice()));
-        
+        transformInPlace(transformed);
         return transformed;
     }
     
+    /**
+     * Applies all transformations to a single product, replacing its values
+     * With the standard rules the row is finished in one pass that checks the
+     * category once; other strategies are applied in sequence.
+     */
+    @Override
+    public void transformInPlace(Product product) {
+        product.setName(product.getName().toUpperCase());
+        if (standardRules) {
+            if (categories.isElectronics(product.getCategory())) {
+                product.setPrice(StandardPricingStrategy.discount(product.getPrice()));
+                if (StandardCategoryManager.isPremium(product.getPrice())) {
+                    product.setCategory(CategoryDictionary.PREMIUM_ELECTRONICS);
+                }
+            }
+        } else {
+            pricingStrategy.applyPricing(product);
+            categoryManager.categorize(product);
+        }
+        product.setPriceRange(determinePriceRange(product.getPrice()));
+    }
+    
+    /**
+     * Applies all transformations to every row of a columnar batch, in place
+     */
+    @Override
+    public void transformBatch(ProductBatch batch) {
+        for (int row = 0; row < batch.size(); row++) {
+            batch.toUpperCaseName(row);
+            if (standardRules) {
+                if (categories.isElectronics(batch.getCategory(row))) {
+                    batch.setPrice(row, StandardPricingStrategy.discount(batch.getPrice(row)));
+                    if (StandardCategoryManager.isPremium(batch.getPrice(row))) {
+                        batch.setCategory(row, CategoryDictionary.PREMIUM_ELECTRONICS);
+                    }
+                }
+            } else {
+                pricingStrategy.applyPricing(batch, row);
+                categoryManager.categorize(batch, row);
+            }
+            batch.setPriceRange(row, determinePriceRange(batch.getPrice(row)));
+        }
+    }
+    
     /**
      * Determines the price range category based on the price
      */
@@ -64,4 +191,45 @@ public class ProductDataTransformer implements DataTransformer {
         else if (price <= 500.00) return "High";
         else return "Premium";
     }
+    
+    /**
+     * Fork-join task transforming input[from, to) into the same slots of output,
+     * or in place when output is null
+     */
+    private static final class TransformTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final transient ProductDataTransformer transformer;
+        private final Product[] input;
+        private final Product[] output;
+        private final int from;
+        private final int to;
+        
+        TransformTask(ProductDataTransformer transformer, Product[] input, Product[] output,
+                      int from, int to) {
+            this.transformer = transformer;
+            this.input = input;
+            this.output = output;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    if (output == null) {
+                        transformer.transformInPlace(input[i]);
+                    } else {
+                        output[i] = transformer.transformProduct(input[i]);
+                    }
+                }
+                return;
+            }
+            
+            int middle = (from + to) >>> 1;
+            invokeAll(new TransformTask(transformer, input, output, from, middle),
+                      new TransformTask(transformer, input, output, middle, to));
+        }
+    }
 }
\ No newline at end of file
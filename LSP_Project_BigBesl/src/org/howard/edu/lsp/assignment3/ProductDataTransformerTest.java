@@ -0,0 +1,122 @@
+package org.howard.edu.lsp.assignment3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit test suite for the in-place transform of ProductDataTransformer.
+ * Compares it with the copying transform and profiles what each allocates per row.
+ */
+public class ProductDataTransformerTest {
+    
+    private static final int ROWS = 100_000;
+    
+    private static List<Product> products(int count, boolean upperCaseNames) {
+        String[] categories = { "Electronics", "electronics", "Toys", "Books", "Premium Electronics" };
+        Random random = new Random(5);
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = upperCaseNames ? "ITEM " + (i % 100) : "Item " + (i % 100);
+            double price = random.nextInt(120000) / 100.0;
+            products.add(new Product(i, name, price, categories[random.nextInt(categories.length)]));
+        }
+        return products;
+    }
+    
+    private static void assertSameRows(List<Product> expected, List<Product> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), actual.get(i).toString(), "row " + i);
+        }
+    }
+    
+    /**
+     * Verifies the in-place transform matches transform, for the fused standard rules,
+     * other strategies and the parallel path, and reuses the given list and products.
+     */
+    @Test
+    public void inPlaceTransformMatchesCopyingTransform() throws IOException {
+        RuleTable rules = RuleTable.parse(new StringReader("discount,Toys,*,15\ncategory,Books,100,Rare Books\n"),
+                "test");
+        ProductDataTransformer[] transformers = {
+            new ProductDataTransformer(),
+            new ProductDataTransformer(new StandardPricingStrategy(), new StandardCategoryManager(), 3),
+            new ProductDataTransformer(rules.createPricingStrategy(), rules.createCategoryManager()),
+        };
+        for (ProductDataTransformer transformer : transformers) {
+            List<Product> original = products(20_000, false);
+            List<Product> expected = transformer.transform(original);
+            assertEquals("Item 0", original.get(0).getName());
+            
+            List<Product> rows = products(20_000, false);
+            List<Product> first = new ArrayList<>(rows);
+            List<Product> transformed = transformer.transformInPlace(rows);
+            assertSame(rows, transformed);
+            for (int i = 0; i < rows.size(); i++) {
+                assertSame(first.get(i), transformed.get(i));
+            }
+            assertSameRows(expected, transformed);
+        }
+    }
+    
+    /**
+     * Verifies the in-place transform allocates nothing per row once names are upper case,
+     * while transform allocates at least a Product copy per row.
+     */
+    @Test
+    public void inPlaceTransformDoesNotAllocatePerRow() {
+        ProductDataTransformer transformer = new ProductDataTransformer();
+        transformer.transformInPlace(products(ROWS, true));
+        transformer.transform(products(ROWS, true));
+        
+        List<Product> rows = products(ROWS, true);
+        long before = PipelineMetrics.currentThreadAllocatedBytes();
+        if (before < 0) {
+            return; // allocation profiling is not available on this JVM
+        }
+        transformer.transformInPlace(rows);
+        long inPlaceBytes = PipelineMetrics.currentThreadAllocatedBytes() - before;
+        
+        rows = products(ROWS, true);
+        before = PipelineMetrics.currentThreadAllocatedBytes();
+        transformer.transform(rows);
+        long copyBytes = PipelineMetrics.currentThreadAllocatedBytes() - before;
+        
+        assertTrue(inPlaceBytes < ROWS, "in place allocated " + inPlaceBytes + " bytes for " + ROWS + " rows");
+        assertTrue(copyBytes >= ROWS * 24L, "transform allocated " + copyBytes + " bytes for " + ROWS + " rows");
+    }
+    
+    /**
+     * Verifies transformers with the same parallelism share one pool, so replacing
+     * the transformer, as reconfiguring the pipeline does, starts no new threads.
+     */
+    @Test
+    public void parallelTransformersShareThreads() {
+        List<Product> rows = products(20_000, false);
+        new ProductDataTransformer(new StandardPricingStrategy(), new StandardCategoryManager(), 3)
+                .transform(rows);
+        long workers = forkJoinWorkers();
+        for (int i = 0; i < 20; i++) {
+            ProductDataTransformer transformer =
+                    new ProductDataTransformer(new StandardPricingStrategy(), new StandardCategoryManager(), 3);
+            assertEquals(3, transformer.getParallelism());
+            transformer.transform(rows);
+        }
+        // the first pool may not have started all its workers yet, but twenty pools would add up to sixty
+        assertTrue(forkJoinWorkers() <= workers + 3, forkJoinWorkers() + " workers, " + workers + " before");
+    }
+    
+    private static long forkJoinWorkers() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread instanceof ForkJoinWorkerThread)
+                .count();
+    }
+}
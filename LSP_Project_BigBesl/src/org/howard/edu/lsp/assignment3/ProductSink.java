@@ -0,0 +1,29 @@
+/**
+ * Name: Bryce Ly
+ * ProductSink interface - Push-based receiver for streamed product rows
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Receiver for products pushed one row at a time by a streaming stage
+ * Lets extract, transform and load run row by row without buffering the whole file
+ */
+public interface ProductSink extends Closeable {
+    /**
+     * Accepts the next product in the stream
+     * @param product The product to consume
+     * @throws IOException if the sink cannot consume the product
+     */
+    void accept(Product product) throws IOException;
+    
+    /**
+     * Releases any resources held by the sink (no-op by default)
+     * @throws IOException if the sink cannot be closed cleanly
+     */
+    @Override
+    default void close() throws IOException {
+    }
+}
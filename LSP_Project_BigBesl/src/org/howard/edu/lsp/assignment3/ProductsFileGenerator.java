@@ -0,0 +1,100 @@
+/**
+ * Name: Bryce Ly
+ * ProductsFileGenerator - Writes reproducible synthetic products files
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Generates synthetic products.csv files for benchmarks and load tests
+ * The same row count, Electronics ratio, delimiter and seed always produce
+ * the same file, so results can be reproduced offline. Paths ending in .gz
+ * or .lzb produce a compressed file.
+ */
+public class ProductsFileGenerator {
+    private static final String[] NAMES = {
+        "Book", "Laptop", "Notebook", "Headphones", "Monitor", "Keyboard", "Desk Lamp",
+        "Backpack", "Phone Case", "Water Bottle", "Camera", "Speaker", "Tablet", "Pen Set"
+    };
+    private static final String[] OTHER_CATEGORIES = {
+        "Education", "Stationary", "Home", "Sports", "Toys", "Garden", "Kitchen"
+    };
+    
+    private final double electronicsRatio;
+    private final boolean usesTabs;
+    private final long seed;
+    
+    /**
+     * @param electronicsRatio Fraction of rows (0 to 1) in the Electronics category
+     * @param usesTabs true for tab-delimited output, false for commas
+     * @param seed Random seed; equal seeds give identical files
+     */
+    public ProductsFileGenerator(double electronicsRatio, boolean usesTabs, long seed) {
+        if (electronicsRatio < 0 || electronicsRatio > 1) {
+            throw new IllegalArgumentException("Electronics ratio must be between 0 and 1");
+        }
+        this.electronicsRatio = electronicsRatio;
+        this.usesTabs = usesTabs;
+        this.seed = seed;
+    }
+    
+    /**
+     * Usage: ProductsFileGenerator rows outputPath [electronicsRatio] [comma|tab] [seed]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ProductsFileGenerator rows outputPath [electronicsRatio] [comma|tab] [seed]");
+            System.exit(1);
+        }
+        
+        long rows = Long.parseLong(args[0]);
+        double ratio = args.length > 2 ? Double.parseDouble(args[2]) : 0.25;
+        boolean tabs = args.length > 3 && "tab".equalsIgnoreCase(args[3]);
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 42L;
+        
+        new ProductsFileGenerator(ratio, tabs, seed).generate(rows, args[1]);
+        System.out.println("Wrote " + rows + " rows to " + args[1]);
+    }
+    
+    /**
+     * Writes a header and the given number of data rows
+     * @param rows Number of data rows to write
+     * @param outputPath Path of the file to create or overwrite
+     */
+    public void generate(long rows, String outputPath) throws IOException {
+        File outputFile = new File(outputPath);
+        File parent = outputFile.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        
+        char delimiter = usesTabs ? '\t' : ',';
+        Random random = new Random(seed);
+        
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(Compression.openOutput(outputFile), StandardCharsets.UTF_8), 1 << 16)) {
+            writer.write(usesTabs ? "ProductID\tName\tPrice\tCategory\n" : "ProductID,Name,Price,Category\n");
+            
+            StringBuilder row = new StringBuilder(64);
+            for (long i = 1; i <= rows; i++) {
+                long cents = 50 + (long) (random.nextDouble() * random.nextDouble() * 150_000);
+                String category = random.nextDouble() < electronicsRatio
+                        ? "Electronics" : OTHER_CATEGORIES[random.nextInt(OTHER_CATEGORIES.length)];
+                
+                row.setLength(0);
+                row.append(i).append(delimiter)
+                   .append(NAMES[random.nextInt(NAMES.length)]).append(delimiter)
+                   .append(cents / 100).append('.').append(cents % 100 < 10 ? "0" : "").append(cents % 100)
+                   .append(delimiter).append(category).append('\n');
+                writer.append(row);
+            }
+        }
+    }
+}
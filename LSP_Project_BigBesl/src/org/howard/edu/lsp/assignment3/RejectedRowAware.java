@@ -0,0 +1,17 @@
+/**
+ * Name: Bryce Ly
+ * RejectedRowAware interface - Stages that report skipped rows into a RejectedRowSink
+ */
+package org.howard.edu.lsp.assignment3;
+
+/**
+ * Interface for extractors that can hand the rows they skip to a RejectedRowSink
+ * ETLPipeline hands its sink to every configured stage implementing it
+ */
+public interface RejectedRowAware {
+    /**
+     * Sets the sink receiving skipped rows
+     * @param rejects The sink to report into, or null for a console-only sink per extraction
+     */
+    void setRejectedRowSink(RejectedRowSink rejects);
+}
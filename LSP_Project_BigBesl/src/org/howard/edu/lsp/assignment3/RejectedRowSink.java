@@ -0,0 +1,297 @@
+/**
+ * Name: Bryce Ly
+ * RejectedRowSink - Collects the rows extractors reject, with rate-limited console warnings
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Destination for input rows an extractor skips
+ * Every rejected row is counted by reason and, when a reject file is given,
+ * appended to it as "file,line,REASON,row" behind a "File,Line,Reason,Row"
+ * header. A file or row holding a comma, quote or line break is quoted as in
+ * RFC 4180, so every line splits into the same four columns. The console only
+ * gets the first few warnings of each reason in full; after that at most one
+ * sampled warning per reason every second, carrying the number of rows
+ * suppressed since the previous one. close() prints the totals by reason.
+ * A reject file ending in .gz or .lzb is compressed. Thread-safe.
+ * A sink created with resumable() lets a checkpointed run keep the rejects
+ * committed before its checkpoint and append to them.
+ */
+public final class RejectedRowSink implements Closeable {
+    private static final int CONSOLE_BURST = 10;
+    private static final long CONSOLE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private final String rejectPath;
+    private final Map<InvalidRowReason, ReasonCounter> counters = new EnumMap<>(InvalidRowReason.class);
+    private Writer rejects;
+    private FileChannel channel;
+    private boolean pending;
+    private boolean closed;
+    
+    /**
+     * Creates a sink that only counts rows and logs rate-limited warnings
+     */
+    public RejectedRowSink() {
+        this.rejectPath = null;
+        this.rejects = null;
+        initCounters();
+    }
+    
+    /**
+     * Creates a sink that also writes every rejected row to a reject file
+     * @param rejectPath Path of the reject file, replaced if it exists
+     * @throws IOException if the reject file cannot be created
+     */
+    public RejectedRowSink(String rejectPath) throws IOException {
+        this.rejectPath = rejectPath;
+        this.rejects = new BufferedWriter(new OutputStreamWriter(
+                Compression.openOutput(new File(rejectPath)), StandardCharsets.UTF_8), BUFFER_SIZE);
+        rejects.write("File,Line,Reason,Row\n");
+        initCounters();
+    }
+    
+    private RejectedRowSink(String rejectPath, FileChannel channel) {
+        this.rejectPath = rejectPath;
+        this.channel = channel;
+        this.pending = true;
+        initCounters();
+    }
+    
+    /**
+     * Creates a sink whose reject file can continue that of an interrupted checkpointed run
+     * The file is left as it is until resume is called or the first row is
+     * rejected, which replaces it as usual. A compressed reject file cannot
+     * be continued and is replaced right away.
+     * @param rejectPath Path of the reject file
+     * @throws IOException if the reject file cannot be opened
+     */
+    public static RejectedRowSink resumable(String rejectPath) throws IOException {
+        if (Compression.forOutput(new File(rejectPath)) != Compression.NONE) {
+            return new RejectedRowSink(rejectPath);
+        }
+        return new RejectedRowSink(rejectPath, FileChannel.open(new File(rejectPath).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE));
+    }
+    
+    /**
+     * Keeps the first length bytes of the reject file, as committed by commit() in an
+     * earlier run, and appends every further rejected row after them
+     * @return false, leaving the file to be replaced, if the sink is not resumable,
+     *         has already started writing or the file is shorter than length
+     */
+    synchronized boolean resume(long length) throws IOException {
+        if (!pending || length < 0 || channel.size() < length) {
+            return false;
+        }
+        start(length);
+        return true;
+    }
+    
+    /**
+     * Flushes the reject file to the storage device so a checkpoint can refer to it
+     * @return The length of the reject file, or -1 if it cannot be resumed
+     */
+    synchronized long commit() throws IOException {
+        if (channel == null) {
+            return -1;
+        }
+        startIfPending();
+        rejects.flush();
+        channel.force(true);
+        return channel.position();
+    }
+    
+    /**
+     * Returns the path of the reject file, or null if there is none
+     */
+    String getRejectPath() {
+        return rejectPath;
+    }
+    
+    /**
+     * Truncates the reject file to length and continues writing at its end, with a header if it is empty
+     */
+    private void start(long length) throws IOException {
+        pending = false;
+        channel.truncate(length);
+        channel.position(length);
+        rejects = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel),
+                StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (length == 0) {
+            rejects.write("File,Line,Reason,Row\n");
+        }
+    }
+    
+    private void startIfPending() throws IOException {
+        if (pending) {
+            start(0);
+        }
+    }
+    
+    private void initCounters() {
+        for (InvalidRowReason reason : InvalidRowReason.values()) {
+            counters.put(reason, new ReasonCounter());
+        }
+    }
+    
+    /**
+     * Records a rejected row
+     * @param file Path of the input file holding the row
+     * @param reason Why the row was rejected
+     * @param lineNumber Line of the row in its input file
+     * @param text The row as read, or null for empty lines
+     * @throws IOException if the reject file cannot be written
+     */
+    public synchronized void reject(String file, InvalidRowReason reason, long lineNumber, String text)
+            throws IOException {
+        ReasonCounter counter = counters.get(reason);
+        counter.count++;
+        startIfPending();
+        if (rejects != null) {
+            writeField(file);
+            rejects.write(',');
+            rejects.write(Long.toString(lineNumber));
+            rejects.write(',');
+            rejects.write(reason.name());
+            rejects.write(',');
+            if (text != null) {
+                writeField(text);
+            }
+            rejects.write('\n');
+        }
+        if (counter.count <= CONSOLE_BURST) {
+            System.err.println(warning(reason, lineNumber, text));
+            counter.lastLogged = System.nanoTime();
+            return;
+        }
+        long now = System.nanoTime();
+        if (now - counter.lastLogged >= CONSOLE_INTERVAL_NANOS) {
+            System.err.println(warning(reason, lineNumber, text) + " (" + counter.suppressed
+                    + " similar warnings suppressed)");
+            counter.suppressed = 0;
+            counter.lastLogged = now;
+        } else {
+            counter.suppressed++;
+        }
+    }
+    
+    /**
+     * Records a rejected row held in window[start, end), decoding it only if it is written or logged
+     */
+    void reject(String file, InvalidRowReason reason, long lineNumber, ByteBuffer window, int start, int end)
+            throws IOException {
+        String text = null;
+        if (reason != InvalidRowReason.EMPTY_LINE && needsText(reason)) {
+            text = ByteRowParser.decode(window, start, end);
+        }
+        reject(file, reason, lineNumber, text);
+    }
+    
+    /**
+     * Returns true if the next row rejected for this reason goes to the reject file or the console
+     */
+    private synchronized boolean needsText(InvalidRowReason reason) {
+        ReasonCounter counter = counters.get(reason);
+        return rejectPath != null || counter.count < CONSOLE_BURST
+                || System.nanoTime() - counter.lastLogged >= CONSOLE_INTERVAL_NANOS;
+    }
+    
+    /**
+     * Returns the number of rows rejected for a reason
+     */
+    public synchronized long getRejected(InvalidRowReason reason) {
+        return counters.get(reason).count;
+    }
+    
+    /**
+     * Returns the number of rows rejected for any reason
+     */
+    public synchronized long getRejected() {
+        long total = 0;
+        for (ReasonCounter counter : counters.values()) {
+            total += counter.count;
+        }
+        return total;
+    }
+    
+    /**
+     * Finishes the reject file and prints the totals by reason if any row was rejected
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        startIfPending();
+        if (rejects != null) {
+            rejects.close();
+        }
+        if (getRejected() == 0) {
+            return;
+        }
+        StringBuilder summary = new StringBuilder("Rejected rows:");
+        for (Map.Entry<InvalidRowReason, ReasonCounter> entry : counters.entrySet()) {
+            if (entry.getValue().count > 0) {
+                summary.append(' ').append(entry.getKey().getDescription()).append(' ')
+                       .append(entry.getValue().count).append(',');
+            }
+        }
+        summary.setLength(summary.length() - 1);
+        System.out.println(summary);
+        if (rejectPath != null) {
+            System.out.println("Rejected rows written to: " + rejectPath);
+        }
+    }
+    
+    /**
+     * Writes a field to the reject file, in double quotes with quotes doubled if it needs quoting
+     */
+    private void writeField(String value) throws IOException {
+        boolean quoted = false;
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char c = value.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quoted) {
+            rejects.write(value);
+            return;
+        }
+        rejects.write('"');
+        rejects.write(value.replace("\"", "\"\""));
+        rejects.write('"');
+    }
+    
+    private static String warning(InvalidRowReason reason, long lineNumber, String text) {
+        if (reason == InvalidRowReason.EMPTY_LINE) {
+            return "Warning: Skipping empty line " + lineNumber;
+        }
+        return "Warning: Skipping invalid row (" + reason.getDescription() + ") at line " + lineNumber
+                + (text != null ? ": " + text : "");
+    }
+    
+    /**
+     * Rows rejected for one reason and the console rate limit state
+     */
+    private static class ReasonCounter {
+        long count;
+        long suppressed;
+        long lastLogged;
+    }
+}
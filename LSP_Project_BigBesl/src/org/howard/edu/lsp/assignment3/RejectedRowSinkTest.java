@@ -0,0 +1,161 @@
+package org.howard.edu.lsp.assignment3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit test suite for RejectedRowSink.
+ * Checks the reject file written by each extractor and the rate limit on console warnings.
+ */
+public class RejectedRowSinkTest extends SilentConsoleTest {
+    
+    private static final int ROWS = 3000;
+    
+    private ByteArrayOutputStream errors;
+    
+    @BeforeEach
+    public void captureConsole() {
+        errors = captureErrors();
+    }
+    
+    /**
+     * Writes a feed where every third row is bad in one of two ways and every 100th line is empty
+     */
+    private String writeDirtyInput() throws IOException {
+        StringBuilder content = new StringBuilder("ProductID,Name,Price,Category\n");
+        for (int i = 1; i <= ROWS; i++) {
+            if (i % 100 == 0) {
+                content.append('\n');
+            } else if (i % 6 == 0) {
+                content.append(i).append(",Item,cheap,Toys\n");
+            } else if (i % 3 == 0) {
+                content.append("bad\trow ").append(i).append('\n');
+            } else {
+                content.append(i).append(",Item ").append(i).append(",9.99,Toys\n");
+            }
+        }
+        Path input = directory.resolve("dirty.csv");
+        Files.write(input, content.toString().getBytes());
+        return input.toString();
+    }
+    
+    private static long countLines(List<String> lines, String reason) {
+        return lines.stream().filter(line -> line.split(",", 4)[2].equals(reason)).count();
+    }
+    
+    /**
+     * Verifies every extractor writes the same reject file and keeps console warnings rate-limited.
+     */
+    @Test
+    public void extractorsWriteRejectFile() throws IOException {
+        String input = writeDirtyInput();
+        StreamingDataExtractor[] extractors = {
+            new CSVDataExtractor(), new MappedCSVDataExtractor(1024), new ParallelCSVDataExtractor(3, 2048),
+        };
+        List<String> expected = null;
+        for (StreamingDataExtractor extractor : extractors) {
+            errors.reset();
+            String rejectPath = directory.resolve("rejects.csv").toString();
+            try (RejectedRowSink rejects = new RejectedRowSink(rejectPath)) {
+                ((RejectedRowAware) extractor).setRejectedRowSink(rejects);
+                assertEquals(ROWS - 30 - 990, extractor.extract(input).size());
+                assertEquals(30, rejects.getRejected(InvalidRowReason.EMPTY_LINE));
+                assertEquals(500, rejects.getRejected(InvalidRowReason.INSUFFICIENT_COLUMNS));
+                assertEquals(490, rejects.getRejected(InvalidRowReason.NUMBER_FORMAT_ERROR));
+            }
+            
+            List<String> lines = Files.readAllLines(Path.of(rejectPath));
+            assertEquals("File,Line,Reason,Row", lines.get(0));
+            lines = lines.subList(1, lines.size());
+            assertEquals(1020, lines.size());
+            assertEquals(500, countLines(lines, "INSUFFICIENT_COLUMNS"));
+            assertEquals(input + ",7,NUMBER_FORMAT_ERROR,\"6,Item,cheap,Toys\"", lines.get(1));
+            assertEquals(input + ",4,INSUFFICIENT_COLUMNS,bad\trow 3", lines.get(0));
+            if (expected == null) {
+                expected = lines;
+            } else {
+                assertEquals(expected, lines, extractor.getClass().getSimpleName());
+            }
+            
+            long warnings = errors.toString().lines().filter(line -> line.startsWith("Warning: Skipping")).count();
+            assertTrue(warnings <= 3 * 12, warnings + " warnings printed");
+        }
+    }
+    
+    /**
+     * Verifies a multi-file run that fails on one shard still leaves a complete compressed reject file.
+     */
+    @Test
+    public void failedRunLeavesCompleteRejectFile() throws IOException {
+        Path shards = Files.createDirectories(directory.resolve("shards"));
+        String dirty = writeDirtyInput();
+        Files.copy(Path.of(dirty), shards.resolve("products-1.csv"));
+        Files.copy(Path.of(dirty), shards.resolve("products-2.csv"));
+        Files.write(shards.resolve("products-3.csv"), new byte[0]);
+        
+        String rejectPath = directory.resolve("rejects.csv.gz").toString();
+        ETLPipeline pipeline = new ETLPipeline();
+        try (RejectedRowSink rejects = new RejectedRowSink(rejectPath)) {
+            pipeline.setRejectedRowSink(rejects);
+            pipeline.runMultiFile(shards.toString(), directory.resolve("out").toString(), false, 2);
+            assertTrue(pipeline.hasFailed());
+        }
+        
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new FileInputStream(rejectPath))))) {
+            List<String> lines = reader.lines().toList();
+            assertEquals("File,Line,Reason,Row", lines.get(0));
+            assertEquals(1 + 2 * 1020, lines.size());
+        }
+    }
+    
+    /**
+     * Verifies file paths and rows holding commas or quotes are quoted, so the columns stay aligned.
+     */
+    @Test
+    public void rejectFileQuotesFields() throws IOException {
+        Path rejectPath = directory.resolve("rejects.csv");
+        try (RejectedRowSink rejects = new RejectedRowSink(rejectPath.toString())) {
+            rejects.reject("feeds/a,b.csv", InvalidRowReason.NUMBER_FORMAT_ERROR, 2, "7,\"Desk, large\",cheap,Home");
+            rejects.reject("feeds/plain.csv", InvalidRowReason.INSUFFICIENT_COLUMNS, 3, "short");
+            rejects.reject("feeds/plain.csv", InvalidRowReason.EMPTY_LINE, 4, null);
+        }
+        assertEquals(List.of("File,Line,Reason,Row",
+                "\"feeds/a,b.csv\",2,NUMBER_FORMAT_ERROR,\"7,\"\"Desk, large\"\",cheap,Home\"",
+                "feeds/plain.csv,3,INSUFFICIENT_COLUMNS,short",
+                "feeds/plain.csv,4,EMPTY_LINE,"), Files.readAllLines(rejectPath));
+    }
+    
+    /**
+     * Verifies only the first warnings of each reason are printed in full, then sampled with a suppressed count.
+     */
+    @Test
+    public void consoleWarningsAreRateLimited() throws IOException {
+        try (RejectedRowSink rejects = new RejectedRowSink()) {
+            for (int i = 1; i <= 100_000; i++) {
+                rejects.reject("feed.csv", InvalidRowReason.NUMBER_FORMAT_ERROR, i, "row " + i);
+            }
+            rejects.reject("feed.csv", InvalidRowReason.EMPTY_LINE, 100_001, null);
+            assertEquals(100_001, rejects.getRejected());
+        }
+        List<String> lines = errors.toString().lines().toList();
+        assertEquals("Warning: Skipping invalid row (number format error) at line 1: row 1", lines.get(0));
+        assertEquals("Warning: Skipping empty line 100001", lines.get(lines.size() - 1));
+        assertTrue(lines.size() < 30, lines.size() + " warnings printed");
+        for (String line : lines.subList(10, lines.size() - 1)) {
+            assertTrue(line.endsWith("similar warnings suppressed)"), line);
+        }
+    }
+}
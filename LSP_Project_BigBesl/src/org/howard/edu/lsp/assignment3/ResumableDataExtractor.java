@@ -0,0 +1,25 @@
+/**
+ * Name: Bryce Ly
+ * ResumableDataExtractor interface - Streaming extractor that can start part-way through its input
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.io.IOException;
+
+/**
+ * Interface for extractors that can resume from a line boundary
+ * Used by checkpointed runs: the sink is told the byte offset after every
+ * line, and a later extraction can start again at any such offset.
+ */
+public interface ResumableDataExtractor extends StreamingDataExtractor {
+    /**
+     * Extracts product data starting at the line that begins at startOffset
+     * The header is always read from the start of the source to detect the delimiter.
+     * @param filePath Path to the data source
+     * @param startOffset Byte offset of the first line to read; 0 reads the whole source
+     * @param startLine Line number of the line at startOffset (1 when startOffset is 0)
+     * @param sink Receiver for each extracted product and each line position
+     * @throws IOException if there are issues reading from the source or writing to the sink
+     */
+    void extract(String filePath, long startOffset, int startLine, PositionedProductSink sink) throws IOException;
+}
@@ -0,0 +1,299 @@
+/**
+ * Name: Bryce Ly
+ * RuleTable - Category-specific pricing and recategorization rules loaded from a file
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled table of discount and recategorization rules
+ * The rule file has one rule per line, blank lines and lines starting with
+ * '#' are ignored:
+ * <pre>
+ * discount,&lt;category&gt;,&lt;above&gt;,&lt;percent off&gt;
+ * category,&lt;category&gt;,&lt;above&gt;,&lt;new category&gt;
+ * </pre>
+ * A rule applies to products of the category (ignoring case) whose price is
+ * strictly greater than above, where "*" means any price. When several rules
+ * of the same kind apply, the one with the highest threshold wins, so a
+ * category can have tiered discounts. The standard rules are:
+ * <pre>
+ * discount,Electronics,*,10
+ * category,Electronics,500,Premium Electronics
+ * </pre>
+ * Rules are compiled into one entry per category holding sorted threshold
+ * arrays, so a row costs one hash lookup and a binary search no matter how
+ * many rules are configured. Immutable and thread-safe.
+ * The table's fingerprint is a hash of the compiled rules, so two files with
+ * the same rules in a different order or with other comments match.
+ */
+public final class RuleTable {
+    private static final int MAX_CACHED_SPELLINGS = 4096;
+    private static final CategoryRules NO_RULES =
+            new CategoryRules(new double[0], new double[0], new double[0], new String[0]);
+    
+    private final Map<String, CategoryRules> rulesByCategory;
+    private final Map<String, CategoryRules> rulesBySpelling = new ConcurrentHashMap<>();
+    private final int ruleCount;
+    private final String fingerprint;
+    
+    private RuleTable(Map<String, CategoryRules> rulesByCategory, int ruleCount) {
+        this.rulesByCategory = rulesByCategory;
+        this.ruleCount = ruleCount;
+        this.fingerprint = fingerprint(rulesByCategory);
+    }
+    
+    /**
+     * Loads and compiles a rule file
+     * @throws IOException if the file cannot be read or a rule is malformed
+     */
+    public static RuleTable load(String path) throws IOException {
+        try (Reader reader = new FileReader(path)) {
+            return parse(reader, path);
+        }
+    }
+    
+    /**
+     * Parses and compiles rules
+     * @param source Name of the rules' source, used in error messages
+     * @throws IOException if the rules cannot be read or a rule is malformed
+     */
+    public static RuleTable parse(Reader reader, String source) throws IOException {
+        Map<String, TreeMap<Double, Double>> discounts = new HashMap<>();
+        Map<String, TreeMap<Double, String>> recategorizations = new HashMap<>();
+        CategoryDictionary dictionary = CategoryDictionary.getInstance();
+        int ruleCount = 0;
+        
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            String text = line.trim();
+            if (text.isEmpty() || text.startsWith("#")) {
+                continue;
+            }
+            
+            String[] fields = text.split(",", -1);
+            if (fields.length != 4) {
+                throw ruleError(source, lineNumber, "expected kind,category,above,value");
+            }
+            String kind = fields[0].trim().toLowerCase(Locale.ROOT);
+            String category = fields[1].trim().toLowerCase(Locale.ROOT);
+            double above = parseThreshold(fields[2].trim(), source, lineNumber);
+            String value = fields[3].trim();
+            
+            Object previous;
+            if (kind.equals("discount")) {
+                double percent = parseNumber(value, source, lineNumber);
+                if (!(percent >= 0 && percent <= 100)) {
+                    throw ruleError(source, lineNumber, "discount must be between 0 and 100 percent");
+                }
+                previous = discounts.computeIfAbsent(category, key -> new TreeMap<>())
+                        .put(above, 1.0 - percent / 100.0);
+            } else if (kind.equals("category")) {
+                if (value.isEmpty()) {
+                    throw ruleError(source, lineNumber, "new category is empty");
+                }
+                previous = recategorizations.computeIfAbsent(category, key -> new TreeMap<>())
+                        .put(above, dictionary.intern(value));
+            } else {
+                throw ruleError(source, lineNumber, "unknown rule kind '" + fields[0].trim() + "'");
+            }
+            if (previous != null) {
+                throw ruleError(source, lineNumber, "duplicate rule for this category and threshold");
+            }
+            ruleCount++;
+        }
+        
+        Map<String, CategoryRules> compiled = new HashMap<>();
+        List<String> categories = new ArrayList<>(discounts.keySet());
+        for (String category : recategorizations.keySet()) {
+            if (!discounts.containsKey(category)) {
+                categories.add(category);
+            }
+        }
+        for (String category : categories) {
+            TreeMap<Double, Double> discountRules = discounts.getOrDefault(category, new TreeMap<>());
+            TreeMap<Double, String> categoryRules = recategorizations.getOrDefault(category, new TreeMap<>());
+            compiled.put(category, new CategoryRules(
+                    toArray(discountRules.keySet()), toArray(discountRules.values()),
+                    toArray(categoryRules.keySet()), categoryRules.values().toArray(new String[0])));
+        }
+        return new RuleTable(compiled, ruleCount);
+    }
+    
+    /**
+     * Returns the number of rules in the table
+     */
+    public int size() {
+        return ruleCount;
+    }
+    
+    /**
+     * Returns a SHA-256 hash of the compiled rules, as hexadecimal
+     * Tables that price and categorize every product the same way have the
+     * same fingerprint
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+    
+    /**
+     * Returns a pricing strategy applying the discount rules
+     */
+    public PricingStrategy createPricingStrategy() {
+        return new RuleTablePricingStrategy(this);
+    }
+    
+    /**
+     * Returns a category manager applying the recategorization rules
+     */
+    public CategoryManager createCategoryManager() {
+        return new RuleTableCategoryManager(this);
+    }
+    
+    /**
+     * Returns the price multiplier for a product, or 1 if no discount applies
+     */
+    double priceMultiplier(String category, double price) {
+        CategoryRules rules = rulesFor(category);
+        int rule = CategoryRules.applicable(rules.discountAbove, price);
+        return rule >= 0 ? rules.multipliers[rule] : 1.0;
+    }
+    
+    /**
+     * Returns the new category for a product, or null if it keeps its category
+     */
+    String recategorize(String category, double price) {
+        CategoryRules rules = rulesFor(category);
+        int rule = CategoryRules.applicable(rules.categoryAbove, price);
+        return rule >= 0 ? rules.targets[rule] : null;
+    }
+    
+    /**
+     * Finds the rules of a category
+     * Each distinct spelling is lower-cased once and then cached, so the usual
+     * handful of interned categories never lower-case again
+     */
+    private CategoryRules rulesFor(String category) {
+        if (category == null) {
+            return NO_RULES;
+        }
+        CategoryRules rules = rulesBySpelling.get(category);
+        if (rules == null) {
+            rules = rulesByCategory.getOrDefault(category.toLowerCase(Locale.ROOT), NO_RULES);
+            if (rulesBySpelling.size() < MAX_CACHED_SPELLINGS) {
+                rulesBySpelling.put(category, rules);
+            }
+        }
+        return rules;
+    }
+    
+    private static double parseThreshold(String text, String source, int lineNumber) throws IOException {
+        return text.equals("*") ? Double.NEGATIVE_INFINITY : parseNumber(text, source, lineNumber);
+    }
+    
+    private static double parseNumber(String text, String source, int lineNumber) throws IOException {
+        try {
+            double value = Double.parseDouble(text);
+            if (Double.isNaN(value)) {
+                throw new NumberFormatException();
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw ruleError(source, lineNumber, "'" + text + "' is not a number");
+        }
+    }
+    
+    private static IOException ruleError(String source, int lineNumber, String message) {
+        return new IOException("Invalid rule at " + source + ":" + lineNumber + ": " + message + ".");
+    }
+    
+    /**
+     * Hashes the rules of every category in category order
+     */
+    private static String fingerprint(Map<String, CategoryRules> rulesByCategory) {
+        StringBuilder rules = new StringBuilder();
+        for (String category : new TreeMap<>(rulesByCategory).keySet()) {
+            CategoryRules categoryRules = rulesByCategory.get(category);
+            rules.append(category.length()).append(':').append(category)
+                 .append(Arrays.toString(categoryRules.discountAbove))
+                 .append(Arrays.toString(categoryRules.multipliers))
+                 .append(Arrays.toString(categoryRules.categoryAbove));
+            for (String target : categoryRules.targets) {
+                rules.append(target.length()).append(':').append(target);
+            }
+            rules.append('\n');
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rules.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    private static double[] toArray(Iterable<Double> values) {
+        List<Double> list = new ArrayList<>();
+        values.forEach(list::add);
+        double[] array = new double[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+    
+    /**
+     * Compiled rules of one category: thresholds in ascending order, each
+     * with the multiplier or target category of its rule
+     */
+    private static class CategoryRules {
+        final double[] discountAbove;
+        final double[] multipliers;
+        final double[] categoryAbove;
+        final String[] targets;
+        
+        CategoryRules(double[] discountAbove, double[] multipliers, double[] categoryAbove, String[] targets) {
+            this.discountAbove = discountAbove;
+            this.multipliers = multipliers;
+            this.categoryAbove = categoryAbove;
+            this.targets = targets;
+        }
+        
+        /**
+         * Returns the index of the highest threshold below price, or -1 if price is not above any
+         */
+        static int applicable(double[] above, double price) {
+            int low = 0;
+            int high = above.length - 1;
+            int found = -1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (above[middle] < price) {
+                    found = middle;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return found;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * Name: Bryce Ly
+ * RuleTableCategoryManager - Category manager driven by a RuleTable
+ */
+package org.howard.edu.lsp.assignment3;
+
+/**
+ * Category manager applying the recategorization rules of a RuleTable
+ * A product moves to the category of the highest-threshold rule of its
+ * category that its price exceeds, and keeps its category if no rule applies
+ */
+public class RuleTableCategoryManager implements CategoryManager {
+    private final RuleTable rules;
+    
+    public RuleTableCategoryManager(RuleTable rules) {
+        this.rules = rules;
+    }
+    
+    @Override
+    public void categorize(Product product) {
+        String category = rules.recategorize(product.getCategory(), product.getPrice());
+        if (category != null) {
+            product.setCategory(category);
+        }
+    }
+    
+    @Override
+    public void categorize(ProductBatch batch, int row) {
+        String category = rules.recategorize(batch.getCategory(row), batch.getPrice(row));
+        if (category != null) {
+            batch.setCategory(row, category);
+        }
+    }
+    
+    /**
+     * The rule table is immutable, so safe to share between threads
+     */
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+    
+    /**
+     * Includes the rule table's fingerprint, so output written with other rules is not reused
+     */
+    @Override
+    public String getConfiguration() {
+        return getClass().getName() + "(" + rules.getFingerprint() + ")";
+    }
+}
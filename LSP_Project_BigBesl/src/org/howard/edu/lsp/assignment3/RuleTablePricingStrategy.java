@@ -0,0 +1,50 @@
+/**
+ * Name: Bryce Ly
+ * RuleTablePricingStrategy - Pricing strategy driven by a RuleTable
+ */
+package org.howard.edu.lsp.assignment3;
+
+/**
+ * Pricing strategy applying the discount rules of a RuleTable
+ * A product gets the discount of the highest-threshold rule of its category
+ * that its price exceeds, and is left unchanged if no rule applies
+ */
+public class RuleTablePricingStrategy implements PricingStrategy {
+    private final RuleTable rules;
+    
+    public RuleTablePricingStrategy(RuleTable rules) {
+        this.rules = rules;
+    }
+    
+    @Override
+    public void applyPricing(Product product) {
+        double multiplier = rules.priceMultiplier(product.getCategory(), product.getPrice());
+        if (multiplier != 1.0) {
+            product.setPrice(Money.roundToCents(product.getPrice() * multiplier));
+        }
+    }
+    
+    @Override
+    public void applyPricing(ProductBatch batch, int row) {
+        double multiplier = rules.priceMultiplier(batch.getCategory(row), batch.getPrice(row));
+        if (multiplier != 1.0) {
+            batch.setPrice(row, Money.roundToCents(batch.getPrice(row) * multiplier));
+        }
+    }
+    
+    /**
+     * The rule table is immutable, so safe to share between threads
+     */
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+    
+    /**
+     * Includes the rule table's fingerprint, so output written with other rules is not reused
+     */
+    @Override
+    public String getConfiguration() {
+        return getClass().getName() + "(" + rules.getFingerprint() + ")";
+    }
+}
@@ -0,0 +1,148 @@
+package org.howard.edu.lsp.assignment3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit test suite for RuleTable.
+ * Checks the compiled rules against the standard strategies and the tiered,
+ * case-insensitive matching and error reporting of the rule file.
+ */
+public class RuleTableTest {
+    
+    private static final String STANDARD_RULES =
+            "# The rules of StandardPricingStrategy and StandardCategoryManager\n"
+            + "discount,Electronics,*,10\n"
+            + "category,Electronics,500,Premium Electronics\n";
+    
+    private static RuleTable parse(String rules) throws IOException {
+        return RuleTable.parse(new StringReader(rules), "test");
+    }
+    
+    private static Product transform(ProductDataTransformer transformer, Product product) {
+        return transformer.transform(List.of(product)).get(0);
+    }
+    
+    /**
+     * Verifies the standard rules written as a table give exactly the standard output, by row and by batch.
+     */
+    @Test
+    public void standardRulesMatchStandardStrategies() throws IOException {
+        RuleTable rules = parse(STANDARD_RULES);
+        assertEquals(2, rules.size());
+        ProductDataTransformer standard = new ProductDataTransformer();
+        ProductDataTransformer table = new ProductDataTransformer(rules.createPricingStrategy(),
+                rules.createCategoryManager());
+        
+        String[] categories = { "Electronics", "electronics", "ELECTRONICS", "Toys", "Home", "" };
+        Random random = new Random(11);
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            double price = random.nextInt(120000) / 100.0;
+            products.add(new Product(i, "item " + i, price, categories[random.nextInt(categories.length)]));
+        }
+        products.add(new Product(-1, "edge", 500.00, "Electronics"));
+        products.add(new Product(-2, "edge", 555.56, "Electronics"));
+        
+        ProductBatch standardBatch = new ProductBatch(products.size());
+        ProductBatch tableBatch = new ProductBatch(products.size());
+        for (Product product : products) {
+            standardBatch.add(product);
+            tableBatch.add(product);
+        }
+        standard.transformBatch(standardBatch);
+        table.transformBatch(tableBatch);
+        
+        for (int i = 0; i < products.size(); i++) {
+            Product expected = transform(standard, products.get(i));
+            Product actual = transform(table, products.get(i));
+            assertEquals(expected.getPrice(), actual.getPrice(), "price of row " + i);
+            assertEquals(expected.getCategory(), actual.getCategory(), "category of row " + i);
+            assertEquals(standardBatch.getPrice(i), tableBatch.getPrice(i), "batch price of row " + i);
+            assertEquals(standardBatch.getCategory(i), tableBatch.getCategory(i), "batch category of row " + i);
+        }
+    }
+    
+    /**
+     * Verifies the highest threshold a price is strictly above picks the rule, per kind and category.
+     */
+    @Test
+    public void tieredRulesPickHighestThresholdBelowPrice() throws IOException {
+        RuleTable rules = parse("discount,Toys,*,5\n"
+                + "discount,toys,100,10\n"
+                + "discount,TOYS,1000,25\n"
+                + "\n"
+                + "category,Toys,50,Big Toys\n"
+                + "category,Toys,2000,Collectibles\n"
+                + "discount,Garden,20,0\n");
+        assertEquals(6, rules.size());
+        
+        assertEquals(0.95, rules.priceMultiplier("Toys", 0.01));
+        assertEquals(0.95, rules.priceMultiplier("Toys", 100.00));
+        assertEquals(0.90, rules.priceMultiplier("Toys", 100.01));
+        assertEquals(0.75, rules.priceMultiplier("toys", 5000.00));
+        assertEquals(1.0, rules.priceMultiplier("Garden", 50.00));
+        assertEquals(1.0, rules.priceMultiplier("Books", 50.00));
+        assertEquals(1.0, rules.priceMultiplier(null, 50.00));
+        
+        assertNull(rules.recategorize("Toys", 50.00));
+        assertEquals("Big Toys", rules.recategorize("Toys", 50.01));
+        assertEquals("Collectibles", rules.recategorize("TOYS", 2500.00));
+        assertNull(rules.recategorize("Garden", 2500.00));
+        
+        ProductDataTransformer transformer = new ProductDataTransformer(rules.createPricingStrategy(),
+                rules.createCategoryManager());
+        Product product = transform(transformer, new Product(1, "robot", 120.00, "Toys"));
+        assertEquals(108.00, product.getPrice());
+        assertEquals("Big Toys", product.getCategory());
+    }
+    
+    /**
+     * Verifies malformed rules are rejected with their line number.
+     */
+    @Test
+    public void malformedRulesAreRejected() {
+        String[] invalid = {
+            "discount,Toys,*\n",
+            "markup,Toys,*,10\n",
+            "discount,Toys,cheap,10\n",
+            "discount,Toys,*,150\n",
+            "category,Toys,*,\n",
+            "discount,Toys,*,10\ndiscount,toys,*,20\n",
+        };
+        for (String rules : invalid) {
+            IOException e = assertThrows(IOException.class, () -> parse("# header\n" + rules), rules);
+            int line = rules.split("\n").length + 1;
+            assertTrue(e.getMessage().contains("test:" + line + ":"), e.getMessage());
+        }
+    }
+    
+    /**
+     * Verifies the fingerprint ignores rule order, case and comments but changes with any rule.
+     */
+    @Test
+    public void fingerprintFollowsCompiledRules() throws IOException {
+        String fingerprint = parse(STANDARD_RULES).getFingerprint();
+        assertEquals(fingerprint, parse("category,ELECTRONICS,500,Premium Electronics\n\n"
+                + "discount, electronics ,*,10\n").getFingerprint());
+        assertNotEquals(fingerprint, parse("discount,Electronics,*,50\n"
+                + "category,Electronics,500,Premium Electronics\n").getFingerprint());
+        assertNotEquals(fingerprint, parse("discount,Electronics,*,10\n"
+                + "category,Electronics,400,Premium Electronics\n").getFingerprint());
+        assertNotEquals(fingerprint, parse("discount,Electronics,*,10\n").getFingerprint());
+        assertNotEquals(rulesConfiguration(STANDARD_RULES), rulesConfiguration("discount,Electronics,*,50\n"));
+    }
+    
+    private static String rulesConfiguration(String rules) throws IOException {
+        RuleTable table = parse(rules);
+        return new ProductDataTransformer(table.createPricingStrategy(), table.createCategoryManager())
+                .getConfiguration();
+    }
+}
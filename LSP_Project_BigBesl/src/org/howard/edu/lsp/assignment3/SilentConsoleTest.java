@@ -0,0 +1,49 @@
+package org.howard.edu.lsp.assignment3;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Base class for test suites that run the pipeline on files.
+ * Provides a temporary directory and silences the pipeline's console output
+ * during each test, restoring System.out and System.err afterwards.
+ */
+abstract class SilentConsoleTest {
+    
+    @TempDir
+    Path directory;
+    
+    private PrintStream originalOut;
+    private PrintStream originalErr;
+    
+    @BeforeEach
+    public void silenceConsole() {
+        originalOut = System.out;
+        originalErr = System.err;
+        PrintStream silent = new PrintStream(OutputStream.nullOutputStream());
+        System.setOut(silent);
+        System.setErr(silent);
+    }
+    
+    @AfterEach
+    public void restoreConsole() {
+        System.setOut(originalOut);
+        System.setErr(originalErr);
+    }
+    
+    /**
+     * Keeps what is written to System.err from now until the end of the test
+     * @return The buffer receiving the error output
+     */
+    ByteArrayOutputStream captureErrors() {
+        ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(errors));
+        return errors;
+    }
+}
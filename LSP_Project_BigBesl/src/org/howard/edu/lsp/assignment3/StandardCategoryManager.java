@@ -11,11 +11,36 @@ package org.howard.edu.lsp.assignment3;
 public class StandardCategoryManager implements CategoryManager {
     private static final double PREMIUM_THRESHOLD = 500.00;
     
+    private final CategoryDictionary categories = CategoryDictionary.getInstance();
+    
     @Override
     public void categorize(Product product) {
-        if ("Electronics".equalsIgnoreCase(product.getCategory()) && 
-            product.getPrice() > PREMIUM_THRESHOLD) {
-            product.setCategory("Premium Electronics");
+        if (categories.isElectronics(product.getCategory()) && 
+            isPremium(product.getPrice())) {
+            product.setCategory(CategoryDictionary.PREMIUM_ELECTRONICS);
+        }
+    }
+    
+    @Override
+    public void categorize(ProductBatch batch, int row) {
+        if (categories.isElectronics(batch.getCategory(row)) &&
+            isPremium(batch.getPrice(row))) {
+            batch.setCategory(row, CategoryDictionary.PREMIUM_ELECTRONICS);
         }
     }
+    
+    /**
+     * Stateless, so safe to share between threads
+     */
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+    
+    /**
+     * Returns true if an Electronics product at this price is Premium Electronics
+     */
+    static boolean isPremium(double price) {
+        return price > PREMIUM_THRESHOLD;
+    }
 }
\ No newline at end of file
@@ -4,9 +4,6 @@
  */
 package org.howard.edu.lsp.assignment3;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-
 /**
  * Standard pricing strategy with Electronics discount
  * Applies 10% discount to Electronics category products
@@ -14,20 +11,34 @@ import java.math.RoundingMode;
 public class StandardPricingStrategy implements PricingStrategy {
     private static final double ELECTRONICS_DISCOUNT = 0.1; // 10% discount
     
+    private final CategoryDictionary categories = CategoryDictionary.getInstance();
+    
     @Override
     public void applyPricing(Product product) {
-        if ("Electronics".equalsIgnoreCase(product.getCategory())) {
-            double discountedPrice = product.getPrice() * (1.0 - ELECTRONICS_DISCOUNT);
-            product.setPrice(roundPrice(discountedPrice));
+        if (categories.isElectronics(product.getCategory())) {
+            product.setPrice(discount(product.getPrice()));
+        }
+    }
+    
+    @Override
+    public void applyPricing(ProductBatch batch, int row) {
+        if (categories.isElectronics(batch.getCategory(row))) {
+            batch.setPrice(row, discount(batch.getPrice(row)));
         }
     }
     
     /**
-     * Rounds price to two decimal places using half-up rounding
+     * Stateless, so safe to share between threads
+     */
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+    
+    /**
+     * Returns the discounted Electronics price, rounded to two decimal places using half-up rounding
      */
-    private double roundPrice(double price) {
-        BigDecimal bd = new BigDecimal(price);
-        bd = bd.setScale(2, RoundingMode.HALF_UP);
-        return bd.doubleValue();
+    static double discount(double price) {
+        return Money.roundToCents(price * (1.0 - ELECTRONICS_DISCOUNT));
     }
 }
\ No newline at end of file
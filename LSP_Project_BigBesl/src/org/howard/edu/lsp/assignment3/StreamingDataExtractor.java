@@ -0,0 +1,30 @@
+/**
+ * Name: Bryce Ly
+ * StreamingDataExtractor interface - Row-at-a-time counterpart of DataExtractor
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Interface for extractors that push each row to a sink as soon as it is parsed
+ * The list-based extract method is kept as an adapter that collects the stream
+ */
+public interface StreamingDataExtractor extends DataExtractor {
+    /**
+     * Extracts product data from the specified source, one row at a time
+     * @param filePath Path to the data source
+     * @param sink Receiver for each extracted product, in source order
+     * @throws IOException if there are issues reading from the source or writing to the sink
+     */
+    void extract(String filePath, ProductSink sink) throws IOException;
+    
+    @Override
+    default List<Product> extract(String filePath) throws IOException {
+        List<Product> products = new ArrayList<>();
+        extract(filePath, products::add);
+        return products;
+    }
+}
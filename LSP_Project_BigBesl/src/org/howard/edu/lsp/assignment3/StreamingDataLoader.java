@@ -0,0 +1,41 @@
+/**
+ * Name: Bryce Ly
+ * StreamingDataLoader interface - Row-at-a-time counterpart of DataLoader
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Interface for loaders that write each product as it arrives
+ * The list-based load method is kept as an adapter that replays the list into a sink
+ */
+public interface StreamingDataLoader extends DataLoader {
+    /**
+     * Opens the destination for writing; the returned sink must be closed to finish the output
+     * @param outputPath Path to the output destination
+     * @return Sink that writes each accepted product to the destination
+     * @throws IOException if the destination cannot be opened
+     */
+    ProductSink open(String outputPath) throws IOException;
+    
+    /**
+     * Describes everything that decides the bytes written for a row
+     * Incremental and checkpointed runs only reuse earlier output when the
+     * description is the same
+     * @return The class name by default
+     */
+    default String getConfiguration() {
+        return getClass().getName();
+    }
+    
+    @Override
+    default void load(List<Product> products, String outputPath) throws IOException {
+        try (ProductSink sink = open(outputPath)) {
+            for (Product product : products) {
+                sink.accept(product);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * Name: Bryce Ly
+ * StreamingDataTransformer interface - Row-at-a-time counterpart of DataTransformer
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Interface for transformers that can process a single product independently
+ * The list-based transform method is kept as an adapter over transformProduct
+ */
+public interface StreamingDataTransformer extends DataTransformer {
+    /**
+     * Transforms a single product according to business rules
+     * @param product The product to transform
+     * @return The transformed product
+     */
+    Product transformProduct(Product product);
+    
+    /**
+     * Describes everything that decides what transformProduct returns
+     * Incremental and checkpointed runs only reuse earlier output when the
+     * description is the same
+     * @return The class name by default
+     */
+    default String getConfiguration() {
+        return getClass().getName();
+    }
+    
+    @Override
+    default List<Product> transform(List<Product> products) {
+        List<Product> transformed = new ArrayList<>(products.size());
+        for (Product product : products) {
+            transformed.add(transformProduct(product));
+        }
+        return transformed;
+    }
+}
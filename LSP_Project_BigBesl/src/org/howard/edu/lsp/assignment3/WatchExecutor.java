@@ -0,0 +1,323 @@
+/**
+ * Name: Bryce Ly
+ * WatchExecutor - Long-running mode that processes product files as they land in a directory
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Watches an input directory and runs every new or modified file through the
+ * pipeline in the same JVM, so each file is processed warm
+ * Events only mark a file as pending; a pending file is processed once no
+ * event has arrived for it during the settle delay, so a file that is still
+ * being written, or that produces a burst of modify events, is processed
+ * once. A file whose size and modification time are unchanged since it was
+ * last processed is not processed again. At most queueCapacity files are
+ * pending; when the queue is full, or the watch service drops events, the
+ * directory is rescanned once there is room again, so no file is missed.
+ * Ready files are processed in batches by a MultiFileExecutor, one output
+ * per input as in per-file multi-file runs.
+ */
+final class WatchExecutor {
+    private static final long IDLE_POLL_MILLIS = 1000;
+    private static final long STOP_TIMEOUT_SECONDS = 30;
+    
+    private final DataExtractor extractor;
+    private final DataTransformer transformer;
+    private final DataLoader loader;
+    private final int workers;
+    private final PipelineMetrics metrics;
+    private final int queueCapacity;
+    private final long settleNanos;
+    
+    private final Map<Path, Long> pending = new LinkedHashMap<>();
+    private final Map<Path, FileState> processed = new HashMap<>();
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private final AtomicInteger filesProcessed = new AtomicInteger();
+    private final AtomicInteger filesFailed = new AtomicInteger();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong eventsMerged = new AtomicLong();
+    private volatile WatchService watcher;
+    private volatile boolean stopped;
+    private boolean rescanNeeded;
+    
+    /**
+     * @param workers Number of files of a batch processed concurrently
+     * @param queueCapacity Maximum number of files waiting to be processed
+     * @param settleMillis Time without events after which a pending file is processed
+     * @param metrics Registry receiving the counts and timings of every batch, or null
+     */
+    WatchExecutor(DataExtractor extractor, DataTransformer transformer, DataLoader loader, int workers,
+                  int queueCapacity, long settleMillis, PipelineMetrics metrics) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be at least 1");
+        }
+        if (settleMillis < 0) {
+            throw new IllegalArgumentException("Settle delay must not be negative");
+        }
+        this.extractor = extractor;
+        this.transformer = transformer;
+        this.loader = loader;
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+        this.settleNanos = TimeUnit.MILLISECONDS.toNanos(settleMillis);
+        this.metrics = metrics;
+    }
+    
+    /**
+     * Processes the files already in inputDirectory, then every file that is
+     * created or modified, until stop() is called
+     */
+    void execute(File inputDirectory, File outputDirectory) throws IOException {
+        Path directory = inputDirectory.toPath().toAbsolutePath().normalize();
+        if (!Files.isDirectory(directory)) {
+            throw new IOException("Input directory '" + inputDirectory.getPath() + "' not found.");
+        }
+        if (outputDirectory.toPath().toAbsolutePath().normalize().equals(directory)) {
+            throw new IOException("Output directory must differ from the watched directory.");
+        }
+        
+        try (WatchService service = FileSystems.getDefault().newWatchService()) {
+            watcher = service;
+            directory.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            rescanNeeded = true;
+            
+            while (!stopped) {
+                if (rescanNeeded) {
+                    rescan(directory);
+                }
+                WatchKey key = service.poll(pollMillis(), TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    handleEvents(directory, key);
+                    if (!key.reset()) {
+                        throw new IOException("Input directory '" + inputDirectory.getPath()
+                                + "' is no longer accessible.");
+                    }
+                }
+                List<File> ready = takeSettled();
+                if (!ready.isEmpty()) {
+                    process(ready, outputDirectory);
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // stop() closed the service while waiting for events
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            finished.countDown();
+        }
+    }
+    
+    /**
+     * Asks a running execute() to return and waits for the batch in progress to finish
+     */
+    void stop() {
+        stopped = true;
+        WatchService service = watcher;
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException e) {
+                System.err.println("Warning: Could not close watch service: " + e.getMessage());
+            }
+            try {
+                finished.await(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    int getFilesProcessed() {
+        return filesProcessed.get();
+    }
+    
+    int getFilesFailed() {
+        return filesFailed.get();
+    }
+    
+    long getRowsWritten() {
+        return rowsWritten.get();
+    }
+    
+    /**
+     * Returns the number of events folded into a file that was already pending
+     */
+    long getEventsMerged() {
+        return eventsMerged.get();
+    }
+    
+    private void handleEvents(Path directory, WatchKey key) {
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                rescanNeeded = true;
+                continue;
+            }
+            Path file = directory.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                pending.remove(file);
+                processed.remove(file);
+            } else if (isCandidate(file)) {
+                offer(file);
+            }
+        }
+    }
+    
+    /**
+     * Marks every file that changed since it was last processed as pending
+     */
+    private void rescan(Path directory) throws IOException {
+        rescanNeeded = false;
+        try (Stream<Path> files = Files.list(directory)) {
+            Iterator<Path> iterator = files.sorted().iterator();
+            while (iterator.hasNext()) {
+                Path file = iterator.next();
+                if (isCandidate(file) && !isUnchanged(file)) {
+                    offer(file);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Marks a file as pending, or restarts its settle delay if it already is
+     */
+    private void offer(Path file) {
+        if (pending.containsKey(file)) {
+            eventsMerged.incrementAndGet();
+            pending.put(file, System.nanoTime());
+        } else if (pending.size() < queueCapacity) {
+            pending.put(file, System.nanoTime());
+        } else {
+            rescanNeeded = true;
+        }
+    }
+    
+    /**
+     * Removes and returns the pending files that have settled and changed since they were last processed
+     */
+    private List<File> takeSettled() {
+        List<File> ready = new ArrayList<>();
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Path, Long>> entries = pending.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<Path, Long> entry = entries.next();
+            if (now - entry.getValue() < settleNanos) {
+                continue;
+            }
+            entries.remove();
+            Path file = entry.getKey();
+            FileState state = FileState.of(file);
+            if (state != null && !state.equals(processed.get(file))) {
+                processed.put(file, state);
+                ready.add(file.toFile());
+            }
+        }
+        return ready;
+    }
+    
+    /**
+     * Returns how long to wait for events: until the next pending file settles, or the idle poll
+     */
+    private long pollMillis() {
+        long now = System.nanoTime();
+        long wait = TimeUnit.MILLISECONDS.toNanos(IDLE_POLL_MILLIS);
+        for (long lastEvent : pending.values()) {
+            wait = Math.min(wait, lastEvent + settleNanos - now);
+        }
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(wait));
+    }
+    
+    private void process(List<File> files, File outputDirectory) throws IOException {
+        MultiFileExecutor executor = new MultiFileExecutor(extractor, transformer, loader, workers, metrics);
+        executor.executePerFile(files, outputDirectory);
+        filesProcessed.addAndGet(executor.getFilesProcessed());
+        filesFailed.addAndGet(executor.getFilesFailed());
+        rowsWritten.addAndGet(executor.getRowsWritten());
+        if (metrics != null) {
+            metrics.recordRowsRead(executor.getRowsRead());
+            metrics.recordRowsWritten(executor.getRowsWritten());
+            metrics.recordBytesRead(executor.getBytesRead());
+            metrics.recordBytesWritten(executor.getBytesWritten());
+        }
+        
+        System.out.println("Processed " + executor.getFilesProcessed() + " of " + files.size() + " files, "
+                + executor.getRowsWritten() + " rows written to " + outputDirectory.getPath());
+        for (String failure : executor.getFailures()) {
+            System.err.println("Failed: " + failure);
+        }
+    }
+    
+    private boolean isCandidate(Path file) {
+        String name = file.getFileName().toString();
+        return !name.startsWith(".") && Files.isRegularFile(file);
+    }
+    
+    private boolean isUnchanged(Path file) {
+        FileState state = FileState.of(file);
+        return state != null && state.equals(processed.get(file));
+    }
+    
+    /**
+     * Size and modification time of a file when it was processed
+     */
+    private static class FileState {
+        final long size;
+        final long modified;
+        
+        FileState(long size, long modified) {
+            this.size = size;
+            this.modified = modified;
+        }
+        
+        /**
+         * Returns the current state of a file, or null if it has disappeared
+         */
+        static FileState of(Path file) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                return new FileState(attributes.size(),
+                        attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS));
+            } catch (IOException e) {
+                return null;
+            }
+        }
+        
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof FileState)) {
+                return false;
+            }
+            FileState state = (FileState) other;
+            return size == state.size && modified == state.modified;
+        }
+        
+        @Override
+        public int hashCode() {
+            return Long.hashCode(size) * 31 + Long.hashCode(modified);
+        }
+    }
+}
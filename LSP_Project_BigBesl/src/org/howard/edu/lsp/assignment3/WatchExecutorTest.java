@@ -0,0 +1,84 @@
+package org.howard.edu.lsp.assignment3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit test suite for watch mode.
+ * Drops files into a watched directory and checks each is processed once per change.
+ */
+public class WatchExecutorTest extends SilentConsoleTest {
+    
+    private static final long SETTLE_MILLIS = 300;
+    private static final long TIMEOUT_MILLIS = 20_000;
+    
+    private static void write(Path file, int rows, double price) throws IOException {
+        StringBuilder content = new StringBuilder("ProductID,Name,Price,Category\n");
+        for (int i = 1; i <= rows; i++) {
+            content.append(i).append(",Item ").append(i).append(',').append(price).append(",Electronics\n");
+        }
+        Files.write(file, content.toString().getBytes());
+    }
+    
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out waiting for the watcher");
+            Thread.sleep(20);
+        }
+    }
+    
+    /**
+     * Verifies existing and new files are processed, and a burst of rewrites is processed once.
+     */
+    @Test
+    public void processesEachChangeOnce() throws Exception {
+        Path inbox = Files.createDirectories(directory.resolve("inbox"));
+        File outbox = directory.resolve("outbox").toFile();
+        write(inbox.resolve("early.csv"), 3, 10.0);
+        
+        WatchExecutor executor = new WatchExecutor(new CSVDataExtractor(), new ProductDataTransformer(),
+                new CSVDataLoader(), 2, 16, SETTLE_MILLIS, null);
+        ExecutorService thread = Executors.newSingleThreadExecutor();
+        Future<?> running = thread.submit(() -> {
+            executor.execute(inbox.toFile(), outbox);
+            return null;
+        });
+        try {
+            awaitCondition(() -> executor.getFilesProcessed() == 1);
+            assertTrue(new File(outbox, "transformed_early.csv").exists());
+            
+            write(inbox.resolve("late.csv"), 5, 600.0);
+            awaitCondition(() -> executor.getFilesProcessed() == 2);
+            List<String> lines = Files.readAllLines(new File(outbox, "transformed_late.csv").toPath());
+            assertEquals(6, lines.size());
+            assertEquals("1,ITEM 1,540.00,Premium Electronics,Premium", lines.get(1));
+            
+            for (int i = 1; i <= 5; i++) {
+                write(inbox.resolve("late.csv"), 5 + i, 600.0);
+                Thread.sleep(10);
+            }
+            awaitCondition(() -> executor.getFilesProcessed() == 3);
+            Thread.sleep(SETTLE_MILLIS * 3);
+            assertEquals(3, executor.getFilesProcessed());
+            assertTrue(executor.getEventsMerged() > 0);
+            assertEquals(11, Files.readAllLines(new File(outbox, "transformed_late.csv").toPath()).size());
+            assertEquals(0, executor.getFilesFailed());
+        } finally {
+            executor.stop();
+            running.get();
+            thread.shutdownNow();
+        }
+    }
+}
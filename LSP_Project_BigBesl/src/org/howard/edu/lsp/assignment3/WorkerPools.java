@@ -0,0 +1,29 @@
+/**
+ * Name: Bryce Ly
+ * WorkerPools - Fork-join pools shared by the parallel pipeline stages
+ */
+package org.howard.edu.lsp.assignment3;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Fork-join pools shared by every parallel stage, one per parallelism
+ * Stages are created anew whenever the pipeline is reconfigured or rerun, so
+ * each one creating and shutting down its own pool would start fresh worker
+ * threads every time. Idle workers of a shared pool time out on their own.
+ */
+final class WorkerPools {
+    private static final Map<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+    
+    private WorkerPools() {
+    }
+    
+    /**
+     * Returns the shared pool with the given parallelism, creating it on first use
+     */
+    static ForkJoinPool get(int parallelism) {
+        return POOLS.computeIfAbsent(parallelism, ForkJoinPool::new);
+    }
+}
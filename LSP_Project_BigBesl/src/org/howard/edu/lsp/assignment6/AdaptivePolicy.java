@@ -0,0 +1,145 @@
+package org.howard.edu.lsp.assignment6;
+
+import org.howard.edu.lsp.assignment6.IntegerSet.Representation;
+
+/**
+ * 
+ * Chooses the storage of an {@link IntegerSet.Representation#ADAPTIVE} set
+ * from its size and density.
+ * 
+ * Small sets live in a sorted array, which is smallest and fastest for a few
+ * dozen elements. Larger sets use a bitmap when their elements are dense enough
+ * for the bitmap to take at most two bytes per element, compressed chunks once
+ * they are too large for a hash table to be economical, and a hash table
+ * otherwise.
+ * 
+ * Every threshold has a separate, looser value for leaving a representation
+ * than for entering it, so a set whose size or density hovers around a
+ * threshold is not converted back and forth.
+ * 
+ */
+
+final class AdaptivePolicy {
+
+	/** Largest size kept in a sorted array */
+
+	static final int SMALL_MAX = 32;
+
+	/** Size up to which a set in another representation returns to a sorted array */
+
+	static final int SMALL_RETURN = 16;
+
+	/** Size from which a set that is not dense enough for a bitmap is compressed */
+
+	static final int COMPRESSED_MIN = 1 << 16;
+
+	/** Size below which a compressed set returns to a hash table */
+
+	static final int COMPRESSED_RETURN = COMPRESSED_MIN / 2;
+
+	/** Values spanned per element up to which a set becomes a bitmap */
+
+	static final long BITMAP_SPAN = 16;
+
+	/** Values spanned per element up to which a bitmap stays a bitmap */
+
+	static final long BITMAP_RETURN_SPAN = 32;
+
+	/** Span a bitmap may always grow to, however few elements it holds */
+
+	static final long BITMAP_MIN_SPAN = 1 << 16;
+
+	private AdaptivePolicy() {
+
+	}
+
+	/**
+	 * 
+	 * Returns the representation a set should have, given the one it has now.
+	 * 
+	 * Computing the density takes the smallest and largest elements, which is a
+	 * full scan for a hash table, so callers should only ask when the size has
+	 * changed substantially.
+	 * 
+	 * @param storage current storage of the set
+	 * 
+	 * @return representation to convert to, or the current one to keep it
+	 * 
+	 */
+
+	static Representation choose(IntStorage storage) {
+
+		Representation current = storage.representation();
+
+		int size = storage.size();
+
+		if (size <= (current == Representation.SORTED ? SMALL_MAX : SMALL_RETURN)) {
+
+			return Representation.SORTED;
+
+		}
+
+		long span = (long) storage.max() - storage.min() + 1;
+
+		if (span <= (current == Representation.BITMAP ? BITMAP_RETURN_SPAN : BITMAP_SPAN) * size) {
+
+			return Representation.BITMAP;
+
+		}
+
+		return sparse(current, size);
+
+	}
+
+	/**
+	 * 
+	 * Checks whether a bitmap set may grow to cover a span of values, so that a
+	 * few far-apart additions do not allocate a huge bitmap before the next
+	 * size check.
+	 * 
+	 * @param span number of values the bitmap would cover
+	 * 
+	 * @param size number of elements it would hold
+	 * 
+	 * @return true if the bitmap may grow; false if the set should be converted first
+	 * 
+	 */
+
+	static boolean bitmapMayCover(long span, long size) {
+
+		return span <= Math.max(BITMAP_MIN_SPAN, BITMAP_RETURN_SPAN * size);
+
+	}
+
+	/**
+	 * 
+	 * Returns the representation for a set of the given size that is not dense
+	 * enough for a bitmap.
+	 * 
+	 * @param current representation the set has now
+	 * 
+	 * @param size number of elements
+	 * 
+	 * @return representation to convert to, or the current one to keep it
+	 * 
+	 */
+
+	static Representation sparse(Representation current, int size) {
+
+		if (size <= (current == Representation.SORTED ? SMALL_MAX : SMALL_RETURN)) {
+
+			return Representation.SORTED;
+
+		}
+
+		if (size >= (current == Representation.COMPRESSED ? COMPRESSED_RETURN : COMPRESSED_MIN)) {
+
+			return Representation.COMPRESSED;
+
+		}
+
+		return Representation.HASH;
+
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,560 @@
+package org.howard.edu.lsp.assignment6;
+
+import java.util.function.IntConsumer;
+
+/**
+ * 
+ * Bitmap of {@code int} values, the {@link IntegerSet.Representation#BITMAP}
+ * storage.
+ * 
+ * Value v is bit {@code v & 63} of word {@code v >> 6}; the {@code long[]}
+ * holds a window of words starting at {@code firstWord}, which grows in either
+ * direction to cover the values added. Union, intersection and difference with
+ * another bitmap are word-at-a-time OR, AND and AND NOT over the overlapping
+ * words, the smallest and largest values come from trailing and leading zero
+ * counts of the first and last non-empty words, and the number of values is
+ * kept up to date with {@link Long#bitCount(long)} as words change.
+ * 
+ * A bitmap takes one bit per value between the smallest and largest it has
+ * held, so it suits dense ranges; far-apart values make the window large.
+ * 
+ */
+
+final class IntBitmap implements IntStorage {
+
+	private static final int MIN_WORD = Integer.MIN_VALUE >> 6;
+
+	private static final int MAX_WORD = Integer.MAX_VALUE >> 6;
+
+	private static final int MIN_WORDS = 4;
+
+	private long[] words = new long[0];
+
+	private int firstWord;
+
+	private int size;
+
+	@Override
+
+	public int size() {
+
+		return size;
+
+	}
+
+	@Override
+
+	public boolean contains(int value) {
+
+		int index = (value >> 6) - firstWord;
+
+		return index >= 0 && index < words.length && (words[index] & (1L << value)) != 0;
+
+	}
+
+	@Override
+
+	public boolean add(int value) {
+
+		int word = value >> 6;
+
+		if (size == 0 || word < firstWord || word >= firstWord + words.length) {
+
+			cover(word, word);
+
+		}
+
+		int index = word - firstWord;
+
+		long bit = 1L << value;
+
+		if ((words[index] & bit) != 0) {
+
+			return false;
+
+		}
+
+		words[index] |= bit;
+
+		size++;
+
+		return true;
+
+	}
+
+	@Override
+
+	public boolean remove(int value) {
+
+		int index = (value >> 6) - firstWord;
+
+		long bit = 1L << value;
+
+		if (index < 0 || index >= words.length || (words[index] & bit) == 0) {
+
+			return false;
+
+		}
+
+		words[index] &= ~bit;
+
+		size--;
+
+		return true;
+
+	}
+
+	@Override
+
+	public void clear() {
+
+		words = new long[0];
+
+		firstWord = 0;
+
+		size = 0;
+
+	}
+
+	@Override
+
+	public int min() {
+
+		int index = 0;
+
+		while (words[index] == 0) {
+
+			index++;
+
+		}
+
+		return ((firstWord + index) << 6) + Long.numberOfTrailingZeros(words[index]);
+
+	}
+
+	@Override
+
+	public int max() {
+
+		int index = words.length - 1;
+
+		while (words[index] == 0) {
+
+			index--;
+
+		}
+
+		return ((firstWord + index) << 6) + 63 - Long.numberOfLeadingZeros(words[index]);
+
+	}
+
+	/**
+	 * 
+	 * Passes every value to an action in ascending order.
+	 * 
+	 * @param action action receiving each value
+	 * 
+	 */
+
+	@Override
+
+	public void forEach(IntConsumer action) {
+
+		for (int index = 0; index < words.length; index++) {
+
+			int base = (firstWord + index) << 6;
+
+			for (long word = words[index]; word != 0; word &= word - 1) {
+
+				action.accept(base + Long.numberOfTrailingZeros(word));
+
+			}
+
+		}
+
+	}
+
+	@Override
+
+	public int[] toArray() {
+
+		int[] values = new int[size];
+
+		int count = 0;
+
+		for (int index = 0; index < words.length; index++) {
+
+			int base = (firstWord + index) << 6;
+
+			for (long word = words[index]; word != 0; word &= word - 1) {
+
+				values[count++] = base + Long.numberOfTrailingZeros(word);
+
+			}
+
+		}
+
+		return values;
+
+	}
+
+	@Override
+
+	public int[] toSortedArray() {
+
+		return toArray();
+
+	}
+
+	@Override
+
+	public IntBitmap copy() {
+
+		IntBitmap copy = new IntBitmap();
+
+		copy.words = words.clone();
+
+		copy.firstWord = firstWord;
+
+		copy.size = size;
+
+		return copy;
+
+	}
+
+	@Override
+
+	public IntBitmap newEmpty() {
+
+		return new IntBitmap();
+
+	}
+
+	@Override
+
+	public IntegerSet.Representation representation() {
+
+		return IntegerSet.Representation.BITMAP;
+
+	}
+
+	@Override
+
+	public long memoryBytes() {
+
+		return words.length * 8L;
+
+	}
+
+	/**
+	 * 
+	 * Counts the bits of the words below the value's word, then the bits of its
+	 * own word below it.
+	 * 
+	 */
+
+	@Override
+
+	public int rank(int value) {
+
+		int index = (value >> 6) - firstWord;
+
+		if (index < 0) {
+
+			return 0;
+
+		}
+
+		if (index >= words.length) {
+
+			return size;
+
+		}
+
+		int rank = Long.bitCount(words[index] & ((1L << value) - 1));
+
+		for (int word = 0; word < index; word++) {
+
+			rank += Long.bitCount(words[word]);
+
+		}
+
+		return rank;
+
+	}
+
+	@Override
+
+	public int select(int index) {
+
+		int word = 0;
+
+		for (int count = Long.bitCount(words[0]); index >= count; count = Long.bitCount(words[++word])) {
+
+			index -= count;
+
+		}
+
+		return ((firstWord + word) << 6) + selectBit(words[word], index);
+
+	}
+
+	@Override
+
+	public boolean containsAll(IntStorage other) {
+
+		if (!(other instanceof IntBitmap)) {
+
+			return IntStorage.super.containsAll(other);
+
+		}
+
+		IntBitmap bitmap = (IntBitmap) other;
+
+		for (int index = 0; index < bitmap.words.length; index++) {
+
+			long word = bitmap.words[index];
+
+			if (word != 0 && (word & ~wordAt(bitmap.firstWord + index)) != 0) {
+
+				return false;
+
+			}
+
+		}
+
+		return true;
+
+	}
+
+	@Override
+
+	public void addAll(IntStorage other) {
+
+		if (!(other instanceof IntBitmap)) {
+
+			IntStorage.super.addAll(other);
+
+			return;
+
+		}
+
+		IntBitmap bitmap = (IntBitmap) other;
+
+		if (bitmap.size == 0) {
+
+			return;
+
+		}
+
+		int low = bitmap.firstNonEmpty();
+
+		int high = bitmap.lastNonEmpty();
+
+		cover(bitmap.firstWord + low, bitmap.firstWord + high);
+
+		int shift = bitmap.firstWord - firstWord;
+
+		for (int index = low; index <= high; index++) {
+
+			long before = words[index + shift];
+
+			long after = before | bitmap.words[index];
+
+			words[index + shift] = after;
+
+			size += Long.bitCount(after) - Long.bitCount(before);
+
+		}
+
+	}
+
+	@Override
+
+	public void retainAll(IntStorage other) {
+
+		if (!(other instanceof IntBitmap)) {
+
+			IntStorage.super.retainAll(other);
+
+			return;
+
+		}
+
+		IntBitmap bitmap = (IntBitmap) other;
+
+		int count = 0;
+
+		for (int index = 0; index < words.length; index++) {
+
+			words[index] &= bitmap.wordAt(firstWord + index);
+
+			count += Long.bitCount(words[index]);
+
+		}
+
+		size = count;
+
+	}
+
+	@Override
+
+	public void removeAll(IntStorage other) {
+
+		if (!(other instanceof IntBitmap)) {
+
+			IntStorage.super.removeAll(other);
+
+			return;
+
+		}
+
+		IntBitmap bitmap = (IntBitmap) other;
+
+		int count = 0;
+
+		for (int index = 0; index < words.length; index++) {
+
+			words[index] &= ~bitmap.wordAt(firstWord + index);
+
+			count += Long.bitCount(words[index]);
+
+		}
+
+		size = count;
+
+	}
+
+	/**
+	 * 
+	 * Returns the number of values the window would cover if it were grown just
+	 * enough to hold low and high.
+	 * 
+	 */
+
+	long spanWith(int low, int high) {
+
+		long first = low >> 6;
+
+		long last = high >> 6;
+
+		if (size > 0) {
+
+			first = Math.min(first, firstWord);
+
+			last = Math.max(last, (long) firstWord + words.length - 1);
+
+		}
+
+		return (last - first + 1) * 64;
+
+	}
+
+	/**
+	 * 
+	 * Returns the position of the set bit of a word that has index set bits below
+	 * it.
+	 * 
+	 */
+
+	static int selectBit(long word, int index) {
+
+		for (int skipped = 0; skipped < index; skipped++) {
+
+			word &= word - 1;
+
+		}
+
+		return Long.numberOfTrailingZeros(word);
+
+	}
+
+	/**
+	 * 
+	 * Returns the word with the given absolute index, 0 outside the window.
+	 * 
+	 */
+
+	private long wordAt(int word) {
+
+		int index = word - firstWord;
+
+		return index >= 0 && index < words.length ? words[index] : 0;
+
+	}
+
+	private int firstNonEmpty() {
+
+		int index = 0;
+
+		while (words[index] == 0) {
+
+			index++;
+
+		}
+
+		return index;
+
+	}
+
+	private int lastNonEmpty() {
+
+		int index = words.length - 1;
+
+		while (words[index] == 0) {
+
+			index--;
+
+		}
+
+		return index;
+
+	}
+
+	/**
+	 * 
+	 * Grows the window to cover words low to high, with room to spare in the
+	 * direction it grew so that adding ascending or descending values is
+	 * amortized constant time. An empty bitmap moves its window instead.
+	 * 
+	 */
+
+	private void cover(int low, int high) {
+
+		if (size == 0) {
+
+			int length = Math.max(high - low + 1, Math.max(words.length, MIN_WORDS));
+
+			words = new long[Math.min(length, MAX_WORD - MIN_WORD + 1)];
+
+			firstWord = (int) Math.max(MIN_WORD, Math.min((long) low, (long) MAX_WORD - words.length + 1));
+
+			return;
+
+		}
+
+		long start = Math.min(firstWord, low);
+
+		long end = Math.max((long) firstWord + words.length, (long) high + 1);
+
+		long length = Math.max(end - start, (long) words.length * 2);
+
+		if (low < firstWord) {
+
+			start = Math.max(MIN_WORD, end - length);
+
+		}
+
+		end = Math.min((long) MAX_WORD + 1, start + length);
+
+		long[] grown = new long[(int) (end - start)];
+
+		System.arraycopy(words, 0, grown, (int) (firstWord - start), words.length);
+
+		words = grown;
+
+		firstWord = (int) start;
+
+	}
+
+}
\ No newline at end of file
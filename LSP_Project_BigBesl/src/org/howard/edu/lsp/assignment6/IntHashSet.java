@@ -0,0 +1,533 @@
+package org.howard.edu.lsp.assignment6;
+
+import java.util.Arrays;
+
+import java.util.function.IntConsumer;
+
+/**
+ * 
+ * Open-addressing hash set of primitive {@code int} values, the
+ * {@link IntegerSet.Representation#HASH} storage.
+ * 
+ * Values are stored directly in an {@code int[]} table with linear probing, so
+ * no {@code Integer} is ever allocated. The value 0 marks a free slot; whether
+ * 0 itself is a member is tracked by a separate flag.
+ * 
+ * The table doubles when it is more than half full and halves when it is less
+ * than an eighth full. Removal shifts the rest of the probe run back instead of
+ * leaving tombstones, so lookups do not slow down after many removals.
+ * 
+ */
+
+final class IntHashSet implements IntStorage {
+
+	private static final int MIN_CAPACITY = 16;
+
+	private int[] table = new int[MIN_CAPACITY];
+
+	private int mask = MIN_CAPACITY - 1;
+
+	private int stored;
+
+	private boolean containsZero;
+
+	/**
+	 * 
+	 * Returns the number of values in the set.
+	 * 
+	 * @return number of values
+	 * 
+	 */
+
+	@Override
+
+	public int size() {
+
+		return containsZero ? stored + 1 : stored;
+
+	}
+
+	/**
+	 * 
+	 * Checks whether a value is in the set.
+	 * 
+	 * @param value value to look for
+	 * 
+	 * @return true if present; false otherwise
+	 * 
+	 */
+
+	@Override
+
+	public boolean contains(int value) {
+
+		if (value == 0) {
+
+			return containsZero;
+
+		}
+
+		for (int slot = slot(value);; slot = (slot + 1) & mask) {
+
+			int current = table[slot];
+
+			if (current == value) {
+
+				return true;
+
+			}
+
+			if (current == 0) {
+
+				return false;
+
+			}
+
+		}
+
+	}
+
+	/**
+	 * 
+	 * Adds a value if it is not already present.
+	 * 
+	 * @param value value to add
+	 * 
+	 * @return true if the set changed
+	 * 
+	 */
+
+	@Override
+
+	public boolean add(int value) {
+
+		if (value == 0) {
+
+			boolean added = !containsZero;
+
+			containsZero = true;
+
+			return added;
+
+		}
+
+		int slot = slot(value);
+
+		for (int current = table[slot]; current != 0; current = table[slot]) {
+
+			if (current == value) {
+
+				return false;
+
+			}
+
+			slot = (slot + 1) & mask;
+
+		}
+
+		table[slot] = value;
+
+		stored++;
+
+		if (stored * 2 > table.length) {
+
+			rehash(table.length * 2);
+
+		}
+
+		return true;
+
+	}
+
+	/**
+	 * 
+	 * Removes a value if it is present.
+	 * 
+	 * @param value value to remove
+	 * 
+	 * @return true if the set changed
+	 * 
+	 */
+
+	@Override
+
+	public boolean remove(int value) {
+
+		if (value == 0) {
+
+			boolean removed = containsZero;
+
+			containsZero = false;
+
+			return removed;
+
+		}
+
+		int gap = slot(value);
+
+		for (int current = table[gap]; current != value; current = table[gap]) {
+
+			if (current == 0) {
+
+				return false;
+
+			}
+
+			gap = (gap + 1) & mask;
+
+		}
+
+		// Move back every later entry of the run whose home slot is not between the gap and itself
+
+		for (int next = (gap + 1) & mask; table[next] != 0; next = (next + 1) & mask) {
+
+			int home = slot(table[next]);
+
+			if (((next - home) & mask) >= ((next - gap) & mask)) {
+
+				table[gap] = table[next];
+
+				gap = next;
+
+			}
+
+		}
+
+		table[gap] = 0;
+
+		stored--;
+
+		if (table.length > MIN_CAPACITY && stored * 8 < table.length) {
+
+			rehash(table.length / 2);
+
+		}
+
+		return true;
+
+	}
+
+	/**
+	 * 
+	 * Removes every value and releases a grown table.
+	 * 
+	 */
+
+	@Override
+
+	public void clear() {
+
+		if (table.length > MIN_CAPACITY) {
+
+			table = new int[MIN_CAPACITY];
+
+			mask = MIN_CAPACITY - 1;
+
+		} else {
+
+			Arrays.fill(table, 0);
+
+		}
+
+		stored = 0;
+
+		containsZero = false;
+
+	}
+
+	/**
+	 * 
+	 * Passes every value to an action, in no particular order.
+	 * 
+	 * The set must not be modified by the action.
+	 * 
+	 * @param action action receiving each value
+	 * 
+	 */
+
+	@Override
+
+	public void forEach(IntConsumer action) {
+
+		if (containsZero) {
+
+			action.accept(0);
+
+		}
+
+		for (int value : table) {
+
+			if (value != 0) {
+
+				action.accept(value);
+
+			}
+
+		}
+
+	}
+
+	/**
+	 * 
+	 * Checks whether every value of another storage is in this set, walking the
+	 * other table directly when it is a hash set too.
+	 * 
+	 * @param other storage whose values to look for
+	 * 
+	 * @return true if this set contains all of them; false otherwise
+	 * 
+	 */
+
+	@Override
+
+	public boolean containsAll(IntStorage other) {
+
+		if (!(other instanceof IntHashSet)) {
+
+			return IntStorage.super.containsAll(other);
+
+		}
+
+		IntHashSet hashed = (IntHashSet) other;
+
+		if (hashed.containsZero && !containsZero) {
+
+			return false;
+
+		}
+
+		for (int value : hashed.table) {
+
+			if (value != 0 && !contains(value)) {
+
+				return false;
+
+			}
+
+		}
+
+		return true;
+
+	}
+
+	/**
+	 * 
+	 * Keeps only the values that are also in another storage; when the other
+	 * storage is smaller, the common values are collected into a new table
+	 * instead of removing this set's values one at a time.
+	 * 
+	 * @param other storage whose values to keep
+	 * 
+	 */
+
+	@Override
+
+	public void retainAll(IntStorage other) {
+
+		if (other.size() >= size()) {
+
+			IntStorage.super.retainAll(other);
+
+			return;
+
+		}
+
+		IntHashSet common = new IntHashSet();
+
+		other.forEach(value -> {
+
+			if (contains(value)) {
+
+				common.add(value);
+
+			}
+
+		});
+
+		table = common.table;
+
+		mask = common.mask;
+
+		stored = common.stored;
+
+		containsZero = common.containsZero;
+
+	}
+
+	@Override
+
+	public int min() {
+
+		int min = Integer.MAX_VALUE;
+
+		for (int value : table) {
+
+			if (value != 0 && value < min) {
+
+				min = value;
+
+			}
+
+		}
+
+		return containsZero ? Math.min(min, 0) : min;
+
+	}
+
+	@Override
+
+	public int max() {
+
+		int max = Integer.MIN_VALUE;
+
+		for (int value : table) {
+
+			if (value != 0 && value > max) {
+
+				max = value;
+
+			}
+
+		}
+
+		return containsZero ? Math.max(max, 0) : max;
+
+	}
+
+	/**
+	 * 
+	 * Returns the values in ascending order.
+	 * 
+	 * @return new sorted array of the values
+	 * 
+	 */
+
+	@Override
+
+	public int[] toSortedArray() {
+
+		int[] values = toArray();
+
+		Arrays.sort(values);
+
+		return values;
+
+	}
+
+	/**
+	 * 
+	 * Returns the values in no particular order.
+	 * 
+	 * @return new array of the values
+	 * 
+	 */
+
+	@Override
+
+	public int[] toArray() {
+
+		int[] values = new int[size()];
+
+		int count = containsZero ? 1 : 0;
+
+		for (int value : table) {
+
+			if (value != 0) {
+
+				values[count++] = value;
+
+			}
+
+		}
+
+		return values;
+
+	}
+
+	/**
+	 * 
+	 * Returns an independent copy of the set.
+	 * 
+	 * @return copy holding the same values
+	 * 
+	 */
+
+	@Override
+
+	public IntHashSet copy() {
+
+		IntHashSet copy = new IntHashSet();
+
+		copy.table = table.clone();
+
+		copy.mask = mask;
+
+		copy.stored = stored;
+
+		copy.containsZero = containsZero;
+
+		return copy;
+
+	}
+
+	@Override
+
+	public IntHashSet newEmpty() {
+
+		return new IntHashSet();
+
+	}
+
+	@Override
+
+	public IntegerSet.Representation representation() {
+
+		return IntegerSet.Representation.HASH;
+
+	}
+
+	@Override
+
+	public long memoryBytes() {
+
+		return table.length * 4L;
+
+	}
+
+	private int slot(int value) {
+
+		int hash = value * 0x9E3779B9;
+
+		return (hash ^ (hash >>> 16)) & mask;
+
+	}
+
+	private void rehash(int capacity) {
+
+		int[] old = table;
+
+		table = new int[capacity];
+
+		mask = capacity - 1;
+
+		for (int value : old) {
+
+			if (value != 0) {
+
+				int slot = slot(value);
+
+				while (table[slot] != 0) {
+
+					slot = (slot + 1) & mask;
+
+				}
+
+				table[slot] = value;
+
+			}
+
+		}
+
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,330 @@
+package org.howard.edu.lsp.assignment6;
+
+import java.util.function.IntConsumer;
+
+/**
+ * 
+ * Storage behind an {@link IntegerSet}: a set of primitive {@code int} values.
+ * 
+ * The bulk operations have default implementations in terms of the single
+ * value ones, so they work between any two storages; implementations override
+ * them with faster versions for operands of their own kind.
+ * 
+ */
+
+interface IntStorage {
+
+	/**
+	 * 
+	 * Returns the number of values in the storage.
+	 * 
+	 * @return number of values
+	 * 
+	 */
+
+	int size();
+
+	/**
+	 * 
+	 * Checks whether a value is in the storage.
+	 * 
+	 * @param value value to look for
+	 * 
+	 * @return true if present; false otherwise
+	 * 
+	 */
+
+	boolean contains(int value);
+
+	/**
+	 * 
+	 * Adds a value if it is not already present.
+	 * 
+	 * @param value value to add
+	 * 
+	 * @return true if the storage changed
+	 * 
+	 */
+
+	boolean add(int value);
+
+	/**
+	 * 
+	 * Removes a value if it is present.
+	 * 
+	 * @param value value to remove
+	 * 
+	 * @return true if the storage changed
+	 * 
+	 */
+
+	boolean remove(int value);
+
+	/**
+	 * 
+	 * Removes every value.
+	 * 
+	 */
+
+	void clear();
+
+	/**
+	 * 
+	 * Returns the smallest value; the storage must not be empty.
+	 * 
+	 * @return smallest value
+	 * 
+	 */
+
+	int min();
+
+	/**
+	 * 
+	 * Returns the largest value; the storage must not be empty.
+	 * 
+	 * @return largest value
+	 * 
+	 */
+
+	int max();
+
+	/**
+	 * 
+	 * Passes every value to an action; the storage must not be modified by it.
+	 * 
+	 * @param action action receiving each value
+	 * 
+	 */
+
+	void forEach(IntConsumer action);
+
+	/**
+	 * 
+	 * Returns the values in no particular order.
+	 * 
+	 * @return new array of the values
+	 * 
+	 */
+
+	int[] toArray();
+
+	/**
+	 * 
+	 * Returns the values in ascending order.
+	 * 
+	 * @return new sorted array of the values
+	 * 
+	 */
+
+	int[] toSortedArray();
+
+	/**
+	 * 
+	 * Returns an independent copy of the storage.
+	 * 
+	 * @return copy of the same kind holding the same values
+	 * 
+	 */
+
+	IntStorage copy();
+
+	/**
+	 * 
+	 * Returns a new empty storage of the same kind.
+	 * 
+	 * @return empty storage
+	 * 
+	 */
+
+	IntStorage newEmpty();
+
+	/**
+	 * 
+	 * Returns an estimate of the bytes held by the storage's arrays.
+	 * 
+	 * @return estimated size in bytes
+	 * 
+	 */
+
+	long memoryBytes();
+
+	/**
+	 * 
+	 * Returns the representation this storage implements.
+	 * 
+	 * @return the representation, never {@link IntegerSet.Representation#ADAPTIVE}
+	 * 
+	 */
+
+	IntegerSet.Representation representation();
+
+	/**
+	 * 
+	 * Returns the number of values smaller than a value.
+	 * 
+	 * @param value value to rank
+	 * 
+	 * @return number of smaller values
+	 * 
+	 */
+
+	default int rank(int value) {
+
+		int[] count = new int[1];
+
+		forEach(element -> {
+
+			if (element < value) {
+
+				count[0]++;
+
+			}
+
+		});
+
+		return count[0];
+
+	}
+
+	/**
+	 * 
+	 * Returns the value with the given number of smaller values; index must be
+	 * between 0 and size() - 1.
+	 * 
+	 * @param index rank of the value
+	 * 
+	 * @return the value
+	 * 
+	 */
+
+	default int select(int index) {
+
+		return toSortedArray()[index];
+
+	}
+
+	/**
+	 * 
+	 * Returns a new storage of the same kind holding the values from low to high
+	 * inclusive.
+	 * 
+	 * @param low smallest value to include
+	 * 
+	 * @param high largest value to include
+	 * 
+	 * @return storage holding the values in the range
+	 * 
+	 */
+
+	default IntStorage subSet(int low, int high) {
+
+		IntStorage subSet = newEmpty();
+
+		forEach(value -> {
+
+			if (value >= low && value <= high) {
+
+				subSet.add(value);
+
+			}
+
+		});
+
+		return subSet;
+
+	}
+
+	/**
+	 * 
+	 * Checks whether every value of another storage is in this one.
+	 * 
+	 * @param other storage whose values to look for
+	 * 
+	 * @return true if this storage contains all of them; false otherwise
+	 * 
+	 */
+
+	default boolean containsAll(IntStorage other) {
+
+		for (int value : other.toArray()) {
+
+			if (!contains(value)) {
+
+				return false;
+
+			}
+
+		}
+
+		return true;
+
+	}
+
+	/**
+	 * 
+	 * Adds every value of another storage, which must not be this one.
+	 * 
+	 * @param other storage whose values to add
+	 * 
+	 */
+
+	default void addAll(IntStorage other) {
+
+		other.forEach(this::add);
+
+	}
+
+	/**
+	 * 
+	 * Keeps only the values that are also in another storage, which must not be
+	 * this one.
+	 * 
+	 * @param other storage whose values to keep
+	 * 
+	 */
+
+	default void retainAll(IntStorage other) {
+
+		for (int value : toArray()) {
+
+			if (!other.contains(value)) {
+
+				remove(value);
+
+			}
+
+		}
+
+	}
+
+	/**
+	 * 
+	 * Removes every value of another storage, which must not be this one.
+	 * 
+	 * @param other storage whose values to remove
+	 * 
+	 */
+
+	default void removeAll(IntStorage other) {
+
+		if (other.size() < size()) {
+
+			other.forEach(this::remove);
+
+		} else {
+
+			for (int value : toArray()) {
+
+				if (other.contains(value)) {
+
+					remove(value);
+
+				}
+
+			}
+
+		}
+
+	}
+
+}
\ No newline at end of file
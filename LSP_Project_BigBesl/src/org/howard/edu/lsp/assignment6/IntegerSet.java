@@ -1,10 +1,6 @@
 package org.howard.edu.lsp.assignment6;
 
-import java.util.ArrayList;
-
-import java.util.Collections;
-
-import java.util.List;
+import java.util.StringJoiner;
 
 /**
  * 
@@ -12,9 +8,14 @@ import java.util.List;
  * 
  * It disallows duplicates and provides common set operations such as union,
  * 
- * intersection, and difference. The internal representation uses an
+ * intersection, and difference. Elements are stored as primitive {@code int}
  * 
- * {@code ArrayList<Integer>}.
+ * values in one of several representations: an open-addressing hash set, so
+ * add, remove and contains take amortized constant time, a bitmap for dense
+ * ranges, compressed chunks for values spread over the whole int range in
+ * clusters, or a sorted array for sets that are mostly queried in order. By
+ * default the set is adaptive and switches between them as it grows and
+ * shrinks.
  * 
  * 
  * 
@@ -26,7 +27,153 @@ import java.util.List;
 
 public class IntegerSet {
 
-	private List<Integer> set = new ArrayList<Integer>();
+	/**
+	 * 
+	 * Ways an {@code IntegerSet} can store its elements.
+	 * 
+	 */
+
+	public enum Representation {
+
+		/**
+		 * 
+		 * Open-addressing hash table: constant-time membership for any
+		 * distribution, about eight to sixteen bytes per element.
+		 * 
+		 */
+
+		HASH,
+
+		/**
+		 * 
+		 * Bitmap over the range of the elements: one bit per value between the
+		 * smallest and largest, with word-at-a-time set operations.
+		 * 
+		 */
+
+		BITMAP,
+
+		/**
+		 * 
+		 * Compressed 64K chunks, each an array, a bitmap or a list of runs
+		 * depending on which is smallest: compact for sparse, dense and
+		 * contiguous values alike.
+		 * 
+		 */
+
+		COMPRESSED,
+
+		/**
+		 * 
+		 * Sorted array: binary-search membership, constant-time smallest and
+		 * largest, and merge-based set operations; adding and removing single
+		 * elements is linear.
+		 * 
+		 */
+
+		SORTED,
+
+		/**
+		 * 
+		 * Chooses among the other representations as the set changes: a sorted
+		 * array while small, then a hash table, a bitmap or compressed chunks
+		 * depending on size and density, and back again after large removals.
+		 * 
+		 */
+
+		ADAPTIVE;
+
+		IntStorage newStorage() {
+
+			if (this == BITMAP) {
+
+				return new IntBitmap();
+
+			}
+
+			if (this == COMPRESSED) {
+
+				return new RoaringIntSet();
+
+			}
+
+			if (this == SORTED || this == ADAPTIVE) {
+
+				return new SortedIntArray();
+
+			}
+
+			return new IntHashSet();
+
+		}
+
+	}
+
+	private final Representation representation;
+
+	private IntStorage set;
+
+	private int growCheck = AdaptivePolicy.SMALL_MAX;
+
+	private int shrinkCheck;
+
+	/**
+	 * 
+	 * Creates an empty adaptive set.
+	 * 
+	 */
+
+	public IntegerSet() {
+
+		this(Representation.ADAPTIVE);
+
+	}
+
+	/**
+	 * 
+	 * Creates an empty set with the given representation.
+	 * 
+	 * @param representation how to store the elements
+	 * 
+	 */
+
+	public IntegerSet(Representation representation) {
+
+		this.representation = representation;
+
+		this.set = representation.newStorage();
+
+	}
+
+	/**
+	 * 
+	 * Returns the representation the set was created with.
+	 * 
+	 * @return the representation, {@link Representation#ADAPTIVE} for adaptive
+	 *         sets
+	 * 
+	 */
+
+	public Representation getRepresentation() {
+
+		return representation;
+
+	}
+
+	/**
+	 * 
+	 * Returns how the set stores its elements right now, which for an adaptive
+	 * set changes as elements are added and removed.
+	 * 
+	 * @return the representation in use, never {@link Representation#ADAPTIVE}
+	 * 
+	 */
+
+	public Representation getCurrentRepresentation() {
+
+		return set.representation();
+
+	}
 
 	/**
 	 * 
@@ -38,6 +185,8 @@ public class IntegerSet {
 
 		set.clear();
 
+		adapt();
+
 	}
 
 	/**
@@ -80,7 +229,28 @@ public class IntegerSet {
 
 		IntegerSet other = (IntegerSet) o;
 
-		return set.containsAll(other.set) && other.set.containsAll(set);
+		return set.size() == other.set.size() && set.containsAll(other.set);
+
+	}
+
+	/**
+	 * 
+	 * Returns a hash code consistent with {@link #equals(Object)}: the sum of the
+	 * elements, as for {@code java.util.Set<Integer>}.
+	 * 
+	 * @return hash code of the set
+	 * 
+	 */
+
+	@Override
+
+	public int hashCode() {
+
+		int[] sum = new int[1];
+
+		set.forEach(value -> sum[0] += value);
+
+		return sum[0];
 
 	}
 
@@ -112,13 +282,13 @@ public class IntegerSet {
 
 	public int largest() {
 
-		if (set.isEmpty()) {
+		if (isEmpty()) {
 
 			throw new IllegalStateException("Cannot determine largest value of an empty set.");
 
 		}
 
-		return Collections.max(set);
+		return set.max();
 
 	}
 
@@ -134,13 +304,13 @@ public class IntegerSet {
 
 	public int smallest() {
 
-		if (set.isEmpty()) {
+		if (isEmpty()) {
 
 			throw new IllegalStateException("Cannot determine smallest value of an empty set.");
 
 		}
 
-		return Collections.min(set);
+		return set.min();
 
 	}
 
@@ -154,9 +324,11 @@ public class IntegerSet {
 
 	public void add(int item) {
 
-		if (!set.contains(item)) {
+		makeRoom(item, item, 1);
 
-			set.add(item);
+		if (set.add(item) && set.size() > growCheck) {
+
+			adapt();
 
 		}
 
@@ -172,7 +344,11 @@ public class IntegerSet {
 
 	public void remove(int item) {
 
-		set.remove(Integer.valueOf(item));
+		if (set.remove(item) && set.size() < shrinkCheck) {
+
+			adapt();
+
+		}
 
 	}
 
@@ -186,16 +362,22 @@ public class IntegerSet {
 
 	public void union(IntegerSet other) {
 
-		for (int num : other.set) {
+		if (other == this) {
 
-			if (!set.contains(num)) {
+			return;
 
-				set.add(num);
+		}
 
-			}
+		if (!other.isEmpty()) {
+
+			makeRoom(other.set.min(), other.set.max(), other.set.size());
 
 		}
 
+		set.addAll(other.set);
+
+		adapt();
+
 	}
 
 	/**
@@ -208,7 +390,13 @@ public class IntegerSet {
 
 	public void intersect(IntegerSet other) {
 
-		set.retainAll(other.set);
+		if (other != this) {
+
+			set.retainAll(other.set);
+
+			adapt();
+
+		}
 
 	}
 
@@ -222,7 +410,17 @@ public class IntegerSet {
 
 	public void diff(IntegerSet other) {
 
-		set.removeAll(other.set);
+		if (other == this) {
+
+			set.clear();
+
+		} else {
+
+			set.removeAll(other.set);
+
+		}
+
+		adapt();
 
 	}
 
@@ -239,12 +437,137 @@ public class IntegerSet {
 
 	public void complement(IntegerSet other) {
 
-		List<Integer> newSet = new ArrayList<Integer>(other.set);
+		IntStorage newSet;
+
+		if (representation == Representation.ADAPTIVE) {
+
+			newSet = other.set.copy();
+
+		} else {
+
+			newSet = set.newEmpty();
+
+			newSet.addAll(other.set);
+
+		}
 
 		newSet.removeAll(set);
 
 		set = newSet;
 
+		adapt();
+
+	}
+
+	/**
+	 * 
+	 * Returns the number of elements between low and high inclusive.
+	 * 
+	 * @param low smallest value to count
+	 * 
+	 * @param high largest value to count
+	 * 
+	 * @return number of elements in the range; 0 if low is greater than high
+	 * 
+	 */
+
+	public int rangeCount(int low, int high) {
+
+		if (low > high || isEmpty()) {
+
+			return 0;
+
+		}
+
+		return set.rank(high) - set.rank(low) + (set.contains(high) ? 1 : 0);
+
+	}
+
+	/**
+	 * 
+	 * Returns a new set, with the same representation, holding the elements
+	 * between low and high inclusive.
+	 * 
+	 * @param low smallest value to include
+	 * 
+	 * @param high largest value to include
+	 * 
+	 * @return the elements in the range; empty if low is greater than high
+	 * 
+	 */
+
+	public IntegerSet subSet(int low, int high) {
+
+		IntegerSet subSet = new IntegerSet(representation);
+
+		if (low <= high && !isEmpty()) {
+
+			subSet.set = set.subSet(low, high);
+
+			subSet.adapt();
+
+		}
+
+		return subSet;
+
+	}
+
+	/**
+	 * 
+	 * Returns the number of elements smaller than a value, which need not be in
+	 * the set.
+	 * 
+	 * @param value value to rank
+	 * 
+	 * @return number of smaller elements
+	 * 
+	 */
+
+	public int rank(int value) {
+
+		return set.rank(value);
+
+	}
+
+	/**
+	 * 
+	 * Returns the element with the given rank, so select(0) is the smallest
+	 * element and select(length() - 1) the largest.
+	 * 
+	 * @param index number of smaller elements
+	 * 
+	 * @return the element
+	 * 
+	 * @throws IndexOutOfBoundsException if index is negative or not less than
+	 *                                   length()
+	 * 
+	 */
+
+	public int select(int index) {
+
+		if (index < 0 || index >= set.size()) {
+
+			throw new IndexOutOfBoundsException("Index " + index + " is out of range for a set of " + set.size() + " elements.");
+
+		}
+
+		return set.select(index);
+
+	}
+
+	/**
+	 * 
+	 * Returns an estimate of the memory used to store the elements, for
+	 * comparing representations.
+	 * 
+	 * @return estimated size in bytes
+	 * 
+	 */
+
+	public long memoryUsage() {
+
+		return set.memoryBytes();
+
 	}
 
 	/**
@@ -257,13 +580,14 @@ public class IntegerSet {
 
 	public boolean isEmpty() {
 
-		return set.isEmpty();
+		return set.size() == 0;
 
 	}
 
 	/**
 	 * 
-	 * Returns a string representation of the set, formatted as [1, 2, 3].
+	 * Returns a string representation of the set in ascending order, formatted as
+	 * [1, 2, 3].
 	 * 
 	 * @return formatted string representation
 	 * 
@@ -273,7 +597,87 @@ public class IntegerSet {
 
 	public String toString() {
 
-		return set.toString();
+		StringJoiner joiner = new StringJoiner(", ", "[", "]");
+
+		for (int value : set.toSortedArray()) {
+
+			joiner.add(Integer.toString(value));
+
+		}
+
+		return joiner.toString();
+
+	}
+
+	/**
+	 * 
+	 * Converts an adaptive set to the representation its size and density call
+	 * for, and sets the sizes at which to check again: twice or half the current
+	 * size, so the checks cost amortized constant time per element.
+	 * 
+	 */
+
+	private void adapt() {
+
+		if (representation != Representation.ADAPTIVE) {
+
+			return;
+
+		}
+
+		convert(AdaptivePolicy.choose(set));
+
+		int size = set.size();
+
+		growCheck = (int) Math.max(AdaptivePolicy.SMALL_MAX, Math.min(Integer.MAX_VALUE, 2L * size));
+
+		shrinkCheck = size / 2;
+
+	}
+
+	/**
+	 * 
+	 * Converts an adaptive bitmap set that is about to receive count elements
+	 * between low and high into a sparse representation if the bitmap would
+	 * grow out of proportion to the number of elements.
+	 * 
+	 */
+
+	private void makeRoom(int low, int high, int count) {
+
+		if (representation != Representation.ADAPTIVE || !(set instanceof IntBitmap)) {
+
+			return;
+
+		}
+
+		long size = (long) set.size() + count;
+
+		if (!AdaptivePolicy.bitmapMayCover(((IntBitmap) set).spanWith(low, high), size)) {
+
+			convert(AdaptivePolicy.sparse(Representation.BITMAP, (int) Math.min(Integer.MAX_VALUE, size)));
+
+		}
+
+	}
+
+	private void convert(Representation target) {
+
+		if (target == set.representation()) {
+
+			return;
+
+		}
+
+		IntStorage converted = target.newStorage();
+
+		for (int value : set.toSortedArray()) {
+
+			converted.add(value);
+
+		}
+
+		set = converted;
 
 	}
 
@@ -2,6 +2,16 @@ package org.howard.edu.lsp.assignment6;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Arrays;
+
+import java.util.Collections;
+
+import java.util.HashSet;
+
+import java.util.Random;
+
+import java.util.Set;
+
 import org.junit.jupiter.api.Test;
 
 /**
@@ -324,4 +334,614 @@ public class IntegerSetTest {
 
 	}
 
+	// ----- LARGE SETS -----
+
+	@Test
+
+	public void testAddRemoveContainsMatchReferenceSet() {
+
+		IntegerSet set = new IntegerSet();
+
+		Set<Integer> reference = new HashSet<Integer>();
+
+		Random random = new Random(42);
+
+		for (int i = 0; i < 200000; i++) {
+
+			int value = random.nextInt(50000) - 25000;
+
+			if (random.nextInt(3) == 0) {
+
+				set.remove(value);
+
+				reference.remove(value);
+
+			} else {
+
+				set.add(value);
+
+				reference.add(value);
+
+			}
+
+		}
+
+		assertEquals(reference.size(), set.length());
+
+		for (int value = -25000; value < 25000; value++) {
+
+			assertEquals(reference.contains(value), set.contains(value));
+
+		}
+
+		assertEquals(Collections.min(reference).intValue(), set.smallest());
+
+		assertEquals(Collections.max(reference).intValue(), set.largest());
+
+	}
+
+	@Test
+
+	public void testToStringIsSortedAndHashCodeMatchesEquals() {
+
+		IntegerSet a = new IntegerSet();
+
+		IntegerSet b = new IntegerSet();
+
+		a.add(30);
+
+		a.add(0);
+
+		a.add(-5);
+
+		b.add(-5);
+
+		b.add(30);
+
+		b.add(0);
+
+		assertEquals("[-5, 0, 30]", a.toString());
+
+		assertEquals(a, b);
+
+		assertEquals(a.hashCode(), b.hashCode());
+
+		a.remove(0);
+
+		assertEquals("[-5, 30]", a.toString());
+
+		assertFalse(a.contains(0));
+
+	}
+
+	// ----- REPRESENTATIONS -----
+
+	@Test
+
+	public void testBitmapOperationsMatchHash() {
+
+		Random random = new Random(7);
+
+		for (int round = 0; round < 20; round++) {
+
+			int offset = random.nextInt(2000) - 1000;
+
+			IntegerSet hashA = new IntegerSet(IntegerSet.Representation.HASH);
+
+			IntegerSet hashB = new IntegerSet(IntegerSet.Representation.HASH);
+
+			IntegerSet bitmapA = new IntegerSet(IntegerSet.Representation.BITMAP);
+
+			IntegerSet bitmapB = new IntegerSet(IntegerSet.Representation.BITMAP);
+
+			for (int i = 0; i < 500; i++) {
+
+				int a = random.nextInt(1000) - 500;
+
+				int b = random.nextInt(1000) - 500 + offset;
+
+				hashA.add(a);
+
+				bitmapA.add(a);
+
+				hashB.add(b);
+
+				bitmapB.add(b);
+
+			}
+
+			assertEquals(hashA, bitmapA);
+
+			assertEquals(hashA.smallest(), bitmapA.smallest());
+
+			assertEquals(hashA.largest(), bitmapA.largest());
+
+			IntegerSet[] expected = { copy(hashA), copy(hashA), copy(hashA), copy(hashA) };
+
+			IntegerSet[] actual = { copy(bitmapA), copy(bitmapA), copy(bitmapA), copy(bitmapA) };
+
+			expected[0].union(hashB);
+
+			actual[0].union(bitmapB);
+
+			expected[1].intersect(hashB);
+
+			actual[1].intersect(bitmapB);
+
+			expected[2].diff(hashB);
+
+			actual[2].diff(bitmapB);
+
+			expected[3].complement(hashB);
+
+			actual[3].complement(bitmapB);
+
+			for (int i = 0; i < expected.length; i++) {
+
+				assertEquals(expected[i].toString(), actual[i].toString());
+
+				assertEquals(expected[i].length(), actual[i].length());
+
+				assertEquals(IntegerSet.Representation.BITMAP, actual[i].getRepresentation());
+
+			}
+
+		}
+
+	}
+
+	@Test
+
+	public void testBitmapExtremeValues() {
+
+		IntegerSet set = new IntegerSet(IntegerSet.Representation.BITMAP);
+
+		set.add(Integer.MAX_VALUE);
+
+		set.add(Integer.MAX_VALUE - 100);
+
+		assertEquals(Integer.MAX_VALUE, set.largest());
+
+		assertEquals(Integer.MAX_VALUE - 100, set.smallest());
+
+		set.clear();
+
+		set.add(-64);
+
+		set.add(-1);
+
+		set.remove(-64);
+
+		assertEquals(-1, set.smallest());
+
+		assertFalse(set.contains(-64));
+
+		set.clear();
+
+		set.add(Integer.MIN_VALUE);
+
+		assertEquals("[" + Integer.MIN_VALUE + "]", set.toString());
+
+	}
+
+	@Test
+
+	public void testCompressedOperationsMatchHash() {
+
+		Random random = new Random(11);
+
+		for (int round = 0; round < 10; round++) {
+
+			IntegerSet hashA = new IntegerSet(IntegerSet.Representation.HASH);
+
+			IntegerSet hashB = new IntegerSet(IntegerSet.Representation.HASH);
+
+			IntegerSet compressedA = new IntegerSet(IntegerSet.Representation.COMPRESSED);
+
+			IntegerSet compressedB = new IntegerSet(IntegerSet.Representation.COMPRESSED);
+
+			for (int cluster = 0; cluster < 8; cluster++) {
+
+				int start = random.nextInt();
+
+				int length = 1 + random.nextInt(20000);
+
+				boolean contiguous = random.nextBoolean();
+
+				for (int i = 0; i < length; i++) {
+
+					int value = contiguous ? start + i : start + random.nextInt(length * 4);
+
+					IntegerSet hash = random.nextBoolean() ? hashA : hashB;
+
+					IntegerSet compressed = hash == hashA ? compressedA : compressedB;
+
+					hash.add(value);
+
+					compressed.add(value);
+
+				}
+
+			}
+
+			int low = hashA.isEmpty() ? 0 : hashA.smallest();
+
+			for (int i = 0; i < 2000; i++) {
+
+				int value = i % 2 == 0 ? low + i : random.nextInt();
+
+				hashA.remove(value);
+
+				compressedA.remove(value);
+
+			}
+
+			assertEquals(hashA, compressedA);
+
+			assertEquals(hashA.toString(), compressedA.toString());
+
+			assertEquals(hashA.smallest(), compressedA.smallest());
+
+			assertEquals(hashA.largest(), compressedA.largest());
+
+			IntegerSet[] expected = { copy(hashA), copy(hashA), copy(hashA), copy(hashA) };
+
+			IntegerSet[] actual = { copy(compressedA), copy(compressedA), copy(compressedA), copy(compressedA) };
+
+			expected[0].union(hashB);
+
+			actual[0].union(compressedB);
+
+			expected[1].intersect(hashB);
+
+			actual[1].intersect(compressedB);
+
+			expected[2].diff(hashB);
+
+			actual[2].diff(compressedB);
+
+			expected[3].complement(hashB);
+
+			actual[3].complement(compressedB);
+
+			for (int i = 0; i < expected.length; i++) {
+
+				assertEquals(expected[i].toString(), actual[i].toString());
+
+				assertEquals(expected[i].length(), actual[i].length());
+
+			}
+
+		}
+
+	}
+
+	@Test
+
+	public void testCompressedRangesUseLittleMemory() {
+
+		IntegerSet compressed = new IntegerSet(IntegerSet.Representation.COMPRESSED);
+
+		IntegerSet hash = new IntegerSet(IntegerSet.Representation.HASH);
+
+		for (int value = -100000; value < 100000; value++) {
+
+			compressed.add(value);
+
+			hash.add(value);
+
+		}
+
+		compressed.remove(0);
+
+		hash.remove(0);
+
+		assertEquals(hash, compressed);
+
+		assertEquals(199999, compressed.length());
+
+		assertFalse(compressed.contains(0));
+
+		assertTrue(compressed.contains(-1));
+
+		assertTrue(compressed.contains(1));
+
+		assertTrue(compressed.memoryUsage() < 200);
+
+		assertTrue(hash.memoryUsage() > 100 * compressed.memoryUsage());
+
+	}
+
+	@Test
+
+	public void testSortedOperationsMatchHash() {
+
+		Random random = new Random(5);
+
+		IntegerSet hashA = new IntegerSet(IntegerSet.Representation.HASH);
+
+		IntegerSet hashB = new IntegerSet(IntegerSet.Representation.HASH);
+
+		IntegerSet sortedA = new IntegerSet(IntegerSet.Representation.SORTED);
+
+		IntegerSet sortedB = new IntegerSet(IntegerSet.Representation.SORTED);
+
+		for (int i = 0; i < 3000; i++) {
+
+			int a = random.nextInt(5000) - 2500;
+
+			int b = random.nextInt(5000);
+
+			hashA.add(a);
+
+			sortedA.add(a);
+
+			hashB.add(b);
+
+			sortedB.add(b);
+
+		}
+
+		for (int i = 0; i < 500; i++) {
+
+			int value = random.nextInt(5000) - 2500;
+
+			hashA.remove(value);
+
+			sortedA.remove(value);
+
+		}
+
+		assertEquals(hashA.toString(), sortedA.toString());
+
+		IntegerSet[] expected = { copy(hashA), copy(hashA), copy(hashA), copy(hashA) };
+
+		IntegerSet[] actual = { copy(sortedA), copy(sortedA), copy(sortedA), copy(sortedA) };
+
+		expected[0].union(hashB);
+
+		actual[0].union(sortedB);
+
+		expected[1].intersect(hashB);
+
+		actual[1].intersect(sortedB);
+
+		expected[2].diff(hashB);
+
+		actual[2].diff(sortedB);
+
+		expected[3].complement(hashB);
+
+		actual[3].complement(sortedB);
+
+		for (int i = 0; i < expected.length; i++) {
+
+			assertEquals(expected[i].toString(), actual[i].toString());
+
+			assertEquals(expected[i].smallest(), actual[i].smallest());
+
+			assertEquals(expected[i].largest(), actual[i].largest());
+
+		}
+
+	}
+
+	@Test
+
+	public void testRangeQueriesInEveryRepresentation() {
+
+		Random random = new Random(3);
+
+		int[] values = new int[4000];
+
+		for (int i = 0; i < values.length; i++) {
+
+			values[i] = i < 2000 ? random.nextInt(100000) - 50000 : 70000 + i;
+
+		}
+
+		for (IntegerSet.Representation representation : IntegerSet.Representation.values()) {
+
+			IntegerSet set = new IntegerSet(representation);
+
+			for (int value : values) {
+
+				set.add(value);
+
+			}
+
+			int[] sorted = Arrays.stream(values).distinct().sorted().toArray();
+
+			assertEquals(sorted.length, set.length());
+
+			for (int i = 0; i < sorted.length; i += 37) {
+
+				assertEquals(sorted[i], set.select(i), representation.toString());
+
+				assertEquals(i, set.rank(sorted[i]), representation.toString());
+
+			}
+
+			for (int round = 0; round < 50; round++) {
+
+				int low = random.nextInt(200000) - 60000;
+
+				int high = low + random.nextInt(40000);
+
+				int expected = 0;
+
+				for (int value : sorted) {
+
+					if (value >= low && value <= high) {
+
+						expected++;
+
+					}
+
+				}
+
+				assertEquals(expected, set.rangeCount(low, high), representation.toString());
+
+				IntegerSet subSet = set.subSet(low, high);
+
+				assertEquals(expected, subSet.length());
+
+				assertEquals(representation, subSet.getRepresentation());
+
+			}
+
+			assertEquals(sorted[sorted.length - 1], set.select(sorted.length - 1));
+
+			assertEquals(0, set.rangeCount(10, 5));
+
+			assertEquals(sorted.length, set.rangeCount(Integer.MIN_VALUE, Integer.MAX_VALUE));
+
+			assertEquals(sorted.length, set.rank(Integer.MAX_VALUE));
+
+			assertThrows(IndexOutOfBoundsException.class, () -> set.select(sorted.length));
+
+			assertThrows(IndexOutOfBoundsException.class, () -> set.select(-1));
+
+		}
+
+	}
+
+	@Test
+
+	public void testAdaptiveRepresentationFollowsSizeAndDensity() {
+
+		IntegerSet set = new IntegerSet();
+
+		assertEquals(IntegerSet.Representation.ADAPTIVE, set.getRepresentation());
+
+		assertEquals(IntegerSet.Representation.SORTED, set.getCurrentRepresentation());
+
+		for (int i = 0; i < 33; i++) {
+
+			set.add(i * 1000);
+
+		}
+
+		assertEquals(IntegerSet.Representation.HASH, set.getCurrentRepresentation());
+
+		set.clear();
+
+		for (int i = 0; i < 1000; i++) {
+
+			set.add(i);
+
+		}
+
+		assertEquals(IntegerSet.Representation.BITMAP, set.getCurrentRepresentation());
+
+		set.add(1000000000);
+
+		assertEquals(IntegerSet.Representation.HASH, set.getCurrentRepresentation());
+
+		assertEquals(1001, set.length());
+
+		assertEquals(1000000000, set.largest());
+
+		Random random = new Random(9);
+
+		while (set.length() < 100000) {
+
+			set.add(random.nextInt());
+
+		}
+
+		assertEquals(IntegerSet.Representation.COMPRESSED, set.getCurrentRepresentation());
+
+		assertTrue(set.contains(999));
+
+		int[] remaining = new int[10];
+
+		for (int i = 0; i < remaining.length; i++) {
+
+			remaining[i] = set.select(i * 1000);
+
+		}
+
+		IntegerSet keep = new IntegerSet();
+
+		for (int value : remaining) {
+
+			keep.add(value);
+
+		}
+
+		IntegerSet snapshot = new IntegerSet(IntegerSet.Representation.SORTED);
+
+		snapshot.union(set);
+
+		for (int i = 0; i < snapshot.length(); i++) {
+
+			int value = snapshot.select(i);
+
+			if (!keep.contains(value)) {
+
+				set.remove(value);
+
+			}
+
+		}
+
+		assertEquals(keep, set);
+
+		assertEquals(IntegerSet.Representation.SORTED, set.getCurrentRepresentation());
+
+	}
+
+	@Test
+
+	public void testAdaptiveHysteresis() {
+
+		IntegerSet set = new IntegerSet();
+
+		for (int i = 0; i < 33; i++) {
+
+			set.add(i * 1000);
+
+		}
+
+		assertEquals(IntegerSet.Representation.HASH, set.getCurrentRepresentation());
+
+		for (int i = 32; i >= 20; i--) {
+
+			set.remove(i * 1000);
+
+		}
+
+		assertEquals(IntegerSet.Representation.HASH, set.getCurrentRepresentation());
+
+		for (int i = 19; i >= 10; i--) {
+
+			set.remove(i * 1000);
+
+		}
+
+		assertEquals(IntegerSet.Representation.SORTED, set.getCurrentRepresentation());
+
+		for (int i = 10; i < 32; i++) {
+
+			set.add(i * 1000);
+
+		}
+
+		assertEquals(IntegerSet.Representation.SORTED, set.getCurrentRepresentation());
+
+		assertEquals("[0, 1000, 2000]", set.subSet(-5, 2500).toString());
+
+	}
+
+	private static IntegerSet copy(IntegerSet source) {
+
+		IntegerSet copy = new IntegerSet(source.getRepresentation());
+
+		copy.union(source);
+
+		return copy;
+
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,1800 @@
+package org.howard.edu.lsp.assignment6;
+
+import java.util.Arrays;
+
+import java.util.function.IntConsumer;
+
+/**
+ * 
+ * Compressed set of {@code int} values in the style of Roaring bitmaps, the
+ * {@link IntegerSet.Representation#COMPRESSED} storage.
+ * 
+ * The int range is split into 65536 chunks of 65536 values, keyed by the high
+ * 16 bits. Only chunks holding values are stored, each in the cheapest of three
+ * containers for its low 16 bits: a sorted {@code char[]} for sparse chunks (at
+ * most 4096 values), a 1024-word bitmap for dense ones, or a list of runs for
+ * contiguous ranges. A container is re-evaluated whenever a set operation
+ * produces it and whenever an add brings it to a power-of-two size, so ranges
+ * built one value at a time also end up as runs.
+ * 
+ * Set operations with another compressed set walk both sorted key lists and
+ * combine matching chunks container by container; chunks present on one side
+ * only are copied or dropped without looking at their values.
+ * 
+ */
+
+final class RoaringIntSet implements IntStorage {
+
+	private static final int ARRAY_MAX = 4096;
+
+	private static final int BITMAP_WORDS = 1024;
+
+	private static final int BITMAP_BYTES = BITMAP_WORDS * 8;
+
+	private static final int OPTIMIZE_FROM = 64;
+
+	private char[] keys = new char[4];
+
+	private Container[] containers = new Container[4];
+
+	private int count;
+
+	private int size;
+
+	@Override
+
+	public int size() {
+
+		return size;
+
+	}
+
+	@Override
+
+	public boolean contains(int value) {
+
+		int index = find(key(value));
+
+		return index >= 0 && containers[index].contains(value & 0xFFFF);
+
+	}
+
+	@Override
+
+	public boolean add(int value) {
+
+		int key = key(value);
+
+		int index = find(key);
+
+		if (index < 0) {
+
+			insert(-index - 1, key, new ArrayContainer().add(value & 0xFFFF));
+
+			size++;
+
+			return true;
+
+		}
+
+		int before = containers[index].cardinality;
+
+		Container container = containers[index].add(value & 0xFFFF);
+
+		if (container.cardinality == before) {
+
+			return false;
+
+		}
+
+		if (container.cardinality >= OPTIMIZE_FROM && Integer.bitCount(container.cardinality) == 1) {
+
+			container = container.optimize();
+
+		}
+
+		containers[index] = container;
+
+		size++;
+
+		return true;
+
+	}
+
+	@Override
+
+	public boolean remove(int value) {
+
+		int index = find(key(value));
+
+		if (index < 0) {
+
+			return false;
+
+		}
+
+		int before = containers[index].cardinality;
+
+		Container container = containers[index].remove(value & 0xFFFF);
+
+		if (container.cardinality == before) {
+
+			return false;
+
+		}
+
+		if (container.cardinality == 0) {
+
+			delete(index);
+
+		} else {
+
+			containers[index] = container;
+
+		}
+
+		size--;
+
+		return true;
+
+	}
+
+	@Override
+
+	public void clear() {
+
+		keys = new char[4];
+
+		containers = new Container[4];
+
+		count = 0;
+
+		size = 0;
+
+	}
+
+	@Override
+
+	public int min() {
+
+		return base(keys[0]) | containers[0].first();
+
+	}
+
+	@Override
+
+	public int max() {
+
+		return base(keys[count - 1]) | containers[count - 1].last();
+
+	}
+
+	/**
+	 * 
+	 * Passes every value to an action in ascending order.
+	 * 
+	 * @param action action receiving each value
+	 * 
+	 */
+
+	@Override
+
+	public void forEach(IntConsumer action) {
+
+		for (int index = 0; index < count; index++) {
+
+			containers[index].forEach(base(keys[index]), action);
+
+		}
+
+	}
+
+	@Override
+
+	public int[] toArray() {
+
+		int[] values = new int[size];
+
+		int position = 0;
+
+		for (int index = 0; index < count; index++) {
+
+			position = containers[index].fill(values, position, base(keys[index]));
+
+		}
+
+		return values;
+
+	}
+
+	@Override
+
+	public int[] toSortedArray() {
+
+		return toArray();
+
+	}
+
+	@Override
+
+	public RoaringIntSet copy() {
+
+		RoaringIntSet copy = new RoaringIntSet();
+
+		copy.keys = keys.clone();
+
+		copy.containers = new Container[containers.length];
+
+		for (int index = 0; index < count; index++) {
+
+			copy.containers[index] = containers[index].copy();
+
+		}
+
+		copy.count = count;
+
+		copy.size = size;
+
+		return copy;
+
+	}
+
+	@Override
+
+	public RoaringIntSet newEmpty() {
+
+		return new RoaringIntSet();
+
+	}
+
+	@Override
+
+	public IntegerSet.Representation representation() {
+
+		return IntegerSet.Representation.COMPRESSED;
+
+	}
+
+	@Override
+
+	public long memoryBytes() {
+
+		long bytes = keys.length * 2L + containers.length * 8L;
+
+		for (int index = 0; index < count; index++) {
+
+			bytes += containers[index].memoryBytes();
+
+		}
+
+		return bytes;
+
+	}
+
+	/**
+	 * 
+	 * Adds up the sizes of the chunks below the value's chunk, then ranks the
+	 * value within its own chunk.
+	 * 
+	 */
+
+	@Override
+
+	public int rank(int value) {
+
+		int key = key(value);
+
+		int rank = 0;
+
+		int index = 0;
+
+		while (index < count && keys[index] < key) {
+
+			rank += containers[index++].cardinality;
+
+		}
+
+		if (index < count && keys[index] == key) {
+
+			rank += containers[index].rank(value & 0xFFFF);
+
+		}
+
+		return rank;
+
+	}
+
+	@Override
+
+	public int select(int index) {
+
+		int chunk = 0;
+
+		while (index >= containers[chunk].cardinality) {
+
+			index -= containers[chunk++].cardinality;
+
+		}
+
+		return base(keys[chunk]) | containers[chunk].select(index);
+
+	}
+
+	@Override
+
+	public boolean containsAll(IntStorage other) {
+
+		if (!(other instanceof RoaringIntSet)) {
+
+			return IntStorage.super.containsAll(other);
+
+		}
+
+		RoaringIntSet roaring = (RoaringIntSet) other;
+
+		for (int index = 0; index < roaring.count; index++) {
+
+			int match = find(roaring.keys[index]);
+
+			if (match < 0 || !containers[match].containsAll(roaring.containers[index])) {
+
+				return false;
+
+			}
+
+		}
+
+		return true;
+
+	}
+
+	@Override
+
+	public void addAll(IntStorage other) {
+
+		if (!(other instanceof RoaringIntSet)) {
+
+			IntStorage.super.addAll(other);
+
+			return;
+
+		}
+
+		RoaringIntSet roaring = (RoaringIntSet) other;
+
+		char[] mergedKeys = new char[Math.max(4, count + roaring.count)];
+
+		Container[] merged = new Container[mergedKeys.length];
+
+		int length = 0;
+
+		int mine = 0;
+
+		int theirs = 0;
+
+		while (mine < count || theirs < roaring.count) {
+
+			int key = mine < count ? keys[mine] : Integer.MAX_VALUE;
+
+			int otherKey = theirs < roaring.count ? roaring.keys[theirs] : Integer.MAX_VALUE;
+
+			if (key < otherKey) {
+
+				mergedKeys[length] = keys[mine];
+
+				merged[length++] = containers[mine++];
+
+			} else if (otherKey < key) {
+
+				mergedKeys[length] = roaring.keys[theirs];
+
+				merged[length++] = roaring.containers[theirs++].copy();
+
+			} else {
+
+				mergedKeys[length] = keys[mine];
+
+				merged[length++] = containers[mine++].or(roaring.containers[theirs++]);
+
+			}
+
+		}
+
+		keys = mergedKeys;
+
+		containers = merged;
+
+		count = length;
+
+		recount();
+
+	}
+
+	@Override
+
+	public void retainAll(IntStorage other) {
+
+		if (!(other instanceof RoaringIntSet)) {
+
+			IntStorage.super.retainAll(other);
+
+			return;
+
+		}
+
+		RoaringIntSet roaring = (RoaringIntSet) other;
+
+		int length = 0;
+
+		int theirs = 0;
+
+		for (int mine = 0; mine < count; mine++) {
+
+			while (theirs < roaring.count && roaring.keys[theirs] < keys[mine]) {
+
+				theirs++;
+
+			}
+
+			if (theirs < roaring.count && roaring.keys[theirs] == keys[mine]) {
+
+				Container common = containers[mine].and(roaring.containers[theirs]);
+
+				if (common.cardinality > 0) {
+
+					keys[length] = keys[mine];
+
+					containers[length++] = common;
+
+				}
+
+			}
+
+		}
+
+		Arrays.fill(containers, length, count, null);
+
+		count = length;
+
+		recount();
+
+	}
+
+	@Override
+
+	public void removeAll(IntStorage other) {
+
+		if (!(other instanceof RoaringIntSet)) {
+
+			IntStorage.super.removeAll(other);
+
+			return;
+
+		}
+
+		RoaringIntSet roaring = (RoaringIntSet) other;
+
+		int length = 0;
+
+		int theirs = 0;
+
+		for (int mine = 0; mine < count; mine++) {
+
+			while (theirs < roaring.count && roaring.keys[theirs] < keys[mine]) {
+
+				theirs++;
+
+			}
+
+			Container remaining = containers[mine];
+
+			if (theirs < roaring.count && roaring.keys[theirs] == keys[mine]) {
+
+				remaining = remaining.andNot(roaring.containers[theirs]);
+
+			}
+
+			if (remaining.cardinality > 0) {
+
+				keys[length] = keys[mine];
+
+				containers[length++] = remaining;
+
+			}
+
+		}
+
+		Arrays.fill(containers, length, count, null);
+
+		count = length;
+
+		recount();
+
+	}
+
+	/**
+	 * 
+	 * Returns the chunk key of a value; the sign bit is flipped so that keys
+	 * sort in the same order as the signed values.
+	 * 
+	 */
+
+	private static int key(int value) {
+
+		return (value >>> 16) ^ 0x8000;
+
+	}
+
+	/**
+	 * 
+	 * Returns the smallest value of a chunk.
+	 * 
+	 */
+
+	private static int base(int key) {
+
+		return (key ^ 0x8000) << 16;
+
+	}
+
+	/**
+	 * 
+	 * Returns the index of a key, or -(insertion point) - 1 if it is absent.
+	 * 
+	 */
+
+	private int find(int key) {
+
+		return Arrays.binarySearch(keys, 0, count, (char) key);
+
+	}
+
+	private void insert(int index, int key, Container container) {
+
+		if (count == keys.length) {
+
+			keys = Arrays.copyOf(keys, count * 2);
+
+			containers = Arrays.copyOf(containers, count * 2);
+
+		}
+
+		System.arraycopy(keys, index, keys, index + 1, count - index);
+
+		System.arraycopy(containers, index, containers, index + 1, count - index);
+
+		keys[index] = (char) key;
+
+		containers[index] = container;
+
+		count++;
+
+	}
+
+	private void delete(int index) {
+
+		System.arraycopy(keys, index + 1, keys, index, count - index - 1);
+
+		System.arraycopy(containers, index + 1, containers, index, count - index - 1);
+
+		containers[--count] = null;
+
+	}
+
+	private void recount() {
+
+		int total = 0;
+
+		for (int index = 0; index < count; index++) {
+
+			total += containers[index].cardinality;
+
+		}
+
+		size = total;
+
+	}
+
+	/**
+	 * 
+	 * The low 16 bits of the values of one chunk.
+	 * 
+	 * Mutators return the container that holds the result, which is a new one
+	 * when the change made another kind cheaper; set operations always return a
+	 * new container and leave both operands unchanged.
+	 * 
+	 */
+
+	private abstract static class Container {
+
+		int cardinality;
+
+		abstract boolean contains(int low);
+
+		abstract Container add(int low);
+
+		abstract Container remove(int low);
+
+		abstract int first();
+
+		abstract int last();
+
+		abstract void forEach(int base, IntConsumer action);
+
+		/**
+		 * 
+		 * Stores base | low for every value in ascending order and returns the
+		 * position after the last one.
+		 * 
+		 */
+
+		abstract int fill(int[] values, int position, int base);
+
+		abstract Container copy();
+
+		abstract long memoryBytes();
+
+		abstract int runCount();
+
+		/**
+		 * 
+		 * Returns the number of values smaller than low.
+		 * 
+		 */
+
+		abstract int rank(int low);
+
+		/**
+		 * 
+		 * Returns the value with index smaller values.
+		 * 
+		 */
+
+		abstract int select(int index);
+
+		/**
+		 * 
+		 * Returns a new bitmap container holding the same values.
+		 * 
+		 */
+
+		abstract BitmapContainer newBitmap();
+
+		Container or(Container other) {
+
+			BitmapContainer result = newBitmap();
+
+			result.orWith(other);
+
+			return result.optimize();
+
+		}
+
+		Container and(Container other) {
+
+			if (other instanceof ArrayContainer) {
+
+				return ((ArrayContainer) other).filter(this, true);
+
+			}
+
+			BitmapContainer result = newBitmap();
+
+			result.andWith(other instanceof BitmapContainer ? (BitmapContainer) other : other.newBitmap());
+
+			return result.optimize();
+
+		}
+
+		Container andNot(Container other) {
+
+			BitmapContainer result = newBitmap();
+
+			result.andNotWith(other);
+
+			return result.optimize();
+
+		}
+
+		boolean containsAll(Container other) {
+
+			if (other.cardinality > cardinality) {
+
+				return false;
+
+			}
+
+			int[] values = new int[other.cardinality];
+
+			other.fill(values, 0, 0);
+
+			for (int low : values) {
+
+				if (!contains(low)) {
+
+					return false;
+
+				}
+
+			}
+
+			return true;
+
+		}
+
+		/**
+		 * 
+		 * Returns the same values in whichever container kind takes the fewest
+		 * bytes: two per value, four per run, or a fixed 8 KB bitmap.
+		 * 
+		 */
+
+		Container optimize() {
+
+			int arrayBytes = cardinality <= ARRAY_MAX ? 2 * cardinality : Integer.MAX_VALUE;
+
+			int runBytes = 4 * runCount();
+
+			if (runBytes < arrayBytes && runBytes < BITMAP_BYTES) {
+
+				return this instanceof RunContainer ? this : RunContainer.of(this);
+
+			}
+
+			if (arrayBytes <= BITMAP_BYTES) {
+
+				return this instanceof ArrayContainer ? this : ArrayContainer.of(this);
+
+			}
+
+			return this instanceof BitmapContainer ? this : newBitmap();
+
+		}
+
+	}
+
+	/**
+	 * 
+	 * Sorted array of at most 4096 values.
+	 * 
+	 */
+
+	private static final class ArrayContainer extends Container {
+
+		private char[] values;
+
+		ArrayContainer() {
+
+			this.values = new char[4];
+
+		}
+
+		private ArrayContainer(char[] values, int cardinality) {
+
+			this.values = values;
+
+			this.cardinality = cardinality;
+
+		}
+
+		static ArrayContainer of(Container container) {
+
+			char[] values = new char[Math.max(4, container.cardinality)];
+
+			int[] position = new int[1];
+
+			container.forEach(0, low -> values[position[0]++] = (char) low);
+
+			return new ArrayContainer(values, container.cardinality);
+
+		}
+
+		@Override
+
+		boolean contains(int low) {
+
+			return Arrays.binarySearch(values, 0, cardinality, (char) low) >= 0;
+
+		}
+
+		@Override
+
+		Container add(int low) {
+
+			int index = Arrays.binarySearch(values, 0, cardinality, (char) low);
+
+			if (index >= 0) {
+
+				return this;
+
+			}
+
+			if (cardinality == ARRAY_MAX) {
+
+				return newBitmap().add(low);
+
+			}
+
+			index = -index - 1;
+
+			if (cardinality == values.length) {
+
+				values = Arrays.copyOf(values, Math.min(ARRAY_MAX, cardinality * 2));
+
+			}
+
+			System.arraycopy(values, index, values, index + 1, cardinality - index);
+
+			values[index] = (char) low;
+
+			cardinality++;
+
+			return this;
+
+		}
+
+		@Override
+
+		Container remove(int low) {
+
+			int index = Arrays.binarySearch(values, 0, cardinality, (char) low);
+
+			if (index >= 0) {
+
+				System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+
+				cardinality--;
+
+			}
+
+			return this;
+
+		}
+
+		@Override
+
+		int first() {
+
+			return values[0];
+
+		}
+
+		@Override
+
+		int last() {
+
+			return values[cardinality - 1];
+
+		}
+
+		@Override
+
+		void forEach(int base, IntConsumer action) {
+
+			for (int index = 0; index < cardinality; index++) {
+
+				action.accept(base | values[index]);
+
+			}
+
+		}
+
+		@Override
+
+		int fill(int[] target, int position, int base) {
+
+			for (int index = 0; index < cardinality; index++) {
+
+				target[position++] = base | values[index];
+
+			}
+
+			return position;
+
+		}
+
+		@Override
+
+		Container copy() {
+
+			return new ArrayContainer(values.clone(), cardinality);
+
+		}
+
+		@Override
+
+		long memoryBytes() {
+
+			return values.length * 2L;
+
+		}
+
+		@Override
+
+		int runCount() {
+
+			int runs = 0;
+
+			for (int index = 0; index < cardinality; index++) {
+
+				if (index == 0 || values[index] != values[index - 1] + 1) {
+
+					runs++;
+
+				}
+
+			}
+
+			return runs;
+
+		}
+
+		@Override
+
+		int rank(int low) {
+
+			int index = Arrays.binarySearch(values, 0, cardinality, (char) low);
+
+			return index >= 0 ? index : -index - 1;
+
+		}
+
+		@Override
+
+		int select(int index) {
+
+			return values[index];
+
+		}
+
+		@Override
+
+		BitmapContainer newBitmap() {
+
+			BitmapContainer bitmap = new BitmapContainer();
+
+			for (int index = 0; index < cardinality; index++) {
+
+				bitmap.words[values[index] >>> 6] |= 1L << values[index];
+
+			}
+
+			bitmap.cardinality = cardinality;
+
+			return bitmap;
+
+		}
+
+		@Override
+
+		Container or(Container other) {
+
+			if (!(other instanceof ArrayContainer)) {
+
+				return other.or(this);
+
+			}
+
+			ArrayContainer array = (ArrayContainer) other;
+
+			char[] merged = new char[Math.max(4, cardinality + array.cardinality)];
+
+			int length = 0;
+
+			int mine = 0;
+
+			int theirs = 0;
+
+			while (mine < cardinality && theirs < array.cardinality) {
+
+				char value = values[mine];
+
+				char otherValue = array.values[theirs];
+
+				if (value <= otherValue) {
+
+					mine++;
+
+				}
+
+				if (otherValue <= value) {
+
+					theirs++;
+
+				}
+
+				merged[length++] = value < otherValue ? value : otherValue;
+
+			}
+
+			while (mine < cardinality) {
+
+				merged[length++] = values[mine++];
+
+			}
+
+			while (theirs < array.cardinality) {
+
+				merged[length++] = array.values[theirs++];
+
+			}
+
+			ArrayContainer union = new ArrayContainer(merged, length);
+
+			return length <= ARRAY_MAX ? union : union.newBitmap();
+
+		}
+
+		@Override
+
+		Container and(Container other) {
+
+			return filter(other, true);
+
+		}
+
+		@Override
+
+		Container andNot(Container other) {
+
+			return filter(other, false);
+
+		}
+
+		/**
+		 * 
+		 * Returns the values whose membership in other equals keep.
+		 * 
+		 */
+
+		ArrayContainer filter(Container other, boolean keep) {
+
+			char[] kept = new char[Math.max(4, cardinality)];
+
+			int length = 0;
+
+			for (int index = 0; index < cardinality; index++) {
+
+				if (other.contains(values[index]) == keep) {
+
+					kept[length++] = values[index];
+
+				}
+
+			}
+
+			return new ArrayContainer(kept, length);
+
+		}
+
+	}
+
+	/**
+	 * 
+	 * One bit for each of the 65536 values of the chunk.
+	 * 
+	 */
+
+	private static final class BitmapContainer extends Container {
+
+		private final long[] words;
+
+		BitmapContainer() {
+
+			this.words = new long[BITMAP_WORDS];
+
+		}
+
+		private BitmapContainer(long[] words, int cardinality) {
+
+			this.words = words;
+
+			this.cardinality = cardinality;
+
+		}
+
+		@Override
+
+		boolean contains(int low) {
+
+			return (words[low >>> 6] & (1L << low)) != 0;
+
+		}
+
+		@Override
+
+		Container add(int low) {
+
+			long bit = 1L << low;
+
+			if ((words[low >>> 6] & bit) == 0) {
+
+				words[low >>> 6] |= bit;
+
+				cardinality++;
+
+			}
+
+			return this;
+
+		}
+
+		/**
+		 * 
+		 * Clears a value; the container turns back into an array only at half the
+		 * array limit, so values added and removed around the limit do not
+		 * convert it back and forth.
+		 * 
+		 */
+
+		@Override
+
+		Container remove(int low) {
+
+			long bit = 1L << low;
+
+			if ((words[low >>> 6] & bit) != 0) {
+
+				words[low >>> 6] &= ~bit;
+
+				cardinality--;
+
+			}
+
+			return cardinality <= ARRAY_MAX / 2 ? optimize() : this;
+
+		}
+
+		@Override
+
+		int first() {
+
+			int index = 0;
+
+			while (words[index] == 0) {
+
+				index++;
+
+			}
+
+			return (index << 6) + Long.numberOfTrailingZeros(words[index]);
+
+		}
+
+		@Override
+
+		int last() {
+
+			int index = BITMAP_WORDS - 1;
+
+			while (words[index] == 0) {
+
+				index--;
+
+			}
+
+			return (index << 6) + 63 - Long.numberOfLeadingZeros(words[index]);
+
+		}
+
+		@Override
+
+		void forEach(int base, IntConsumer action) {
+
+			for (int index = 0; index < BITMAP_WORDS; index++) {
+
+				for (long word = words[index]; word != 0; word &= word - 1) {
+
+					action.accept(base | (index << 6) + Long.numberOfTrailingZeros(word));
+
+				}
+
+			}
+
+		}
+
+		@Override
+
+		int fill(int[] target, int position, int base) {
+
+			for (int index = 0; index < BITMAP_WORDS; index++) {
+
+				for (long word = words[index]; word != 0; word &= word - 1) {
+
+					target[position++] = base | (index << 6) + Long.numberOfTrailingZeros(word);
+
+				}
+
+			}
+
+			return position;
+
+		}
+
+		@Override
+
+		Container copy() {
+
+			return new BitmapContainer(words.clone(), cardinality);
+
+		}
+
+		@Override
+
+		long memoryBytes() {
+
+			return BITMAP_BYTES;
+
+		}
+
+		/**
+		 * 
+		 * Counts the set bits whose lower neighbour, possibly in the previous
+		 * word, is clear.
+		 * 
+		 */
+
+		@Override
+
+		int runCount() {
+
+			int runs = 0;
+
+			long previous = 0;
+
+			for (long word : words) {
+
+				runs += Long.bitCount(word & ~(word << 1 | previous >>> 63));
+
+				previous = word;
+
+			}
+
+			return runs;
+
+		}
+
+		@Override
+
+		int rank(int low) {
+
+			int rank = Long.bitCount(words[low >>> 6] & ((1L << low) - 1));
+
+			for (int index = 0; index < low >>> 6; index++) {
+
+				rank += Long.bitCount(words[index]);
+
+			}
+
+			return rank;
+
+		}
+
+		@Override
+
+		int select(int index) {
+
+			int word = 0;
+
+			for (int count = Long.bitCount(words[0]); index >= count; count = Long.bitCount(words[++word])) {
+
+				index -= count;
+
+			}
+
+			return (word << 6) + IntBitmap.selectBit(words[word], index);
+
+		}
+
+		@Override
+
+		BitmapContainer newBitmap() {
+
+			return new BitmapContainer(words.clone(), cardinality);
+
+		}
+
+		@Override
+
+		boolean containsAll(Container other) {
+
+			if (!(other instanceof BitmapContainer)) {
+
+				return super.containsAll(other);
+
+			}
+
+			long[] otherWords = ((BitmapContainer) other).words;
+
+			for (int index = 0; index < BITMAP_WORDS; index++) {
+
+				if ((otherWords[index] & ~words[index]) != 0) {
+
+					return false;
+
+				}
+
+			}
+
+			return true;
+
+		}
+
+		void orWith(Container other) {
+
+			if (other instanceof BitmapContainer) {
+
+				long[] otherWords = ((BitmapContainer) other).words;
+
+				for (int index = 0; index < BITMAP_WORDS; index++) {
+
+					words[index] |= otherWords[index];
+
+				}
+
+			} else {
+
+				other.forEach(0, low -> words[low >>> 6] |= 1L << low);
+
+			}
+
+			recount();
+
+		}
+
+		void andWith(BitmapContainer other) {
+
+			for (int index = 0; index < BITMAP_WORDS; index++) {
+
+				words[index] &= other.words[index];
+
+			}
+
+			recount();
+
+		}
+
+		void andNotWith(Container other) {
+
+			if (other instanceof BitmapContainer) {
+
+				long[] otherWords = ((BitmapContainer) other).words;
+
+				for (int index = 0; index < BITMAP_WORDS; index++) {
+
+					words[index] &= ~otherWords[index];
+
+				}
+
+			} else {
+
+				other.forEach(0, low -> words[low >>> 6] &= ~(1L << low));
+
+			}
+
+			recount();
+
+		}
+
+		/**
+		 * 
+		 * Sets every value from start to end inclusive.
+		 * 
+		 */
+
+		void setRange(int start, int end) {
+
+			int first = start >>> 6;
+
+			int last = end >>> 6;
+
+			long firstMask = -1L << start;
+
+			long lastMask = -1L >>> (63 - (end & 63));
+
+			if (first == last) {
+
+				words[first] |= firstMask & lastMask;
+
+				return;
+
+			}
+
+			words[first] |= firstMask;
+
+			for (int index = first + 1; index < last; index++) {
+
+				words[index] = -1L;
+
+			}
+
+			words[last] |= lastMask;
+
+		}
+
+		private void recount() {
+
+			int total = 0;
+
+			for (long word : words) {
+
+				total += Long.bitCount(word);
+
+			}
+
+			cardinality = total;
+
+		}
+
+	}
+
+	/**
+	 * 
+	 * Sorted, non-adjacent runs of consecutive values, each stored as its start
+	 * and its length minus one.
+	 * 
+	 */
+
+	private static final class RunContainer extends Container {
+
+		private static final int RUN_MAX = BITMAP_BYTES / 4;
+
+		private char[] runs;
+
+		private int count;
+
+		private RunContainer(char[] runs, int count, int cardinality) {
+
+			this.runs = runs;
+
+			this.count = count;
+
+			this.cardinality = cardinality;
+
+		}
+
+		static RunContainer of(Container container) {
+
+			RunContainer result = new RunContainer(new char[Math.max(4, container.runCount() * 2)], 0, 0);
+
+			container.forEach(0, result::append);
+
+			return result;
+
+		}
+
+		@Override
+
+		boolean contains(int low) {
+
+			int index = floor(low);
+
+			return index >= 0 && low <= end(index);
+
+		}
+
+		@Override
+
+		Container add(int low) {
+
+			int index = floor(low);
+
+			if (index >= 0 && low <= end(index)) {
+
+				return this;
+
+			}
+
+			boolean joinsPrevious = index >= 0 && end(index) + 1 == low;
+
+			boolean joinsNext = index + 1 < count && start(index + 1) == low + 1;
+
+			if (joinsPrevious && joinsNext) {
+
+				setEnd(index, end(index + 1));
+
+				deleteRun(index + 1);
+
+			} else if (joinsPrevious) {
+
+				setEnd(index, low);
+
+			} else if (joinsNext) {
+
+				setRun(index + 1, low, end(index + 1));
+
+			} else {
+
+				insertRun(index + 1, low, low);
+
+			}
+
+			cardinality++;
+
+			return count > RUN_MAX ? optimize() : this;
+
+		}
+
+		@Override
+
+		Container remove(int low) {
+
+			int index = floor(low);
+
+			if (index < 0 || low > end(index)) {
+
+				return this;
+
+			}
+
+			int start = start(index);
+
+			int end = end(index);
+
+			if (start == end) {
+
+				deleteRun(index);
+
+			} else if (low == start) {
+
+				setRun(index, start + 1, end);
+
+			} else if (low == end) {
+
+				setEnd(index, end - 1);
+
+			} else {
+
+				setEnd(index, low - 1);
+
+				insertRun(index + 1, low + 1, end);
+
+			}
+
+			cardinality--;
+
+			return count > RUN_MAX ? optimize() : this;
+
+		}
+
+		@Override
+
+		int first() {
+
+			return start(0);
+
+		}
+
+		@Override
+
+		int last() {
+
+			return end(count - 1);
+
+		}
+
+		@Override
+
+		void forEach(int base, IntConsumer action) {
+
+			for (int index = 0; index < count; index++) {
+
+				int end = end(index);
+
+				for (int low = start(index); low <= end; low++) {
+
+					action.accept(base | low);
+
+				}
+
+			}
+
+		}
+
+		@Override
+
+		int fill(int[] target, int position, int base) {
+
+			for (int index = 0; index < count; index++) {
+
+				int end = end(index);
+
+				for (int low = start(index); low <= end; low++) {
+
+					target[position++] = base | low;
+
+				}
+
+			}
+
+			return position;
+
+		}
+
+		@Override
+
+		Container copy() {
+
+			return new RunContainer(runs.clone(), count, cardinality);
+
+		}
+
+		@Override
+
+		long memoryBytes() {
+
+			return runs.length * 2L;
+
+		}
+
+		@Override
+
+		int runCount() {
+
+			return count;
+
+		}
+
+		@Override
+
+		int rank(int low) {
+
+			int rank = 0;
+
+			for (int index = 0; index < count && start(index) < low; index++) {
+
+				rank += Math.min(end(index) + 1, low) - start(index);
+
+			}
+
+			return rank;
+
+		}
+
+		@Override
+
+		int select(int index) {
+
+			int run = 0;
+
+			while (index > end(run) - start(run)) {
+
+				index -= end(run) - start(run) + 1;
+
+				run++;
+
+			}
+
+			return start(run) + index;
+
+		}
+
+		@Override
+
+		BitmapContainer newBitmap() {
+
+			BitmapContainer bitmap = new BitmapContainer();
+
+			for (int index = 0; index < count; index++) {
+
+				bitmap.setRange(start(index), end(index));
+
+			}
+
+			bitmap.cardinality = cardinality;
+
+			return bitmap;
+
+		}
+
+		/**
+		 * 
+		 * Adds a value larger than every value already in the container.
+		 * 
+		 */
+
+		private void append(int low) {
+
+			if (count > 0 && end(count - 1) + 1 == low) {
+
+				setEnd(count - 1, low);
+
+			} else {
+
+				insertRun(count, low, low);
+
+			}
+
+			cardinality++;
+
+		}
+
+		/**
+		 * 
+		 * Returns the index of the last run starting at or before low, or -1.
+		 * 
+		 */
+
+		private int floor(int low) {
+
+			int lowIndex = 0;
+
+			int highIndex = count - 1;
+
+			int found = -1;
+
+			while (lowIndex <= highIndex) {
+
+				int middle = (lowIndex + highIndex) >>> 1;
+
+				if (start(middle) <= low) {
+
+					found = middle;
+
+					lowIndex = middle + 1;
+
+				} else {
+
+					highIndex = middle - 1;
+
+				}
+
+			}
+
+			return found;
+
+		}
+
+		private int start(int index) {
+
+			return runs[2 * index];
+
+		}
+
+		private int end(int index) {
+
+			return runs[2 * index] + runs[2 * index + 1];
+
+		}
+
+		private void setRun(int index, int start, int end) {
+
+			runs[2 * index] = (char) start;
+
+			runs[2 * index + 1] = (char) (end - start);
+
+		}
+
+		private void setEnd(int index, int end) {
+
+			runs[2 * index + 1] = (char) (end - start(index));
+
+		}
+
+		private void insertRun(int index, int start, int end) {
+
+			if (2 * count == runs.length) {
+
+				runs = Arrays.copyOf(runs, runs.length * 2);
+
+			}
+
+			System.arraycopy(runs, 2 * index, runs, 2 * index + 2, 2 * (count - index));
+
+			count++;
+
+			setRun(index, start, end);
+
+		}
+
+		private void deleteRun(int index) {
+
+			System.arraycopy(runs, 2 * index + 2, runs, 2 * index, 2 * (count - index - 1));
+
+			count--;
+
+		}
+
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,432 @@
+package org.howard.edu.lsp.assignment6;
+
+import java.util.Arrays;
+
+import java.util.function.IntConsumer;
+
+/**
+ * 
+ * Sorted array of {@code int} values, the
+ * {@link IntegerSet.Representation#SORTED} storage.
+ * 
+ * Membership is a binary search and the smallest and largest values are the
+ * first and last elements. Adding or removing one value shifts the values after
+ * it, so the array suits sets that are built in bulk or mostly read. Set
+ * operations merge the two sorted sequences in a single linear pass, and rank
+ * and select are a binary search and an index.
+ * 
+ */
+
+final class SortedIntArray implements IntStorage {
+
+	private static final int MIN_CAPACITY = 8;
+
+	private int[] values = new int[MIN_CAPACITY];
+
+	private int size;
+
+	@Override
+
+	public int size() {
+
+		return size;
+
+	}
+
+	@Override
+
+	public boolean contains(int value) {
+
+		return Arrays.binarySearch(values, 0, size, value) >= 0;
+
+	}
+
+	@Override
+
+	public boolean add(int value) {
+
+		int index = Arrays.binarySearch(values, 0, size, value);
+
+		if (index >= 0) {
+
+			return false;
+
+		}
+
+		index = -index - 1;
+
+		if (size == values.length) {
+
+			values = Arrays.copyOf(values, size * 2);
+
+		}
+
+		System.arraycopy(values, index, values, index + 1, size - index);
+
+		values[index] = value;
+
+		size++;
+
+		return true;
+
+	}
+
+	@Override
+
+	public boolean remove(int value) {
+
+		int index = Arrays.binarySearch(values, 0, size, value);
+
+		if (index < 0) {
+
+			return false;
+
+		}
+
+		System.arraycopy(values, index + 1, values, index, size - index - 1);
+
+		size--;
+
+		if (values.length > MIN_CAPACITY && size * 4 < values.length) {
+
+			values = Arrays.copyOf(values, values.length / 2);
+
+		}
+
+		return true;
+
+	}
+
+	@Override
+
+	public void clear() {
+
+		values = new int[MIN_CAPACITY];
+
+		size = 0;
+
+	}
+
+	@Override
+
+	public int min() {
+
+		return values[0];
+
+	}
+
+	@Override
+
+	public int max() {
+
+		return values[size - 1];
+
+	}
+
+	/**
+	 * 
+	 * Passes every value to an action in ascending order.
+	 * 
+	 * @param action action receiving each value
+	 * 
+	 */
+
+	@Override
+
+	public void forEach(IntConsumer action) {
+
+		for (int index = 0; index < size; index++) {
+
+			action.accept(values[index]);
+
+		}
+
+	}
+
+	@Override
+
+	public int[] toArray() {
+
+		return Arrays.copyOf(values, size);
+
+	}
+
+	@Override
+
+	public int[] toSortedArray() {
+
+		return toArray();
+
+	}
+
+	@Override
+
+	public SortedIntArray copy() {
+
+		SortedIntArray copy = new SortedIntArray();
+
+		copy.values = values.clone();
+
+		copy.size = size;
+
+		return copy;
+
+	}
+
+	@Override
+
+	public SortedIntArray newEmpty() {
+
+		return new SortedIntArray();
+
+	}
+
+	@Override
+
+	public IntegerSet.Representation representation() {
+
+		return IntegerSet.Representation.SORTED;
+
+	}
+
+	@Override
+
+	public long memoryBytes() {
+
+		return values.length * 4L;
+
+	}
+
+	@Override
+
+	public int rank(int value) {
+
+		int index = Arrays.binarySearch(values, 0, size, value);
+
+		return index >= 0 ? index : -index - 1;
+
+	}
+
+	@Override
+
+	public int select(int index) {
+
+		return values[index];
+
+	}
+
+	@Override
+
+	public SortedIntArray subSet(int low, int high) {
+
+		SortedIntArray subSet = new SortedIntArray();
+
+		int from = rank(low);
+
+		int to = high == Integer.MAX_VALUE ? size : rank(high + 1);
+
+		if (from < to) {
+
+			subSet.values = Arrays.copyOfRange(values, from, Math.max(to, from + MIN_CAPACITY));
+
+			subSet.size = to - from;
+
+		}
+
+		return subSet;
+
+	}
+
+	@Override
+
+	public boolean containsAll(IntStorage other) {
+
+		if (!(other instanceof SortedIntArray)) {
+
+			return IntStorage.super.containsAll(other);
+
+		}
+
+		SortedIntArray sorted = (SortedIntArray) other;
+
+		int mine = 0;
+
+		for (int theirs = 0; theirs < sorted.size; theirs++) {
+
+			int value = sorted.values[theirs];
+
+			while (mine < size && values[mine] < value) {
+
+				mine++;
+
+			}
+
+			if (mine == size || values[mine] != value) {
+
+				return false;
+
+			}
+
+		}
+
+		return true;
+
+	}
+
+	/**
+	 * 
+	 * Merges the other values in one pass; values of other kinds of storage are
+	 * sorted first rather than inserted one at a time.
+	 * 
+	 * @param other storage whose values to add
+	 * 
+	 */
+
+	@Override
+
+	public void addAll(IntStorage other) {
+
+		int[] incoming;
+
+		int count;
+
+		if (other instanceof SortedIntArray) {
+
+			incoming = ((SortedIntArray) other).values;
+
+			count = other.size();
+
+		} else {
+
+			incoming = other.toSortedArray();
+
+			count = incoming.length;
+
+		}
+
+		int[] merged = new int[Math.max(MIN_CAPACITY, size + count)];
+
+		int length = 0;
+
+		int mine = 0;
+
+		int theirs = 0;
+
+		while (mine < size && theirs < count) {
+
+			int value = values[mine];
+
+			int otherValue = incoming[theirs];
+
+			if (value <= otherValue) {
+
+				mine++;
+
+			}
+
+			if (otherValue <= value) {
+
+				theirs++;
+
+			}
+
+			merged[length++] = Math.min(value, otherValue);
+
+		}
+
+		System.arraycopy(values, mine, merged, length, size - mine);
+
+		length += size - mine;
+
+		System.arraycopy(incoming, theirs, merged, length, count - theirs);
+
+		length += count - theirs;
+
+		values = merged;
+
+		size = length;
+
+	}
+
+	/**
+	 * 
+	 * Keeps the values also in other, compacting the array in one pass: a merge
+	 * when other is sorted too, a membership test per value otherwise.
+	 * 
+	 * @param other storage whose values to keep
+	 * 
+	 */
+
+	@Override
+
+	public void retainAll(IntStorage other) {
+
+		retain(other, true);
+
+	}
+
+	/**
+	 * 
+	 * Removes the values also in other, compacting the array in one pass.
+	 * 
+	 * @param other storage whose values to remove
+	 * 
+	 */
+
+	@Override
+
+	public void removeAll(IntStorage other) {
+
+		retain(other, false);
+
+	}
+
+	/**
+	 * 
+	 * Keeps the values whose membership in other equals inOther.
+	 * 
+	 */
+
+	private void retain(IntStorage other, boolean inOther) {
+
+		SortedIntArray sorted = other instanceof SortedIntArray ? (SortedIntArray) other : null;
+
+		int length = 0;
+
+		int theirs = 0;
+
+		for (int mine = 0; mine < size; mine++) {
+
+			int value = values[mine];
+
+			boolean found;
+
+			if (sorted != null) {
+
+				while (theirs < sorted.size && sorted.values[theirs] < value) {
+
+					theirs++;
+
+				}
+
+				found = theirs < sorted.size && sorted.values[theirs] == value;
+
+			} else {
+
+				found = other.contains(value);
+
+			}
+
+			if (found == inOther) {
+
+				values[length++] = value;
+
+			}
+
+		}
+
+		size = length;
+
+	}
+
+}
\ No newline at end of file